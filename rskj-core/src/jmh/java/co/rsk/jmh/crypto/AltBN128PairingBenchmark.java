@@ -0,0 +1,92 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.jmh.crypto;
+
+import co.rsk.crypto.altbn128java.Params;
+import co.rsk.pcc.altBN128.impls.AbstractAltBN128;
+import co.rsk.pcc.altBN128.impls.JavaAltBN128;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Java alt_bn128 pairing check precompile, decoding and checking
+ * inputs of e(G1, G2) * e(-G1, G2) couples, which always pass.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class AltBN128PairingBenchmark {
+
+    private static final int WORD_SIZE = 32;
+
+    private static final BigInteger[] G1 = {
+            BigInteger.ONE,
+            BigInteger.valueOf(2)
+    };
+
+    private static final BigInteger[] NEGATED_G1 = {
+            BigInteger.ONE,
+            Params.P.subtract(BigInteger.valueOf(2))
+    };
+
+    // imaginary part first, as in the precompile input
+    private static final BigInteger[] G2 = {
+            new BigInteger("11559732032986387107991004021392285783925812861821192530917403151452391805634"),
+            new BigInteger("10857046999023057135944570762232829481370756359578518086990519993285655852781"),
+            new BigInteger("4082367875863433681332203403145435568316851327593401208105741076214120093531"),
+            new BigInteger("8495653923123431417604973247489272438418190587263600148770280649306958101930")
+    };
+
+    @Param({"2", "4", "8"})
+    public int pairs;
+
+    private byte[] input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = new byte[pairs * AbstractAltBN128.PAIR_SIZE];
+        for (int i = 0; i < pairs; i++) {
+            int offset = i * AbstractAltBN128.PAIR_SIZE;
+            offset = writeWords(i % 2 == 0 ? G1 : NEGATED_G1, offset);
+            writeWords(G2, offset);
+        }
+    }
+
+    @Benchmark
+    public void pairing(Blackhole blackhole) {
+        JavaAltBN128 altBN128 = new JavaAltBN128();
+        blackhole.consume(altBN128.pairing(input, input.length));
+        blackhole.consume(altBN128.getOutput());
+    }
+
+    private int writeWords(BigInteger[] words, int offset) {
+        for (BigInteger word : words) {
+            byte[] bytes = word.toByteArray();
+            int length = Math.min(bytes.length, WORD_SIZE);
+            System.arraycopy(bytes, bytes.length - length, input, offset + WORD_SIZE - length, length);
+            offset += WORD_SIZE;
+        }
+        return offset;
+    }
+}
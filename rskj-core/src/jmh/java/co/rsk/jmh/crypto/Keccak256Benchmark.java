@@ -0,0 +1,97 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.jmh.crypto;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.ethereum.crypto.Keccak256Hasher;
+import org.ethereum.crypto.cryptohash.Keccak256;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of Keccak-256 over messages of trie node, transaction and contract code sizes, comparing the
+ * thread local {@link Keccak256Hasher} with the digests it replaced.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class Keccak256Benchmark {
+
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"32", "100", "532", "4096"})
+    public int messageSize;
+
+    private byte[] message;
+    private List<byte[]> batch;
+    private final byte[] out = new byte[Keccak256Hasher.DIGEST_LENGTH * BATCH_SIZE];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(messageSize);
+        message = new byte[messageSize];
+        random.nextBytes(message);
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            byte[] element = new byte[messageSize];
+            random.nextBytes(element);
+            batch.add(element);
+        }
+    }
+
+    @Benchmark
+    public void cryptohashKeccak256(Blackhole blackhole) {
+        blackhole.consume(new Keccak256().digest(message));
+    }
+
+    @Benchmark
+    public void bouncyCastleKeccakDigest(Blackhole blackhole) {
+        KeccakDigest digest = new KeccakDigest(256);
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.update(message, 0, message.length);
+        digest.doFinal(hash, 0);
+        blackhole.consume(hash);
+    }
+
+    @Benchmark
+    public void hasher(Blackhole blackhole) {
+        blackhole.consume(Keccak256Hasher.hash(message));
+    }
+
+    @Benchmark
+    public void hasherInto(Blackhole blackhole) {
+        Keccak256Hasher.hashInto(message, 0, message.length, out, 0);
+        blackhole.consume(out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void hasherBatch(Blackhole blackhole) {
+        Keccak256Hasher.hashAllInto(batch, out, 0);
+        blackhole.consume(out);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.jmh.crypto;
+
+import org.ethereum.util.ByteUtil;
+import org.ethereum.vm.DataWord;
+import org.ethereum.vm.PrecompiledContracts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the MODEXP precompile on odd moduli of the usual widths, with the short public exponents
+ * of RSA signature verification and with full width exponents as used for field inversions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class ModexpBenchmark {
+
+    @Param({"256", "1024", "2048", "4096"})
+    public int modulusBits;
+
+    @Param({"3", "65537", "full"})
+    public String exponent;
+
+    private final PrecompiledContracts.BigIntegerModexp modexp = new PrecompiledContracts.BigIntegerModexp();
+
+    private byte[] input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(modulusBits);
+        int modulusBytes = modulusBits / 8;
+
+        byte[] mod = ByteUtil.bigIntegerToBytes(
+                new BigInteger(modulusBits, random).setBit(modulusBits - 1).setBit(0), modulusBytes);
+        byte[] base = ByteUtil.bigIntegerToBytes(new BigInteger(modulusBits - 1, random), modulusBytes);
+        byte[] exp = "full".equals(exponent)
+                ? ByteUtil.bigIntegerToBytes(new BigInteger(modulusBits, random), modulusBytes)
+                : ByteUtil.bigIntegerToBytes(new BigInteger(exponent));
+
+        input = ByteUtil.merge(
+                DataWord.valueOf(base.length).getData(),
+                DataWord.valueOf(exp.length).getData(),
+                DataWord.valueOf(mod.length).getData(),
+                base, exp, mod
+        );
+    }
+
+    @Benchmark
+    public void execute(Blackhole blackhole) {
+        blackhole.consume(modexp.execute(input));
+    }
+
+    @Benchmark
+    public void getGasForData(Blackhole blackhole) {
+        blackhole.consume(modexp.getGasForData(input));
+    }
+}
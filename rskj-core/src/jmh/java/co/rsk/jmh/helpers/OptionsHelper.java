@@ -35,12 +35,7 @@ public class OptionsHelper {
     }
 
     public static ChainedOptionsBuilder createE2EBuilder(String[] args, String reportFileName) throws CommandLineOptionException {
-        Path resultDir = Paths.get(System.getProperty("user.dir"), "build", "reports", "jmh");
-
-        File jmhReportsFolder = resultDir.toFile();
-        if (!jmhReportsFolder.exists() && !jmhReportsFolder.mkdirs()) {
-            throw new IllegalStateException("Cannot create JMH reports folder");
-        }
+        Path resultDir = createResultDir();
 
         return new OptionsBuilder()
                 .param("suite", BenchmarkWeb3.Suites.E2E.name())
@@ -53,4 +48,29 @@ public class OptionsHelper {
                 .shouldFailOnError(true);
     }
 
+    /**
+     * Builder for in-process micro benchmarks, which don't need a running node (no host nor config).
+     */
+    public static ChainedOptionsBuilder createMicroBuilder(String reportFileName) {
+        Path resultDir = createResultDir();
+
+        return new OptionsBuilder()
+                .mode(Mode.Throughput)
+                .forks(1)
+                .result(resultDir + "/" + reportFileName)
+                .resultFormat(ResultFormatType.CSV)
+                .shouldFailOnError(true);
+    }
+
+    private static Path createResultDir() {
+        Path resultDir = Paths.get(System.getProperty("user.dir"), "build", "reports", "jmh");
+
+        File jmhReportsFolder = resultDir.toFile();
+        if (!jmhReportsFolder.exists() && !jmhReportsFolder.mkdirs()) {
+            throw new IllegalStateException("Cannot create JMH reports folder");
+        }
+
+        return resultDir;
+    }
+
 }
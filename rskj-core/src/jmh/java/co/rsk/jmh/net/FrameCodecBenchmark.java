@@ -0,0 +1,89 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package co.rsk.jmh.net;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.ethereum.crypto.ECKey;
+import org.ethereum.net.rlpx.AuthInitiateMessage;
+import org.ethereum.net.rlpx.EncryptionHandshake;
+import org.ethereum.net.rlpx.FrameCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the RLPx frame codec, encrypting and MACing frames into pooled buffers
+ * and reading them back on the other side of the connection.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class FrameCodecBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int payloadSize;
+
+    private final PooledByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+
+    private FrameCodec egress;
+    private FrameCodec ingress;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ECKey remoteKey = new ECKey();
+        ECKey myKey = new ECKey();
+        EncryptionHandshake initiator = new EncryptionHandshake(remoteKey.getPubKeyPoint());
+        EncryptionHandshake responder = new EncryptionHandshake();
+        AuthInitiateMessage initiate = initiator.createAuthInitiate(null, myKey);
+        byte[] initiatePacket = initiator.encryptAuthMessage(initiate);
+        byte[] responsePacket = responder.handleAuthInitiate(initiatePacket, remoteKey);
+        initiator.handleAuthResponse(myKey, initiatePacket, responsePacket);
+
+        egress = new FrameCodec(initiator.getSecrets());
+        ingress = new FrameCodec(responder.getSecrets());
+
+        payload = new byte[payloadSize];
+        new Random(payloadSize).nextBytes(payload);
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws IOException {
+        ByteBuf out = allocator.heapBuffer(payloadSize + 64);
+        egress.writeFrame(new FrameCodec.Frame(0x10, Unpooled.wrappedBuffer(payload)), out);
+        blackhole.consume(out.readableBytes());
+        out.release();
+    }
+
+    @Benchmark
+    public void encodeAndDecode(Blackhole blackhole) throws IOException {
+        ByteBuf wire = allocator.heapBuffer(payloadSize + 64);
+        egress.writeFrame(new FrameCodec.Frame(0x10, Unpooled.wrappedBuffer(payload)), wire);
+        FrameCodec.Frame frame = ingress.readFrames(wire).get(0);
+        blackhole.consume(frame.getPayloadBytes());
+        frame.release();
+        wire.release();
+    }
+}
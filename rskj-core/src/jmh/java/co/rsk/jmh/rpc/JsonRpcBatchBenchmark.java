@@ -0,0 +1,165 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.jmh.rpc;
+
+import co.rsk.rpc.CorsConfiguration;
+import co.rsk.rpc.ModuleDescription;
+import co.rsk.rpc.netty.JsonRpcMethodLimits;
+import co.rsk.rpc.netty.JsonRpcRequestExecutor;
+import co.rsk.rpc.netty.JsonRpcWeb3FilterHandler;
+import co.rsk.rpc.netty.JsonRpcWeb3ServerHandler;
+import co.rsk.rpc.netty.JsonRpcWeb3ServerProperties;
+import co.rsk.rpc.netty.Web3HttpServer;
+import org.ethereum.rpc.Web3;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of JSON-RPC batch requests sent over HTTP to an RPC server running in this process,
+ * with the batch entries executed one after the other or concurrently on the request executor.
+ * <p>
+ * Every call takes {@code callLatencyMicros} to answer, standing for the block and receipt store reads of a
+ * real node, so that the benchmark measures how requests are dispatched and not how the stores are tuned.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class JsonRpcBatchBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int batchSize;
+
+    @Param({"false", "true"})
+    public boolean concurrent;
+
+    @Param({"200"})
+    public int callLatencyMicros;
+
+    private JsonRpcRequestExecutor requestExecutor;
+    private Web3HttpServer server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        InetAddress address = InetAddress.getLoopbackAddress();
+        int port = getAvailablePort();
+
+        List<ModuleDescription> modules = Arrays.asList(
+                new ModuleDescription("eth", "1.0", true, Collections.emptyList(), Collections.emptyList(), 0, new HashMap<>()),
+                new ModuleDescription("net", "1.0", true, Collections.emptyList(), Collections.emptyList(), 0, new HashMap<>())
+        );
+        JsonRpcWeb3ServerProperties properties = JsonRpcWeb3ServerProperties.builder()
+                .rpcModules(modules)
+                .maxBatchRequestsSize(batchSize)
+                .build();
+
+        if (concurrent) {
+            requestExecutor = new JsonRpcRequestExecutor(
+                    JsonRpcRequestExecutor.createExecutorService(true, 32),
+                    Arrays.asList("eth_blockNumber", "net_version"),
+                    JsonRpcMethodLimits.UNLIMITED,
+                    Collections.emptyMap()
+            );
+        }
+
+        JsonRpcWeb3ServerHandler serverHandler = new JsonRpcWeb3ServerHandler(newWeb3(), properties, requestExecutor);
+        server = new Web3HttpServer(address, port, 0, true, new CorsConfiguration("*"),
+                new JsonRpcWeb3FilterHandler("*", address, Collections.singletonList("*")), serverHandler, 5242880);
+        server.start();
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://" + address.getHostAddress() + ":" + port + "/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(buildBatch()))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+        if (requestExecutor != null) {
+            requestExecutor.stop();
+        }
+    }
+
+    @Benchmark
+    public void batch(Blackhole blackhole) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        blackhole.consume(response.body());
+    }
+
+    private String buildBatch() {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+            String method = i % 2 == 0 ? "eth_blockNumber" : "net_version";
+            batch.append("{\"jsonrpc\":\"2.0\",\"id\":").append(i).append(",\"method\":\"").append(method).append("\",\"params\":[]}");
+        }
+        return batch.append(']').toString();
+    }
+
+    private Web3 newWeb3() {
+        long latencyNanos = TimeUnit.MICROSECONDS.toNanos(callLatencyMicros);
+        return (Web3) Proxy.newProxyInstance(Web3.class.getClassLoader(), new Class<?>[]{Web3.class}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return "Web3 stub";
+                }
+            }
+
+            if (method.getReturnType() != String.class) {
+                return null;
+            }
+
+            LockSupport.parkNanos(latencyNanos);
+            return "0x1";
+        });
+    }
+
+    private static int getAvailablePort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
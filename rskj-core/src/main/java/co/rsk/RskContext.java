@@ -36,10 +36,13 @@ import co.rsk.db.importer.provider.index.BootstrapIndexCandidateSelector;
 import co.rsk.db.importer.provider.index.BootstrapIndexRetriever;
 import co.rsk.logfilter.BlocksBloomService;
 import co.rsk.logfilter.BlocksBloomStore;
+import co.rsk.logfilter.LogIndexService;
+import co.rsk.logfilter.LogIndexStore;
 import co.rsk.metrics.BlockHeaderElement;
 import co.rsk.metrics.HashRateCalculator;
 import co.rsk.metrics.HashRateCalculatorMining;
 import co.rsk.metrics.HashRateCalculatorNonMining;
+import co.rsk.metrics.jmx.JmxRegistry;
 import co.rsk.mine.*;
 import co.rsk.mine.gas.provider.MinGasPriceProvider;
 import co.rsk.mine.gas.provider.MinGasPriceProviderFactory;
@@ -60,6 +63,7 @@ import co.rsk.pcc.altBN128.impls.AbstractAltBN128;
 import co.rsk.peg.BridgeSupportFactory;
 import co.rsk.peg.BtcBlockStoreWithCache;
 import co.rsk.peg.RepositoryBtcBlockStoreWithCache;
+import co.rsk.peg.storage.BridgeStateCache;
 import co.rsk.rpc.*;
 import co.rsk.rpc.modules.debug.DebugModule;
 import co.rsk.rpc.modules.debug.DebugModuleImpl;
@@ -80,6 +84,9 @@ import co.rsk.rpc.modules.personal.PersonalModuleWalletDisabled;
 import co.rsk.rpc.modules.personal.PersonalModuleWalletEnabled;
 import co.rsk.rpc.modules.rsk.RskModule;
 import co.rsk.rpc.modules.rsk.RskModuleImpl;
+import co.rsk.rpc.modules.trace.BlockTracer;
+import co.rsk.rpc.modules.trace.TraceIndexService;
+import co.rsk.rpc.modules.trace.TraceIndexStore;
 import co.rsk.rpc.modules.trace.TraceModule;
 import co.rsk.rpc.modules.trace.TraceModuleImpl;
 import co.rsk.rpc.modules.txpool.TxPoolModule;
@@ -124,6 +131,7 @@ import org.ethereum.net.client.PeerClient;
 import org.ethereum.net.eth.message.Eth62MessageFactory;
 import org.ethereum.net.message.StaticMessages;
 import org.ethereum.net.rlpx.Node;
+import org.ethereum.net.rlpx.WireCompressionStats;
 import org.ethereum.net.server.*;
 import org.ethereum.rpc.Web3;
 import org.ethereum.solidity.compiler.SolidityCompiler;
@@ -131,6 +139,7 @@ import org.ethereum.sync.SyncPool;
 import org.ethereum.util.BuildInfo;
 import org.ethereum.util.FileUtil;
 import org.ethereum.vm.PrecompiledContracts;
+import org.ethereum.vm.PrecompiledResultCache;
 import org.ethereum.vm.program.invoke.ProgramInvokeFactory;
 import org.ethereum.vm.program.invoke.ProgramInvokeFactoryImpl;
 import org.mapdb.DB;
@@ -141,6 +150,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
+import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -148,6 +158,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -202,6 +213,7 @@ public class RskContext implements NodeContext, NodeBootstrapper {
     private Ethereum rsk;
     private PeerScoringManager peerScoringManager;
     private NodeBlockProcessor nodeBlockProcessor;
+    private CompactBlockProcessor compactBlockProcessor;
     private SyncProcessor syncProcessor;
     private BlockSyncService blockSyncService;
     private SyncPool syncPool;
@@ -209,6 +221,9 @@ public class RskContext implements NodeContext, NodeBootstrapper {
     private Web3 web3;
     private JsonRpcWeb3FilterHandler jsonRpcWeb3FilterHandler;
     private JsonRpcWeb3ServerHandler jsonRpcWeb3ServerHandler;
+    private JsonRpcRequestExecutor jsonRpcRequestExecutor;
+    private JsonRpcResponseCache jsonRpcResponseCache;
+    private ExecutorService rpcExecutorService;
     private Web3WebSocketServer web3WebSocketServer;
     private JacksonBasedRpcSerializer jacksonBasedRpcSerializer;
     private Web3HttpServer web3HttpServer;
@@ -233,6 +248,7 @@ public class RskContext implements NodeContext, NodeBootstrapper {
     private NodeRunner nodeRunner;
     private NodeMessageHandler nodeMessageHandler;
     private ConfigCapabilities configCapabilities;
+    private WireCompressionStats wireCompressionStats;
     private DebugModule debugModule;
     private TraceModule traceModule;
     private MnrModule mnrModule;
@@ -249,6 +265,8 @@ public class RskContext implements NodeContext, NodeBootstrapper {
     private MinerServer minerServer;
     private BlocksBloomStore blocksBloomStore;
     private KeyValueDataSource blocksBloomDataSource;
+    private LogIndexStore logIndexStore;
+    private TraceIndexStore traceIndexStore;
     private BlockExecutor blockExecutor;
     private BtcBlockStoreWithCache.Factory btcBlockStoreFactory;
     private PrecompiledContracts precompiledContracts;
@@ -495,6 +513,16 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                     getTransactionExecutorFactory(),
                     getRskSystemProperties()
             );
+
+            RskSystemProperties rskSystemProperties = getRskSystemProperties();
+            if (rskSystemProperties.isRpcTraceCheckpointsEnabled()) {
+                StateCheckpointCache checkpointCache = new StateCheckpointCache(
+                        rskSystemProperties.getRpcTraceCheckpointsBlocks(),
+                        rskSystemProperties.getRpcTraceCheckpointsInterval()
+                );
+                blockExecutor.setStateCheckpointCache(checkpointCache);
+                JmxRegistry.register("trace", "checkpoints", checkpointCache);
+            }
         }
 
         return blockExecutor;
@@ -504,10 +532,16 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         checkIfNotClosed();
 
         if (precompiledContracts == null) {
+            PrecompiledResultCache precompiledResultCache = new PrecompiledResultCache(getRskSystemProperties().getPrecompiledResultCacheSize());
+            if (precompiledResultCache.isEnabled()) {
+                JmxRegistry.register("vm", "precompiledResultCache", precompiledResultCache);
+            }
+
             precompiledContracts = new PrecompiledContracts(
                     getRskSystemProperties(),
                     getBridgeSupportFactory(),
-                    getBlockTxSignatureCache());
+                    getBlockTxSignatureCache(),
+                    precompiledResultCache);
         }
 
         return precompiledContracts;
@@ -517,9 +551,14 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         checkIfNotClosed();
 
         if (bridgeSupportFactory == null) {
+            BridgeStateCache bridgeStateCache = new BridgeStateCache(getRskSystemProperties().getBridgeStateCacheSize());
+            if (bridgeStateCache.isEnabled()) {
+                JmxRegistry.register("bridge", "stateCache", bridgeStateCache);
+            }
+
             bridgeSupportFactory = new BridgeSupportFactory(getBtcBlockStoreFactory(),
                     getRskSystemProperties().getNetworkConstants().getBridgeConstants(),
-                    getRskSystemProperties().getActivationConfig(), getBlockTxSignatureCache());
+                    getRskSystemProperties().getActivationConfig(), getBlockTxSignatureCache(), bridgeStateCache);
         }
 
         return bridgeSupportFactory;
@@ -540,11 +579,13 @@ public class RskContext implements NodeContext, NodeBootstrapper {
 
         if (btcBlockStoreFactory == null) {
             NetworkParameters btcParams = getRskSystemProperties().getNetworkConstants().getBridgeConstants().getBtcParams();
-            btcBlockStoreFactory = new RepositoryBtcBlockStoreWithCache.Factory(
+            RepositoryBtcBlockStoreWithCache.Factory repositoryBtcBlockStoreFactory = new RepositoryBtcBlockStoreWithCache.Factory(
                     btcParams,
                     getRskSystemProperties().getBtcBlockStoreCacheDepth(),
                     getRskSystemProperties().getBtcBlockStoreCacheSize()
             );
+            JmxRegistry.register("bridge", "btcBlockStoreIndex", repositoryBtcBlockStoreFactory.getBlockStoreIndex());
+            btcBlockStoreFactory = repositoryBtcBlockStoreFactory;
         }
 
         return btcBlockStoreFactory;
@@ -634,7 +675,9 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                         getBlockSyncService(),
                         getSyncConfiguration(),
                         getBlockHeaderValidator(),
-                        getBlockRelayValidator()
+                        getBlockRelayValidator(),
+                        getCompactBlockProcessor(),
+                        null
                 );
             } else {
                 nodeBlockProcessor = new NodeBlockProcessor(
@@ -642,7 +685,8 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                         getBlockchain(),
                         getBlockNodeInformation(),
                         getBlockSyncService(),
-                        getSyncConfiguration()
+                        getSyncConfiguration(),
+                        getCompactBlockProcessor()
                 );
             }
         }
@@ -650,6 +694,21 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         return nodeBlockProcessor;
     }
 
+    @Nullable
+    public synchronized CompactBlockProcessor getCompactBlockProcessor() {
+        checkIfNotClosed();
+
+        if (compactBlockProcessor == null && getRskSystemProperties().peerCompactBlocksEnabled()) {
+            compactBlockProcessor = new CompactBlockProcessor(
+                    getTransactionPool(),
+                    getBlockFactory(),
+                    getRskSystemProperties().getActivationConfig()
+            );
+        }
+
+        return compactBlockProcessor;
+    }
+
     public synchronized RskSystemProperties getRskSystemProperties() {
         checkIfNotClosed();
 
@@ -824,6 +883,17 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         return channelManager;
     }
 
+    public synchronized WireCompressionStats getWireCompressionStats() {
+        checkIfNotClosed();
+
+        if (wireCompressionStats == null) {
+            wireCompressionStats = new WireCompressionStats();
+            JmxRegistry.register("p2p", "compression", wireCompressionStats);
+        }
+
+        return wireCompressionStats;
+    }
+
     public synchronized ConfigCapabilities getConfigCapabilities() {
         checkIfNotClosed();
 
@@ -863,7 +933,9 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                     getBlockExecutor(),
                     getExecutionBlockRetriever(),
                     getBlockTxSignatureCache(),
-                    getRskSystemProperties()
+                    getRskSystemProperties(),
+                    getRskSystemProperties().isRpcExecutorEnabled() ? getRpcExecutorService() : null,
+                    getRskSystemProperties().traceIndexEnabled() ? getTraceIndexStore() : null
             );
         }
 
@@ -957,7 +1029,7 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         checkIfNotClosed();
 
         if (minerServer == null) {
-            minerServer = new MinerServerImpl(
+            MinerServerImpl minerServerImpl = new MinerServerImpl(
                     getRskSystemProperties(),
                     getRsk(),
                     getMiningMainchainView(),
@@ -969,6 +1041,8 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                     getBuildInfo(),
                     getMiningConfig()
             );
+            JmxRegistry.register("mine", "work", minerServerImpl.getWorkStats());
+            minerServer = minerServerImpl;
         }
 
         return minerServer;
@@ -1004,6 +1078,30 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         return blocksBloomStore;
     }
 
+    public synchronized LogIndexStore getLogIndexStore() {
+        checkIfNotClosed();
+
+        if (logIndexStore == null) {
+            Path logIndexStorePath = Paths.get(getRskSystemProperties().databaseDir(), "logindex");
+            DbKind currentDbKind = getDbKind(getRskSystemProperties().databaseDir());
+            logIndexStore = new LogIndexStore(getRskSystemProperties().logIndexNumberOfBlocks(), KeyValueDataSourceUtils.makeDataSource(logIndexStorePath, currentDbKind));
+        }
+
+        return logIndexStore;
+    }
+
+    public synchronized TraceIndexStore getTraceIndexStore() {
+        checkIfNotClosed();
+
+        if (traceIndexStore == null) {
+            Path traceIndexStorePath = Paths.get(getRskSystemProperties().databaseDir(), "traceindex");
+            DbKind currentDbKind = getDbKind(getRskSystemProperties().databaseDir());
+            traceIndexStore = new TraceIndexStore(getRskSystemProperties().traceIndexNumberOfBlocks(), KeyValueDataSourceUtils.makeDataSource(traceIndexStorePath, currentDbKind), getBlockTxSignatureCache());
+        }
+
+        return traceIndexStore;
+    }
+
     public synchronized List<InternalService> buildInternalServices() {
         checkIfNotClosed();
 
@@ -1020,8 +1118,25 @@ public class RskContext implements NodeContext, NodeBootstrapper {
             internalServices.add(new BlocksBloomService(getCompositeEthereumListener(), getBlocksBloomStore(), getBlockStore()));
         }
 
+        if (getRskSystemProperties().logIndexEnabled()) {
+            internalServices.add(new LogIndexService(getCompositeEthereumListener(), getLogIndexStore(), getBlockStore(), getReceiptStore()));
+        }
+
+        if (getRskSystemProperties().traceIndexEnabled()) {
+            BlockTracer blockTracer = new BlockTracer(getBlockStore(), getReceiptStore(), getBlockExecutor());
+            internalServices.add(new TraceIndexService(getCompositeEthereumListener(), getTraceIndexStore(), getBlockStore(), blockTracer));
+        }
+
         if (rpcHttpEnabled || rpcWebSocketEnabled) {
             internalServices.add(getWeb3());
+
+            if (getRskSystemProperties().isRpcExecutorEnabled()) {
+                internalServices.add(getJsonRpcRequestExecutor());
+            }
+
+            if (getRskSystemProperties().isRpcResponseCacheEnabled()) {
+                internalServices.add(getJsonRpcResponseCache());
+            }
         }
 
         if (rpcHttpEnabled) {
@@ -1244,7 +1359,10 @@ public class RskContext implements NodeContext, NodeBootstrapper {
         DbKind currentDbKind = getDbKind(databaseDir);
         KeyValueDataSource blocksDB = KeyValueDataSourceUtils.makeDataSource(blocksDbPath, currentDbKind);
 
-        return new IndexedBlockStore(getBlockFactory(), blocksDB, new MapDBBlocksIndex(indexDB));
+        Path remascSiblingsDbPath = Paths.get(databaseDir, "remascsiblings");
+        RemascSiblingIndex remascSiblingIndex = new RemascSiblingIndex(KeyValueDataSourceUtils.makeDataSource(remascSiblingsDbPath, currentDbKind));
+
+        return new IndexedBlockStore(getBlockFactory(), blocksDB, new MapDBBlocksIndex(indexDB), remascSiblingIndex);
     }
 
     public synchronized PeerScoringReporterService getPeerScoringReporterService() {
@@ -1331,6 +1449,18 @@ public class RskContext implements NodeContext, NodeBootstrapper {
             logger.trace("blocksBloomStore closed.");
         }
 
+        if (logIndexStore != null) {
+            logger.trace("closing logIndexStore.");
+            logIndexStore.close();
+            logger.trace("logIndexStore closed.");
+        }
+
+        if (traceIndexStore != null) {
+            logger.trace("closing traceIndexStore.");
+            traceIndexStore.close();
+            logger.trace("traceIndexStore closed.");
+        }
+
         if (wallet != null) {
             logger.trace("closing wallet.");
             wallet.close();
@@ -1421,7 +1551,9 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                 getBlocksBloomStore(),
                 getWeb3InformationRetriever(),
                 getSyncProcessor(),
-                getBlockTxSignatureCache());
+                getBlockTxSignatureCache(),
+                getRskSystemProperties().logIndexEnabled() ? getLogIndexStore() : null,
+                getRskSystemProperties().isRpcExecutorEnabled() ? getRpcExecutorService() : null);
     }
 
     protected synchronized Web3InformationRetriever getWeb3InformationRetriever() {
@@ -1835,7 +1967,8 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                     getRskWireProtocolFactory(),
                     getEth62MessageFactory(),
                     getStaticMessages(),
-                    getPeerScoringManager()
+                    getPeerScoringManager(),
+                    getWireCompressionStats()
             );
         }
 
@@ -2154,14 +2287,68 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                     .maxBatchRequestsSize(rskSystemProperties.getMaxBatchRequestsSize())
                     .rpcMaxResponseSize(rskSystemProperties.getRpcMaxResponseSize())
                     .rpcTimeout(rskSystemProperties.getRpcTimeout())
+                    .rpcStreamingChunkSize(rskSystemProperties.getRpcStreamingChunkSize())
                     .build();
 
-            jsonRpcWeb3ServerHandler = new JsonRpcWeb3ServerHandler(getWeb3(), jsonRpcWeb3ServerProperties);
+            JsonRpcRequestExecutor requestExecutor = rskSystemProperties.isRpcExecutorEnabled() ? getJsonRpcRequestExecutor() : null;
+            JsonRpcResponseCache responseCache = rskSystemProperties.isRpcResponseCacheEnabled() ? getJsonRpcResponseCache() : null;
+            jsonRpcWeb3ServerHandler = new JsonRpcWeb3ServerHandler(getWeb3(), jsonRpcWeb3ServerProperties, requestExecutor, responseCache);
         }
 
         return jsonRpcWeb3ServerHandler;
     }
 
+    private JsonRpcRequestExecutor getJsonRpcRequestExecutor() {
+        if (jsonRpcRequestExecutor == null) {
+            RskSystemProperties rskSystemProperties = getRskSystemProperties();
+            Set<String> methodNames = Arrays.stream(getWeb3().getClass().getMethods())
+                    .map(Method::getName)
+                    .filter(name -> name.contains("_"))
+                    .collect(Collectors.toSet());
+            jsonRpcRequestExecutor = new JsonRpcRequestExecutor(
+                    getRpcExecutorService(),
+                    methodNames,
+                    rskSystemProperties.getRpcExecutorDefaultLimits(),
+                    rskSystemProperties.getRpcExecutorMethodLimits()
+            );
+            jsonRpcRequestExecutor.getMethodStats().forEach((methodName, stats) ->
+                    JmxRegistry.register("rpc", "method." + methodName, stats));
+        }
+
+        return jsonRpcRequestExecutor;
+    }
+
+    private JsonRpcResponseCache getJsonRpcResponseCache() {
+        if (jsonRpcResponseCache == null) {
+            RskSystemProperties rskSystemProperties = getRskSystemProperties();
+            jsonRpcResponseCache = new JsonRpcResponseCache(
+                    getCompositeEthereumListener(),
+                    getBlockStore(),
+                    rskSystemProperties.getRpcResponseCacheConfirmations(),
+                    rskSystemProperties.getRpcResponseCacheMaxSize()
+            );
+            JmxRegistry.register("rpc", "responseCache", jsonRpcResponseCache);
+        }
+
+        return jsonRpcResponseCache;
+    }
+
+    /**
+     * The threads running JSON-RPC requests, also used by requests that split their work, like eth_getLogs.
+     * It's shut down by the {@link JsonRpcRequestExecutor}.
+     */
+    private ExecutorService getRpcExecutorService() {
+        if (rpcExecutorService == null) {
+            RskSystemProperties rskSystemProperties = getRskSystemProperties();
+            rpcExecutorService = JsonRpcRequestExecutor.createExecutorService(
+                    rskSystemProperties.isRpcExecutorVirtualThreadsEnabled(),
+                    rskSystemProperties.getRpcExecutorThreads()
+            );
+        }
+
+        return rpcExecutorService;
+    }
+
     private Web3WebSocketServer getWeb3WebSocketServer() {
         if (web3WebSocketServer == null) {
             RskSystemProperties rskSystemProperties = getRskSystemProperties();
@@ -2174,7 +2361,8 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                             rsk,
                             jsonRpcSerializer,
                             getReceiptStore(),
-                            new BlockchainBranchComparator(getBlockStore())
+                            new BlockchainBranchComparator(getBlockStore()),
+                            getRskSystemProperties().logIndexEnabled() ? getLogIndexStore() : null
                     ),
                     new PendingTransactionsNotificationEmitter(rsk, jsonRpcSerializer),
                     new SyncNotificationEmitter(rsk, jsonRpcSerializer, blockchain, syncProcessor)
@@ -2230,9 +2418,17 @@ public class RskContext implements NodeContext, NodeBootstrapper {
 
     private TransactionGateway getTransactionGateway() {
         if (transactionGateway == null) {
+            RskSystemProperties rskSystemProperties = getRskSystemProperties();
             transactionGateway = new TransactionGateway(
                     getChannelManager(),
-                    getTransactionPool()
+                    getTransactionPool(),
+                    new TransactionFetcher(
+                            rskSystemProperties.peerTxAnnouncementsSeenCacheSize(),
+                            rskSystemProperties.peerTxAnnouncementsRelayedCacheSize(),
+                            rskSystemProperties.peerTxAnnouncementsMaxInFlightPerPeer(),
+                            rskSystemProperties.peerTxAnnouncementsRequestTimeout(),
+                            Clock.systemUTC()
+                    )
             );
         }
 
@@ -2250,6 +2446,8 @@ public class RskContext implements NodeContext, NodeBootstrapper {
                     getTransactionGateway(),
                     getPeerScoringManager(),
                     getStatusResolver());
+            nodeMessageHandler.getLaneStats().forEach((lane, stats) ->
+                    JmxRegistry.register("p2p", "messageLane." + lane.getName(), stats));
         }
 
         return nodeMessageHandler;
@@ -0,0 +1,127 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.cli.tools;
+
+import co.rsk.cli.PicoCliToolRskContextAware;
+import co.rsk.rpc.modules.trace.BlockTracer;
+import co.rsk.rpc.modules.trace.TraceIndexStore;
+import co.rsk.rpc.modules.trace.TransactionTrace;
+import org.ethereum.core.Block;
+import org.ethereum.db.BlockStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+/**
+ * The entry point for indexing transaction traces
+ * This is an experimental/unsupported tool
+ *
+ * The indexed blocks are kept contiguous, so the index is extended from its first block down to
+ * the 'from' block, and from its head up to the 'to' block
+ */
+@CommandLine.Command(name = "index-traces", mixinStandardHelpOptions = true, version = "index-traces 1.0",
+        description = "Indexes transaction traces for a specific block range")
+public class IndexTraces extends PicoCliToolRskContextAware {
+    @CommandLine.Option(names = {"-fb", "--fromBlock"}, description = "From block number", required = true)
+    private String fromBlockNumber;
+
+    @CommandLine.Option(names = {"-tb", "--toBlock"}, description = "To block number", required = true)
+    private String toBlockNumber;
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexTraces.class);
+
+    public static void main(String[] args) {
+        create(MethodHandles.lookup().lookupClass()).execute(args);
+    }
+
+    @Override
+    public Integer call() {
+        BlockStore blockStore = ctx.getBlockStore();
+        TraceIndexStore traceIndexStore = ctx.getTraceIndexStore();
+        BlockTracer blockTracer = new BlockTracer(blockStore, ctx.getReceiptStore(), ctx.getBlockExecutor());
+
+        execute(IndexBlooms.makeBlockRange(this.fromBlockNumber, this.toBlockNumber, blockStore), blockStore, traceIndexStore, blockTracer);
+
+        traceIndexStore.flush();
+
+        return 0;
+    }
+
+    /**
+     * Indexes transaction traces to cover the {@link blockRange} range.
+     */
+    static void execute(IndexBlooms.Range blockRange,
+                        BlockStore blockStore,
+                        TraceIndexStore traceIndexStore,
+                        BlockTracer blockTracer) {
+        while (!traceIndexStore.isEmpty() && !isInMainChain(blockStore, traceIndexStore, traceIndexStore.getHeadNumber())) {
+            traceIndexStore.removeHead();
+        }
+
+        if (traceIndexStore.isEmpty()) {
+            addBlock(blockStore, traceIndexStore, blockTracer, blockRange.toBlockNumber);
+        }
+
+        long total = Math.max(0, traceIndexStore.getFirstNumber() - blockRange.fromBlockNumber)
+                + Math.max(0, blockRange.toBlockNumber - traceIndexStore.getHeadNumber());
+        long processed = 0;
+        long curProgress = 0L;
+
+        for (long blockNum = traceIndexStore.getFirstNumber() - 1; blockNum >= blockRange.fromBlockNumber; blockNum--) {
+            addBlock(blockStore, traceIndexStore, blockTracer, blockNum);
+            curProgress = logProgress(++processed, total, curProgress);
+        }
+
+        for (long blockNum = traceIndexStore.getHeadNumber() + 1; blockNum <= blockRange.toBlockNumber; blockNum++) {
+            addBlock(blockStore, traceIndexStore, blockTracer, blockNum);
+            curProgress = logProgress(++processed, total, curProgress);
+        }
+    }
+
+    private static void addBlock(BlockStore blockStore, TraceIndexStore traceIndexStore, BlockTracer blockTracer, long blockNum) {
+        Block block = blockStore.getChainBlockByNumber(blockNum);
+        List<TransactionTrace> traces = blockTracer.traceBlock(block);
+
+        // each transaction has at least one trace, no traces means the block couldn't be traced
+        if (traces.isEmpty() && !block.getTransactionsList().isEmpty() && blockNum != 0) {
+            throw new IllegalStateException("Couldn't trace block " + blockNum);
+        }
+
+        traceIndexStore.addBlock(block, traces);
+    }
+
+    private static boolean isInMainChain(BlockStore blockStore, TraceIndexStore traceIndexStore, long number) {
+        Block block = blockStore.getChainBlockByNumber(number);
+
+        return block != null && block.getHash().equals(traceIndexStore.getBlockHash(number));
+    }
+
+    private static long logProgress(long processed, long total, long curProgress) {
+        long progress = 100 * processed / total;
+        if (progress > curProgress) {
+            logger.info("Processed {}% of blocks", progress);
+            return progress;
+        }
+
+        return curProgress;
+    }
+}
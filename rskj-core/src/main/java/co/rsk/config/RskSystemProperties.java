@@ -21,6 +21,7 @@ package co.rsk.config;
 import co.rsk.core.RskAddress;
 import co.rsk.net.discovery.table.KademliaOptions;
 import co.rsk.rpc.ModuleDescription;
+import co.rsk.rpc.netty.JsonRpcMethodLimits;
 import com.google.common.annotations.VisibleForTesting;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigObject;
@@ -60,8 +61,21 @@ public class RskSystemProperties extends SystemProperties {
     private static final String MINER_REWARD_ADDRESS_CONFIG = "miner.reward.address";
     private static final String MINER_COINBASE_SECRET_CONFIG = "miner.coinbase.secret";
     private static final String RPC_MODULES_PATH = "rpc.modules";
+    private static final String RPC_EXECUTOR_ENABLED = "rpc.executor.enabled";
+    private static final String RPC_EXECUTOR_VIRTUAL_THREADS = "rpc.executor.virtualThreads";
+    private static final String RPC_EXECUTOR_THREADS = "rpc.executor.threads";
+    private static final String RPC_EXECUTOR_METHODS = "rpc.executor.methods";
+    private static final String RPC_EXECUTOR_MAX_CONCURRENCY = "maxConcurrency";
+    private static final String RPC_EXECUTOR_MAX_QUEUED = "maxQueued";
     private static final String RPC_ETH_GET_LOGS_MAX_BLOCKS_TO_QUERY = "rpc.logs.maxBlocksToQuery";
     private static final String RPC_ETH_GET_LOGS_MAX_LOGS_TO_RETURN = "rpc.logs.maxLogsToReturn";
+    private static final String RPC_ETH_GET_LOGS_PARALLELISM = "rpc.logs.parallelism";
+    private static final String RPC_TRACE_CHECKPOINTS_ENABLED = "rpc.trace.checkpoints.enabled";
+    private static final String RPC_TRACE_CHECKPOINTS_BLOCKS = "rpc.trace.checkpoints.blocks";
+    private static final String RPC_TRACE_CHECKPOINTS_INTERVAL = "rpc.trace.checkpoints.interval";
+    private static final String RPC_RESPONSE_CACHE_ENABLED = "rpc.responseCache.enabled";
+    private static final String RPC_RESPONSE_CACHE_CONFIRMATIONS = "rpc.responseCache.confirmations";
+    private static final String RPC_RESPONSE_CACHE_MAX_SIZE = "rpc.responseCache.maxSize";
     public static final String TX_GAS_PRICE_CALCULATOR_TYPE = "transaction.gasPriceCalculatorType";
 
     private static final String RPC_GAS_PRICE_MULTIPLIER_CONFIG = "rpc.gasPriceMultiplier";
@@ -174,6 +188,10 @@ public class RskSystemProperties extends SystemProperties {
         return getBoolean("miner.server.updateWorkOnNewTransaction", false);
     }
 
+    public boolean updateEmptyWorkOnNewBlock() {
+        return getBoolean("miner.server.updateEmptyWorkOnNewBlock", false);
+    }
+
     public long minerMinGasPrice() {
         return configFromFiles.getLong("miner.minGasPrice");
     }
@@ -198,6 +216,22 @@ public class RskSystemProperties extends SystemProperties {
         return getInt("blooms.confirmations", 400);
     }
 
+    public boolean logIndexEnabled() {
+        return getBoolean("logIndex.enabled", false);
+    }
+
+    public int logIndexNumberOfBlocks() {
+        return getInt("logIndex.blocks", 1024);
+    }
+
+    public boolean traceIndexEnabled() {
+        return getBoolean("traceIndex.enabled", false);
+    }
+
+    public int traceIndexNumberOfBlocks() {
+        return getInt("traceIndex.blocks", 1024);
+    }
+
     public boolean waitForSync() {
         return getBoolean("sync.waitForSync", false);
     }
@@ -301,6 +335,49 @@ public class RskSystemProperties extends SystemProperties {
         return getInt(DISCOVERY_BUCKET_SIZE, KademliaOptions.BUCKET_SIZE);
     }
 
+    public boolean isRpcExecutorEnabled() {
+        return configFromFiles.getBoolean(RPC_EXECUTOR_ENABLED);
+    }
+
+    public boolean isRpcExecutorVirtualThreadsEnabled() {
+        return configFromFiles.getBoolean(RPC_EXECUTOR_VIRTUAL_THREADS);
+    }
+
+    public int getRpcExecutorThreads() {
+        return configFromFiles.getInt(RPC_EXECUTOR_THREADS);
+    }
+
+    public JsonRpcMethodLimits getRpcExecutorDefaultLimits() {
+        Config executorConfig = configFromFiles.getConfig("rpc.executor");
+        return new JsonRpcMethodLimits(
+                executorConfig.getInt(RPC_EXECUTOR_MAX_CONCURRENCY),
+                executorConfig.getInt(RPC_EXECUTOR_MAX_QUEUED)
+        );
+    }
+
+    /**
+     * Limits of the methods configured under rpc.executor.methods, settings left out take the default value.
+     */
+    public Map<String, JsonRpcMethodLimits> getRpcExecutorMethodLimits() {
+        Map<String, JsonRpcMethodLimits> methodLimits = new HashMap<>();
+        if (!configFromFiles.hasPath(RPC_EXECUTOR_METHODS)) {
+            return methodLimits;
+        }
+
+        JsonRpcMethodLimits defaultLimits = getRpcExecutorDefaultLimits();
+        ConfigObject methodsConfig = configFromFiles.getObject(RPC_EXECUTOR_METHODS);
+        for (String methodName : methodsConfig.keySet()) {
+            Config methodConfig = ((ConfigObject) methodsConfig.get(methodName)).toConfig();
+            int maxConcurrency = methodConfig.hasPath(RPC_EXECUTOR_MAX_CONCURRENCY) ?
+                    methodConfig.getInt(RPC_EXECUTOR_MAX_CONCURRENCY) : defaultLimits.getMaxConcurrency();
+            int maxQueued = methodConfig.hasPath(RPC_EXECUTOR_MAX_QUEUED) ?
+                    methodConfig.getInt(RPC_EXECUTOR_MAX_QUEUED) : defaultLimits.getMaxQueued();
+            methodLimits.put(methodName, new JsonRpcMethodLimits(maxConcurrency, maxQueued));
+        }
+
+        return methodLimits;
+    }
+
     public List<ModuleDescription> getRpcModules() {
         if (this.moduleDescriptions != null) {
             return this.moduleDescriptions;
@@ -497,6 +574,14 @@ public class RskSystemProperties extends SystemProperties {
         return configFromFiles.getInt("cache.btcBlockStore.depth");
     }
 
+    public int getBridgeStateCacheSize() {
+        return configFromFiles.getInt("cache.bridgeState.size");
+    }
+
+    public int getPrecompiledResultCacheSize() {
+        return configFromFiles.getInt("cache.precompiles.size");
+    }
+
     public long getVmExecutionStackSize() {
         return configFromFiles.getBytes("vm.executionStackSize");
     }
@@ -525,6 +610,18 @@ public class RskSystemProperties extends SystemProperties {
         return configFromFiles.getInt("peer.messageQueue.thresholdPerMinutePerPeer");
     }
 
+    public boolean isMessageQueueLanesEnabled() {
+        return configFromFiles.getBoolean("peer.messageQueue.lanes.enabled");
+    }
+
+    public int getMessageQueueLaneWorkers(String lane) {
+        return configFromFiles.getInt("peer.messageQueue.lanes." + lane + ".workers");
+    }
+
+    public int getMessageQueueLaneMaxSize(String lane) {
+        return configFromFiles.getInt("peer.messageQueue.lanes." + lane + ".maxSize");
+    }
+
     public boolean rpcZeroSignatureIfRemasc() {
         return configFromFiles.getBoolean("rpc.zeroSignatureIfRemasc");
     }
@@ -537,6 +634,34 @@ public class RskSystemProperties extends SystemProperties {
         return configFromFiles.getLong(RPC_ETH_GET_LOGS_MAX_LOGS_TO_RETURN);
     }
 
+    public int getRpcEthGetLogsParallelism() {
+        return configFromFiles.getInt(RPC_ETH_GET_LOGS_PARALLELISM);
+    }
+
+    public boolean isRpcTraceCheckpointsEnabled() {
+        return configFromFiles.getBoolean(RPC_TRACE_CHECKPOINTS_ENABLED);
+    }
+
+    public int getRpcTraceCheckpointsBlocks() {
+        return configFromFiles.getInt(RPC_TRACE_CHECKPOINTS_BLOCKS);
+    }
+
+    public int getRpcTraceCheckpointsInterval() {
+        return configFromFiles.getInt(RPC_TRACE_CHECKPOINTS_INTERVAL);
+    }
+
+    public boolean isRpcResponseCacheEnabled() {
+        return configFromFiles.getBoolean(RPC_RESPONSE_CACHE_ENABLED);
+    }
+
+    public int getRpcResponseCacheConfirmations() {
+        return configFromFiles.getInt(RPC_RESPONSE_CACHE_CONFIRMATIONS);
+    }
+
+    public long getRpcResponseCacheMaxSize() {
+        return configFromFiles.getLong(RPC_RESPONSE_CACHE_MAX_SIZE);
+    }
+
     public double getTopBest() {
         if (!configFromFiles.hasPath(PROPERTY_SYNC_TOP_BEST)) {
             return 0.0D;
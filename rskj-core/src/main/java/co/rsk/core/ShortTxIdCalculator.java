@@ -0,0 +1,51 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.core;
+
+import co.rsk.crypto.Keccak256;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Computes the short ids compact blocks use to refer to their transactions.
+ * <p>
+ * As in BIP152, short ids are a SipHash of the transaction hash keyed with the hash of the block, so
+ * transactions whose short ids collide can't be prepared before the block they collide in is known.
+ */
+public final class ShortTxIdCalculator {
+
+    private final Keccak256 blockHash;
+    private final HashFunction hashFunction;
+
+    public ShortTxIdCalculator(Keccak256 blockHash) {
+        ByteBuffer key = ByteBuffer.wrap(blockHash.getBytes());
+        this.blockHash = blockHash;
+        this.hashFunction = Hashing.sipHash24(key.getLong(0), key.getLong(8));
+    }
+
+    public Keccak256 getBlockHash() {
+        return blockHash;
+    }
+
+    public long shortTxId(Keccak256 txHash) {
+        return hashFunction.hashBytes(txHash.getBytes()).asLong();
+    }
+}
@@ -1,5 +1,6 @@
 package co.rsk.core;
 
+import co.rsk.core.bc.StateCheckpointCache;
 import co.rsk.crypto.Keccak256;
 import org.ethereum.core.*;
 import org.ethereum.vm.DataWord;
@@ -37,6 +38,9 @@ public class TransactionListExecutor implements Callable<Boolean> {
     private final boolean registerProgramResults;
     private final Set<RskAddress> concurrentContractsDisallowed;
     private Coin totalPaidFees;
+    private int targetTxIndex = -1;
+    private long previousGasUsed;
+    private StateCheckpointCache checkpointCache;
 
     private volatile boolean stopped;
 
@@ -88,8 +92,9 @@ public class TransactionListExecutor implements Callable<Boolean> {
             return false;
         }
 
-        long totalGasUsed = 0;
+        long totalGasUsed = previousGasUsed;
         for (Transaction tx : transactions) {
+            boolean traceTx = vmTrace && (targetTxIndex < 0 || i == targetTxIndex);
 
             int numberOfTransactions = block.getTransactionsList().size();
             boolean isRemascTransaction = tx.isRemascTransaction(this.i, numberOfTransactions);
@@ -103,7 +108,7 @@ public class TransactionListExecutor implements Callable<Boolean> {
                     track,
                     block,
                     totalGasUsed,
-                    vmTrace,
+                    traceTx,
                     vmTraceOptions,
                     deletedAccounts,
                     true,
@@ -130,7 +135,7 @@ public class TransactionListExecutor implements Callable<Boolean> {
                 this.transactionResults.put(tx.getHash(), txExecutor.getResult());
             }
 
-            if (vmTrace) {
+            if (traceTx) {
                 txExecutor.extractTrace(programTraceProcessor);
             }
 
@@ -158,6 +163,16 @@ public class TransactionListExecutor implements Callable<Boolean> {
             receipts.put(i, receipt);
 
             logger.trace("tx[{}] done", i);
+
+            if (checkpointCache != null && checkpointCache.isCheckpoint(i - 1)) {
+                track.commit();
+                checkpointCache.put(block.getHash(), new StateCheckpointCache.Checkpoint(
+                        i - 1, track.getTrie(), totalGasUsed, totalPaidFees, deletedAccounts));
+            }
+
+            if (targetTxIndex >= 0 && i > targetTxIndex) {
+                break;
+            }
         }
         totalGas += totalGasUsed;
         return true;
@@ -216,6 +231,28 @@ public class TransactionListExecutor implements Callable<Boolean> {
         }
     }
 
+    /**
+     * Traces only the transaction at the given index of the block, and stops right after executing it
+     */
+    public void setTargetTxIndex(int targetTxIndex) {
+        this.targetTxIndex = targetTxIndex;
+    }
+
+    /**
+     * Continues a list of transactions from a checkpoint: the given gas was used by the transactions before the first one
+     */
+    public void setPreviousGasUsed(long previousGasUsed) {
+        this.previousGasUsed = previousGasUsed;
+    }
+
+    /**
+     * Keeps the state after some of the transactions in the given cache. The repository of the list must be the one
+     * of the block, not a nested one, so that its state can be committed and retrieved.
+     */
+    public void setCheckpointCache(StateCheckpointCache checkpointCache) {
+        this.checkpointCache = checkpointCache;
+    }
+
     public Repository getRepository() {
         return this.track;
     }
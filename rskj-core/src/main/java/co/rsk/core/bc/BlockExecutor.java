@@ -101,6 +101,11 @@ public class BlockExecutor {
      */
     private enum ExecutionMode { MINING, VALIDATION }
 
+    /**
+     * Target transaction index meaning the whole block is executed (and traced, if there's a trace processor)
+     */
+    private static final int ALL_TRANSACTIONS = -1;
+
     private final RepositoryLocator repositoryLocator;
     private final TransactionExecutorFactory transactionExecutorFactory;
     private final ActivationConfig activationConfig;
@@ -117,6 +122,8 @@ public class BlockExecutor {
     private final ExecutorService[] execServices;
     private final long minSequentialSetGasLimit;
     private boolean registerProgramResults;
+    @Nullable
+    private StateCheckpointCache checkpointCache;
 
     public BlockExecutor(
             RepositoryLocator repositoryLocator,
@@ -184,6 +191,23 @@ public class BlockExecutor {
         return result;
     }
 
+    /**
+     * Execute and complete a block that extends the transactions of a previously built one.
+     *
+     * @param block  A block whose transactions start with the ones of the prefix, followed by the REMASC transaction
+     * @param parent The parent of the block.
+     * @param prefix The state of the previously built block before its REMASC transaction
+     */
+    public BlockResult executeAndFill(Block block, BlockHeader parent, MiningPrefix prefix) {
+        if (activationConfig.areActive(block.getHeader().getNumber(), ConsensusRule.RSKIP351, ConsensusRule.RSKIP144)) {
+            return executeAndFill(block, parent);
+        }
+
+        BlockResult result = executeInternal(null, 0, block, parent, true, false, false, ExecutionMode.MINING, ALL_TRANSACTIONS, prefix);
+        fill(block, result);
+        return result;
+    }
+
     @VisibleForTesting
     public void executeAndFillAll(Block block, BlockHeader parent) {
         BlockResult result = executeForMining(block, parent, false, true, false);
@@ -345,7 +369,7 @@ public class BlockExecutor {
         if (activationConfig.areActive(block.getHeader().getNumber(), ConsensusRule.RSKIP351, ConsensusRule.RSKIP144)) {
             return executeForMiningAfterRSKIP144(block, parent, discardInvalidTxs, ignoreReadyToExecute, saveState);
         } else {
-            return executeInternal(null, 0, block, parent, discardInvalidTxs, ignoreReadyToExecute, saveState, ExecutionMode.MINING);
+            return executeInternal(null, 0, block, parent, discardInvalidTxs, ignoreReadyToExecute, saveState, ExecutionMode.MINING, ALL_TRANSACTIONS, null);
         }
     }
 
@@ -370,9 +394,36 @@ public class BlockExecutor {
                                boolean acceptInvalidTransactions,
                                boolean saveState) {
         if (activationConfig.areActive(block.getHeader().getNumber(), ConsensusRule.RSKIP351, ConsensusRule.RSKIP144)) {
-            return executeParallel(programTraceProcessor, vmTraceOptions, block, parent, discardInvalidTxs, acceptInvalidTransactions, saveState);
+            return executeParallel(programTraceProcessor, vmTraceOptions, block, parent, discardInvalidTxs, acceptInvalidTransactions, saveState, ALL_TRANSACTIONS);
         } else {
-            return executeInternal(programTraceProcessor, vmTraceOptions, block, parent, discardInvalidTxs, acceptInvalidTransactions, saveState, ExecutionMode.VALIDATION);
+            return executeInternal(programTraceProcessor, vmTraceOptions, block, parent, discardInvalidTxs, acceptInvalidTransactions, saveState, ExecutionMode.VALIDATION, ALL_TRANSACTIONS, null);
+        }
+    }
+
+    /**
+     * Execute a block up to one of its transactions, saving in the trace processor only the execution trace of that
+     * transaction. The transactions before it run without tracing, and the ones after it aren't executed.
+     * <p>
+     * After RSKIP144, the parallel sublists the transaction doesn't depend on aren't executed either: a transaction
+     * in a parallel sublist only depends on the ones before it in the same sublist, while one in the sequential
+     * sublist depends on all the parallel sublists.
+     * <p>
+     * The result only has the executed transactions.
+     */
+    public BlockResult traceTransaction(ProgramTraceProcessor programTraceProcessor,
+                                        int vmTraceOptions,
+                                        Block block,
+                                        BlockHeader parent,
+                                        int txIndex) {
+        Objects.requireNonNull(programTraceProcessor);
+        if (txIndex < 0 || txIndex >= block.getTransactionsList().size()) {
+            throw new IllegalArgumentException("Invalid transaction index " + txIndex + " for block " + block.getNumber());
+        }
+
+        if (activationConfig.areActive(block.getHeader().getNumber(), ConsensusRule.RSKIP351, ConsensusRule.RSKIP144)) {
+            return executeParallel(programTraceProcessor, vmTraceOptions, block, parent, false, false, false, txIndex);
+        } else {
+            return executeInternal(programTraceProcessor, vmTraceOptions, block, parent, false, false, false, ExecutionMode.VALIDATION, txIndex, null);
         }
     }
 
@@ -399,7 +450,9 @@ public class BlockExecutor {
             boolean discardInvalidTxs,
             boolean acceptInvalidTransactions,
             boolean saveState,
-            ExecutionMode mode) {
+            ExecutionMode mode,
+            int targetTxIndex,
+            @Nullable MiningPrefix prefix) {
         boolean vmTrace = programTraceProcessor != null;
         logger.trace("Start execute pre RSKIP144.");
         loggingApplyBlock(block);
@@ -417,27 +470,64 @@ public class BlockExecutor {
         // the state prior execution again.
         Metric metric = profiler.start(MetricKind.BLOCK_EXECUTE);
 
-        Repository track = repositoryLocator.startTrackingAt(parent);
-
-        maintainPrecompiledContractStorageRoots(track, activationConfig.forBlock(block.getNumber()));
-
-        int i = 1;
-        long totalGasUsed = 0;
-        Coin totalPaidFees = Coin.ZERO;
-        List<TransactionReceipt> receipts = new ArrayList<>();
-        List<Transaction> executedTransactions = new ArrayList<>();
-        Set<DataWord> deletedAccounts = new HashSet<>();
-
-        int txindex = 0;
+        boolean useCheckpoints = canUseCheckpoints(mode, discardInvalidTxs);
+        StateCheckpointCache.Checkpoint checkpoint = useCheckpoints ? findCheckpoint(block, 0, targetTxIndex) : null;
+
+        Repository track;
+        int txindex;
+        long totalGasUsed;
+        Coin totalPaidFees;
+        List<TransactionReceipt> receipts;
+        List<Transaction> executedTransactions;
+        Set<DataWord> deletedAccounts;
+        int logIndexOffset;
+        if (prefix != null) {
+            track = repositoryLocator.startTrackingAt(prefix.getTrie());
+            txindex = prefix.getTransactions().size();
+            totalGasUsed = prefix.getGasUsed();
+            totalPaidFees = prefix.getPaidFees();
+            receipts = new ArrayList<>(prefix.getReceipts());
+            executedTransactions = new ArrayList<>(prefix.getExecutedTransactions());
+            deletedAccounts = new HashSet<>(prefix.getDeletedAccounts());
+            logIndexOffset = prefix.getLogIndexOffset();
+        } else {
+            if (checkpoint == null) {
+                track = repositoryLocator.startTrackingAt(parent);
+                maintainPrecompiledContractStorageRoots(track, activationConfig.forBlock(block.getNumber()));
+            } else {
+                track = repositoryLocator.startTrackingAt(checkpoint.getTrie());
+            }
 
-        int logIndexOffset = 0;
+            txindex = checkpoint == null ? 0 : checkpoint.getTxIndex() + 1;
+            totalGasUsed = checkpoint == null ? 0 : checkpoint.getGasUsed();
+            totalPaidFees = checkpoint == null ? Coin.ZERO : checkpoint.getPaidFees();
+            receipts = new ArrayList<>();
+            executedTransactions = new ArrayList<>();
+            deletedAccounts = checkpoint == null ? new HashSet<>() : new HashSet<>(checkpoint.getDeletedAccounts());
+            logIndexOffset = 0;
+        }
+        int i = txindex + 1;
 
         List<Transaction> invalidTransactions = new ArrayList<>();
 
-        for (Transaction tx : block.getTransactionsList()) {
+        // a block being built keeps its state before the REMASC transaction, so that new transactions can be
+        // appended to it later without executing the previous ones again
+        boolean keepMiningPrefix = mode == ExecutionMode.MINING && discardInvalidTxs && !acceptInvalidTransactions;
+        MiningPrefix miningPrefix = null;
+
+        List<Transaction> transactions = block.getTransactionsList();
+        for (Transaction tx : transactions.subList(txindex, transactions.size())) {
             loggingApplyBlockToTx(block, i);
 
+            if (keepMiningPrefix && tx.isRemascTransaction(txindex, transactions.size())) {
+                track.commit();
+                miningPrefix = new MiningPrefix(
+                        transactions.subList(0, txindex), track.getTrie(), totalGasUsed, totalPaidFees,
+                        deletedAccounts, logIndexOffset, executedTransactions, receipts);
+            }
+
             Repository txSubTrack = track.startTracking();
+            boolean traceTx = vmTrace && (targetTxIndex == ALL_TRANSACTIONS || txindex == targetTxIndex);
             TransactionExecutor txExecutor = transactionExecutorFactory.newInstance(
                     tx,
                     txindex++,
@@ -445,7 +535,7 @@ public class BlockExecutor {
                     txSubTrack,
                     block,
                     totalGasUsed,
-                    vmTrace,
+                    traceTx,
                     vmTraceOptions,
                     deletedAccounts);
             boolean transactionExecuted;
@@ -478,7 +568,7 @@ public class BlockExecutor {
             if (transactionExecuted) {
                 txSubTrack.commit();
             }
-            registerExecutedTx(programTraceProcessor, vmTrace, executedTransactions, tx, txExecutor);
+            registerExecutedTx(programTraceProcessor, traceTx, executedTransactions, tx, txExecutor);
 
             long gasUsed = txExecutor.getGasConsumed();
             totalGasUsed += gasUsed;
@@ -497,6 +587,16 @@ public class BlockExecutor {
             receipts.add(receipt);
 
             loggingTxDone();
+
+            if (useCheckpoints && checkpointCache.isCheckpoint(txindex - 1)) {
+                track.commit();
+                checkpointCache.put(block.getHash(), new StateCheckpointCache.Checkpoint(
+                        txindex - 1, track.getTrie(), totalGasUsed, totalPaidFees, deletedAccounts));
+            }
+
+            if (targetTxIndex != ALL_TRANSACTIONS && txindex > targetTxIndex) {
+                break;
+            }
         }
 
 
@@ -510,7 +610,8 @@ public class BlockExecutor {
                 totalGasUsed,
                 totalPaidFees,
                 vmTrace ? null : track.getTrie(),
-                invalidTransactions
+                invalidTransactions,
+                miningPrefix
         );
         profiler.stop(metric);
         logger.trace("End execute pre RSKIP144.");
@@ -524,7 +625,8 @@ public class BlockExecutor {
             BlockHeader parent,
             boolean discardInvalidTxs,
             boolean acceptInvalidTransactions,
-            boolean saveState) {
+            boolean saveState,
+            int targetTxIndex) {
         boolean vmTrace = programTraceProcessor != null;
         logger.trace("Start executeParallel.");
         loggingApplyBlock(block);
@@ -542,13 +644,26 @@ public class BlockExecutor {
         // the state prior execution again.
         Metric metric = profiler.start(MetricKind.BLOCK_EXECUTE);
 
-        ReadWrittenKeysTracker readWrittenKeysTracker = new ReadWrittenKeysTracker();
-        Repository track = repositoryLocator.startTrackingAt(parent, readWrittenKeysTracker);
+        short[] txExecutionEdges = block.getHeader().getTxExecutionSublistsEdges();
 
-        maintainPrecompiledContractStorageRoots(track, activationConfig.forBlock(block.getNumber()));
-        readWrittenKeysTracker.clear();
+        boolean targetInParallelSublist = targetTxIndex != ALL_TRANSACTIONS
+                && txExecutionEdges.length > 0 && targetTxIndex < txExecutionEdges[txExecutionEdges.length - 1];
 
-        short[] txExecutionEdges = block.getHeader().getTxExecutionSublistsEdges();
+        boolean useCheckpoints = canUseCheckpoints(ExecutionMode.VALIDATION, discardInvalidTxs);
+        StateCheckpointCache.Checkpoint checkpoint = useCheckpoints
+                ? findCheckpoint(block, firstTxIndexOfSublist(txExecutionEdges, targetTxIndex), targetTxIndex)
+                : null;
+
+        ReadWrittenKeysTracker readWrittenKeysTracker = new ReadWrittenKeysTracker();
+        Repository track;
+        if (checkpoint == null) {
+            track = repositoryLocator.startTrackingAt(parent, readWrittenKeysTracker);
+            maintainPrecompiledContractStorageRoots(track, activationConfig.forBlock(block.getNumber()));
+            readWrittenKeysTracker.clear();
+        } else {
+            // the checkpoint already has the state of the sublists the target transaction depends on
+            track = repositoryLocator.startTrackingAt(checkpoint.getTrie());
+        }
 
         // if the number of parallel lists is less than 2, then there's no need to execute in another thread. The work can
         // be done in the same thread (in-line) without any threads switching.
@@ -565,28 +680,48 @@ public class BlockExecutor {
         short start = 0;
 
         for (short end : txExecutionEdges) {
-            List<Transaction> sublist = block.getTransactionsList().subList(start, end);
+            boolean hasTarget = targetTxIndex >= start && targetTxIndex < end;
+            if (targetTxIndex != ALL_TRANSACTIONS && !hasTarget && (targetInParallelSublist || checkpoint != null)) {
+                // the target transaction doesn't depend on this sublist, or its state is in the checkpoint
+                start = end;
+                continue;
+            }
+
+            boolean traceSublist = vmTrace && (targetTxIndex == ALL_TRANSACTIONS || hasTarget);
+            // when only the target sublist is executed, it runs on the block repository so that it can keep checkpoints
+            boolean checkpointSublist = useCheckpoints && hasTarget;
+            int first = hasTarget && checkpoint != null ? checkpoint.getTxIndex() + 1 : start;
+            List<Transaction> sublist = block.getTransactionsList().subList(first, end);
             TransactionListExecutor txListExecutor = new TransactionListExecutor(
                     sublist,
                     block,
                     transactionExecutorFactory,
-                    track.startTracking(),
-                    vmTrace,
+                    checkpointSublist ? track : track.startTracking(),
+                    traceSublist,
                     vmTraceOptions,
-                    new HashSet<>(),
+                    hasTarget && checkpoint != null ? new HashSet<>(checkpoint.getDeletedAccounts()) : new HashSet<>(),
                     discardInvalidTxs,
                     acceptInvalidTransactions,
                     new HashMap<>(),
                     new HashMap<>(),
                     new HashMap<>(),
                     registerProgramResults,
-                    programTraceProcessor,
-                    start,
-                    Coin.ZERO,
+                    traceSublist ? programTraceProcessor : null,
+                    first,
+                    hasTarget && checkpoint != null ? checkpoint.getPaidFees() : Coin.ZERO,
                     remascEnabled,
                     concurrentContractsDisallowed,
                     BlockUtils.getSublistGasLimit(block, false, minSequentialSetGasLimit)
             );
+            if (hasTarget) {
+                txListExecutor.setTargetTxIndex(targetTxIndex);
+            }
+            if (checkpointSublist) {
+                txListExecutor.setCheckpointCache(checkpointCache);
+            }
+            if (hasTarget && checkpoint != null) {
+                txListExecutor.setPreviousGasUsed(checkpoint.getGasUsed());
+            }
             completionService.submit(txListExecutor);
             transactionListExecutors.add(txListExecutor);
             start = end;
@@ -629,6 +764,12 @@ public class BlockExecutor {
         Coin totalPaidFees = Coin.ZERO;
         long totalGasUsed = 0;
 
+        boolean resumeSequentialSublist = checkpoint != null && !targetInParallelSublist;
+        if (resumeSequentialSublist) {
+            deletedAccounts.addAll(checkpoint.getDeletedAccounts());
+            totalPaidFees = checkpoint.getPaidFees();
+        }
+
         for (TransactionListExecutor tle : transactionListExecutors) {
             tle.getRepository().commit();
             deletedAccounts.addAll(tle.getDeletedAccounts());
@@ -639,8 +780,10 @@ public class BlockExecutor {
             totalGasUsed += tle.getTotalGas();
         }
 
-        // execute remaining transactions after the parallel subsets
-        List<Transaction> sublist = block.getTransactionsList().subList(start, block.getTransactionsList().size());
+        // execute remaining transactions after the parallel subsets, unless the target transaction was already executed
+        int sequentialStart = resumeSequentialSublist ? checkpoint.getTxIndex() + 1 : start;
+        int sequentialEnd = targetInParallelSublist ? sequentialStart : block.getTransactionsList().size();
+        List<Transaction> sublist = block.getTransactionsList().subList(sequentialStart, sequentialEnd);
         TransactionListExecutor txListExecutor = new TransactionListExecutor(
                 sublist,
                 block,
@@ -656,12 +799,21 @@ public class BlockExecutor {
                 mergedTransactionResults,
                 registerProgramResults,
                 programTraceProcessor,
-                start,
+                sequentialStart,
                 totalPaidFees,
                 remascEnabled,
                 Collections.emptySet(), // precompiled contracts are always allowed in a sequential list, as there's no concurrency in it
                 BlockUtils.getSublistGasLimit(block, true, minSequentialSetGasLimit)
         );
+        if (targetTxIndex != ALL_TRANSACTIONS) {
+            txListExecutor.setTargetTxIndex(targetTxIndex);
+        }
+        if (useCheckpoints) {
+            txListExecutor.setCheckpointCache(checkpointCache);
+        }
+        if (resumeSequentialSublist) {
+            txListExecutor.setPreviousGasUsed(checkpoint.getGasUsed());
+        }
         Boolean success = txListExecutor.call();
         if (!Boolean.TRUE.equals(success)) {
             return BlockResult.INTERRUPTED_EXECUTION_BLOCK_RESULT;
@@ -693,6 +845,34 @@ public class BlockExecutor {
         return result;
     }
 
+    /**
+     * Checkpoints are kept for blocks being validated or traced, not for the ones being built, and only when all
+     * their transactions run (invalid transactions aren't discarded), so that they match the block transaction indexes.
+     */
+    private boolean canUseCheckpoints(ExecutionMode mode, boolean discardInvalidTxs) {
+        return checkpointCache != null && mode == ExecutionMode.VALIDATION && !discardInvalidTxs;
+    }
+
+    @Nullable
+    private StateCheckpointCache.Checkpoint findCheckpoint(Block block, int firstTxIndex, int targetTxIndex) {
+        if (targetTxIndex == ALL_TRANSACTIONS) {
+            return null;
+        }
+
+        return checkpointCache.find(block.getHash(), firstTxIndex, targetTxIndex).orElse(null);
+    }
+
+    private static int firstTxIndexOfSublist(short[] txExecutionEdges, int txIndex) {
+        int first = 0;
+        for (short edge : txExecutionEdges) {
+            if (txIndex < edge) {
+                break;
+            }
+            first = edge;
+        }
+        return first;
+    }
+
     private List<TransactionReceipt> updateReceipts(List<TransactionReceipt> receipts) {
         int logIndexAcc = 0;
         for (TransactionReceipt receipt : receipts) {
@@ -979,6 +1159,14 @@ public class BlockExecutor {
         return this.transactionResults.get(txhash);
     }
 
+    /**
+     * Keeps the state after some of the transactions of the validated and traced blocks in the given cache, and starts
+     * transaction replays from them
+     */
+    public void setStateCheckpointCache(@Nullable StateCheckpointCache checkpointCache) {
+        this.checkpointCache = checkpointCache;
+    }
+
     public void setRegisterProgramResults(boolean value) {
         this.registerProgramResults = value;
         this.transactionResults.clear();
@@ -24,6 +24,7 @@ import org.ethereum.core.Block;
 import org.ethereum.core.Transaction;
 import org.ethereum.core.TransactionReceipt;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -56,6 +57,9 @@ public class BlockResult {
     // Transactions that threw an unexpected exception during mining and must be evicted from the mempool.
     private final List<Transaction> invalidTransactions;
 
+    // State before the REMASC transaction of a block built for mining, to extend it with new transactions.
+    private final MiningPrefix miningPrefix;
+
     public BlockResult(
             Block block,
             List<Transaction> executedTransactions,
@@ -65,6 +69,19 @@ public class BlockResult {
             Coin paidFees,
             Trie finalState,
             List<Transaction> invalidTransactions) {
+        this(block, executedTransactions, transactionReceipts, txEdges, gasUsed, paidFees, finalState, invalidTransactions, null);
+    }
+
+    BlockResult(
+            Block block,
+            List<Transaction> executedTransactions,
+            List<TransactionReceipt> transactionReceipts,
+            short[] txEdges,
+            long gasUsed,
+            Coin paidFees,
+            Trie finalState,
+            List<Transaction> invalidTransactions,
+            @Nullable MiningPrefix miningPrefix) {
         this.block = block;
         this.executedTransactions = executedTransactions;
         this.transactionReceipts = transactionReceipts;
@@ -73,6 +90,7 @@ public class BlockResult {
         this.finalState = finalState;
         this.txEdges = txEdges != null ? Arrays.copyOf(txEdges, txEdges.length) : null;
         this.invalidTransactions = Objects.requireNonNullElse(invalidTransactions, Collections.emptyList());
+        this.miningPrefix = miningPrefix;
     }
 
     public BlockResult(
@@ -112,4 +130,9 @@ public class BlockResult {
     public List<Transaction> getInvalidTransactions() {
         return invalidTransactions;
     }
+
+    @Nullable
+    public MiningPrefix getMiningPrefix() {
+        return miningPrefix;
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.core.bc;
+
+import co.rsk.core.Coin;
+import co.rsk.trie.Trie;
+import org.ethereum.core.Transaction;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.vm.DataWord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * State of a block being built right before its REMASC transaction, so that a later template for the same parent
+ * can append transactions to the ones already executed instead of executing all of them again.
+ * <p>
+ * Only the sequential execution before RSKIP144 keeps it: after RSKIP144 the transactions are scheduled in parallel
+ * sublists and appending one may change the whole schedule.
+ */
+public class MiningPrefix {
+    private final List<Transaction> transactions;
+    private final Trie trie;
+    private final long gasUsed;
+    private final Coin paidFees;
+    private final Set<DataWord> deletedAccounts;
+    private final int logIndexOffset;
+    private final List<Transaction> executedTransactions;
+    private final List<TransactionReceipt> receipts;
+
+    MiningPrefix(
+            List<Transaction> transactions,
+            Trie trie,
+            long gasUsed,
+            Coin paidFees,
+            Set<DataWord> deletedAccounts,
+            int logIndexOffset,
+            List<Transaction> executedTransactions,
+            List<TransactionReceipt> receipts) {
+        this.transactions = Collections.unmodifiableList(new ArrayList<>(transactions));
+        this.trie = trie;
+        this.gasUsed = gasUsed;
+        this.paidFees = paidFees;
+        this.deletedAccounts = Collections.unmodifiableSet(new HashSet<>(deletedAccounts));
+        this.logIndexOffset = logIndexOffset;
+        this.executedTransactions = Collections.unmodifiableList(new ArrayList<>(executedTransactions));
+        this.receipts = Collections.unmodifiableList(new ArrayList<>(receipts));
+    }
+
+    /**
+     * @return the transactions the prefix was built from, in block order, including the discarded ones
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public Trie getTrie() {
+        return trie;
+    }
+
+    public long getGasUsed() {
+        return gasUsed;
+    }
+
+    public Coin getPaidFees() {
+        return paidFees;
+    }
+
+    public Set<DataWord> getDeletedAccounts() {
+        return deletedAccounts;
+    }
+
+    public int getLogIndexOffset() {
+        return logIndexOffset;
+    }
+
+    public List<Transaction> getExecutedTransactions() {
+        return executedTransactions;
+    }
+
+    public List<TransactionReceipt> getReceipts() {
+        return receipts;
+    }
+}
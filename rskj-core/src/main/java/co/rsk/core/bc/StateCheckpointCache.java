@@ -0,0 +1,200 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.core.bc;
+
+import co.rsk.core.Coin;
+import co.rsk.crypto.Keccak256;
+import co.rsk.metrics.CacheStats;
+import co.rsk.trie.Trie;
+import org.ethereum.vm.DataWord;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps in memory the state of recently executed blocks after some of their transactions, so that replaying a
+ * transaction (e.g. to trace it) can start from the nearest checkpoint before it instead of from the parent state.
+ * <p>
+ * A checkpoint is only valid to resume the same list of transactions it was taken in: the whole block before
+ * RSKIP144, and each parallel sublist or the sequential sublist after it.
+ * <p>
+ * The cache is bounded by the number of blocks, which are evicted in least recently used order. Checkpoint tries
+ * share most of their nodes with each other and with the stored state, so memory is reported as number of entries.
+ */
+public class StateCheckpointCache implements StateCheckpointCacheMBean {
+
+    private final int maxBlocks;
+    private final int interval;
+
+    private final Map<Keccak256, TreeMap<Integer, Checkpoint>> checkpoints;
+    private int checkpointCount;
+
+    private final CacheStats stats = new CacheStats();
+    private final LongAdder skippedTransactions = new LongAdder();
+
+    public StateCheckpointCache(int maxBlocks, int interval) {
+        if (maxBlocks <= 0 || interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint cache blocks and interval must be positive");
+        }
+
+        this.maxBlocks = maxBlocks;
+        this.interval = interval;
+        this.checkpoints = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @return true if the state after executing the transaction at the given block index should be kept
+     */
+    public boolean isCheckpoint(int txIndex) {
+        return (txIndex + 1) % interval == 0;
+    }
+
+    public synchronized void put(Keccak256 blockHash, Checkpoint checkpoint) {
+        TreeMap<Integer, Checkpoint> blockCheckpoints = checkpoints.computeIfAbsent(blockHash, k -> new TreeMap<>());
+        if (blockCheckpoints.put(checkpoint.getTxIndex(), checkpoint) == null) {
+            checkpointCount++;
+        }
+
+        Iterator<TreeMap<Integer, Checkpoint>> iterator = checkpoints.values().iterator();
+        while (checkpoints.size() > maxBlocks) {
+            checkpointCount -= iterator.next().size();
+            iterator.remove();
+            stats.onEviction();
+        }
+    }
+
+    /**
+     * Finds the latest checkpoint of a list of transactions before the one to execute.
+     *
+     * @param blockHash the block being executed
+     * @param firstTxIndex block index of the first transaction of the list
+     * @param txIndex block index of the transaction to execute
+     * @return a checkpoint taken after a transaction in [firstTxIndex, txIndex), if any
+     */
+    public synchronized Optional<Checkpoint> find(Keccak256 blockHash, int firstTxIndex, int txIndex) {
+        TreeMap<Integer, Checkpoint> blockCheckpoints = checkpoints.get(blockHash);
+        Map.Entry<Integer, Checkpoint> entry = blockCheckpoints == null ? null : blockCheckpoints.lowerEntry(txIndex);
+
+        if (entry == null || entry.getKey() < firstTxIndex) {
+            stats.onMiss();
+            return Optional.empty();
+        }
+
+        stats.onHit();
+        skippedTransactions.add(entry.getKey() + 1L - firstTxIndex);
+        return Optional.of(entry.getValue());
+    }
+
+    @Override
+    public synchronized int getBlocks() {
+        return checkpoints.size();
+    }
+
+    @Override
+    public synchronized int getCheckpoints() {
+        return checkpointCount;
+    }
+
+    @Override
+    public int getMaxBlocks() {
+        return maxBlocks;
+    }
+
+    @Override
+    public int getInterval() {
+        return interval;
+    }
+
+    @Override
+    public long getHits() {
+        return stats.getHits();
+    }
+
+    @Override
+    public long getMisses() {
+        return stats.getMisses();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats.getHitRate();
+    }
+
+    @Override
+    public long getSkippedTransactions() {
+        return skippedTransactions.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return stats.getEvictions();
+    }
+
+    /**
+     * State of a list of transactions right after executing one of them, with what's needed to execute the rest
+     */
+    public static class Checkpoint {
+        private final int txIndex;
+        private final Trie trie;
+        private final long gasUsed;
+        private final Coin paidFees;
+        private final Set<DataWord> deletedAccounts;
+
+        public Checkpoint(int txIndex, Trie trie, long gasUsed, Coin paidFees, Set<DataWord> deletedAccounts) {
+            this.txIndex = txIndex;
+            this.trie = trie;
+            this.gasUsed = gasUsed;
+            this.paidFees = paidFees;
+            this.deletedAccounts = Collections.unmodifiableSet(new HashSet<>(deletedAccounts));
+        }
+
+        /**
+         * @return block index of the last executed transaction
+         */
+        public int getTxIndex() {
+            return txIndex;
+        }
+
+        public Trie getTrie() {
+            return trie;
+        }
+
+        /**
+         * @return gas used by the executed transactions of the list
+         */
+        public long getGasUsed() {
+            return gasUsed;
+        }
+
+        public Coin getPaidFees() {
+            return paidFees;
+        }
+
+        public Set<DataWord> getDeletedAccounts() {
+            return deletedAccounts;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package co.rsk.core.bc;
 
 import co.rsk.config.RskSystemProperties;
 import co.rsk.core.Coin;
+import co.rsk.core.ShortTxIdCalculator;
 import co.rsk.core.TransactionExecutorFactory;
 import co.rsk.crypto.Keccak256;
 import co.rsk.db.RepositoryLocator;
@@ -431,6 +432,16 @@ public class TransactionPoolImpl implements TransactionPool {
         return Collections.unmodifiableList(pendingTransactions.getTransactions());
     }
 
+    @Override
+    public synchronized Optional<Transaction> getTransactionByShortId(ShortTxIdCalculator calculator, long shortTxId) {
+        Transaction tx = pendingTransactions.getTransactionByShortId(calculator, shortTxId);
+        if (tx == null) {
+            tx = queuedTransactions.getTransactionByShortId(calculator, shortTxId);
+        }
+
+        return Optional.ofNullable(tx);
+    }
+
     @Override
     public synchronized List<Transaction> getQueuedTransactions() {
         removeObsoleteTransactions(this.outdatedThreshold, this.outdatedTimeout);
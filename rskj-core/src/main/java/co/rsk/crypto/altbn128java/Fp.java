@@ -72,6 +72,10 @@ public class Fp implements Field<Fp> {
         return v.toByteArray();
     }
 
+    BigInteger value() {
+        return v;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {return true;}
@@ -334,7 +334,7 @@ class Fp12 implements Field<Fp12> {
         );
     }
 
-    private static final Fp2[] FROBENIUS_COEFFS_B = new Fp2[] {
+    static final Fp2[] FROBENIUS_COEFFS_B = new Fp2[] {
 
             new Fp2(BigInteger.ONE,
                     BigInteger.ZERO),
@@ -0,0 +1,298 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.crypto.altbn128java;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Arithmetic in Fp_12 over {@link Fp6Mont} coefficients, a port of {@link Fp12}
+ *
+ * @see Fp12
+ */
+final class Fp12Mont {
+
+    static final Fp12Mont ZERO = new Fp12Mont(Fp6Mont.ZERO, Fp6Mont.ZERO);
+    static final Fp12Mont _1 = new Fp12Mont(Fp6Mont._1, Fp6Mont.ZERO);
+
+    private static final Fp2Mont[] FROBENIUS_COEFFS_B = Fp6Mont.toMont(Fp12.FROBENIUS_COEFFS_B);
+
+    private final Fp6Mont a;
+    private final Fp6Mont b;
+
+    Fp12Mont(Fp6Mont a, Fp6Mont b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    static Fp12Mont of(Fp12 o) {
+        return new Fp12Mont(Fp6Mont.of(o.a()), Fp6Mont.of(o.b()));
+    }
+
+    Fp12 toFp12() {
+        return new Fp12(a.toFp6(), b.toFp6());
+    }
+
+    Fp6Mont a() {
+        return a;
+    }
+
+    Fp6Mont b() {
+        return b;
+    }
+
+    Fp12Mont squared() {
+
+        Fp6Mont ab = a.mul(b);
+
+        Fp6Mont ra = a.add(b).mul(a.add(b.mulByNonResidue())).sub(ab).sub(ab.mulByNonResidue());
+        Fp6Mont rb = ab.add(ab);
+
+        return new Fp12Mont(ra, rb);
+    }
+
+    Fp12Mont mulBy024(Fp2Mont ell0, Fp2Mont ellVW, Fp2Mont ellVV) {
+
+        Fp2Mont z0 = a.a();
+        Fp2Mont z1 = a.b();
+        Fp2Mont z2 = a.c();
+        Fp2Mont z3 = b.a();
+        Fp2Mont z4 = b.b();
+        Fp2Mont z5 = b.c();
+
+        Fp2Mont x0 = ell0;
+        Fp2Mont x2 = ellVV;
+        Fp2Mont x4 = ellVW;
+
+        Fp2Mont t0, t1, t2, s0, t3, t4, d0, d2, d4, s1;
+
+        d0 = z0.mul(x0);
+        d2 = z2.mul(x2);
+        d4 = z4.mul(x4);
+        t2 = z0.add(z4);
+        t1 = z0.add(z2);
+        s0 = z1.add(z3).add(z5);
+
+        // For z.a_.a_ = z0.
+        s1 = z1.mul(x2);
+        t3 = s1.add(d4);
+        t4 = Fp6Mont.NON_RESIDUE.mul(t3).add(d0);
+        z0 = t4;
+
+        // For z.a_.b_ = z1
+        t3 = z5.mul(x4);
+        s1 = s1.add(t3);
+        t3 = t3.add(d2);
+        t4 = Fp6Mont.NON_RESIDUE.mul(t3);
+        t3 = z1.mul(x0);
+        s1 = s1.add(t3);
+        t4 = t4.add(t3);
+        z1 = t4;
+
+        // For z.a_.c_ = z2
+        t0 = x0.add(x2);
+        t3 = t1.mul(t0).sub(d0).sub(d2);
+        t4 = z3.mul(x4);
+        s1 = s1.add(t4);
+        t3 = t3.add(t4);
+
+        // For z.b_.a_ = z3 (z3 needs z2)
+        t0 = z2.add(z4);
+        z2 = t3;
+        t1 = x2.add(x4);
+        t3 = t0.mul(t1).sub(d2).sub(d4);
+        t4 = Fp6Mont.NON_RESIDUE.mul(t3);
+        t3 = z3.mul(x0);
+        s1 = s1.add(t3);
+        t4 = t4.add(t3);
+        z3 = t4;
+
+        // For z.b_.b_ = z4
+        t3 = z5.mul(x2);
+        s1 = s1.add(t3);
+        t4 = Fp6Mont.NON_RESIDUE.mul(t3);
+        t0 = x0.add(x4);
+        t3 = t2.mul(t0).sub(d0).sub(d4);
+        t4 = t4.add(t3);
+        z4 = t4;
+
+        // For z.b_.c_ = z5.
+        t0 = x0.add(x2).add(x4);
+        t3 = s0.mul(t0).sub(s1);
+        z5 = t3;
+
+        return new Fp12Mont(new Fp6Mont(z0, z1, z2), new Fp6Mont(z3, z4, z5));
+    }
+
+    Fp12Mont add(Fp12Mont o) {
+        return new Fp12Mont(a.add(o.a), b.add(o.b));
+    }
+
+    Fp12Mont mul(Fp12Mont o) {
+
+        Fp6Mont a2 = o.a, b2 = o.b;
+        Fp6Mont a1 = a,   b1 = b;
+
+        Fp6Mont a1a2 = a1.mul(a2);
+        Fp6Mont b1b2 = b1.mul(b2);
+
+        Fp6Mont ra = a1a2.add(b1b2.mulByNonResidue());
+        Fp6Mont rb = a1.add(b1).mul(a2.add(b2)).sub(a1a2).sub(b1b2);
+
+        return new Fp12Mont(ra, rb);
+    }
+
+    Fp12Mont sub(Fp12Mont o) {
+        return new Fp12Mont(a.sub(o.a), b.sub(o.b));
+    }
+
+    Fp12Mont inverse() {
+
+        Fp6Mont t0 = a.squared();
+        Fp6Mont t1 = b.squared();
+        Fp6Mont t2 = t0.sub(t1.mulByNonResidue());
+        Fp6Mont t3 = t2.inverse();
+
+        Fp6Mont ra = a.mul(t3);
+        Fp6Mont rb = b.mul(t3).negate();
+
+        return new Fp12Mont(ra, rb);
+    }
+
+    Fp12Mont negate() {
+        return new Fp12Mont(a.negate(), b.negate());
+    }
+
+    boolean isZero() {
+        return a.isZero() && b.isZero();
+    }
+
+    Fp12Mont frobeniusMap(int power) {
+
+        Fp6Mont ra = a.frobeniusMap(power);
+        Fp6Mont rb = b.frobeniusMap(power).mul(FROBENIUS_COEFFS_B[power % 12]);
+
+        return new Fp12Mont(ra, rb);
+    }
+
+    Fp12Mont cyclotomicSquared() {
+
+        Fp2Mont z0 = a.a();
+        Fp2Mont z4 = a.b();
+        Fp2Mont z3 = a.c();
+        Fp2Mont z2 = b.a();
+        Fp2Mont z1 = b.b();
+        Fp2Mont z5 = b.c();
+
+        Fp2Mont t0, t1, t2, t3, t4, t5, tmp;
+
+        // t0 + t1*y = (z0 + z1*y)^2 = a^2
+        tmp = z0.mul(z1);
+        t0 = z0.add(z1).mul(z0.add(Fp6Mont.NON_RESIDUE.mul(z1))).sub(tmp).sub(Fp6Mont.NON_RESIDUE.mul(tmp));
+        t1 = tmp.add(tmp);
+        // t2 + t3*y = (z2 + z3*y)^2 = b^2
+        tmp = z2.mul(z3);
+        t2 = z2.add(z3).mul(z2.add(Fp6Mont.NON_RESIDUE.mul(z3))).sub(tmp).sub(Fp6Mont.NON_RESIDUE.mul(tmp));
+        t3 = tmp.add(tmp);
+        // t4 + t5*y = (z4 + z5*y)^2 = c^2
+        tmp = z4.mul(z5);
+        t4 = z4.add(z5).mul(z4.add(Fp6Mont.NON_RESIDUE.mul(z5))).sub(tmp).sub(Fp6Mont.NON_RESIDUE.mul(tmp));
+        t5 = tmp.add(tmp);
+
+        // for A
+
+        // z0 = 3 * t0 - 2 * z0
+        z0 = t0.sub(z0);
+        z0 = z0.add(z0);
+        z0 = z0.add(t0);
+        // z1 = 3 * t1 + 2 * z1
+        z1 = t1.add(z1);
+        z1 = z1.add(z1);
+        z1 = z1.add(t1);
+
+        // for B
+
+        // z2 = 3 * (xi * t5) + 2 * z2
+        tmp = Fp6Mont.NON_RESIDUE.mul(t5);
+        z2 = tmp.add(z2);
+        z2 = z2.add(z2);
+        z2 = z2.add(tmp);
+
+        // z3 = 3 * t4 - 2 * z3
+        z3 = t4.sub(z3);
+        z3 = z3.add(z3);
+        z3 = z3.add(t4);
+
+        // for C
+
+        // z4 = 3 * t2 - 2 * z4
+        z4 = t2.sub(z4);
+        z4 = z4.add(z4);
+        z4 = z4.add(t2);
+
+        // z5 = 3 * t3 + 2 * z5
+        z5 = t3.add(z5);
+        z5 = z5.add(z5);
+        z5 = z5.add(t3);
+        
+        return new Fp12Mont(new Fp6Mont(z0, z4, z3), new Fp6Mont(z2, z1, z5));
+    }
+
+    Fp12Mont cyclotomicExp(BigInteger pow) {
+
+        Fp12Mont res = _1;
+
+        for (int i = pow.bitLength() - 1; i >=0; i--) {
+            res = res.cyclotomicSquared();
+
+            if (pow.testBit(i)) {
+                res = res.mul(this);
+            }
+        }
+
+        return res;
+    }
+
+    Fp12Mont unitaryInverse() {
+
+        Fp6Mont ra = a;
+        Fp6Mont rb = b.negate();
+
+        return new Fp12Mont(ra, rb);
+    }
+
+    Fp12Mont negExp(BigInteger exp) {
+        return this.cyclotomicExp(exp).unitaryInverse();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {return true;}
+        if (!(o instanceof Fp12Mont)) {return false;}
+
+        Fp12Mont fp12 = (Fp12Mont) o;
+
+        return a.equals(fp12.a) && b.equals(fp12.b);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(a, b);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.crypto.altbn128java;
+
+import java.util.Arrays;
+
+/**
+ * Arithmetic in F_p2 over {@link FpMont} limbs, mirroring {@link Fp2} <br/>
+ * <br/>
+ *
+ * Elements are "a + b * i" modulo "i^2 + 1", with both coefficients in Montgomery form in a single array.
+ * Formulas are the same as the ones in {@link Fp2}, with the multiplications by {@link Fp#NON_RESIDUE} (-1)
+ * done as subtractions. <br/>
+ *
+ * @see Fp2
+ */
+final class Fp2Mont {
+
+    private static final int A = 0;
+    private static final int B = FpMont.LIMBS;
+
+    static final Fp2Mont ZERO = new Fp2Mont();
+    static final Fp2Mont _1 = of(Fp2._1);
+    static final Fp2Mont NON_RESIDUE = of(Fp2.NON_RESIDUE);
+
+    final long[] v = new long[2 * FpMont.LIMBS];
+
+    private Fp2Mont() {
+    }
+
+    static Fp2Mont of(Fp2 o) {
+        Fp2Mont r = new Fp2Mont();
+        FpMont.set(o.a().value(), r.v, A);
+        FpMont.set(o.b().value(), r.v, B);
+        return r;
+    }
+
+    Fp2 toFp2() {
+        return Fp2.create(FpMont.toBigInteger(v, A), FpMont.toBigInteger(v, B));
+    }
+
+    Fp2Mont squared() {
+        // complex squaring: (a + b)(a + NON_RESIDUE * b) - ab - NON_RESIDUE * ab = (a + b)(a - b)
+        long[] t = new long[2 * FpMont.LIMBS];
+        FpMont.add(v, A, v, B, t, 0);
+        FpMont.sub(v, A, v, B, t, B);
+
+        Fp2Mont r = new Fp2Mont();
+        FpMont.mul(v, A, v, B, r.v, B);
+        FpMont.dbl(r.v, B, r.v, B);
+        FpMont.mul(t, 0, t, B, r.v, A);
+        return r;
+    }
+
+    Fp2Mont mul(Fp2Mont o) {
+        long[] t = new long[4 * FpMont.LIMBS];
+        // aa, bb
+        FpMont.mul(v, A, o.v, A, t, 0);
+        FpMont.mul(v, B, o.v, B, t, 4);
+        // (a1 + b1), (a2 + b2)
+        FpMont.add(v, A, v, B, t, 8);
+        FpMont.add(o.v, A, o.v, B, t, 12);
+
+        Fp2Mont r = new Fp2Mont();
+        // ra = aa + NON_RESIDUE * bb
+        FpMont.sub(t, 0, t, 4, r.v, A);
+        // rb = (a1 + b1)(a2 + b2) - aa - bb
+        FpMont.mul(t, 8, t, 12, r.v, B);
+        FpMont.sub(r.v, B, t, 0, r.v, B);
+        FpMont.sub(r.v, B, t, 4, r.v, B);
+        return r;
+    }
+
+    /**
+     * Multiplication by an F_p element in Montgomery form
+     */
+    Fp2Mont mul(long[] s, int so) {
+        Fp2Mont r = new Fp2Mont();
+        FpMont.mul(v, A, s, so, r.v, A);
+        FpMont.mul(v, B, s, so, r.v, B);
+        return r;
+    }
+
+    Fp2Mont add(Fp2Mont o) {
+        Fp2Mont r = new Fp2Mont();
+        FpMont.add(v, A, o.v, A, r.v, A);
+        FpMont.add(v, B, o.v, B, r.v, B);
+        return r;
+    }
+
+    Fp2Mont sub(Fp2Mont o) {
+        Fp2Mont r = new Fp2Mont();
+        FpMont.sub(v, A, o.v, A, r.v, A);
+        FpMont.sub(v, B, o.v, B, r.v, B);
+        return r;
+    }
+
+    Fp2Mont dbl() {
+        return this.add(this);
+    }
+
+    Fp2Mont inverse() {
+        long[] t = new long[2 * FpMont.LIMBS];
+        FpMont.squared(v, A, t, 0);
+        FpMont.squared(v, B, t, B);
+        // t2 = t0 - NON_RESIDUE * t1
+        FpMont.add(t, 0, t, B, t, 0);
+        FpMont.inverse(t, 0, t, 0);
+
+        Fp2Mont r = new Fp2Mont();
+        FpMont.mul(v, A, t, 0, r.v, A);
+        FpMont.mul(v, B, t, 0, r.v, B);
+        FpMont.negate(r.v, B, r.v, B);
+        return r;
+    }
+
+    Fp2Mont negate() {
+        Fp2Mont r = new Fp2Mont();
+        FpMont.negate(v, A, r.v, A);
+        FpMont.negate(v, B, r.v, B);
+        return r;
+    }
+
+    boolean isZero() {
+        return FpMont.isZero(v, A) && FpMont.isZero(v, B);
+    }
+
+    Fp2Mont frobeniusMap(int power) {
+        if (power % 2 == 0) {
+            return this;
+        }
+
+        // the odd coefficient is NON_RESIDUE
+        Fp2Mont r = new Fp2Mont();
+        FpMont.copy(v, A, r.v, A);
+        FpMont.negate(v, B, r.v, B);
+        return r;
+    }
+
+    Fp2Mont mulByNonResidue() {
+        return NON_RESIDUE.mul(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {return true;}
+        if (o == null || getClass() != o.getClass()) {return false;}
+
+        return Arrays.equals(v, ((Fp2Mont) o).v);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(v);
+    }
+
+    @Override
+    public String toString() {
+        return toFp2().toString();
+    }
+}
@@ -206,7 +206,7 @@ class Fp6 implements Field<Fp6> {
         return Objects.hash(a,b,c);
     }
 
-    private static final Fp2[] FROBENIUS_COEFFS_B = {
+    static final Fp2[] FROBENIUS_COEFFS_B = {
 
             new Fp2(BigInteger.ONE,
                     BigInteger.ZERO),
@@ -227,7 +227,7 @@ class Fp6 implements Field<Fp6> {
                     new BigInteger("9344045779998320333812420223237981029506012124075525679208581902008406485703"))
     };
 
-    private static final Fp2[] FROBENIUS_COEFFS_C = {
+    static final Fp2[] FROBENIUS_COEFFS_C = {
 
             new Fp2(BigInteger.ONE,
                     BigInteger.ZERO),
@@ -0,0 +1,201 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.crypto.altbn128java;
+
+import java.util.Objects;
+
+/**
+ * Arithmetic in Fp_6 over {@link Fp2Mont} coefficients, a port of {@link Fp6}
+ *
+ * @see Fp6
+ */
+final class Fp6Mont {
+
+    static final Fp6Mont ZERO = new Fp6Mont(Fp2Mont.ZERO, Fp2Mont.ZERO, Fp2Mont.ZERO);
+    static final Fp6Mont _1 = new Fp6Mont(Fp2Mont._1, Fp2Mont.ZERO, Fp2Mont.ZERO);
+    static final Fp2Mont NON_RESIDUE = Fp2Mont.of(Fp6.NON_RESIDUE);
+
+    private static final Fp2Mont[] FROBENIUS_COEFFS_B = toMont(Fp6.FROBENIUS_COEFFS_B);
+    private static final Fp2Mont[] FROBENIUS_COEFFS_C = toMont(Fp6.FROBENIUS_COEFFS_C);
+
+    private final Fp2Mont a;
+    private final Fp2Mont b;
+    private final Fp2Mont c;
+
+    Fp6Mont(Fp2Mont a, Fp2Mont b, Fp2Mont c) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    static Fp6Mont of(Fp6 o) {
+        return new Fp6Mont(Fp2Mont.of(o.a()), Fp2Mont.of(o.b()), Fp2Mont.of(o.c()));
+    }
+
+    Fp6 toFp6() {
+        return new Fp6(a.toFp2(), b.toFp2(), c.toFp2());
+    }
+
+    Fp2Mont a() {
+        return a;
+    }
+
+    Fp2Mont b() {
+        return b;
+    }
+
+    Fp2Mont c() {
+        return c;
+    }
+
+    Fp6Mont squared() {
+
+        Fp2Mont s0 = a.squared();
+        Fp2Mont ab = a.mul(b);
+        Fp2Mont s1 = ab.dbl();
+        Fp2Mont s2 = a.sub(b).add(c).squared();
+        Fp2Mont bc = b.mul(c);
+        Fp2Mont s3 = bc.dbl();
+        Fp2Mont s4 = c.squared();
+
+        Fp2Mont ra = s0.add(s3.mulByNonResidue());
+        Fp2Mont rb = s1.add(s4.mulByNonResidue());
+        Fp2Mont rc = s1.add(s2).add(s3).sub(s0).sub(s4);
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont dbl() {
+        return this.add(this);
+    }
+
+    Fp6Mont mul(Fp6Mont o) {
+
+        Fp2Mont a1 = a,   b1 = b,   c1 = c;
+        Fp2Mont a2 = o.a, b2 = o.b, c2 = o.c;
+
+        Fp2Mont a1a2 = a1.mul(a2);
+        Fp2Mont b1b2 = b1.mul(b2);
+        Fp2Mont c1c2 = c1.mul(c2);
+
+        Fp2Mont ra = a1a2.add(b1.add(c1).mul(b2.add(c2)).sub(b1b2).sub(c1c2).mulByNonResidue());
+        Fp2Mont rb = a1.add(b1).mul(a2.add(b2)).sub(a1a2).sub(b1b2).add(c1c2.mulByNonResidue());
+        Fp2Mont rc = a1.add(c1).mul(a2.add(c2)).sub(a1a2).add(b1b2).sub(c1c2);
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont mul(Fp2Mont o) {
+
+        Fp2Mont ra = a.mul(o);
+        Fp2Mont rb = b.mul(o);
+        Fp2Mont rc = c.mul(o);
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont mulByNonResidue() {
+
+        Fp2Mont ra = NON_RESIDUE.mul(c);
+        Fp2Mont rb = a;
+        Fp2Mont rc = b;
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont add(Fp6Mont o) {
+
+        Fp2Mont ra = a.add(o.a);
+        Fp2Mont rb = b.add(o.b);
+        Fp2Mont rc = c.add(o.c);
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont sub(Fp6Mont o) {
+
+        Fp2Mont ra = a.sub(o.a);
+        Fp2Mont rb = b.sub(o.b);
+        Fp2Mont rc = c.sub(o.c);
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont inverse() {
+
+        /* From "High-Speed Software Implementation of the Optimal Ate Pairing over Barreto-Naehrig Curves"; Algorithm 17 */
+
+        Fp2Mont t0 = a.squared();
+        Fp2Mont t1 = b.squared();
+        Fp2Mont t2 = c.squared();
+        Fp2Mont t3 = a.mul(b);
+        Fp2Mont t4 = a.mul(c);
+        Fp2Mont t5 = b.mul(c);
+        Fp2Mont c0 = t0.sub(t5.mulByNonResidue());
+        Fp2Mont c1 = t2.mulByNonResidue().sub(t3);
+        Fp2Mont c2 = t1.sub(t4);
+        Fp2Mont t6 = a.mul(c0).add((c.mul(c1).add(b.mul(c2))).mulByNonResidue()).inverse();
+
+        Fp2Mont ra = t6.mul(c0);
+        Fp2Mont rb = t6.mul(c1);
+        Fp2Mont rc = t6.mul(c2);
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    Fp6Mont negate() {
+        return new Fp6Mont(a.negate(), b.negate(), c.negate());
+    }
+
+    boolean isZero() {
+        return a.isZero() && b.isZero() && c.isZero();
+    }
+
+    Fp6Mont frobeniusMap(int power) {
+
+        Fp2Mont ra = a.frobeniusMap(power);
+        Fp2Mont rb = FROBENIUS_COEFFS_B[power % 6].mul(b.frobeniusMap(power));
+        Fp2Mont rc = FROBENIUS_COEFFS_C[power % 6].mul(c.frobeniusMap(power));
+
+        return new Fp6Mont(ra, rb, rc);
+    }
+
+    static Fp2Mont[] toMont(Fp2[] values) {
+        Fp2Mont[] result = new Fp2Mont[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Fp2Mont.of(values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {return true;}
+        if (!(o instanceof Fp6Mont)) {return false;}
+
+        Fp6Mont fp6 = (Fp6Mont) o;
+
+        return a.equals(fp6.a) && b.equals(fp6.b) && c.equals(fp6.c);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(a, b, c);
+    }
+}
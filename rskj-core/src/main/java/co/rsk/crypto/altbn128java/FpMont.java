@@ -0,0 +1,327 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.crypto.altbn128java;
+
+import java.math.BigInteger;
+
+import static co.rsk.crypto.altbn128java.Params.P;
+
+/**
+ * Arithmetic in F_p over fixed 4 x 64-bit limbs in Montgomery form <br/>
+ * <br/>
+ *
+ * An element {@code x} is stored as {@code x * 2^256 mod p} in four little-endian limbs of a {@code long[]},
+ * starting at a given offset, so that the towers built on top of it can keep their coefficients in a single array.
+ * All the operations keep their results fully reduced to {@code [0, p)}, which makes them bit-exact with {@link Fp}
+ * once converted back, and they read all their inputs before writing the result, so the output may alias them. <br/>
+ * <br/>
+ *
+ * Multiplication uses the CIOS method from "Analyzing and Comparing Montgomery Multiplication Algorithms"
+ * (Koc, Acar, Kaliski)
+ */
+final class FpMont {
+
+    static final int LIMBS = 4;
+
+    private static final long P0 = 0x3c208c16d87cfd47L;
+    private static final long P1 = 0x97816a916871ca8dL;
+    private static final long P2 = 0xb85045b68181585dL;
+    private static final long P3 = 0x30644e72e131a029L;
+
+    // -p^-1 mod 2^64
+    private static final long P_INV = 0x87d20782e4866389L;
+
+    // 2^512 mod p, turns a canonical value into Montgomery form
+    private static final long[] R2 = {0xf32cfc5b538afa89L, 0xb5e71911d44501fbL, 0x47ab1eff0a417ff6L, 0x06d89f71cab8351fL};
+
+    // 1, turns a Montgomery form value back into its canonical value
+    private static final long[] ONE_CANONICAL = {1L, 0L, 0L, 0L};
+
+    private FpMont() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static void set(BigInteger value, long[] r, int ro) {
+        BigInteger reduced = value.mod(P);
+        for (int i = 0; i < LIMBS; i++) {
+            r[ro + i] = reduced.shiftRight(64 * i).longValue();
+        }
+        mul(r, ro, R2, 0, r, ro);
+    }
+
+    static BigInteger toBigInteger(long[] x, int xo) {
+        long[] canonical = new long[LIMBS];
+        mul(x, xo, ONE_CANONICAL, 0, canonical, 0);
+
+        byte[] bytes = new byte[LIMBS * 8];
+        for (int i = 0; i < LIMBS; i++) {
+            long limb = canonical[i];
+            for (int j = 0; j < 8; j++) {
+                bytes[bytes.length - 1 - i * 8 - j] = (byte) (limb >>> (8 * j));
+            }
+        }
+
+        return new BigInteger(1, bytes);
+    }
+
+    static void copy(long[] x, int xo, long[] r, int ro) {
+        System.arraycopy(x, xo, r, ro, LIMBS);
+    }
+
+    static boolean isZero(long[] x, int xo) {
+        return (x[xo] | x[xo + 1] | x[xo + 2] | x[xo + 3]) == 0;
+    }
+
+    static boolean equals(long[] x, int xo, long[] y, int yo) {
+        return x[xo] == y[yo] && x[xo + 1] == y[yo + 1] && x[xo + 2] == y[yo + 2] && x[xo + 3] == y[yo + 3];
+    }
+
+    static void add(long[] x, int xo, long[] y, int yo, long[] r, int ro) {
+        long a0 = x[xo];
+        long a1 = x[xo + 1];
+        long a2 = x[xo + 2];
+        long a3 = x[xo + 3];
+
+        long s0 = a0 + y[yo];
+        long c = carry(s0, a0);
+        long s1 = a1 + y[yo + 1];
+        long c1 = carry(s1, a1);
+        s1 += c;
+        c = c1 | carry(s1, c);
+        long s2 = a2 + y[yo + 2];
+        long c2 = carry(s2, a2);
+        s2 += c;
+        c = c2 | carry(s2, c);
+        // both operands are below p < 2^254, so the sum can't overflow the top limb
+        long s3 = a3 + y[yo + 3] + c;
+
+        reduceOnce(s0, s1, s2, s3, r, ro);
+    }
+
+    static void dbl(long[] x, int xo, long[] r, int ro) {
+        add(x, xo, x, xo, r, ro);
+    }
+
+    static void sub(long[] x, int xo, long[] y, int yo, long[] r, int ro) {
+        long a0 = x[xo];
+        long a1 = x[xo + 1];
+        long a2 = x[xo + 2];
+        long a3 = x[xo + 3];
+        long b0 = y[yo];
+        long b1 = y[yo + 1];
+        long b2 = y[yo + 2];
+        long b3 = y[yo + 3];
+
+        long d0 = a0 - b0;
+        long borrow = borrow(a0, b0);
+        long d1 = a1 - b1;
+        long borrow1 = borrow(a1, b1) | borrow(d1, borrow);
+        d1 -= borrow;
+        long d2 = a2 - b2;
+        long borrow2 = borrow(a2, b2) | borrow(d2, borrow1);
+        d2 -= borrow1;
+        long d3 = a3 - b3;
+        long borrow3 = borrow(a3, b3) | borrow(d3, borrow2);
+        d3 -= borrow2;
+
+        if (borrow3 != 0) {
+            // went below zero, add p back
+            long s0 = d0 + P0;
+            long c = carry(s0, d0);
+            long s1 = d1 + P1;
+            long c1 = carry(s1, d1);
+            s1 += c;
+            c = c1 | carry(s1, c);
+            long s2 = d2 + P2;
+            long c2 = carry(s2, d2);
+            s2 += c;
+            c = c2 | carry(s2, c);
+            long s3 = d3 + P3 + c;
+            d0 = s0;
+            d1 = s1;
+            d2 = s2;
+            d3 = s3;
+        }
+
+        r[ro] = d0;
+        r[ro + 1] = d1;
+        r[ro + 2] = d2;
+        r[ro + 3] = d3;
+    }
+
+    static void negate(long[] x, int xo, long[] r, int ro) {
+        if (isZero(x, xo)) {
+            r[ro] = 0;
+            r[ro + 1] = 0;
+            r[ro + 2] = 0;
+            r[ro + 3] = 0;
+            return;
+        }
+
+        long a0 = x[xo];
+        long a1 = x[xo + 1];
+        long a2 = x[xo + 2];
+        long a3 = x[xo + 3];
+
+        long d0 = P0 - a0;
+        long borrow = borrow(P0, a0);
+        long d1 = P1 - a1;
+        long borrow1 = borrow(P1, a1) | borrow(d1, borrow);
+        d1 -= borrow;
+        long d2 = P2 - a2;
+        long borrow2 = borrow(P2, a2) | borrow(d2, borrow1);
+        d2 -= borrow1;
+        long d3 = P3 - a3 - borrow2;
+
+        r[ro] = d0;
+        r[ro + 1] = d1;
+        r[ro + 2] = d2;
+        r[ro + 3] = d3;
+    }
+
+    static void mul(long[] x, int xo, long[] y, int yo, long[] r, int ro) {
+        long x0 = x[xo];
+        long x1 = x[xo + 1];
+        long x2 = x[xo + 2];
+        long x3 = x[xo + 3];
+        long y0 = y[yo];
+        long y1 = y[yo + 1];
+        long y2 = y[yo + 2];
+        long y3 = y[yo + 3];
+
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        long t4 = 0;
+
+        for (int i = 0; i < LIMBS; i++) {
+            long yi = i == 0 ? y0 : i == 1 ? y1 : i == 2 ? y2 : y3;
+
+            // t += x * yi
+            long lo = x0 * yi;
+            long hi = multiplyHighUnsigned(x0, yi);
+            t0 += lo;
+            hi += carry(t0, lo);
+            long c = hi;
+
+            lo = x1 * yi + c;
+            hi = multiplyHighUnsigned(x1, yi) + carry(lo, c);
+            t1 += lo;
+            c = hi + carry(t1, lo);
+
+            lo = x2 * yi + c;
+            hi = multiplyHighUnsigned(x2, yi) + carry(lo, c);
+            t2 += lo;
+            c = hi + carry(t2, lo);
+
+            lo = x3 * yi + c;
+            hi = multiplyHighUnsigned(x3, yi) + carry(lo, c);
+            t3 += lo;
+            c = hi + carry(t3, lo);
+
+            t4 += c;
+
+            // t = (t + m * p) / 2^64, where m makes the lowest limb zero
+            long m = t0 * P_INV;
+
+            lo = m * P0;
+            hi = multiplyHighUnsigned(m, P0);
+            c = hi + carry(t0 + lo, lo);
+
+            lo = m * P1 + c;
+            hi = multiplyHighUnsigned(m, P1) + carry(lo, c);
+            t0 = t1 + lo;
+            c = hi + carry(t0, lo);
+
+            lo = m * P2 + c;
+            hi = multiplyHighUnsigned(m, P2) + carry(lo, c);
+            t1 = t2 + lo;
+            c = hi + carry(t1, lo);
+
+            lo = m * P3 + c;
+            hi = multiplyHighUnsigned(m, P3) + carry(lo, c);
+            t2 = t3 + lo;
+            c = hi + carry(t2, lo);
+
+            t3 = t4 + c;
+            t4 = carry(t3, c);
+        }
+
+        // t < 2p < 2^255 at this point, so t4 is always zero
+        reduceOnce(t0, t1, t2, t3, r, ro);
+    }
+
+    static void squared(long[] x, int xo, long[] r, int ro) {
+        mul(x, xo, x, xo, r, ro);
+    }
+
+    static void inverse(long[] x, int xo, long[] r, int ro) {
+        // only used once per final exponentiation, not worth a constant time implementation.
+        // Throws ArithmeticException for zero, the same as Fp
+        set(toBigInteger(x, xo).modInverse(P), r, ro);
+    }
+
+    /**
+     * Writes {@code s} if it's lower than p and {@code s - p} otherwise, for {@code s < 2p}
+     */
+    private static void reduceOnce(long s0, long s1, long s2, long s3, long[] r, int ro) {
+        long d0 = s0 - P0;
+        long borrow = borrow(s0, P0);
+        long d1 = s1 - P1;
+        long borrow1 = borrow(s1, P1) | borrow(d1, borrow);
+        d1 -= borrow;
+        long d2 = s2 - P2;
+        long borrow2 = borrow(s2, P2) | borrow(d2, borrow1);
+        d2 -= borrow1;
+        long d3 = s3 - P3;
+        long borrow3 = borrow(s3, P3) | borrow(d3, borrow2);
+        d3 -= borrow2;
+
+        if (borrow3 != 0) {
+            r[ro] = s0;
+            r[ro + 1] = s1;
+            r[ro + 2] = s2;
+            r[ro + 3] = s3;
+        } else {
+            r[ro] = d0;
+            r[ro + 1] = d1;
+            r[ro + 2] = d2;
+            r[ro + 3] = d3;
+        }
+    }
+
+    /**
+     * 1 if {@code sum = a + b} overflowed, given the sum and one of the operands
+     */
+    private static long carry(long sum, long operand) {
+        return Long.compareUnsigned(sum, operand) < 0 ? 1L : 0L;
+    }
+
+    /**
+     * 1 if {@code a - b} underflows
+     */
+    private static long borrow(long a, long b) {
+        return Long.compareUnsigned(a, b) < 0 ? 1L : 0L;
+    }
+
+    private static long multiplyHighUnsigned(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+}
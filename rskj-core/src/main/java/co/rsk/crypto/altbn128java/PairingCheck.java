@@ -26,6 +26,8 @@ import java.util.List;
 import static co.rsk.crypto.altbn128java.Params.B_Fp2;
 import static co.rsk.crypto.altbn128java.Params.PAIRING_FINAL_EXPONENT_Z;
 import static co.rsk.crypto.altbn128java.Params.TWIST;
+import static co.rsk.crypto.altbn128java.Params.TWIST_MUL_BY_P_X;
+import static co.rsk.crypto.altbn128java.Params.TWIST_MUL_BY_P_Y;
 
 /**
  * Implementation of a Pairing Check operation over points of two twisted Barreto–Naehrig curves {@link BN128Fp}, {@link BN128Fp2}<br/>
@@ -47,7 +49,12 @@ import static co.rsk.crypto.altbn128java.Params.TWIST;
  * </ul>
  *
  * Arithmetic has been ported from <a href="https://github.com/scipr-lab/libff/blob/master/libff/algebra/curves/alt_bn128/alt_bn128_pairing.cpp">libff</a>
- * Ate pairing algorithms
+ * Ate pairing algorithms <br/>
+ * <br/>
+ *
+ * The check runs over the Montgomery form towers ({@link Fp2Mont}, {@link Fp6Mont}, {@link Fp12Mont}),
+ * {@link #millerLoop(BN128G1, BN128G2)} and {@link #finalExponentiation(Fp12)} are the same algorithms over
+ * the {@link BigInteger} based towers, kept as a reference implementation
  *
  * @author Mikhail Kalinin
  * @since 01.09.2017
@@ -56,8 +63,18 @@ public class PairingCheck {
 
     private static final BigInteger LOOP_COUNT = new BigInteger("29793968203157093288");
 
+    private static final Fp2Mont TWIST_MONT = Fp2Mont.of(TWIST);
+    private static final Fp2Mont B_FP2_MONT = Fp2Mont.of(B_Fp2);
+    private static final Fp2Mont TWIST_MUL_BY_P_X_MONT = Fp2Mont.of(TWIST_MUL_BY_P_X);
+    private static final Fp2Mont TWIST_MUL_BY_P_Y_MONT = Fp2Mont.of(TWIST_MUL_BY_P_Y);
+    private static final long[] TWO_INV_MONT = new long[FpMont.LIMBS];
+
+    static {
+        FpMont.set(Fp._2_INV.value(), TWO_INV_MONT, 0);
+    }
+
     private List<BN128Pair> pairs = new ArrayList<>();
-    private Fp12 product = Fp12._1;
+    private Fp12Mont product = Fp12Mont._1;
 
     private PairingCheck() {}
 
@@ -73,19 +90,192 @@ public class PairingCheck {
 
         for (BN128Pair pair : pairs) {
 
-            Fp12 miller = pair.millerLoop();
+            // miller loop result equals "1" if at least one of the points is zero
+            if (pair.getG1().isZero() || pair.getG2().isZero()) {
+                continue;
+            }
+
+            Fp12Mont miller = millerLoopMont(pair.getG1(), pair.getG2());
 
-            if (!miller.equals(Fp12._1)) { // run mul code only if necessary
+            if (!miller.equals(Fp12Mont._1)) { // run mul code only if necessary
                 product = product.mul(miller);
             }
         }
 
         // finalize
-        product = finalExponentiation(product);
+        product = finalExponentiationMont(product);
     }
 
     public int result() {
-        return product.equals(Fp12._1) ? 1 : 0;
+        return product.equals(Fp12Mont._1) ? 1 : 0;
+    }
+
+    static Fp12Mont millerLoopMont(BN128G1 g1, BN128G2 g2) {
+
+        // convert to affine coordinates
+        g1 = g1.toAffine();
+        g2 = g2.toAffine();
+
+        long[] g1x = new long[FpMont.LIMBS];
+        long[] g1y = new long[FpMont.LIMBS];
+        FpMont.set(g1.x.value(), g1x, 0);
+        FpMont.set(g1.y.value(), g1y, 0);
+
+        // calculate Ell coefficients
+        List<EllCoeffsMont> coeffs = calcEllCoeffsMont(G2Mont.of(g2));
+
+        Fp12Mont f = Fp12Mont._1;
+        int idx = 0;
+
+        // for each bit except most significant one
+        for (int i = LOOP_COUNT.bitLength() - 2; i >=0; i--) {
+
+            EllCoeffsMont c = coeffs.get(idx++);
+            f = f.squared();
+            f = f.mulBy024(c.ell0, c.ellVW.mul(g1y, 0), c.ellVV.mul(g1x, 0));
+
+            if (LOOP_COUNT.testBit(i)) {
+                c = coeffs.get(idx++);
+                f = f.mulBy024(c.ell0, c.ellVW.mul(g1y, 0), c.ellVV.mul(g1x, 0));
+            }
+
+        }
+
+        EllCoeffsMont c = coeffs.get(idx++);
+        f = f.mulBy024(c.ell0, c.ellVW.mul(g1y, 0), c.ellVV.mul(g1x, 0));
+
+        c = coeffs.get(idx);
+        f = f.mulBy024(c.ell0, c.ellVW.mul(g1y, 0), c.ellVV.mul(g1x, 0));
+
+        return f;
+    }
+
+    private static List<EllCoeffsMont> calcEllCoeffsMont(G2Mont base) {
+
+        List<EllCoeffsMont> coeffs = new ArrayList<>();
+
+        G2Mont addend = base;
+
+        // for each bit except most significant one
+        for (int i = LOOP_COUNT.bitLength() - 2; i >=0; i--) {
+
+            PrecomputedMont doubling = flippedMillerLoopDoubling(addend);
+
+            addend = doubling.g2;
+            coeffs.add(doubling.coeffs);
+
+            if (LOOP_COUNT.testBit(i)) {
+                PrecomputedMont addition = flippedMillerLoopMixedAddition(base, addend);
+                addend = addition.g2;
+                coeffs.add(addition.coeffs);
+            }
+        }
+
+        G2Mont q1 = base.mulByP();
+        G2Mont q2 = q1.mulByP();
+
+        q2 = new G2Mont(q2.x, q2.y.negate(), q2.z) ; // q2.y = -q2.y
+
+        PrecomputedMont addition = flippedMillerLoopMixedAddition(q1, addend);
+        addend = addition.g2;
+        coeffs.add(addition.coeffs);
+
+        addition = flippedMillerLoopMixedAddition(q2, addend);
+        coeffs.add(addition.coeffs);
+
+        return coeffs;
+    }
+
+    private static PrecomputedMont flippedMillerLoopMixedAddition(G2Mont base, G2Mont addend) {
+
+        Fp2Mont x1 = addend.x, y1 = addend.y, z1 = addend.z;
+        Fp2Mont x2 = base.x, y2 = base.y;
+
+        Fp2Mont d = x1.sub(x2.mul(z1));             // d = x1 - x2 * z1
+        Fp2Mont e = y1.sub(y2.mul(z1));             // e = y1 - y2 * z1
+        Fp2Mont f = d.squared();                    // f = d^2
+        Fp2Mont g = e.squared();                    // g = e^2
+        Fp2Mont h = d.mul(f);                       // h = d * f
+        Fp2Mont i = x1.mul(f);                      // i = x1 * f
+        Fp2Mont j = h.add(z1.mul(g)).sub(i.dbl());  // j = h + z1 * g - 2 * i
+
+        Fp2Mont x3 = d.mul(j);                           // x3 = d * j
+        Fp2Mont y3 = e.mul(i.sub(j)).sub(h.mul(y1));     // y3 = e * (i - j) - h * y1)
+        Fp2Mont z3 = z1.mul(h);                          // z3 = Z1*H
+
+        Fp2Mont ell0 = TWIST_MONT.mul(e.mul(x2).sub(d.mul(y2)));     // ell_0 = TWIST * (e * x2 - d * y2)
+        Fp2Mont ellVV = e.negate();                                  // ell_VV = -e
+        Fp2Mont ellVW = d;                                           // ell_VW = d
+
+        return new PrecomputedMont(
+                new G2Mont(x3, y3, z3),
+                new EllCoeffsMont(ell0, ellVW, ellVV)
+        );
+    }
+
+    private static PrecomputedMont flippedMillerLoopDoubling(G2Mont g2) {
+
+        Fp2Mont x = g2.x, y = g2.y, z = g2.z;
+
+        Fp2Mont a = x.mul(y).mul(TWO_INV_MONT, 0);      // a = x * y / 2
+        Fp2Mont b = y.squared();                        // b = y^2
+        Fp2Mont c = z.squared();                        // c = z^2
+        Fp2Mont d = c.add(c).add(c);                    // d = 3 * c
+        Fp2Mont e = B_FP2_MONT.mul(d);                  // e = twist_b * d
+        Fp2Mont f = e.add(e).add(e);                    // f = 3 * e
+        Fp2Mont g = b.add(f).mul(TWO_INV_MONT, 0);      // g = (b + f) / 2
+        Fp2Mont h = y.add(z).squared().sub(b.add(c));   // h = (y + z)^2 - (b + c)
+        Fp2Mont i = e.sub(b);                           // i = e - b
+        Fp2Mont j = x.squared();                        // j = x^2
+        Fp2Mont e2 = e.squared();                       // e2 = e^2
+
+        Fp2Mont rx = a.mul(b.sub(f));                       // rx = a * (b - f)
+        Fp2Mont ry = g.squared().sub(e2.add(e2).add(e2));   // ry = g^2 - 3 * e^2
+        Fp2Mont rz = b.mul(h);                              // rz = b * h
+
+        Fp2Mont ell0 = TWIST_MONT.mul(i);   // ell_0 = twist * i
+        Fp2Mont ellVW = h.negate();         // ell_VW = -h
+        Fp2Mont ellVV = j.add(j).add(j);    // ell_VV = 3 * j
+
+        return new PrecomputedMont(
+                new G2Mont(rx, ry, rz),
+                new EllCoeffsMont(ell0, ellVW, ellVV)
+        );
+    }
+
+    static Fp12Mont finalExponentiationMont(Fp12Mont el) {
+
+        // first chunk
+        Fp12Mont w = new Fp12Mont(el.a(), el.b().negate()); // el.b = -el.b
+        Fp12Mont x = el.inverse();
+        Fp12Mont y = w.mul(x);
+        Fp12Mont z = y.frobeniusMap(2);
+        Fp12Mont pre = z.mul(y);
+
+        // last chunk
+        Fp12Mont a = pre.negExp(PAIRING_FINAL_EXPONENT_Z);
+        Fp12Mont b = a.cyclotomicSquared();
+        Fp12Mont c = b.cyclotomicSquared();
+        Fp12Mont d = c.mul(b);
+        Fp12Mont e = d.negExp(PAIRING_FINAL_EXPONENT_Z);
+        Fp12Mont f = e.cyclotomicSquared();
+        Fp12Mont g = f.negExp(PAIRING_FINAL_EXPONENT_Z);
+        Fp12Mont h = d.unitaryInverse();
+        Fp12Mont i = g.unitaryInverse();
+        Fp12Mont j = i.mul(e);
+        Fp12Mont k = j.mul(h);
+        Fp12Mont l = k.mul(b);
+        Fp12Mont m = k.mul(e);
+        Fp12Mont n = m.mul(pre);
+        Fp12Mont o = l.frobeniusMap(1);
+        Fp12Mont p = o.mul(n);
+        Fp12Mont q = k.frobeniusMap(2);
+        Fp12Mont r = q.mul(p);
+        Fp12Mont s = pre.unitaryInverse();
+        Fp12Mont t = s.mul(l);
+        Fp12Mont u = t.frobeniusMap(3);
+
+        return u.mul(r);
     }
 
     public static Fp12 millerLoop(BN128G1 g1, BN128G2 g2) {
@@ -252,6 +442,62 @@ public class PairingCheck {
         return v;
     }
 
+    /**
+     * A {@link BN128G2} point in jacobian coordinates over the Montgomery form towers
+     */
+    private static class G2Mont {
+
+        private final Fp2Mont x;
+        private final Fp2Mont y;
+        private final Fp2Mont z;
+
+        G2Mont(Fp2Mont x, Fp2Mont y, Fp2Mont z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        static G2Mont of(BN128G2 p) {
+            return new G2Mont(Fp2Mont.of(p.x), Fp2Mont.of(p.y), Fp2Mont.of(p.z));
+        }
+
+        /**
+         * @see BN128G2#mulByP()
+         */
+        G2Mont mulByP() {
+
+            Fp2Mont rx = TWIST_MUL_BY_P_X_MONT.mul(x.frobeniusMap(1));
+            Fp2Mont ry = TWIST_MUL_BY_P_Y_MONT.mul(y.frobeniusMap(1));
+            Fp2Mont rz = z.frobeniusMap(1);
+
+            return new G2Mont(rx, ry, rz);
+        }
+    }
+
+    private static class PrecomputedMont {
+
+        private final G2Mont g2;
+        private final EllCoeffsMont coeffs;
+
+        PrecomputedMont(G2Mont g2, EllCoeffsMont coeffs) {
+            this.g2 = g2;
+            this.coeffs = coeffs;
+        }
+    }
+
+    private static class EllCoeffsMont {
+
+        private final Fp2Mont ell0;
+        private final Fp2Mont ellVW;
+        private final Fp2Mont ellVV;
+
+        EllCoeffsMont(Fp2Mont ell0, Fp2Mont ellVW, Fp2Mont ellVV) {
+            this.ell0 = ell0;
+            this.ellVW = ellVW;
+            this.ellVV = ellVV;
+        }
+    }
+
     static class Precomputed {
 
         private BN128G2 g2;
@@ -0,0 +1,260 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.db;
+
+import co.rsk.crypto.Keccak256;
+import org.ethereum.datasource.DataSourceKeyIterator;
+import org.ethereum.datasource.KeyValueDataSource;
+import org.ethereum.db.ByteArrayWrapper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Inverted index of a contiguous range of main chain blocks, by the terms found in them
+ *
+ * For each block and term there is a row keyed by the term, the range of blocks and the block number,
+ * holding the positions of the term in the block. Rows are written once and removed with their block,
+ * so indexing a block costs the same no matter how many blocks had its terms before. Queries scan
+ * the rows of a term range by range. All the terms of an index must have the same size
+ *
+ * For each indexed block it also saves a record starting with the block hash, with whatever the
+ * owner of the index needs to remove the block, like its terms
+ *
+ * The indexed blocks are added at the head or before the first one, and removed at the head.
+ * Changes must be synchronized by the caller
+ */
+public class BlockTermIndex {
+    private static final byte META_PREFIX = 0;
+    private static final byte BLOCK_PREFIX = 1;
+    private static final byte TERM_PREFIX = 2;
+    private static final byte[] META_KEY = {META_PREFIX};
+
+    private final int noBlocks;
+    private final KeyValueDataSource dataSource;
+
+    private volatile long firstNumber = -1;
+    private volatile long headNumber = -1;
+
+    /**
+     * @param noBlocks number of blocks in each range
+     * @param dataSource where the index is saved
+     */
+    public BlockTermIndex(int noBlocks, @Nonnull KeyValueDataSource dataSource) {
+        this.noBlocks = noBlocks;
+        this.dataSource = Objects.requireNonNull(dataSource);
+
+        byte[] meta = dataSource.get(META_KEY);
+        if (meta != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(meta);
+            this.firstNumber = buffer.getLong();
+            this.headNumber = buffer.getLong();
+        }
+    }
+
+    public boolean isEmpty() {
+        return headNumber < 0;
+    }
+
+    /**
+     * @return the number of the first indexed block, -1 if the index is empty
+     */
+    public long getFirstNumber() {
+        return firstNumber;
+    }
+
+    /**
+     * @return the number of the last indexed block, -1 if the index is empty
+     */
+    public long getHeadNumber() {
+        return headNumber;
+    }
+
+    /**
+     * @param number block number
+     * @return the record of the block indexed at that height, null if there is none
+     */
+    @Nullable
+    public byte[] getBlockRecord(long number) {
+        return dataSource.get(blockKey(number));
+    }
+
+    /**
+     * @param number block number
+     * @return the hash of the block indexed at that height, null if there is none
+     */
+    @Nullable
+    public Keccak256 getBlockHash(long number) {
+        byte[] blockRecord = getBlockRecord(number);
+
+        if (blockRecord == null) {
+            return null;
+        }
+
+        return new Keccak256(Arrays.copyOf(blockRecord, Keccak256.HASH_LEN));
+    }
+
+    /**
+     * Indexes a block, that must be the one after the head or the one before the first indexed block
+     * (or any block, if the index is empty)
+     *
+     * @param number the block number
+     * @param blockRecord the record to save for the block, starting with its hash
+     * @param positionsByTerm the encoded positions of each term in the block, in block order
+     */
+    public void addBlock(long number, byte[] blockRecord, Map<ByteArrayWrapper, List<byte[]>> positionsByTerm) {
+        boolean prepend = !isEmpty() && number == firstNumber - 1;
+
+        if (!isEmpty() && !prepend && number != headNumber + 1) {
+            throw new IllegalStateException("Block " + number + " isn't next to the indexed blocks " + firstNumber + "-" + headNumber);
+        }
+
+        long rangeNumber = number / noBlocks;
+        Map<ByteArrayWrapper, byte[]> rows = new HashMap<>();
+
+        for (Map.Entry<ByteArrayWrapper, List<byte[]>> entry : positionsByTerm.entrySet()) {
+            int length = entry.getValue().stream().mapToInt(position -> position.length).sum();
+            ByteBuffer positions = ByteBuffer.allocate(length);
+            entry.getValue().forEach(positions::put);
+
+            rows.put(new ByteArrayWrapper(termKey(entry.getKey().getData(), rangeNumber, number)), positions.array());
+        }
+
+        long newFirstNumber = isEmpty() || prepend ? number : firstNumber;
+        long newHeadNumber = isEmpty() || !prepend ? number : headNumber;
+        rows.put(new ByteArrayWrapper(blockKey(number)), blockRecord);
+        rows.put(new ByteArrayWrapper(META_KEY), encodeMeta(newFirstNumber, newHeadNumber));
+
+        dataSource.updateBatch(rows, new HashSet<>());
+
+        firstNumber = newFirstNumber;
+        headNumber = newHeadNumber;
+    }
+
+    /**
+     * Removes the head block from the index
+     *
+     * @param terms the terms of the head block
+     */
+    public void removeHead(Collection<byte[]> terms) {
+        if (isEmpty()) {
+            return;
+        }
+
+        long number = headNumber;
+        long rangeNumber = number / noBlocks;
+
+        Map<ByteArrayWrapper, byte[]> rows = new HashMap<>();
+        Set<ByteArrayWrapper> keysToRemove = new HashSet<>();
+        keysToRemove.add(new ByteArrayWrapper(blockKey(number)));
+
+        for (byte[] term : terms) {
+            keysToRemove.add(new ByteArrayWrapper(termKey(term, rangeNumber, number)));
+        }
+
+        boolean empty = number == firstNumber;
+        if (empty) {
+            keysToRemove.add(new ByteArrayWrapper(META_KEY));
+        } else {
+            rows.put(new ByteArrayWrapper(META_KEY), encodeMeta(firstNumber, number - 1));
+        }
+
+        // the head is moved back first, so queries don't use the block while it's being removed
+        headNumber = empty ? -1 : number - 1;
+        firstNumber = empty ? -1 : firstNumber;
+
+        dataSource.updateBatch(rows, keysToRemove);
+    }
+
+    /**
+     * Finds the positions of a term in a range of blocks
+     *
+     * @param term the term to look for
+     * @param fromNumber first block number of the range
+     * @param toNumber last block number of the range
+     * @return the encoded positions of the term in each block having it, in blockchain order
+     */
+    public List<byte[]> getMatchingPositions(byte[] term, long fromNumber, long toNumber) {
+        List<byte[]> result = new ArrayList<>();
+
+        for (long rangeNumber = fromNumber / noBlocks; rangeNumber <= toNumber / noBlocks; rangeNumber++) {
+            for (byte[] key : getTermKeys(term, rangeNumber)) {
+                long number = getBlockNumber(key);
+                byte[] positions = number < fromNumber || number > toNumber ? null : dataSource.get(key);
+
+                if (positions != null) {
+                    result.add(positions);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public void flush() {
+        this.dataSource.flush();
+    }
+
+    public void close() {
+        this.dataSource.close();
+    }
+
+    private List<byte[]> getTermKeys(byte[] term, long rangeNumber) {
+        byte[] prefix = ByteBuffer.allocate(1 + term.length + Long.BYTES).put(TERM_PREFIX).put(term).putLong(rangeNumber).array();
+        List<byte[]> keys = new ArrayList<>();
+
+        try (DataSourceKeyIterator iterator = dataSource.keyIterator(prefix)) {
+            iterator.forEachRemaining(keys::add);
+        } catch (Exception e) {
+            throw new IllegalStateException("Couldn't read the index of a term", e);
+        }
+
+        // not every data source iterates its keys in order
+        keys.sort(Comparator.comparingLong(BlockTermIndex::getBlockNumber));
+
+        return keys;
+    }
+
+    private static long getBlockNumber(byte[] termKey) {
+        return ByteBuffer.wrap(termKey, termKey.length - Long.BYTES, Long.BYTES).getLong();
+    }
+
+    private static byte[] encodeMeta(long firstNumber, long headNumber) {
+        return ByteBuffer.allocate(2 * Long.BYTES).putLong(firstNumber).putLong(headNumber).array();
+    }
+
+    private static byte[] blockKey(long number) {
+        return ByteBuffer.allocate(1 + Long.BYTES).put(BLOCK_PREFIX).putLong(number).array();
+    }
+
+    private static byte[] termKey(byte[] term, long rangeNumber, long number) {
+        return ByteBuffer.allocate(1 + term.length + 2 * Long.BYTES).put(TERM_PREFIX).put(term).putLong(rangeNumber).putLong(number).array();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.db;
+
+import co.rsk.crypto.Keccak256;
+import co.rsk.remasc.Sibling;
+import org.ethereum.core.Block;
+import org.ethereum.core.BlockHeader;
+import org.ethereum.datasource.KeyValueDataSource;
+import org.ethereum.util.ByteUtil;
+import org.ethereum.util.RLP;
+import org.ethereum.util.RLPList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Persistent index of the siblings (uncles) included by each block, as REMASC reads them
+ *
+ * Each record is keyed by the hash of the including block and holds its siblings grouped by their block number.
+ * Blocks without uncles are saved too, so a missing record always means the block wasn't indexed yet.
+ *
+ * Records only depend on the content of the block they're keyed by, so they stay valid on any branch and
+ * a reorganization doesn't need to touch them. They're removed with the block.
+ */
+public class RemascSiblingIndex {
+    private final KeyValueDataSource dataSource;
+
+    public RemascSiblingIndex(@Nonnull KeyValueDataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+    }
+
+    /**
+     * Indexes the siblings of a block, and returns them
+     */
+    public Map<Long, List<Sibling>> addBlock(Block block) {
+        Map<Long, List<Sibling>> siblings = getSiblingsFromBlock(block);
+        dataSource.put(block.getHash().getBytes(), encode(siblings));
+        return siblings;
+    }
+
+    /**
+     * @return the siblings included by the block, grouped by number, or null if the block isn't indexed
+     */
+    @Nullable
+    public Map<Long, List<Sibling>> getSiblings(Keccak256 blockHash) {
+        byte[] data = dataSource.get(blockHash.getBytes());
+
+        if (data == null) {
+            return null;
+        }
+
+        return decode(data);
+    }
+
+    public void removeBlock(Keccak256 blockHash) {
+        dataSource.delete(blockHash.getBytes());
+    }
+
+    public void flush() {
+        dataSource.flush();
+    }
+
+    public void close() {
+        dataSource.close();
+    }
+
+    /**
+     * When a block is processed on remasc the contract needs to calculate all siblings
+     * that should be rewarded when fees on this block are paid
+     *
+     * @param block the block is looked for siblings
+     * @return the siblings included by the block, grouped by number
+     */
+    public static Map<Long, List<Sibling>> getSiblingsFromBlock(Block block) {
+        Map<Long, List<Sibling>> siblings = new HashMap<>();
+
+        for (BlockHeader uncle : block.getUncleList()) {
+            siblings.computeIfAbsent(uncle.getNumber(), k -> new ArrayList<>())
+                    .add(new Sibling(uncle, block.getCoinbase(), block.getNumber()));
+        }
+
+        return siblings;
+    }
+
+    private static byte[] encode(Map<Long, List<Sibling>> siblings) {
+        List<byte[]> items = new ArrayList<>();
+
+        for (Map.Entry<Long, List<Sibling>> entry : siblings.entrySet()) {
+            byte[] rlpNumber = RLP.encodeBigInteger(BigInteger.valueOf(entry.getKey()));
+
+            for (Sibling sibling : entry.getValue()) {
+                items.add(RLP.encodeList(rlpNumber, RLP.encodeElement(sibling.getEncoded())));
+            }
+        }
+
+        return RLP.encodeList(items.toArray(new byte[0][]));
+    }
+
+    private static Map<Long, List<Sibling>> decode(byte[] data) {
+        RLPList items = RLP.decodeList(data);
+        Map<Long, List<Sibling>> siblings = new HashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            RLPList item = (RLPList) items.get(i);
+            long number = ByteUtil.byteArrayToLong(item.get(0).getRLPData());
+            Sibling sibling = Sibling.create(item.get(1).getRLPData());
+
+            siblings.computeIfAbsent(number, k -> new ArrayList<>()).add(sibling);
+        }
+
+        return siblings;
+    }
+}
@@ -85,6 +85,15 @@ public class RepositoryLocator {
                 .orElseThrow(() -> trieNotFoundException(header));
     }
 
+    /**
+     * Retrieves a repository of the state of a trie that may not be saved in the store yet
+     * @param trie the trie to start the repository from
+     * @return a modifiable {@link Repository}
+     */
+    public Repository startTrackingAt(Trie trie) {
+        return new MutableRepository(new MutableTrieCache(new MutableTrieImpl(trieStore, trie)));
+    }
+
     private IllegalArgumentException trieNotFoundException(BlockHeader header) {
         return new IllegalArgumentException(String.format(
                 "The trie with root %s is missing in this store", header.getHash()
@@ -25,7 +25,7 @@ import co.rsk.trie.TrieStore;
 import co.rsk.trie.TrieStoreImpl;
 import org.ethereum.core.Block;
 import org.ethereum.core.BlockFactory;
-import org.ethereum.crypto.Keccak256Helper;
+import org.ethereum.crypto.Keccak256Hasher;
 import org.ethereum.datasource.HashMapDB;
 import org.ethereum.db.BlockStore;
 import org.ethereum.util.RLP;
@@ -35,7 +35,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 
@@ -138,8 +140,11 @@ public class BootstrapImporter {
             trieQueue.add(trie);
         }
 
-        for (byte[] nodeValue = nodeValueQueue.poll(); nodeValue != null; nodeValue = nodeValueQueue.poll()) {
-            hashMapDB.put(Keccak256Helper.keccak256(nodeValue), nodeValue);
+        List<byte[]> nodeValues = new ArrayList<>(nodeValueQueue);
+        nodeValueQueue.clear();
+        byte[][] nodeValueHashes = Keccak256Hasher.hashAll(nodeValues);
+        for (int i = 0; i < nodeValueHashes.length; i++) {
+            hashMapDB.put(nodeValueHashes[i], nodeValues.get(i));
         }
     }
 
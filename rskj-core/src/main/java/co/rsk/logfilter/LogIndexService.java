@@ -0,0 +1,142 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.logfilter;
+
+import co.rsk.config.InternalService;
+import co.rsk.crypto.Keccak256;
+import org.ethereum.core.Block;
+import org.ethereum.core.Transaction;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.db.BlockStore;
+import org.ethereum.db.ReceiptStore;
+import org.ethereum.db.TransactionInfo;
+import org.ethereum.listener.CompositeEthereumListener;
+import org.ethereum.listener.EthereumListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the log index in sync with the main chain
+ *
+ * On each new best block, the indexed blocks that left the main chain are removed,
+ * and then the main chain blocks up to the best one are added. An index left behind,
+ * e.g. after restarting the node, catches up a bounded number of blocks at a time
+ *
+ * An empty index starts from the first best block received. Older blocks aren't backfilled,
+ * so log queries about them keep scanning the blocks
+ */
+public class LogIndexService implements InternalService {
+    private static final Logger logger = LoggerFactory.getLogger("logindex");
+
+    private static final int MAX_BLOCKS_PER_UPDATE = 1000;
+
+    private final CompositeEthereumListener emitter;
+    private final LogIndexStore logIndexStore;
+    private final BlockStore blockStore;
+    private final ReceiptStore receiptStore;
+
+    private final LogIndexService.OnBestBlockListener listener = new LogIndexService.OnBestBlockListener();
+
+    public LogIndexService(CompositeEthereumListener emitter, LogIndexStore logIndexStore, BlockStore blockStore, ReceiptStore receiptStore) {
+        this.emitter = emitter;
+        this.logIndexStore = logIndexStore;
+        this.blockStore = blockStore;
+        this.receiptStore = receiptStore;
+    }
+
+    @Override
+    public void start() {
+        logger.info("log index service started");
+
+        emitter.addListener(listener);
+    }
+
+    @Override
+    public void stop() {
+        logger.info("log index service stopped");
+
+        emitter.removeListener(listener);
+    }
+
+    public synchronized void processBestBlock(Block bestBlock, List<TransactionReceipt> receipts) {
+        while (!logIndexStore.isEmpty() && !isInMainChain(logIndexStore.getHeadNumber())) {
+            logIndexStore.removeHead();
+        }
+
+        if (logIndexStore.isEmpty()) {
+            logIndexStore.addBlock(bestBlock, receipts);
+            return;
+        }
+
+        long toNumber = Math.min(bestBlock.getNumber(), logIndexStore.getHeadNumber() + MAX_BLOCKS_PER_UPDATE);
+
+        for (long number = logIndexStore.getHeadNumber() + 1; number <= toNumber; number++) {
+            if (number == bestBlock.getNumber()) {
+                logIndexStore.addBlock(bestBlock, receipts);
+                continue;
+            }
+
+            Block block = blockStore.getChainBlockByNumber(number);
+            List<TransactionReceipt> blockReceipts = block == null ? null : getReceipts(block);
+
+            if (blockReceipts == null) {
+                logger.warn("Couldn't index logs of block {}, will retry on next block", number);
+                return;
+            }
+
+            logIndexStore.addBlock(block, blockReceipts);
+        }
+    }
+
+    private boolean isInMainChain(long number) {
+        Block block = blockStore.getChainBlockByNumber(number);
+        Keccak256 indexedHash = logIndexStore.getBlockHash(number);
+
+        return block != null && block.getHash().equals(indexedHash);
+    }
+
+    @Nullable
+    private List<TransactionReceipt> getReceipts(Block block) {
+        List<TransactionReceipt> receipts = new ArrayList<>(block.getTransactionsList().size());
+
+        for (Transaction transaction : block.getTransactionsList()) {
+            Optional<TransactionInfo> transactionInfo = receiptStore.get(transaction.getHash().getBytes(), block.getHash().getBytes());
+
+            if (!transactionInfo.isPresent()) {
+                return null;
+            }
+
+            receipts.add(transactionInfo.get().getReceipt());
+        }
+
+        return receipts;
+    }
+
+    private class OnBestBlockListener extends EthereumListenerAdapter {
+        @Override
+        public void onBestBlock(Block block, List<TransactionReceipt> receipts) {
+            processBestBlock(block, receipts);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.logfilter;
+
+import co.rsk.core.RskAddress;
+import co.rsk.crypto.Keccak256;
+import co.rsk.db.BlockTermIndex;
+import org.ethereum.core.Block;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.datasource.KeyValueDataSource;
+import org.ethereum.db.ByteArrayWrapper;
+import org.ethereum.rpc.AddressesTopicsFilter;
+import org.ethereum.rpc.Topic;
+import org.ethereum.vm.DataWord;
+import org.ethereum.vm.LogInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Log index store
+ *
+ * It saves an inverted index of the logs in the main chain: for each log address,
+ * and for each topic in each position, the positions of the logs having it.
+ * See {@link BlockTermIndex} for how the positions are stored
+ *
+ * For each indexed block it also saves its hash and the terms of its logs,
+ * so it can be removed when it leaves the main chain
+ *
+ * The indexed blocks are contiguous, they're added and removed at the head.
+ * An empty index starts at the block it's given first, usually the best block, and
+ * older blocks aren't backfilled: queries about them scan the blocks instead
+ */
+public class LogIndexStore {
+    private static final Logger logger = LoggerFactory.getLogger("logindex");
+
+    private static final byte ADDRESS_TERM = 0;
+    private static final int MAX_TOPICS = 4;
+    private static final int TERM_SIZE = 1 + DataWord.BYTES;
+    private static final int POSITION_SIZE = Long.BYTES + 3 * Integer.BYTES;
+
+    private final BlockTermIndex index;
+
+    public LogIndexStore(int noBlocks, @Nonnull KeyValueDataSource dataSource) {
+        this.index = new BlockTermIndex(noBlocks, dataSource);
+    }
+
+    public synchronized boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * @return the number of the first indexed block, -1 if the index is empty
+     */
+    public synchronized long getFirstNumber() {
+        return index.getFirstNumber();
+    }
+
+    /**
+     * @return the number of the last indexed block, -1 if the index is empty
+     */
+    public synchronized long getHeadNumber() {
+        return index.getHeadNumber();
+    }
+
+    /**
+     * @param number block number
+     * @return the hash of the block indexed at that height, null if there is none
+     */
+    @Nullable
+    public Keccak256 getBlockHash(long number) {
+        return index.getBlockHash(number);
+    }
+
+    /**
+     * Indexes the logs of a block, that must be the one after the current head
+     * (or any block, if the index is empty)
+     *
+     * @param block the block to index
+     * @param receipts the receipts of the block transactions, in the same order
+     */
+    public synchronized void addBlock(Block block, List<TransactionReceipt> receipts) {
+        long number = block.getNumber();
+
+        if (!isEmpty() && number != index.getHeadNumber() + 1) {
+            throw new IllegalStateException("Block " + number + " doesn't follow the log index head " + index.getHeadNumber());
+        }
+
+        Map<ByteArrayWrapper, List<byte[]>> positionsByTerm = new LinkedHashMap<>();
+        int blockLogIndex = 0;
+
+        for (int transactionIndex = 0; transactionIndex < receipts.size(); transactionIndex++) {
+            List<LogInfo> logInfoList = receipts.get(transactionIndex).getLogInfoList();
+
+            for (int logIndex = 0; logIndex < logInfoList.size(); logIndex++) {
+                LogInfo logInfo = logInfoList.get(logIndex);
+                byte[] position = encodePosition(new LogPosition(number, transactionIndex, logIndex, blockLogIndex));
+
+                addPosition(positionsByTerm, term(ADDRESS_TERM, logInfo.getAddress()), position);
+
+                List<DataWord> topics = logInfo.getTopics();
+                for (int k = 0; k < topics.size() && k < MAX_TOPICS; k++) {
+                    addPosition(positionsByTerm, term(ADDRESS_TERM + 1 + k, topics.get(k).getData()), position);
+                }
+
+                blockLogIndex++;
+            }
+        }
+
+        ByteBuffer blockRecord = ByteBuffer.allocate(Keccak256.HASH_LEN + positionsByTerm.size() * TERM_SIZE);
+        blockRecord.put(block.getHash().getBytes());
+        positionsByTerm.keySet().forEach(term -> blockRecord.put(term.getData()));
+
+        index.addBlock(number, blockRecord.array(), positionsByTerm);
+
+        logger.trace("indexed logs of block {}: {} terms", number, positionsByTerm.size());
+    }
+
+    /**
+     * Removes the logs of the head block from the index
+     */
+    public synchronized void removeHead() {
+        if (isEmpty()) {
+            return;
+        }
+
+        long number = index.getHeadNumber();
+
+        index.removeHead(decodeTerms(index.getBlockRecord(number)));
+
+        logger.trace("removed logs of block {}", number);
+    }
+
+    /**
+     * Returns if the index can select the logs matching a filter,
+     * that is, if the filter has any address or topic to look for
+     *
+     * @param filter the filter to check
+     * @return true if the filter selects logs by address or topic
+     */
+    public static boolean canFind(AddressesTopicsFilter filter) {
+        if (filter.getAddresses().length > 0) {
+            return true;
+        }
+
+        for (int k = 0; k < filter.getTopics().size() && k < MAX_TOPICS; k++) {
+            if (filter.getTopics().get(k).length > 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the positions of the logs that could match a filter in a range of indexed blocks
+     *
+     * Logs are selected by address and topics. Topics in positions beyond the ones indexed
+     * aren't checked, so callers should still match each log exactly
+     *
+     * @param filter the addresses and topics to look for, see {@link #canFind(AddressesTopicsFilter)}
+     * @param fromNumber first block number of the range
+     * @param toNumber last block number of the range
+     * @return the log positions, in blockchain order
+     */
+    public List<LogPosition> findLogs(AddressesTopicsFilter filter, long fromNumber, long toNumber) {
+        Set<LogPosition> result = null;
+
+        for (List<byte[]> terms : getTermsToFind(filter)) {
+            TreeSet<LogPosition> matching = new TreeSet<>();
+
+            for (byte[] term : terms) {
+                for (byte[] positions : index.getMatchingPositions(term, fromNumber, toNumber)) {
+                    addPositions(matching, positions);
+                }
+            }
+
+            if (result == null) {
+                result = matching;
+            } else {
+                result.retainAll(matching);
+            }
+
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+
+        return result == null ? Collections.emptyList() : new ArrayList<>(result);
+    }
+
+    /**
+     * Checks, without reading its receipts, if an indexed block could have logs matching a filter
+     *
+     * @param block the block to check
+     * @param filter the filter to match
+     * @return false if the block is indexed and has no log with the filter terms, true otherwise
+     */
+    public boolean mayContainLogs(Block block, AddressesTopicsFilter filter) {
+        byte[] blockRecord = index.getBlockRecord(block.getNumber());
+
+        if (blockRecord == null || !block.getHash().equals(new Keccak256(Arrays.copyOf(blockRecord, Keccak256.HASH_LEN)))) {
+            return true;
+        }
+
+        Set<ByteArrayWrapper> blockTerms = new HashSet<>();
+        for (byte[] term : decodeTerms(blockRecord)) {
+            blockTerms.add(new ByteArrayWrapper(term));
+        }
+
+        for (List<byte[]> terms : getTermsToFind(filter)) {
+            if (terms.stream().noneMatch(term -> blockTerms.contains(new ByteArrayWrapper(term)))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public void flush() {
+        this.index.flush();
+    }
+
+    public void close() {
+        this.index.close();
+    }
+
+    /**
+     * @return the terms the logs must have, one of each list
+     */
+    private static List<List<byte[]>> getTermsToFind(AddressesTopicsFilter filter) {
+        List<List<byte[]>> termsToFind = new ArrayList<>();
+
+        RskAddress[] addresses = filter.getAddresses();
+        if (addresses.length > 0) {
+            List<byte[]> terms = new ArrayList<>(addresses.length);
+            for (RskAddress address : addresses) {
+                terms.add(term(ADDRESS_TERM, address.getBytes()));
+            }
+            termsToFind.add(terms);
+        }
+
+        List<Topic[]> topics = filter.getTopics();
+        for (int k = 0; k < topics.size() && k < MAX_TOPICS; k++) {
+            if (topics.get(k).length == 0) {
+                continue;
+            }
+
+            List<byte[]> terms = new ArrayList<>(topics.get(k).length);
+            for (Topic topic : topics.get(k)) {
+                terms.add(term(ADDRESS_TERM + 1 + k, topic.getBytes()));
+            }
+            termsToFind.add(terms);
+        }
+
+        return termsToFind;
+    }
+
+    private static void addPosition(Map<ByteArrayWrapper, List<byte[]>> positionsByTerm, byte[] term, byte[] position) {
+        positionsByTerm.computeIfAbsent(new ByteArrayWrapper(term), k -> new ArrayList<>()).add(position);
+    }
+
+    private static void addPositions(Set<LogPosition> positions, byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.remaining() >= POSITION_SIZE) {
+            positions.add(new LogPosition(buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getInt()));
+        }
+    }
+
+    private static List<byte[]> decodeTerms(@Nullable byte[] blockRecord) {
+        List<byte[]> terms = new ArrayList<>();
+
+        for (int offset = Keccak256.HASH_LEN; blockRecord != null && offset < blockRecord.length; offset += TERM_SIZE) {
+            terms.add(Arrays.copyOfRange(blockRecord, offset, offset + TERM_SIZE));
+        }
+
+        return terms;
+    }
+
+    private static byte[] encodePosition(LogPosition position) {
+        return ByteBuffer.allocate(POSITION_SIZE)
+                .putLong(position.getBlockNumber())
+                .putInt(position.getTransactionIndex())
+                .putInt(position.getLogIndex())
+                .putInt(position.getBlockLogIndex())
+                .array();
+    }
+
+    private static byte[] term(int kind, byte[] value) {
+        return ByteBuffer.allocate(TERM_SIZE).put((byte) kind).put(DataWord.valueOf(value).getData()).array();
+    }
+}
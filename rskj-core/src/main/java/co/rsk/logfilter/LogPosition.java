@@ -0,0 +1,91 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.logfilter;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Position of a log in the blockchain, as saved in the log index
+ */
+public final class LogPosition implements Comparable<LogPosition> {
+    private final long blockNumber;
+    private final int transactionIndex;
+    private final int logIndex;
+    private final int blockLogIndex;
+
+    public LogPosition(long blockNumber, int transactionIndex, int logIndex, int blockLogIndex) {
+        this.blockNumber = blockNumber;
+        this.transactionIndex = transactionIndex;
+        this.logIndex = logIndex;
+        this.blockLogIndex = blockLogIndex;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public int getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    /**
+     * @return the index of the log in its transaction receipt
+     */
+    public int getLogIndex() {
+        return logIndex;
+    }
+
+    /**
+     * @return the index of the log among all the logs in its block
+     */
+    public int getBlockLogIndex() {
+        return blockLogIndex;
+    }
+
+    @Override
+    public int compareTo(@Nonnull LogPosition other) {
+        int result = Long.compare(blockNumber, other.blockNumber);
+        return result != 0 ? result : Integer.compare(blockLogIndex, other.blockLogIndex);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof LogPosition)) {
+            return false;
+        }
+
+        LogPosition that = (LogPosition) other;
+        return blockNumber == that.blockNumber && blockLogIndex == that.blockLogIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(blockNumber) * 31 + blockLogIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "LogPosition{blockNumber=" + blockNumber + ", transactionIndex=" + transactionIndex +
+                ", logIndex=" + logIndex + ", blockLogIndex=" + blockLogIndex + '}';
+    }
+}
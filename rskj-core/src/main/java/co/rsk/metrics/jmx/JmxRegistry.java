@@ -0,0 +1,66 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.metrics.jmx;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registers node components exposing runtime statistics (counters, gauges) as MBeans
+ * under the {@code co.rsk.metrics.Jmx} domain, next to the profiler metrics.
+ * <p>
+ * Statistics are informative only, so registration failures are logged and never propagated.
+ */
+public final class JmxRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmxRegistry.class);
+
+    private static final String DOMAIN = "co.rsk.metrics.Jmx";
+
+    private JmxRegistry() { /* hidden */ }
+
+    /**
+     * Registers the given MBean, replacing any previously registered one with the same type and name.
+     */
+    public static void register(String type, String name, Object mbean) {
+        register(ManagementFactory.getPlatformMBeanServer(), type, name, mbean);
+    }
+
+    static void register(MBeanServer mbs, String type, String name, Object mbean) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (mbs.isRegistered(objectName)) {
+                try {
+                    mbs.unregisterMBean(objectName);
+                } catch (InstanceNotFoundException e) {
+                    // already unregistered by someone else, nothing to do
+                }
+            }
+            mbs.registerMBean(mbean, objectName);
+        } catch (JMException e) {
+            logger.warn("Failed to register JMX bean {}/{}", type, name, e);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import co.rsk.core.bc.BlockExecutor;
 import co.rsk.core.bc.BlockHashesHelper;
 import co.rsk.core.bc.BlockResult;
 import co.rsk.core.bc.FamilyUtils;
+import co.rsk.core.bc.MiningPrefix;
 import co.rsk.db.RepositoryLocator;
 import co.rsk.db.RepositorySnapshot;
 import co.rsk.panic.PanicProcessor;
@@ -73,6 +74,9 @@ public class BlockToMineBuilder {
 
     private final SignatureCache signatureCache;
 
+    // last block built for mining, while it can still be extended with new transactions
+    private volatile BlockTemplate lastTemplate;
+
     public BlockToMineBuilder(
             ActivationConfig activationConfig,
             MiningConfig miningConfig,
@@ -138,18 +142,131 @@ public class BlockToMineBuilder {
 
         final List<Transaction> txsToRemove = new ArrayList<>();
         final List<Transaction> txs = getTransactions(txsToRemove, newBlockParentHeader, minimumGasPrice);
+
+        return build(mainchainHeaders, uncles, txs, txsToRemove, minimumGasPrice, extraData);
+    }
+
+    /**
+     * Creates a new block to mine without transactions except the REMASC one. It takes very little to execute, so it
+     * can be given to miners right after a new best block while the block with the pending transactions is built.
+     *
+     * @param mainchainHeaders last best chain blocks where 0 index is the best block and so on.
+     * @param extraData extra data to pass to the block being built.
+     */
+    public BlockResult buildEmpty(List<BlockHeader> mainchainHeaders, byte[] extraData) {
+        BlockHeader newBlockParentHeader = mainchainHeaders.get(0);
+        List<BlockHeader> uncles = getUnclesHeaders(newBlockParentHeader);
+
+        Coin minimumGasPrice = minimumGasPriceCalculator.calculate(newBlockParentHeader.getMinimumGasPrice());
+
+        final List<Transaction> txs = new ArrayList<>();
+        txs.add(new RemascTransaction(newBlockParentHeader.getNumber() + 1));
+
+        return build(mainchainHeaders, uncles, txs, Collections.emptyList(), minimumGasPrice, extraData);
+    }
+
+    /**
+     * Creates a new block to mine that keeps the executed transactions of the last one built for the same parent
+     * and appends the ones that arrived since then, which is much cheaper than executing all of them again.
+     * <p>
+     * The block is built from scratch when the parent, the uncles or the extra data changed, or when the new
+     * selection of transactions doesn't start with the previous one (e.g. a higher paying transaction was received).
+     * The extended block keeps the timestamp of the previous one, because its transactions were executed with it.
+     *
+     * @param mainchainHeaders last best chain blocks where 0 index is the best block and so on.
+     * @param extraData extra data to pass to the block being built.
+     */
+    public BlockResult extend(List<BlockHeader> mainchainHeaders, byte[] extraData) {
+        BlockHeader newBlockParentHeader = mainchainHeaders.get(0);
+        BlockTemplate template = lastTemplate;
+        if (template == null
+                || !template.result.getBlock().getParentHash().equals(newBlockParentHeader.getHash())
+                || !Arrays.equals(template.result.getBlock().getExtraData(), extraData)) {
+            return build(mainchainHeaders, extraData);
+        }
+
+        Block previousBlock = template.result.getBlock();
+        List<BlockHeader> uncles = getUnclesHeaders(newBlockParentHeader);
+        Coin minimumGasPrice = minimumGasPriceCalculator.calculate(newBlockParentHeader.getMinimumGasPrice());
+
+        final List<Transaction> txsToRemove = new ArrayList<>();
+        final List<Transaction> txs = getTransactions(txsToRemove, newBlockParentHeader, minimumGasPrice);
+
+        if (!sameHeaders(uncles, previousBlock.getUncleList())
+                || !minimumGasPrice.equals(previousBlock.getMinimumGasPrice())
+                || txs.isEmpty() || !(txs.get(txs.size() - 1) instanceof RemascTransaction)) {
+            return build(mainchainHeaders, uncles, txs, txsToRemove, minimumGasPrice, extraData);
+        }
+
+        // the previous selection must be the first transactions of the new one
+        MiningPrefix prefix = template.result.getMiningPrefix();
+        List<Transaction> previousTxs = template.transactions;
+        List<Transaction> newTxs = txs.subList(0, txs.size() - 1);
+        if (newTxs.size() < previousTxs.size() || !newTxs.subList(0, previousTxs.size()).equals(previousTxs)) {
+            logger.debug("Transactions of the block to mine changed, building it from scratch");
+            return build(mainchainHeaders, uncles, txs, txsToRemove, minimumGasPrice, extraData);
+        }
+
+        removePendingTransactions(txsToRemove);
+        if (newTxs.size() == previousTxs.size()) {
+            logger.debug("No new transactions for the block to mine");
+            return template.result;
+        }
+
+        List<Transaction> blockTxs = new ArrayList<>(prefix.getTransactions());
+        blockTxs.addAll(newTxs.subList(previousTxs.size(), newTxs.size()));
+        blockTxs.add(txs.get(txs.size() - 1));
+
+        BlockHeader newHeader = createHeader(
+                mainchainHeaders, previousBlock.getUncleList(), blockTxs, minimumGasPrice, extraData, previousBlock.getTimestamp());
+        Block newBlock = blockFactory.newBlock(newHeader, blockTxs, previousBlock.getUncleList(), false);
+
+        logger.debug("Extending block to mine with {} transaction(s)", newTxs.size() - previousTxs.size());
+        BlockResult result = executor.executeAndFill(newBlock, newBlockParentHeader, prefix);
+        evictInvalidTransactions(result);
+        lastTemplate = BlockTemplate.of(result, newTxs);
+
+        return result;
+    }
+
+    private BlockResult build(
+            List<BlockHeader> mainchainHeaders,
+            List<BlockHeader> uncles,
+            List<Transaction> txs,
+            List<Transaction> txsToRemove,
+            Coin minimumGasPrice,
+            byte[] extraData) {
+        BlockHeader newBlockParentHeader = mainchainHeaders.get(0);
         final Block newBlock = createBlock(mainchainHeaders, uncles, txs, minimumGasPrice, extraData);
 
         removePendingTransactions(txsToRemove);
         BlockResult result = executor.executeAndFill(newBlock, newBlockParentHeader);
+        evictInvalidTransactions(result);
+        lastTemplate = BlockTemplate.of(result, txs.subList(0, Math.max(0, txs.size() - 1)));
+
+        return result;
+    }
 
+    private void evictInvalidTransactions(BlockResult result) {
         List<Transaction> invalidTxs = result.getInvalidTransactions();
         if (!invalidTxs.isEmpty()) {
             logger.warn("Evicting {} invalid transaction(s) from pool after exception during block execution", invalidTxs.size());
             removePendingTransactions(invalidTxs);
         }
+    }
 
-        return result;
+    private static boolean sameHeaders(List<BlockHeader> headers, List<BlockHeader> otherHeaders) {
+        if (headers.size() != otherHeaders.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < headers.size(); i++) {
+            if (!headers.get(i).getHash().equals(otherHeaders.get(i).getHash())) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     private List<BlockHeader> getUnclesHeaders(BlockHeader newBlockParentHeader) {
@@ -218,10 +335,20 @@ public class BlockToMineBuilder {
             List<Transaction> txs,
             Coin minimumGasPrice,
             byte[] extraData) {
+        long timestampSeconds = clock.calculateTimestampForChild(mainchainHeaders.get(0));
+        return createHeader(mainchainHeaders, uncles, txs, minimumGasPrice, extraData, timestampSeconds);
+    }
+
+    private BlockHeader createHeader(
+            List<BlockHeader> mainchainHeaders,
+            List<BlockHeader> uncles,
+            List<Transaction> txs,
+            Coin minimumGasPrice,
+            byte[] extraData,
+            long timestampSeconds) {
         final byte[] unclesListHash = HashUtil.keccak256(BlockHeader.getUnclesEncodedEx(uncles));
 
         BlockHeader newBlockParentHeader = mainchainHeaders.get(0);
-        final long timestampSeconds = clock.calculateTimestampForChild(newBlockParentHeader);
 
         // Set gas limit before executing block
         BigInteger minGasLimit = BigInteger.valueOf(miningConfig.getGasLimit().getMininimum());
@@ -263,4 +390,28 @@ public class BlockToMineBuilder {
         newHeader.setDifficulty(difficultyCalculator.calcDifficulty(newHeader, newBlockParentHeader));
         return newHeader;
     }
+
+    /**
+     * A block built for mining that can be extended, with the selected transactions it was built from except the
+     * REMASC one and the ones evicted from the pool
+     */
+    private static class BlockTemplate {
+        private final BlockResult result;
+        private final List<Transaction> transactions;
+
+        private BlockTemplate(BlockResult result, List<Transaction> transactions) {
+            this.result = result;
+            this.transactions = transactions;
+        }
+
+        private static BlockTemplate of(BlockResult result, List<Transaction> selectedTxs) {
+            if (result.getMiningPrefix() == null) {
+                return null;
+            }
+
+            List<Transaction> transactions = new ArrayList<>(selectedTxs);
+            transactions.removeAll(result.getInvalidTransactions());
+            return new BlockTemplate(result, Collections.unmodifiableList(transactions));
+        }
+    }
 }
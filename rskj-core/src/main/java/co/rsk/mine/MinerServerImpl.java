@@ -28,9 +28,14 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
@@ -125,6 +130,12 @@ public class MinerServerImpl implements MinerServer {
     private final SubmissionRateLimitHandler submissionRateLimitHandler;
 
     private final boolean updateWorkOnNewTransaction;
+
+    private final boolean updateEmptyWorkOnNewBlock;
+    private final Supplier<ExecutorService> fullBlockBuilderFactory;
+    private volatile ExecutorService fullBlockBuilder;
+    private final AtomicLong fullBlockRequests = new AtomicLong();
+    private final MinerWorkStats workStats = new MinerWorkStats();
     
     public MinerServerImpl(
             RskSystemProperties config,
@@ -154,6 +165,25 @@ public class MinerServerImpl implements MinerServer {
             BuildInfo buildInfo,
             MiningConfig miningConfig,
             SubmissionRateLimitHandler submissionRateLimitHandler) {
+        this(config, ethereum, mainchainView, nodeBlockProcessor, powRule, builder, clock, blockFactory, buildInfo,
+                miningConfig, submissionRateLimitHandler,
+                () -> Executors.newSingleThreadExecutor(target -> new Thread(target, "fullBlockToMineBuilder")));
+    }
+
+    @VisibleForTesting
+    MinerServerImpl(
+            RskSystemProperties config,
+            Ethereum ethereum,
+            MiningMainchainView mainchainView,
+            BlockProcessor nodeBlockProcessor,
+            ProofOfWorkRule powRule,
+            BlockToMineBuilder builder,
+            MinerClock clock,
+            BlockFactory blockFactory,
+            BuildInfo buildInfo,
+            MiningConfig miningConfig,
+            SubmissionRateLimitHandler submissionRateLimitHandler,
+            Supplier<ExecutorService> fullBlockBuilderFactory) {
         this.ethereum = ethereum;
         this.mainchainView = mainchainView;
         this.nodeBlockProcessor = nodeBlockProcessor;
@@ -177,6 +207,8 @@ public class MinerServerImpl implements MinerServer {
         gasUnitInDollars = BigDecimal.valueOf(miningConfig.getGasUnitInDollars());
 
         updateWorkOnNewTransaction = config.updateWorkOnNewTransaction();
+        updateEmptyWorkOnNewBlock = config.updateEmptyWorkOnNewBlock();
+        this.fullBlockBuilderFactory = fullBlockBuilderFactory;
         
         extraData = buildExtraData(config, buildInfo);
     }
@@ -203,6 +235,10 @@ public class MinerServerImpl implements MinerServer {
         return blocksWaitingForPoW;
     }
 
+    public MinerWorkStats getWorkStats() {
+        return workStats;
+    }
+
     @Override
     public boolean isRunning() {
         return started;
@@ -221,6 +257,10 @@ public class MinerServerImpl implements MinerServer {
                 refreshWorkTimer.cancel();
                 refreshWorkTimer = null;
             }
+            if (fullBlockBuilder != null) {
+                fullBlockBuilder.shutdownNow();
+                fullBlockBuilder = null;
+            }
         }
     }
 
@@ -232,7 +272,10 @@ public class MinerServerImpl implements MinerServer {
 
         synchronized (lock) {
             started = true;
-            blockListener = new NewBlockTxListener(mainchainView, this::buildBlockToMine, nodeBlockProcessor, updateWorkOnNewTransaction);
+            if (updateEmptyWorkOnNewBlock) {
+                fullBlockBuilder = fullBlockBuilderFactory.get();
+            }
+            blockListener = new NewBlockTxListener(mainchainView, this::buildBlockToMineOnNewBestBlock, this::extendBlockToMine, nodeBlockProcessor, updateWorkOnNewTransaction);
             ethereum.addListener(blockListener);
             buildBlockToMine(false);
 
@@ -487,7 +530,18 @@ public class MinerServerImpl implements MinerServer {
      */
     @Override
     public void buildBlockToMine(boolean createCompetitiveBlock) {
-        
+        buildBlockToMine(createCompetitiveBlock, false);
+    }
+
+    /**
+     * extendBlockToMine adds the transactions received since the last block to mine was built, keeping the
+     * transactions already executed when the parent didn't change. See {@link BlockToMineBuilder#extend}.
+     */
+    private void extendBlockToMine() {
+        buildBlockToMine(false, true);
+    }
+
+    private void buildBlockToMine(boolean createCompetitiveBlock, boolean extendLatestBlock) {
         BlockHeader newBlockParentHeader = mainchainView.get().get(0);
         // See BlockChainImpl.calclBloom() if blocks has txs
         if (createCompetitiveBlock) {
@@ -498,11 +552,92 @@ public class MinerServerImpl implements MinerServer {
         logger.info("Starting block to mine from parent {} {}", newBlockParentHeader.getNumber(), newBlockParentHeader.getHash());
 
         List<BlockHeader> mainchainHeaders = mainchainView.get();
-        final Block newBlock = builder.build(mainchainHeaders, extraData).getBlock();
+        final Block newBlock = extendLatestBlock
+                ? builder.extend(mainchainHeaders, extraData).getBlock()
+                : builder.build(mainchainHeaders, extraData).getBlock();
         clock.clearIncreaseTime();
 
+        publishBlockToMine(newBlockParentHeader, newBlock, false);
+    }
+
+    /**
+     * buildBlockToMineOnNewBestBlock gives miners work on top of a new best block. When updateEmptyWorkOnNewBlock is
+     * enabled, a block without transactions is given right away so that miners stop working on the previous parent,
+     * and it is replaced by the block with the pending transactions once that one is built in background.
+     * Both blocks are kept waiting for PoW, so a solution for either of them can be submitted.
+     * When several best blocks arrive while a block is being built, only the block for the newest one is built.
+     */
+    private void buildBlockToMineOnNewBestBlock() {
+        long start = System.nanoTime();
+        ExecutorService executor = fullBlockBuilder;
+        if (executor == null) {
+            buildBlockToMine(false);
+            workStats.onFirstWork(System.nanoTime() - start, false);
+            workStats.onFullWork(System.nanoTime() - start);
+            return;
+        }
+
+        List<BlockHeader> mainchainHeaders = mainchainView.get();
+        BlockHeader newBlockParentHeader = mainchainHeaders.get(0);
+        byte[] blockExtraData = extraData;
+
+        logger.info("Starting empty block to mine from parent {} {}", newBlockParentHeader.getNumber(), newBlockParentHeader.getHash());
+        Block emptyBlock = builder.buildEmpty(mainchainHeaders, blockExtraData).getBlock();
+        publishBlockToMine(newBlockParentHeader, emptyBlock, false);
+        workStats.onFirstWork(System.nanoTime() - start, true);
+
+        long request = fullBlockRequests.incrementAndGet();
+        try {
+            executor.execute(() -> buildFullBlockToMine(mainchainHeaders, blockExtraData, start, request));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Miner server stopped, the block to mine is not built");
+        }
+    }
+
+    private void buildFullBlockToMine(List<BlockHeader> mainchainHeaders, byte[] blockExtraData, long start, long request) {
+        try {
+            // only the newest request is built, the older ones queued meanwhile would be discarded when published
+            if (request != fullBlockRequests.get() || !isLatestParent(mainchainHeaders.get(0))) {
+                logger.debug("Skipping outdated block to mine from parent {}", mainchainHeaders.get(0).getNumber());
+                workStats.onDiscardedWork();
+                return;
+            }
+
+            Block newBlock = builder.build(mainchainHeaders, blockExtraData).getBlock();
+            clock.clearIncreaseTime();
+            if (publishBlockToMine(mainchainHeaders.get(0), newBlock, true)) {
+                workStats.onFullWork(System.nanoTime() - start);
+            } else {
+                workStats.onDiscardedWork();
+            }
+        } catch (Throwable th) {
+            logger.error("Unexpected error: {}", th);
+            panicProcessor.panic("mserror", th.getMessage());
+        }
+    }
+
+    private boolean isLatestParent(BlockHeader parentHeader) {
+        synchronized (lock) {
+            return parentHeader.getHash().equals(latestParentHash);
+        }
+    }
+
+    /**
+     * publishBlockToMine makes the block the current work for miners.
+     *
+     * @param newBlockParentHeader parent of the block to mine.
+     * @param newBlock             the block to mine.
+     * @param onlyForLatestParent  whether to discard the block if work for another parent was given meanwhile.
+     * @return true if the block is the current work.
+     */
+    private boolean publishBlockToMine(BlockHeader newBlockParentHeader, Block newBlock, boolean onlyForLatestParent) {
         synchronized (lock) {
             Keccak256 parentHash = newBlockParentHeader.getHash();
+            if (onlyForLatestParent && !parentHash.equals(latestParentHash)) {
+                logger.debug("Discarding block {}, there is work for a newer parent", newBlock.getPrintableHashForMergedMining());
+                return false;
+            }
+
             boolean notify = this.getNotify(newBlock, parentHash);
 
             if (notify) {
@@ -523,6 +658,8 @@ public class MinerServerImpl implements MinerServer {
         for (BlockHeader uncleHeader : newBlock.getUncleList()) {
             logger.debug("With uncle {}", uncleHeader.getPrintableHashForMergedMining());
         }
+
+        return true;
     }
 
     /**
@@ -557,14 +694,20 @@ public class MinerServerImpl implements MinerServer {
     static class NewBlockTxListener extends EthereumListenerAdapter {
 
         private final MiningMainchainView mainchainView;
-        private final Consumer<Boolean> buildBlock;
+        private final Runnable buildBlock;
+        private final Runnable extendBlock;
         private final BlockProcessor nodeBlockProcessor;
         
         private final boolean updateWorkOnNewTransaction;
         
         public NewBlockTxListener(MiningMainchainView mainchainView, Consumer<Boolean> buildBlock, BlockProcessor nodeBlockProcessor, boolean updateWorkOnNewTransaction) {
+            this(mainchainView, () -> buildBlock.accept(false), () -> buildBlock.accept(false), nodeBlockProcessor, updateWorkOnNewTransaction);
+        }
+
+        public NewBlockTxListener(MiningMainchainView mainchainView, Runnable buildBlock, Runnable extendBlock, BlockProcessor nodeBlockProcessor, boolean updateWorkOnNewTransaction) {
             this.mainchainView = mainchainView;
             this.buildBlock = buildBlock;
+            this.extendBlock = extendBlock;
             this.nodeBlockProcessor = nodeBlockProcessor;
             this.updateWorkOnNewTransaction = updateWorkOnNewTransaction;
         }
@@ -589,7 +732,7 @@ public class MinerServerImpl implements MinerServer {
 
             mainchainView.addBest(newBestBlock.getHeader());
 
-            buildBlock.accept(false);
+            buildBlock.run();
 
             logger.trace("End onBestBlock");
         }
@@ -603,7 +746,7 @@ public class MinerServerImpl implements MinerServer {
 
             logger.trace("Pending Transactions Received");
 
-            buildBlock.accept(false);
+            extendBlock.run();
 
         }
 
@@ -0,0 +1,112 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.mine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the work given to merged miners after each new best block. The time to first work is how long miners
+ * keep hashing on the previous parent, the time to full work how long until the work includes pending transactions.
+ */
+public class MinerWorkStats implements MinerWorkStatsMBean {
+
+    private final LongAdder newBlocks = new LongAdder();
+    private final LongAdder emptyWorks = new LongAdder();
+    private final LongAdder timeToFirstWork = new LongAdder();
+    private final AtomicLong lastTimeToFirstWork = new AtomicLong();
+    private final AtomicLong maxTimeToFirstWork = new AtomicLong();
+    private final LongAdder fullWorks = new LongAdder();
+    private final LongAdder timeToFullWork = new LongAdder();
+    private final AtomicLong lastTimeToFullWork = new AtomicLong();
+    private final LongAdder discardedWorks = new LongAdder();
+
+    void onFirstWork(long nanos, boolean empty) {
+        newBlocks.increment();
+        if (empty) {
+            emptyWorks.increment();
+        }
+        timeToFirstWork.add(nanos);
+        lastTimeToFirstWork.set(nanos);
+        maxTimeToFirstWork.accumulateAndGet(nanos, Math::max);
+    }
+
+    void onFullWork(long nanos) {
+        fullWorks.increment();
+        timeToFullWork.add(nanos);
+        lastTimeToFullWork.set(nanos);
+    }
+
+    /**
+     * A full work built in background wasn't given to miners because there was a new best block meanwhile
+     */
+    void onDiscardedWork() {
+        discardedWorks.increment();
+    }
+
+    @Override
+    public long getNewBlocks() {
+        return newBlocks.sum();
+    }
+
+    @Override
+    public long getEmptyWorks() {
+        return emptyWorks.sum();
+    }
+
+    @Override
+    public long getLastTimeToFirstWorkMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastTimeToFirstWork.get());
+    }
+
+    @Override
+    public long getMaxTimeToFirstWorkMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxTimeToFirstWork.get());
+    }
+
+    @Override
+    public double getAverageTimeToFirstWorkMillis() {
+        return averageMillis(timeToFirstWork.sum(), getNewBlocks());
+    }
+
+    @Override
+    public long getFullWorks() {
+        return fullWorks.sum();
+    }
+
+    @Override
+    public long getLastTimeToFullWorkMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastTimeToFullWork.get());
+    }
+
+    @Override
+    public double getAverageTimeToFullWorkMillis() {
+        return averageMillis(timeToFullWork.sum(), getFullWorks());
+    }
+
+    @Override
+    public long getDiscardedWorks() {
+        return discardedWorks.sum();
+    }
+
+    private static double averageMillis(long nanos, long count) {
+        return count == 0 ? 0.0 : (double) nanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
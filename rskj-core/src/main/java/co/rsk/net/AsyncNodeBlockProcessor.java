@@ -67,7 +67,15 @@ public class AsyncNodeBlockProcessor extends NodeBlockProcessor implements Inter
                                    @Nonnull BlockSyncService blockSyncService, @Nonnull SyncConfiguration syncConfiguration,
                                    @Nonnull BlockValidator blockHeaderValidator, @Nonnull BlockValidator blockValidator,
                                    @Nullable Listener listener) {
-        super(store, blockchain, nodeInformation, blockSyncService, syncConfiguration);
+        this(store, blockchain, nodeInformation, blockSyncService, syncConfiguration, blockHeaderValidator, blockValidator, null, listener);
+    }
+
+    @SuppressWarnings("java:S107")
+    public AsyncNodeBlockProcessor(@Nonnull NetBlockStore store, @Nonnull Blockchain blockchain, @Nonnull BlockNodeInformation nodeInformation,
+                                   @Nonnull BlockSyncService blockSyncService, @Nonnull SyncConfiguration syncConfiguration,
+                                   @Nonnull BlockValidator blockHeaderValidator, @Nonnull BlockValidator blockValidator,
+                                   @Nullable CompactBlockProcessor compactBlockProcessor, @Nullable Listener listener) {
+        super(store, blockchain, nodeInformation, blockSyncService, syncConfiguration, compactBlockProcessor);
         this.blockHeaderValidator = blockHeaderValidator;
         this.blockValidator = blockValidator;
         this.listener = listener;
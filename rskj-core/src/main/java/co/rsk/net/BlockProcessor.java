@@ -18,11 +18,14 @@
 
 package co.rsk.net;
 
+import co.rsk.net.messages.BlockTransactionsMessage;
+import co.rsk.net.messages.CompactBlockMessage;
 import co.rsk.net.messages.NewBlockHashesMessage;
 import org.ethereum.core.Block;
 import org.ethereum.core.BlockHeader;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Created by ajlopez on 5/11/2016.
@@ -62,5 +65,13 @@ public interface BlockProcessor {
 
     void processSkeletonRequest(Peer sender, long requestId, long startNumber);
 
+    // Compact block relay
+
+    Optional<Block> processCompactBlock(Peer sender, CompactBlockMessage message);
+
+    void processGetBlockTransactions(Peer sender, long requestId, byte[] hash, List<Integer> indexes);
+
+    Optional<Block> processBlockTransactions(Peer sender, BlockTransactionsMessage message);
+
     boolean canBeIgnoredForUnclesRewards(long blockNumber);
 }
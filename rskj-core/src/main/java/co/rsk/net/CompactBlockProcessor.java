@@ -0,0 +1,186 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.core.ShortTxIdCalculator;
+import co.rsk.core.bc.BlockHashesHelper;
+import co.rsk.crypto.Keccak256;
+import co.rsk.net.messages.BlockTransactionsMessage;
+import co.rsk.net.messages.CompactBlockMessage;
+import co.rsk.net.messages.GetBlockMessage;
+import co.rsk.net.messages.GetBlockTransactionsMessage;
+import org.ethereum.config.blockchain.upgrades.ActivationConfig;
+import org.ethereum.config.blockchain.upgrades.ConsensusRule;
+import org.ethereum.core.Block;
+import org.ethereum.core.BlockFactory;
+import org.ethereum.core.BlockHeader;
+import org.ethereum.core.Transaction;
+import org.ethereum.core.TransactionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Rebuilds the blocks received as {@link CompactBlockMessage} from the transactions in the transaction pool.
+ * <p>
+ * When some transactions are missing they are requested to the sender with a {@link GetBlockTransactionsMessage},
+ * and the partial block is kept until the {@link BlockTransactionsMessage} arrives. If the rebuilt block doesn't
+ * match its header (i.e. a short id collision) the full block is requested instead.
+ */
+public class CompactBlockProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger("blockprocessor");
+
+    private static final int MAX_PENDING_BLOCKS = 32;
+
+    private final TransactionPool transactionPool;
+    private final BlockFactory blockFactory;
+    private final ActivationConfig activationConfig;
+
+    private final Map<Keccak256, PartialBlock> pendingBlocks = new LinkedHashMap<Keccak256, PartialBlock>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Keccak256, PartialBlock> eldest) {
+            return size() > MAX_PENDING_BLOCKS;
+        }
+    };
+
+    private long lastRequestId;
+
+    public CompactBlockProcessor(TransactionPool transactionPool, BlockFactory blockFactory, ActivationConfig activationConfig) {
+        this.transactionPool = transactionPool;
+        this.blockFactory = blockFactory;
+        this.activationConfig = activationConfig;
+    }
+
+    /**
+     * Tries to rebuild the announced block.
+     *
+     * @return the block if all its transactions were found, empty if they were requested to the sender.
+     */
+    public synchronized Optional<Block> processCompactBlock(Peer sender, CompactBlockMessage message) {
+        BlockHeader header = message.getHeader();
+        int count = message.getTransactionCount();
+        Map<Integer, Transaction> prefilled = message.getPrefilledTransactions();
+        ShortTxIdCalculator shortTxIdCalculator = new ShortTxIdCalculator(header.getHash());
+
+        Transaction[] transactions = new Transaction[count];
+        List<Integer> missing = new ArrayList<>();
+
+        for (int k = 0; k < count; k++) {
+            Transaction tx = prefilled.get(k);
+
+            if (tx == null) {
+                tx = transactionPool.getTransactionByShortId(shortTxIdCalculator, message.getShortTxId(k)).orElse(null);
+            }
+
+            if (tx == null) {
+                missing.add(k);
+            } else {
+                transactions[k] = tx;
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return buildBlock(sender, header, transactions, message.getUncles());
+        }
+
+        long requestId = ++lastRequestId;
+        pendingBlocks.put(header.getHash(), new PartialBlock(requestId, message, transactions, missing));
+
+        logger.trace("Requesting {} of {} transactions of compact block {} {} from {}",
+                missing.size(), count, header.getNumber(), header.getPrintableHash(), sender.getPeerNodeID());
+        sender.sendMessage(new GetBlockTransactionsMessage(requestId, header.getHash().getBytes(), missing));
+
+        return Optional.empty();
+    }
+
+    /**
+     * Completes a partial block with the transactions received from its sender.
+     *
+     * @return the block if it could be completed, empty otherwise.
+     */
+    public synchronized Optional<Block> processBlockTransactions(Peer sender, BlockTransactionsMessage message) {
+        Keccak256 blockHash = new Keccak256(message.getBlockHash());
+        PartialBlock partialBlock = pendingBlocks.get(blockHash);
+
+        if (partialBlock == null || partialBlock.requestId != message.getId()) {
+            logger.trace("Unexpected block transactions {} for block {} from {}", message.getId(), blockHash, sender.getPeerNodeID());
+            return Optional.empty();
+        }
+
+        pendingBlocks.remove(blockHash);
+
+        CompactBlockMessage compactBlock = partialBlock.compactBlock;
+        List<Transaction> received = message.getTransactions();
+
+        if (received.size() != partialBlock.missing.size()) {
+            return requestFullBlock(sender, compactBlock.getHeader());
+        }
+
+        Transaction[] transactions = partialBlock.transactions;
+        ShortTxIdCalculator shortTxIdCalculator = new ShortTxIdCalculator(blockHash);
+
+        for (int k = 0; k < received.size(); k++) {
+            int index = partialBlock.missing.get(k);
+            Transaction tx = received.get(k);
+
+            if (shortTxIdCalculator.shortTxId(tx.getHash()) != compactBlock.getShortTxId(index)) {
+                return requestFullBlock(sender, compactBlock.getHeader());
+            }
+
+            transactions[index] = tx;
+        }
+
+        return buildBlock(sender, compactBlock.getHeader(), transactions, compactBlock.getUncles());
+    }
+
+    private Optional<Block> buildBlock(Peer sender, BlockHeader header, Transaction[] transactions, List<BlockHeader> uncles) {
+        List<Transaction> transactionList = Arrays.asList(transactions);
+        boolean isRskip126Enabled = activationConfig.isActive(ConsensusRule.RSKIP126, header.getNumber());
+
+        // different transactions can share a short id, in that case the rebuilt block won't match its header
+        if (!Arrays.equals(header.getTxTrieRoot(), BlockHashesHelper.getTxTrieRoot(transactionList, isRskip126Enabled))) {
+            return requestFullBlock(sender, header);
+        }
+
+        return Optional.of(blockFactory.newBlock(header, transactionList, uncles));
+    }
+
+    private Optional<Block> requestFullBlock(Peer sender, BlockHeader header) {
+        logger.trace("Compact block {} {} from {} couldn't be rebuilt, requesting full block",
+                header.getNumber(), header.getPrintableHash(), sender.getPeerNodeID());
+        sender.sendMessage(new GetBlockMessage(header.getHash().getBytes()));
+        return Optional.empty();
+    }
+
+    private static class PartialBlock {
+        private final long requestId;
+        private final CompactBlockMessage compactBlock;
+        private final Transaction[] transactions;
+        private final List<Integer> missing;
+
+        PartialBlock(long requestId, CompactBlockMessage compactBlock, Transaction[] transactions, List<Integer> missing) {
+            this.requestId = requestId;
+            this.compactBlock = compactBlock;
+            this.transactions = transactions;
+            this.missing = missing;
+        }
+    }
+}
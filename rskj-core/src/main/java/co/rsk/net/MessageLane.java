@@ -0,0 +1,196 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.net.NodeMessageHandler.MessageTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A bounded queue of messages, with its own worker threads.
+ * <p>
+ * Messages are kept in a queue per peer, and the workers take them from the peers in turns,
+ * so a peer flooding the lane only delays its own messages.
+ */
+class MessageLane {
+
+    private static final Logger logger = LoggerFactory.getLogger("messagehandler");
+
+    private final MessageLaneType type;
+    private final int maxSize;
+    private final int workers;
+    private final Consumer<MessageTask> processor;
+    private final MessageLaneStats stats;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<NodeID, Deque<MessageTask>> tasksByPeer = new HashMap<>();
+    // peers with pending messages, in the order they'll be served
+    private final Deque<NodeID> peers = new ArrayDeque<>();
+    private int size;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    MessageLane(MessageLaneType type, int maxSize, int workers, Consumer<MessageTask> processor) {
+        this.type = type;
+        this.maxSize = maxSize;
+        this.workers = workers;
+        this.processor = processor;
+        this.stats = new MessageLaneStats(this::size);
+    }
+
+    MessageLaneType getType() {
+        return type;
+    }
+
+    MessageLaneStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Adds a message to the lane.
+     *
+     * @return false if the lane is full and the message was dropped.
+     */
+    boolean offer(MessageTask task) {
+        lock.lock();
+        try {
+            if (size >= maxSize) {
+                stats.onDropped();
+                return false;
+            }
+
+            NodeID peer = task.getSender().getPeerNodeID();
+            Deque<MessageTask> tasks = tasksByPeer.computeIfAbsent(peer, k -> new ArrayDeque<>());
+
+            if (tasks.isEmpty()) {
+                peers.addLast(peer);
+            }
+
+            tasks.addLast(task);
+            size++;
+            stats.onEnqueued();
+            notEmpty.signal();
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next message of the next peer in turn, waiting up to the given time.
+     *
+     * @return the message, or null if the lane is still empty.
+     */
+    MessageTask poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+
+            NodeID peer = peers.pollFirst();
+            Deque<MessageTask> tasks = tasksByPeer.get(peer);
+            MessageTask task = tasks.pollFirst();
+
+            if (tasks.isEmpty()) {
+                tasksByPeer.remove(peer);
+            } else {
+                peers.addLast(peer);
+            }
+
+            size--;
+            stats.onDequeued(System.nanoTime() - task.getEnqueuedNanos());
+
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size(NodeID peer) {
+        lock.lock();
+        try {
+            Deque<MessageTask> tasks = tasksByPeer.get(peer);
+            return tasks == null ? 0 : tasks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void start() {
+        running = true;
+
+        for (int k = 0; k < workers; k++) {
+            Thread thread = new Thread(this::run, "message handler " + type.getName() + " #" + k);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                MessageTask task = poll(1, TimeUnit.SECONDS);
+
+                if (task != null) {
+                    processor.accept(task);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Got unexpected error while processing task in {} lane:", type.getName(), e);
+            } catch (IllegalAccessError e) { // Usually this is been thrown by DB instances when closed
+                logger.warn("Message handler {} lane got `{}`. Exiting", type.getName(), e.getClass().getSimpleName(), e);
+                return;
+            }
+        }
+
+        logger.trace("Message handler {} lane was finished. Exiting", type.getName());
+    }
+}
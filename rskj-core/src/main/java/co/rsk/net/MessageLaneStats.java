@@ -0,0 +1,87 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.metrics.DurationStats;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Statistics of a message lane: how many messages are waiting, and how long they waited before being processed.
+ */
+public class MessageLaneStats implements MessageLaneStatsMBean {
+
+    private final IntSupplier queueDepth;
+
+    private final LongAdder messagesEnqueued = new LongAdder();
+    private final LongAdder messagesDropped = new LongAdder();
+    private final DurationStats waitTime = new DurationStats();
+
+    MessageLaneStats(IntSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    void onEnqueued() {
+        messagesEnqueued.increment();
+    }
+
+    void onDropped() {
+        messagesDropped.increment();
+    }
+
+    void onDequeued(long waitNanos) {
+        waitTime.add(waitNanos);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public long getMessagesEnqueued() {
+        return messagesEnqueued.sum();
+    }
+
+    @Override
+    public long getMessagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    @Override
+    public long getMessagesProcessed() {
+        return waitTime.getCount();
+    }
+
+    @Override
+    public long getTotalWaitTimeNanos() {
+        return waitTime.getTotalNanos();
+    }
+
+    @Override
+    public long getMaxWaitTimeNanos() {
+        return waitTime.getMaxNanos();
+    }
+
+    @Override
+    public double getAverageWaitTimeMillis() {
+        return waitTime.getAverageMillis();
+    }
+}
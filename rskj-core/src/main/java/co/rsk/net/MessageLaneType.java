@@ -0,0 +1,72 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.net.messages.MessageType;
+
+/**
+ * The lanes in which the {@link NodeMessageHandler} splits the received messages, so the ones that are critical
+ * to follow the chain don't wait behind transaction gossip or the requests of syncing peers.
+ */
+public enum MessageLaneType {
+    /**
+     * Blocks, headers, status and the responses to our own sync requests. Processed by the main message handler thread.
+     */
+    BLOCKS("blocks"),
+    /**
+     * Transaction gossip.
+     */
+    TRANSACTIONS("transactions"),
+    /**
+     * Requests of peers syncing from this node.
+     */
+    SYNC_SERVING("syncServing");
+
+    private final String name;
+
+    MessageLaneType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static MessageLaneType of(MessageType messageType) {
+        switch (messageType) {
+            case TRANSACTIONS:
+            case NEW_TRANSACTION_HASHES_MESSAGE:
+            case GET_TRANSACTIONS_MESSAGE:
+                return TRANSACTIONS;
+            case GET_BLOCK_MESSAGE:
+            case BLOCK_REQUEST_MESSAGE:
+            case BLOCK_HEADERS_REQUEST_MESSAGE:
+            case BODY_REQUEST_MESSAGE:
+            case BLOCK_HASH_REQUEST_MESSAGE:
+            case SKELETON_REQUEST_MESSAGE:
+            case GET_BLOCK_TRANSACTIONS_MESSAGE:
+            case SNAP_STATUS_REQUEST_MESSAGE:
+            case SNAP_BLOCKS_REQUEST_MESSAGE:
+            case SNAP_STATE_CHUNK_REQUEST_MESSAGE:
+                return SYNC_SERVING;
+            default:
+                return BLOCKS;
+        }
+    }
+}
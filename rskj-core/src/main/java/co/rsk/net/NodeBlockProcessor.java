@@ -29,6 +29,7 @@ import org.ethereum.core.Block;
 import org.ethereum.core.BlockHeader;
 import org.ethereum.core.BlockIdentifier;
 import org.ethereum.core.Blockchain;
+import org.ethereum.core.Transaction;
 import org.ethereum.util.ByteUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * NodeBlockProcessor processes blocks to add into a blockchain.
@@ -53,12 +55,14 @@ public class NodeBlockProcessor implements BlockProcessor {
     private final Blockchain blockchain;
     private final BlockNodeInformation nodeInformation;
     private final SyncConfiguration syncConfiguration;
-    // keeps on a map the hashes that belongs to the skeleton
-    private final Map <Long, byte[]> skeletonCache = new HashMap<>();
+    // keeps on a map the hashes that belongs to the skeleton, requests can be served from several threads
+    private final Map <Long, byte[]> skeletonCache = new ConcurrentHashMap<>();
 
     protected final NetBlockStore store;
     // keep tabs on which nodes know which blocks.
     protected final BlockSyncService blockSyncService;
+    // rebuilds compact blocks from the transaction pool, null if compact blocks are disabled
+    private final CompactBlockProcessor compactBlockProcessor;
 
     /**
      * Creates a new NodeBlockProcessor using the given BlockStore and Blockchain.
@@ -74,11 +78,25 @@ public class NodeBlockProcessor implements BlockProcessor {
             @Nonnull final BlockNodeInformation nodeInformation,
             @Nonnull final BlockSyncService blockSyncService,
             @Nonnull final SyncConfiguration syncConfiguration) {
+        this(store, blockchain, nodeInformation, blockSyncService, syncConfiguration, null);
+    }
+
+    /**
+     * Creates a new NodeBlockProcessor that rebuilds the received compact blocks with the given CompactBlockProcessor.
+     */
+    public NodeBlockProcessor(
+            @Nonnull final NetBlockStore store,
+            @Nonnull final Blockchain blockchain,
+            @Nonnull final BlockNodeInformation nodeInformation,
+            @Nonnull final BlockSyncService blockSyncService,
+            @Nonnull final SyncConfiguration syncConfiguration,
+            @Nullable final CompactBlockProcessor compactBlockProcessor) {
         this.store = store;
         this.blockchain = blockchain;
         this.nodeInformation = nodeInformation;
         this.blockSyncService = blockSyncService;
         this.syncConfiguration = syncConfiguration;
+        this.compactBlockProcessor = compactBlockProcessor;
     }
 
     /**
@@ -305,6 +323,69 @@ public class NodeBlockProcessor implements BlockProcessor {
         sender.sendMessage(responseMessage);
     }
 
+    /**
+     * processCompactBlock rebuilds a compact block from the transaction pool, requesting the missing
+     * transactions (or the full block, if compact blocks are disabled) to the sender.
+     *
+     * @param sender the sender of the CompactBlock message.
+     * @param message the compact block.
+     * @return the rebuilt block, if all its transactions are available.
+     */
+    @Override
+    public Optional<Block> processCompactBlock(@Nonnull final Peer sender, @Nonnull final CompactBlockMessage message) {
+        final Keccak256 hash = message.getHeader().getHash();
+        logger.trace("Processing compact block {} {} from {}", message.getHeader().getNumber(), hash, sender.getPeerNodeID());
+        nodeInformation.addBlockToNode(hash, sender.getPeerNodeID());
+
+        if (compactBlockProcessor == null) {
+            sender.sendMessage(new GetBlockMessage(hash.getBytes()));
+            return Optional.empty();
+        }
+
+        return compactBlockProcessor.processCompactBlock(sender, message);
+    }
+
+    /**
+     * processGetBlockTransactions sends the requested transactions of a block to a peer if the block is available.
+     *
+     * @param sender the sender of the GetBlockTransactions message.
+     * @param requestId the id of the request
+     * @param hash   the requested block's hash.
+     * @param indexes the positions of the requested transactions in the block.
+     */
+    @Override
+    public void processGetBlockTransactions(@Nonnull final Peer sender, long requestId, @Nonnull final byte[] hash, @Nonnull final List<Integer> indexes) {
+        logger.trace("Processing get block transactions {} {} from {}", requestId, ByteUtil.toHexString(hash), sender.getPeerNodeID());
+        final Block block = blockSyncService.getBlockFromStoreOrBlockchain(hash);
+
+        if (block == null) {
+            return;
+        }
+
+        List<Transaction> blockTransactions = block.getTransactionsList();
+        List<Transaction> transactions = new ArrayList<>(indexes.size());
+
+        for (int index : indexes) {
+            if (index < 0 || index >= blockTransactions.size()) {
+                logger.trace("Get block transactions from {} failed because index {}", sender.getPeerNodeID(), index);
+                return;
+            }
+
+            transactions.add(blockTransactions.get(index));
+        }
+
+        sender.sendMessage(new BlockTransactionsMessage(requestId, hash, transactions));
+    }
+
+    @Override
+    public Optional<Block> processBlockTransactions(@Nonnull final Peer sender, @Nonnull final BlockTransactionsMessage message) {
+        if (compactBlockProcessor == null) {
+            return Optional.empty();
+        }
+
+        return compactBlockProcessor.processBlockTransactions(sender, message);
+    }
+
     @Override
     public boolean canBeIgnoredForUnclesRewards(long blockNumber) {
         return blockSyncService.canBeIgnoredForUnclesRewards(blockNumber);
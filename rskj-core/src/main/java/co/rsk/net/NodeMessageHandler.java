@@ -41,6 +41,8 @@ import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -73,6 +75,9 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
     private final Thread thread;
 
     private final PriorityBlockingQueue<MessageTask> queue;
+    private final MessageLaneStats blocksLaneStats;
+    // lanes with their own workers, empty if lanes are disabled and every message goes to the main queue
+    private final Map<MessageLaneType, MessageLane> lanes;
 
     private final MessageCounter messageCounter;
     private final int messageQueueMaxSize;
@@ -137,6 +142,8 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         this.messageQueueMaxSize = config.getMessageQueueMaxSize();
         this.thread = thread == null ? new Thread(this, "message handler") : thread;
         this.messageCounter = messageCounter == null ? new MessageCounter() : messageCounter;
+        this.blocksLaneStats = new MessageLaneStats(this.queue::size);
+        this.lanes = createLanes(config);
     }
 
     @VisibleForTesting
@@ -165,6 +172,24 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         this.messageQueueMaxSize = config.getMessageQueueMaxSize();
         this.thread = new Thread(this, "message handler");
         this.messageCounter = new MessageCounter();
+        this.blocksLaneStats = new MessageLaneStats(this.queue::size);
+        this.lanes = createLanes(config);
+    }
+
+    private Map<MessageLaneType, MessageLane> createLanes(RskSystemProperties config) {
+        Map<MessageLaneType, MessageLane> result = new EnumMap<>(MessageLaneType.class);
+
+        if (!config.isMessageQueueLanesEnabled()) {
+            return result;
+        }
+
+        for (MessageLaneType type : EnumSet.of(MessageLaneType.TRANSACTIONS, MessageLaneType.SYNC_SERVING)) {
+            int maxSize = config.getMessageQueueLaneMaxSize(type.getName());
+            int workers = config.getMessageQueueLaneWorkers(type.getName());
+            result.put(type, new MessageLane(type, maxSize, workers, this::processLaneTask));
+        }
+
+        return result;
     }
 
     /**
@@ -175,7 +200,27 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
      */
     public synchronized void processMessage(final Peer sender, @Nonnull final Message message) {
         messageCounter.decrement(sender);
+        dispatchMessage(sender, message);
+    }
 
+    /**
+     * Processes a message taken from a lane. Lanes have their own workers, so these messages aren't
+     * serialized with the ones of the main queue.
+     */
+    private void processLaneTask(MessageTask task) {
+        try {
+            addTracingKeys(task.getNodeMsgTraceInfo());
+            long startNanos = System.nanoTime();
+            logStart(task);
+            messageCounter.decrement(task.getSender());
+            dispatchMessage(task.getSender(), task.getMessage());
+            logEnd(task, startNanos, loggerMessageProcess);
+        } finally {
+            removeTracingKeys();
+        }
+    }
+
+    private void dispatchMessage(final Peer sender, @Nonnull final Message message) {
         MessageType messageType = message.getMessageType();
         logger.trace("Process message type: {}", messageType);
 
@@ -242,17 +287,25 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
     }
 
     private boolean allowByMinerNotBanned(Peer sender, Message message) {
-        boolean allow = true;
+        if (this.bannedMiners.isEmpty()) {
+            return true;
+        }
 
-        if (!this.bannedMiners.isEmpty() && message.getMessageType() == MessageType.BLOCK_MESSAGE) {
-            RskAddress miner = ((BlockMessage) message).getBlock().getCoinbase();
-            if (this.bannedMiners.contains(miner)) {
-                logger.trace("Received block mined by banned miner {} from peer {}, not added to the queue", miner, sender);
-                allow = false;
-            }
+        RskAddress miner;
+        if (message.getMessageType() == MessageType.BLOCK_MESSAGE) {
+            miner = ((BlockMessage) message).getBlock().getCoinbase();
+        } else if (message.getMessageType() == MessageType.COMPACT_BLOCK_MESSAGE) {
+            miner = ((CompactBlockMessage) message).getHeader().getCoinbase();
+        } else {
+            return true;
         }
 
-        return allow;
+        if (this.bannedMiners.contains(miner)) {
+            logger.trace("Received block mined by banned miner {} from peer {}, not added to the queue", miner, sender);
+            return false;
+        }
+
+        return true;
     }
 
     /**
@@ -262,7 +315,9 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
      */
     @VisibleForTesting
     boolean allowByMessageUniqueness(Peer sender, Message message) {
-        if (message.getMessageType() != MessageType.BLOCK_MESSAGE && message.getMessageType() != MessageType.TRANSACTIONS) {
+        if (message.getMessageType() != MessageType.BLOCK_MESSAGE
+                && message.getMessageType() != MessageType.COMPACT_BLOCK_MESSAGE
+                && message.getMessageType() != MessageType.TRANSACTIONS) {
             return true;
         }
 
@@ -293,10 +348,21 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         messageCounter.increment(sender);
         MessageTask messageTask = new MessageTask(sender, message, score, nodeMsgTraceInfo);
 
+        MessageLane lane = lanes.get(MessageLaneType.of(message.getMessageType()));
+        if (lane != null) {
+            if (!lane.offer(messageTask)) {
+                messageCounter.decrement(sender);
+                logger.debug("Message: [{}] from: [{}] dropped, {} lane is full", message.getMessageType(), sender, lane.getType().getName());
+            }
+            return;
+        }
+
         boolean messageAdded = this.queue.offer(messageTask);
         if (!messageAdded) {
             messageCounter.decrement(sender);
             logger.warn("Unexpected path. Is message queue bounded now?");
+        } else {
+            blocksLaneStats.onEnqueued();
         }
     }
 
@@ -310,6 +376,7 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         state = ExecState.RUNNING;
 
         thread.start();
+        lanes.values().forEach(MessageLane::start);
     }
 
     @Override
@@ -322,11 +389,22 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         state = ExecState.FINISHED;
 
         thread.interrupt();
+        lanes.values().forEach(MessageLane::stop);
     }
 
     @Override
     public long getMessageQueueSize() {
-        return this.queue.size();
+        return this.queue.size() + lanes.values().stream().mapToLong(MessageLane::size).sum();
+    }
+
+    /**
+     * @return the statistics of each lane, the blocks lane is the main queue.
+     */
+    public Map<MessageLaneType, MessageLaneStats> getLaneStats() {
+        Map<MessageLaneType, MessageLaneStats> result = new EnumMap<>(MessageLaneType.class);
+        result.put(MessageLaneType.BLOCKS, blocksLaneStats);
+        lanes.forEach((type, lane) -> result.put(type, lane.getStats()));
+        return result;
     }
 
     @VisibleForTesting
@@ -346,6 +424,7 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
                 loggerMessageProcess.debug("Queued Messages: {}", this.queue.size());
 
                 if (task != null) {
+                    blocksLaneStats.onDequeued(System.nanoTime() - task.getEnqueuedNanos());
                     addTracingKeys(task.getNodeMsgTraceInfo());
                     long startNanos = System.nanoTime();
                     logStart(task);
@@ -401,7 +480,10 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         Duration processTime = Duration.ofNanos(System.nanoTime() - startNanos);
 
         Message message = task.getMessage();
-        boolean isBlockRelated = message.getMessageType() == MessageType.BLOCK_MESSAGE || message.getMessageType() == MessageType.BODY_RESPONSE_MESSAGE;
+        boolean isBlockRelated = message.getMessageType() == MessageType.BLOCK_MESSAGE
+                || message.getMessageType() == MessageType.COMPACT_BLOCK_MESSAGE
+                || message.getMessageType() == MessageType.BLOCK_TRANSACTIONS_MESSAGE
+                || message.getMessageType() == MessageType.BODY_RESPONSE_MESSAGE;
         boolean isBlockSlow = isBlockRelated && BlockUtils.tooMuchProcessTime(processTime.toNanos());
         boolean isOtherSlow = !isBlockRelated && processTime.getSeconds() > PROCESSING_TIME_TO_WARN_LIMIT;
 
@@ -459,12 +541,14 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
         private final Message message;
         private final double score;
         private final NodeMsgTraceInfo nodeMsgTraceInfo;
+        private final long enqueuedNanos;
 
         public MessageTask(Peer sender, Message message, double score, NodeMsgTraceInfo nodeMsgTraceInfo) {
             this.sender = sender;
             this.message = message;
             this.score = score;
             this.nodeMsgTraceInfo = nodeMsgTraceInfo;
+            this.enqueuedNanos = System.nanoTime();
         }
 
         public Peer getSender() {
@@ -479,6 +563,10 @@ public class NodeMessageHandler implements MessageHandler, InternalService, Runn
             return nodeMsgTraceInfo;
         }
 
+        public long getEnqueuedNanos() {
+            return enqueuedNanos;
+        }
+
         @Override
         public String toString() {
             return "MessageTask{" + "sender=" + sender + ", message=" + message + '}';
@@ -33,4 +33,6 @@ public interface Peer {
     double score(long currentTime, MessageType type);
     void imported(boolean best);
     boolean isSnapCapable();
+    boolean isCompactBlockCapable();
+    boolean isTxAnnouncementCapable();
 }
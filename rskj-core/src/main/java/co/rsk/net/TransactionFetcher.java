@@ -0,0 +1,193 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.crypto.Keccak256;
+import co.rsk.util.MaxSizeHashMap;
+import org.ethereum.core.Transaction;
+
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Keeps track of the transactions known by this node, to avoid processing duplicates, and of the announced
+ * transactions requested to each peer.
+ * <p>
+ * A transaction announced by several peers is only requested once, and each peer has a limit of
+ * transactions in flight. Requests that aren't answered in time are forgotten, so the transaction
+ * can be requested to another peer announcing it.
+ */
+public class TransactionFetcher {
+    private final int maxInFlightPerPeer;
+    private final long requestTimeoutMillis;
+    private final Clock clock;
+
+    // hashes of the transactions already received or relayed by this node
+    private final Map<Keccak256, Boolean> seen;
+    // transactions recently relayed, that could be requested by the peers they were announced to
+    private final Map<Keccak256, Transaction> relayed;
+    // announced transactions requested and not yet received, in request order
+    private final Map<Keccak256, Request> inFlight = new LinkedHashMap<>();
+    private final Map<NodeID, Integer> inFlightByPeer = new HashMap<>();
+
+    public TransactionFetcher(int seenCacheSize, int relayedCacheSize, int maxInFlightPerPeer, long requestTimeoutMillis, Clock clock) {
+        this.seen = new MaxSizeHashMap<>(seenCacheSize, false);
+        this.relayed = new MaxSizeHashMap<>(relayedCacheSize, false);
+        this.maxInFlightPerPeer = maxInFlightPerPeer;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the transaction was already received or relayed by this node.
+     */
+    public synchronized boolean isRecentlySeen(Keccak256 hash) {
+        return seen.containsKey(hash);
+    }
+
+    /**
+     * Selects the announced transactions to request to the given peer: the unknown ones that aren't already
+     * requested, up to the peer in flight limit.
+     */
+    public synchronized List<Keccak256> processAnnouncement(NodeID peer, List<Keccak256> hashes) {
+        expireRequests();
+
+        int available = maxInFlightPerPeer - inFlightByPeer.getOrDefault(peer, 0);
+        List<Keccak256> toRequest = new ArrayList<>();
+        long now = clock.millis();
+
+        for (Keccak256 hash : hashes) {
+            if (available <= 0) {
+                break;
+            }
+
+            if (seen.containsKey(hash) || inFlight.containsKey(hash)) {
+                continue;
+            }
+
+            inFlight.put(hash, new Request(peer, now));
+            toRequest.add(hash);
+            available--;
+        }
+
+        if (!toRequest.isEmpty()) {
+            inFlightByPeer.merge(peer, toRequest.size(), Integer::sum);
+        }
+
+        return toRequest;
+    }
+
+    /**
+     * Marks the given transactions as received, releasing their requests if they were in flight.
+     */
+    public synchronized void transactionsReceived(List<Transaction> transactions) {
+        for (Transaction tx : transactions) {
+            Keccak256 hash = tx.getHash();
+            seen.put(hash, Boolean.TRUE);
+            release(hash);
+        }
+    }
+
+    /**
+     * Releases the requests of the given transactions without marking them as received, so they can be requested
+     * again to the peers announcing them.
+     */
+    public synchronized void transactionsRejected(List<Transaction> transactions) {
+        for (Transaction tx : transactions) {
+            release(tx.getHash());
+        }
+    }
+
+    /**
+     * Marks the given transactions as relayed by this node, so they can be served to the peers requesting them.
+     */
+    public synchronized void transactionsRelayed(List<Transaction> transactions) {
+        for (Transaction tx : transactions) {
+            Keccak256 hash = tx.getHash();
+            seen.put(hash, Boolean.TRUE);
+            relayed.put(hash, tx);
+        }
+    }
+
+    /**
+     * @return the relayed transactions with the given hashes, skipping the unknown ones.
+     */
+    public synchronized List<Transaction> getRelayedTransactions(List<Keccak256> hashes) {
+        List<Transaction> result = new ArrayList<>();
+
+        for (Keccak256 hash : hashes) {
+            Transaction tx = relayed.get(hash);
+
+            if (tx != null) {
+                result.add(tx);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the max number of transactions requested at once, both to and from a peer.
+     */
+    public int getMaxInFlightPerPeer() {
+        return maxInFlightPerPeer;
+    }
+
+    public synchronized int getInFlightCount(NodeID peer) {
+        return inFlightByPeer.getOrDefault(peer, 0);
+    }
+
+    private void expireRequests() {
+        long limit = clock.millis() - requestTimeoutMillis;
+        Iterator<Request> requests = inFlight.values().iterator();
+
+        while (requests.hasNext()) {
+            Request request = requests.next();
+
+            if (request.time >= limit) {
+                break;
+            }
+
+            requests.remove();
+            releasePeer(request.peer);
+        }
+    }
+
+    private void release(Keccak256 hash) {
+        Request request = inFlight.remove(hash);
+
+        if (request != null) {
+            releasePeer(request.peer);
+        }
+    }
+
+    private void releasePeer(NodeID peer) {
+        inFlightByPeer.computeIfPresent(peer, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static class Request {
+        private final NodeID peer;
+        private final long time;
+
+        Request(NodeID peer, long time) {
+            this.peer = peer;
+            this.time = time;
+        }
+    }
+}
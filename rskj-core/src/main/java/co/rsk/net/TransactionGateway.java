@@ -18,6 +18,9 @@
 
 package co.rsk.net;
 
+import co.rsk.crypto.Keccak256;
+import co.rsk.net.messages.GetTransactionsMessage;
+import co.rsk.net.messages.TransactionsMessage;
 import org.ethereum.core.Transaction;
 import org.ethereum.core.TransactionPool;
 import org.ethereum.core.TransactionPoolAddResult;
@@ -33,12 +36,15 @@ import java.util.*;
 public class TransactionGateway {
     private final ChannelManager channelManager;
     private final TransactionPool transactionPool;
+    private final TransactionFetcher transactionFetcher;
 
     public TransactionGateway(
             ChannelManager channelManager,
-            TransactionPool transactionPool) {
+            TransactionPool transactionPool,
+            TransactionFetcher transactionFetcher) {
         this.channelManager = Objects.requireNonNull(channelManager);
         this.transactionPool = Objects.requireNonNull(transactionPool);
+        this.transactionFetcher = Objects.requireNonNull(transactionFetcher);
     }
 
     /**
@@ -46,7 +52,10 @@ public class TransactionGateway {
      */
     public void receiveTransactionsFrom(@Nonnull List<Transaction> txs, @Nonnull Set<NodeID> nodeIDS) {
         List<Transaction> result  = transactionPool.addTransactions(txs);
+        transactionFetcher.transactionsReceived(result);
+        transactionFetcher.transactionsRejected(getRejected(txs, result));
         if(!result.isEmpty()) {
+            transactionFetcher.transactionsRelayed(result);
             channelManager.broadcastTransactions(result, nodeIDS);
         }
     }
@@ -57,8 +66,57 @@ public class TransactionGateway {
     public TransactionPoolAddResult receiveTransaction(Transaction transaction) {
         TransactionPoolAddResult result  = transactionPool.addTransaction(transaction);
         if(result.pendingTransactionsWereAdded()) {
+            transactionFetcher.transactionsRelayed(result.getPendingTransactionsAdded());
             channelManager.broadcastTransactions(result.getPendingTransactionsAdded(), Collections.emptySet());
         }
         return result;
     }
+
+    /**
+     * Checks if a transaction was already received or relayed, so it can be dropped before validating it
+     */
+    public boolean isRecentlySeen(@Nonnull Keccak256 hash) {
+        return transactionFetcher.isRecentlySeen(hash);
+    }
+
+    /**
+     * Receives the hashes of new transactions from other node, and requests the unknown ones
+     */
+    public void receiveTransactionHashesFrom(@Nonnull Peer sender, @Nonnull List<Keccak256> hashes) {
+        List<Keccak256> toRequest = transactionFetcher.processAnnouncement(sender.getPeerNodeID(), hashes);
+        if (!toRequest.isEmpty()) {
+            sender.sendMessage(new GetTransactionsMessage(toRequest));
+        }
+    }
+
+    /**
+     * Sends the requested transactions to other node, if they were announced by this node
+     *
+     * @return false if the request was dropped for asking more transactions than a peer can have in flight
+     */
+    public boolean processGetTransactions(@Nonnull Peer sender, @Nonnull List<Keccak256> hashes) {
+        if (hashes.size() > transactionFetcher.getMaxInFlightPerPeer()) {
+            return false;
+        }
+
+        List<Transaction> transactions = transactionFetcher.getRelayedTransactions(hashes);
+        if (!transactions.isEmpty()) {
+            sender.sendMessage(new TransactionsMessage(transactions));
+        }
+
+        return true;
+    }
+
+    private static List<Transaction> getRejected(List<Transaction> txs, List<Transaction> accepted) {
+        Set<Transaction> acceptedSet = new HashSet<>(accepted);
+        List<Transaction> rejected = new ArrayList<>();
+
+        for (Transaction tx : txs) {
+            if (!acceptedSet.contains(tx)) {
+                rejected.add(tx);
+            }
+        }
+
+        return rejected;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net.messages;
+
+import org.bouncycastle.util.BigIntegers;
+import org.ethereum.core.ImmutableTransaction;
+import org.ethereum.core.Transaction;
+import org.ethereum.util.RLP;
+import org.ethereum.util.RLPList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Response to a {@link GetBlockTransactionsMessage}, carrying the requested transactions in the requested order.
+ */
+public class BlockTransactionsMessage extends MessageWithId {
+    private final long id;
+    private final byte[] blockHash;
+    private final List<Transaction> transactions;
+
+    public BlockTransactionsMessage(long id, byte[] blockHash, List<Transaction> transactions) {
+        this.id = id;
+        this.blockHash = blockHash;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    public byte[] getBlockHash() {
+        return this.blockHash;
+    }
+
+    public List<Transaction> getTransactions() {
+        return Collections.unmodifiableList(this.transactions);
+    }
+
+    @Override
+    public MessageType getMessageType() {
+        return MessageType.BLOCK_TRANSACTIONS_MESSAGE;
+    }
+
+    @Override
+    protected byte[] getEncodedMessageWithoutId() {
+        byte[][] rlpTransactions = new byte[this.transactions.size()][];
+        for (int k = 0; k < this.transactions.size(); k++) {
+            rlpTransactions[k] = this.transactions.get(k).getEncoded();
+        }
+
+        return RLP.encodeList(RLP.encodeElement(this.blockHash), RLP.encodeList(rlpTransactions));
+    }
+
+    public static Message decodeMessage(RLPList list) {
+        byte[] rlpId = list.get(0).getRLPData();
+        long id = rlpId == null ? 0 : BigIntegers.fromUnsignedByteArray(rlpId).longValue();
+
+        RLPList message = (RLPList) RLP.decode2(list.get(1).getRLPData()).get(0);
+        byte[] blockHash = message.get(0).getRLPData();
+        RLPList rlpTransactions = RLP.decodeList(message.get(1).getRLPData());
+        List<Transaction> transactions = new ArrayList<>(rlpTransactions.size());
+        for (int k = 0; k < rlpTransactions.size(); k++) {
+            transactions.add(new ImmutableTransaction(rlpTransactions.get(k).getRLPData()));
+        }
+
+        return new BlockTransactionsMessage(id, blockHash, transactions);
+    }
+
+    @Override
+    public void accept(MessageVisitor v) {
+        v.apply(this);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net.messages;
+
+import co.rsk.core.ShortTxIdCalculator;
+import co.rsk.remasc.RemascTransaction;
+import org.ethereum.core.Block;
+import org.ethereum.core.BlockFactory;
+import org.ethereum.core.BlockHeader;
+import org.ethereum.core.ImmutableTransaction;
+import org.ethereum.core.Transaction;
+import org.ethereum.util.ByteUtil;
+import org.ethereum.util.RLP;
+import org.ethereum.util.RLPList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Announces a block by its header, its uncles and a short id for each of its transactions, so the receiver
+ * can rebuild the block from its transaction pool and only ask for the transactions it's missing. Short ids
+ * are salted with the block hash, see {@link ShortTxIdCalculator}.
+ * <p>
+ * Transactions the receiver can't have in its pool (i.e. the remasc transaction) are prefilled,
+ * sent in full together with their index in the block.
+ */
+public class CompactBlockMessage extends Message {
+
+    public static final int SHORT_ID_SIZE = 8;
+
+    private final BlockHeader header;
+    private final List<BlockHeader> uncles;
+    private final long[] shortTxIds;
+    private final SortedMap<Integer, Transaction> prefilledTransactions;
+
+    public CompactBlockMessage(BlockHeader header, List<BlockHeader> uncles, long[] shortTxIds, SortedMap<Integer, Transaction> prefilledTransactions) {
+        this.header = header;
+        this.uncles = uncles;
+        this.shortTxIds = shortTxIds;
+        this.prefilledTransactions = prefilledTransactions;
+    }
+
+    public static CompactBlockMessage fromBlock(Block block) {
+        ShortTxIdCalculator shortTxIdCalculator = new ShortTxIdCalculator(block.getHash());
+        List<Transaction> transactions = block.getTransactionsList();
+        long[] shortTxIds = new long[transactions.size()];
+        SortedMap<Integer, Transaction> prefilled = new TreeMap<>();
+
+        for (int k = 0; k < transactions.size(); k++) {
+            Transaction tx = transactions.get(k);
+            shortTxIds[k] = shortTxIdCalculator.shortTxId(tx.getHash());
+            if (tx.isRemascTransaction(k, transactions.size())) {
+                prefilled.put(k, tx);
+            }
+        }
+
+        return new CompactBlockMessage(block.getHeader(), block.getUncleList(), shortTxIds, prefilled);
+    }
+
+    public BlockHeader getHeader() {
+        return header;
+    }
+
+    public List<BlockHeader> getUncles() {
+        return Collections.unmodifiableList(uncles);
+    }
+
+    public int getTransactionCount() {
+        return shortTxIds.length;
+    }
+
+    public long getShortTxId(int index) {
+        return shortTxIds[index];
+    }
+
+    public SortedMap<Integer, Transaction> getPrefilledTransactions() {
+        return Collections.unmodifiableSortedMap(prefilledTransactions);
+    }
+
+    @Override
+    public MessageType getMessageType() {
+        return MessageType.COMPACT_BLOCK_MESSAGE;
+    }
+
+    @Override
+    public byte[] getEncodedMessage() {
+        byte[][] rlpUncles = new byte[this.uncles.size()][];
+        for (int k = 0; k < this.uncles.size(); k++) {
+            rlpUncles[k] = this.uncles.get(k).getFullEncoded();
+        }
+
+        byte[] ids = new byte[this.shortTxIds.length * SHORT_ID_SIZE];
+        for (int k = 0; k < this.shortTxIds.length; k++) {
+            long id = this.shortTxIds[k];
+            for (int j = SHORT_ID_SIZE - 1; j >= 0; j--) {
+                ids[k * SHORT_ID_SIZE + j] = (byte) id;
+                id >>>= 8;
+            }
+        }
+
+        byte[][] rlpPrefilled = new byte[this.prefilledTransactions.size()][];
+        int n = 0;
+        for (SortedMap.Entry<Integer, Transaction> entry : this.prefilledTransactions.entrySet()) {
+            rlpPrefilled[n++] = RLP.encodeList(RLP.encodeInt(entry.getKey()), entry.getValue().getEncoded());
+        }
+
+        return RLP.encodeList(
+                this.header.getFullEncoded(),
+                RLP.encodeList(rlpUncles),
+                RLP.encodeElement(ids),
+                RLP.encodeList(rlpPrefilled)
+        );
+    }
+
+    public static Message decodeMessage(BlockFactory blockFactory, RLPList list) {
+        BlockHeader header = blockFactory.decodeHeader(list.get(0).getRLPData(), false);
+
+        RLPList rlpUncles = RLP.decodeList(list.get(1).getRLPData());
+        List<BlockHeader> uncles = new ArrayList<>();
+        for (int k = 0; k < rlpUncles.size(); k++) {
+            uncles.add(blockFactory.decodeHeader(rlpUncles.get(k).getRLPData(), false));
+        }
+
+        byte[] ids = list.get(2).getRLPData();
+        int idsLength = ids == null ? 0 : ids.length;
+        if (idsLength % SHORT_ID_SIZE != 0) {
+            throw new IllegalArgumentException("Invalid short transaction ids length: " + idsLength);
+        }
+        long[] shortTxIds = new long[idsLength / SHORT_ID_SIZE];
+        for (int k = 0; k < shortTxIds.length; k++) {
+            long id = 0;
+            for (int j = 0; j < SHORT_ID_SIZE; j++) {
+                id = (id << 8) | (ids[k * SHORT_ID_SIZE + j] & 0xFFL);
+            }
+            shortTxIds[k] = id;
+        }
+
+        RLPList rlpPrefilled = RLP.decodeList(list.get(3).getRLPData());
+        SortedMap<Integer, Transaction> prefilled = new TreeMap<>();
+        for (int k = 0; k < rlpPrefilled.size(); k++) {
+            RLPList entry = (RLPList) rlpPrefilled.get(k);
+            int index = ByteUtil.byteArrayToInt(entry.get(0).getRLPData());
+            if (index < 0 || index >= shortTxIds.length) {
+                throw new IllegalArgumentException("Invalid prefilled transaction index: " + index);
+            }
+            byte[] txdata = entry.get(1).getRLPData();
+            Transaction tx = new ImmutableTransaction(txdata);
+            if (tx.isRemascTransaction(index, shortTxIds.length)) {
+                tx = new RemascTransaction(txdata);
+            }
+            prefilled.put(index, tx);
+        }
+
+        return new CompactBlockMessage(header, uncles, shortTxIds, prefilled);
+    }
+
+    @Override
+    public void accept(MessageVisitor v) {
+        v.apply(this);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net.messages;
+
+import org.bouncycastle.util.BigIntegers;
+import org.ethereum.util.ByteUtil;
+import org.ethereum.util.RLP;
+import org.ethereum.util.RLPList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Requests the transactions of a compact block, by their index in the block,
+ * that couldn't be found in the transaction pool.
+ */
+public class GetBlockTransactionsMessage extends MessageWithId {
+    private final long id;
+    private final byte[] blockHash;
+    private final List<Integer> indexes;
+
+    public GetBlockTransactionsMessage(long id, byte[] blockHash, List<Integer> indexes) {
+        this.id = id;
+        this.blockHash = blockHash;
+        this.indexes = indexes;
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    public byte[] getBlockHash() {
+        return this.blockHash;
+    }
+
+    public List<Integer> getIndexes() {
+        return Collections.unmodifiableList(this.indexes);
+    }
+
+    @Override
+    public MessageType getMessageType() {
+        return MessageType.GET_BLOCK_TRANSACTIONS_MESSAGE;
+    }
+
+    @Override
+    public MessageType getResponseMessageType() {
+        return MessageType.BLOCK_TRANSACTIONS_MESSAGE;
+    }
+
+    @Override
+    protected byte[] getEncodedMessageWithoutId() {
+        byte[][] rlpIndexes = new byte[this.indexes.size()][];
+        for (int k = 0; k < this.indexes.size(); k++) {
+            rlpIndexes[k] = RLP.encodeInt(this.indexes.get(k));
+        }
+
+        return RLP.encodeList(RLP.encodeElement(this.blockHash), RLP.encodeList(rlpIndexes));
+    }
+
+    public static Message decodeMessage(RLPList list) {
+        byte[] rlpId = list.get(0).getRLPData();
+        long id = rlpId == null ? 0 : BigIntegers.fromUnsignedByteArray(rlpId).longValue();
+
+        RLPList message = (RLPList) RLP.decode2(list.get(1).getRLPData()).get(0);
+        byte[] blockHash = message.get(0).getRLPData();
+        RLPList rlpIndexes = RLP.decodeList(message.get(1).getRLPData());
+        List<Integer> indexes = new ArrayList<>(rlpIndexes.size());
+        for (int k = 0; k < rlpIndexes.size(); k++) {
+            indexes.add(ByteUtil.byteArrayToInt(rlpIndexes.get(k).getRLPData()));
+        }
+
+        return new GetBlockTransactionsMessage(id, blockHash, indexes);
+    }
+
+    @Override
+    public void accept(MessageVisitor v) {
+        v.apply(this);
+    }
+}
@@ -294,6 +294,36 @@ public enum MessageType {
             return SnapBlocksResponseMessage.decodeMessage(blockFactory, list);
         }
     },
+    COMPACT_BLOCK_MESSAGE(26) {
+        @Override
+        public Message createMessage(BlockFactory blockFactory, RLPList list) {
+            return CompactBlockMessage.decodeMessage(blockFactory, list);
+        }
+    },
+    GET_BLOCK_TRANSACTIONS_MESSAGE(27) {
+        @Override
+        public Message createMessage(BlockFactory blockFactory, RLPList list) {
+            return GetBlockTransactionsMessage.decodeMessage(list);
+        }
+    },
+    BLOCK_TRANSACTIONS_MESSAGE(28) {
+        @Override
+        public Message createMessage(BlockFactory blockFactory, RLPList list) {
+            return BlockTransactionsMessage.decodeMessage(list);
+        }
+    },
+    NEW_TRANSACTION_HASHES_MESSAGE(29) {
+        @Override
+        public Message createMessage(BlockFactory blockFactory, RLPList list) {
+            return NewTransactionHashesMessage.decodeMessage(list);
+        }
+    },
+    GET_TRANSACTIONS_MESSAGE(30) {
+        @Override
+        public Message createMessage(BlockFactory blockFactory, RLPList list) {
+            return GetTransactionsMessage.decodeMessage(list);
+        }
+    },
     ;
 
     private final int type;
@@ -26,6 +26,7 @@ import co.rsk.scoring.EventType;
 import co.rsk.scoring.PeerScoringManager;
 import co.rsk.util.FormatUtils;
 import org.ethereum.core.Block;
+import org.ethereum.core.BlockHeader;
 import org.ethereum.core.BlockIdentifier;
 import org.ethereum.core.Transaction;
 import org.ethereum.net.server.ChannelManager;
@@ -121,6 +122,49 @@ public class MessageVisitor {
         reportEventToPeerScoring(sender, EventType.VALID_BLOCK, "Valid block {} {} at {}", blockNumber, block.getPrintableHash(), this.getClass());
     }
 
+    /**
+     * Processes a CompactBlockMessage message, rebuilding the block from the transaction pool
+     * and processing it as a BlockMessage once all its transactions are available.
+     *
+     * @param message the CompactBlockMessage.
+     */
+    public void apply(CompactBlockMessage message) {
+        final BlockHeader header = message.getHeader();
+        final long blockNumber = header.getNumber();
+
+        logger.trace("Process compact block {} {}", blockNumber, header.getPrintableHash());
+
+        if (header.isGenesis()) {
+            logger.trace("Skip compact block processing {} {}", blockNumber, header.getPrintableHash());
+            return;
+        }
+
+        if (this.blockProcessor.isAdvancedBlock(blockNumber)) {
+            logger.trace("Too advanced compact block {} {}", blockNumber, header.getPrintableHash());
+            return;
+        }
+
+        if (blockProcessor.canBeIgnoredForUnclesRewards(blockNumber)) {
+            logger.trace("Compact block ignored: too far from best block {} {}", blockNumber, header.getPrintableHash());
+            return;
+        }
+
+        if (blockProcessor.hasBlockInSomeBlockchain(header.getHash().getBytes())) {
+            logger.trace("Compact block ignored: it's included in blockchain {} {}", blockNumber, header.getPrintableHash());
+            return;
+        }
+
+        this.blockProcessor.processCompactBlock(sender, message).ifPresent(block -> apply(new BlockMessage(block)));
+    }
+
+    public void apply(GetBlockTransactionsMessage message) {
+        this.blockProcessor.processGetBlockTransactions(sender, message.getId(), message.getBlockHash(), message.getIndexes());
+    }
+
+    public void apply(BlockTransactionsMessage message) {
+        this.blockProcessor.processBlockTransactions(sender, message).ifPresent(block -> apply(new BlockMessage(block)));
+    }
+
     public void apply(StatusMessage message) {
         final Status status = message.getStatus();
         logger.trace("Process status {}", status.getBestBlockNumber());
@@ -232,6 +276,11 @@ public class MessageVisitor {
         List<Transaction> txs = new LinkedList<>();
 
         for (Transaction tx : messageTxs) {
+            // duplicates are dropped before paying for the signature validation
+            if (transactionGateway.isRecentlySeen(tx.getHash())) {
+                continue;
+            }
+
             if (!tx.acceptTransactionSignature(config.getNetworkConstants().getChainId())) {
                 reportEventToPeerScoring(sender, EventType.INVALID_TRANSACTION, "Invalid transaction {} at {}", tx.getHash().toString(), this.getClass());
             } else {
@@ -247,6 +296,21 @@ public class MessageVisitor {
         }
     }
 
+    public void apply(NewTransactionHashesMessage message) {
+        if (blockProcessor.hasBetterBlockToSync()) {
+            loggerMessageProcess.debug("Message[{}] not processed.", message.getMessageType());
+            return;
+        }
+
+        transactionGateway.receiveTransactionHashesFrom(sender, message.getHashes());
+    }
+
+    public void apply(GetTransactionsMessage message) {
+        if (!transactionGateway.processGetTransactions(sender, message.getHashes())) {
+            reportEventToPeerScoring(sender, EventType.INVALID_MESSAGE, "Too many transactions requested ({}) at {}", message.getHashes().size(), this.getClass());
+        }
+    }
+
     private void reportEventToPeerScoring(Peer peer, EventType eventType, String message, Object... arguments) {
         if (peer == null) {
             return;
@@ -0,0 +1,63 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net.messages;
+
+import co.rsk.crypto.Keccak256;
+import org.ethereum.util.RLP;
+import org.ethereum.util.RLPList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class of the messages that carry a list of transaction hashes.
+ */
+public abstract class TransactionHashesMessage extends Message {
+    private final List<Keccak256> hashes;
+
+    protected TransactionHashesMessage(List<Keccak256> hashes) {
+        this.hashes = hashes;
+    }
+
+    public List<Keccak256> getHashes() {
+        return Collections.unmodifiableList(this.hashes);
+    }
+
+    @Override
+    public byte[] getEncodedMessage() {
+        byte[][] rlpHashes = new byte[this.hashes.size()][];
+
+        for (int k = 0; k < this.hashes.size(); k++) {
+            rlpHashes[k] = RLP.encodeElement(this.hashes.get(k).getBytes());
+        }
+
+        return RLP.encodeList(rlpHashes);
+    }
+
+    protected static List<Keccak256> decodeHashes(RLPList list) {
+        List<Keccak256> hashes = new ArrayList<>(list.size());
+
+        for (int k = 0; k < list.size(); k++) {
+            hashes.add(new Keccak256(list.get(k).getRLPData()));
+        }
+
+        return hashes;
+    }
+}
@@ -184,22 +184,13 @@ public abstract class NativeContract extends PrecompiledContracts.PrecompiledCon
             }
             return Optional.empty();
         } else {
-            byte[] encodedSignature = Arrays.copyOfRange(data, 0, 4);
-            Optional<NativeMethod> maybeMethod = getMethods().stream()
-                    .filter(m ->
-                            Arrays.equals(
-                                    encodedSignature,
-                                    m.getFunction().encodeSignature()
-                            )
-                    ).findFirst();
-
-            if (!maybeMethod.isPresent()) {
-                logger.warn("Invalid function signature {}.", Bytes.of(encodedSignature));
+            NativeMethod method = findMethodBySelector(data);
+
+            if (method == null) {
+                logger.warn("Invalid function signature {}.", Bytes.of(Arrays.copyOfRange(data, 0, 4)));
                 return Optional.empty();
             }
 
-            NativeMethod method = maybeMethod.get();
-
             if (!method.isEnabled()) {
                 logger.warn("'{}' is not enabled", method.getName());
                 return Optional.empty();
@@ -209,9 +200,20 @@ public abstract class NativeContract extends PrecompiledContracts.PrecompiledCon
                 Object[] arguments = method.getFunction().decode(data);
                 return Optional.of(method.new WithArguments(arguments, data));
             } catch (Exception e) {
-                logger.warn(String.format("Invalid arguments %s for function %s.", Bytes.of(data), Bytes.of(encodedSignature)), e);
+                logger.warn(String.format("Invalid arguments %s for function %s.", Bytes.of(data), Bytes.of(Arrays.copyOfRange(data, 0, 4))), e);
                 return Optional.empty();
             }
         }
     }
+
+    private NativeMethod findMethodBySelector(byte[] data) {
+        for (NativeMethod method : getMethods()) {
+            byte[] signature = method.getFunction().encodeSignature();
+            if (signature.length == 4 && Arrays.equals(data, 0, 4, signature, 0, 4)) {
+                return method;
+            }
+        }
+
+        return null;
+    }
 }
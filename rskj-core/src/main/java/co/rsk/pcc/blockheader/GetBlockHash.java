@@ -31,7 +31,7 @@ import org.ethereum.core.CallTransaction;
  */
 public class GetBlockHash extends BlockHeaderContractMethod {
 
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getBlockHash",
             new String[]{"int256"},
             new String[]{"bytes"}
@@ -43,7 +43,7 @@ public class GetBlockHash extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
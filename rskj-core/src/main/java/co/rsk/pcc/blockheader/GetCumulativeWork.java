@@ -9,7 +9,7 @@ import org.ethereum.core.CallTransaction;
 import org.ethereum.db.BlockStore;
 
 public class GetCumulativeWork extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
         "getCumulativeWork",
         new String[]{"int256"},
         new String[]{"bytes"}
@@ -21,7 +21,7 @@ public class GetCumulativeWork extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
@@ -30,7 +30,7 @@ import org.ethereum.core.CallTransaction;
  * @author Diego Masini
  */
 public class GetDifficulty extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getDifficulty",
             new String[]{"int256"},
             new String[]{"bytes"}
@@ -42,7 +42,7 @@ public class GetDifficulty extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
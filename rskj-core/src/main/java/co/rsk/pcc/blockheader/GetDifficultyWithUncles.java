@@ -7,7 +7,7 @@ import org.ethereum.core.Block;
 import org.ethereum.core.CallTransaction;
 
 public class GetDifficultyWithUncles extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
         "getDifficultyWithUncles",
         new String[]{"int256"},
         new String[]{"bytes"}
@@ -19,7 +19,7 @@ public class GetDifficultyWithUncles extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
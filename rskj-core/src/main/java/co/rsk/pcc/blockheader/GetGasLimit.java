@@ -30,7 +30,7 @@ import org.ethereum.core.CallTransaction;
  * @author Diego Masini
  */
 public class GetGasLimit extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getGasLimit",
             new String[]{"int256"},
             new String[]{"bytes"}
@@ -42,7 +42,7 @@ public class GetGasLimit extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
@@ -32,7 +32,7 @@ import java.math.BigInteger;
  * @author Diego Masini
  */
 public class GetGasUsed extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getGasUsed",
             new String[]{"int256"},
             new String[]{"bytes"}
@@ -44,7 +44,7 @@ public class GetGasUsed extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
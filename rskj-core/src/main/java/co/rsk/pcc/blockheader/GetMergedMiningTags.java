@@ -37,7 +37,7 @@ import java.util.List;
  * @author Diego Masini
  */
 public class GetMergedMiningTags extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getMergedMiningTags",
             new String[]{"int256"},
             new String[]{"bytes"}
@@ -49,7 +49,7 @@ public class GetMergedMiningTags extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
@@ -32,7 +32,7 @@ import org.ethereum.util.ByteUtil;
  * @author Diego Masini
  */
 public class GetMinimumGasPrice extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getMinGasPrice",
             new String[]{"int256"},
             new String[]{"bytes"}
@@ -44,7 +44,7 @@ public class GetMinimumGasPrice extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
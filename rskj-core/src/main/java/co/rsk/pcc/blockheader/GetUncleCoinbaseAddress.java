@@ -36,7 +36,7 @@ import java.util.List;
  * @author Diego Masini
  */
 public class GetUncleCoinbaseAddress extends BlockHeaderContractMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getUncleCoinbaseAddress",
             new String[]{"int256", "int256"},
             new String[]{"bytes"}
@@ -48,7 +48,7 @@ public class GetUncleCoinbaseAddress extends BlockHeaderContractMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
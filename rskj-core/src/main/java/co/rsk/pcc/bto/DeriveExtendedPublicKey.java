@@ -39,7 +39,7 @@ import java.util.List;
  * @author Ariel Mendelzon
  */
 public class DeriveExtendedPublicKey extends NativeMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "deriveExtendedPublicKey",
             new String[]{"string", "string"},
             new String[]{"string"}
@@ -54,7 +54,7 @@ public class DeriveExtendedPublicKey extends NativeMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
@@ -33,7 +33,7 @@ import org.ethereum.core.CallTransaction;
  * @author Ariel Mendelzon
  */
 public class ExtractPublicKeyFromExtendedPublicKey extends NativeMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "extractPublicKeyFromExtendedPublicKey",
             new String[]{"string"},
             new String[]{"bytes"}
@@ -50,7 +50,7 @@ public class ExtractPublicKeyFromExtendedPublicKey extends NativeMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
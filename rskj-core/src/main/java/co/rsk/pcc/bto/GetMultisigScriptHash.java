@@ -38,7 +38,7 @@ import java.util.List;
  * @author Ariel Mendelzon
  */
 public class GetMultisigScriptHash extends NativeMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getMultisigScriptHash",
             new String[]{"int256", "bytes[]"},
             new String[]{"bytes"}
@@ -67,7 +67,7 @@ public class GetMultisigScriptHash extends NativeMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
@@ -46,7 +46,7 @@ public class ToBase58Check extends NativeMethod {
         }
     }
 
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "toBase58Check",
             new String[]{"bytes", "int256"},
             new String[]{"string"}
@@ -62,7 +62,7 @@ public class ToBase58Check extends NativeMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
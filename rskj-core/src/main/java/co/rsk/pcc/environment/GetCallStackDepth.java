@@ -26,7 +26,7 @@ import org.ethereum.vm.program.invoke.ProgramInvoke;
 import javax.annotation.Nullable;
 
 public class GetCallStackDepth extends NativeMethod {
-    private final CallTransaction.Function function = CallTransaction.Function.fromSignature(
+    private static final CallTransaction.Function FUNCTION = CallTransaction.Function.fromSignature(
             "getCallStackDepth",
             new String[]{},
             new String[]{"uint32"}
@@ -46,7 +46,7 @@ public class GetCallStackDepth extends NativeMethod {
 
     @Override
     public CallTransaction.Function getFunction() {
-        return function;
+        return FUNCTION;
     }
 
     @Override
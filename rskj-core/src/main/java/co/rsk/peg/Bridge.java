@@ -257,6 +257,10 @@ public class Bridge extends PrecompiledContracts.PrecompiledContract {
     private final SignatureCache signatureCache;
     private MsgType msgType;
 
+    // call data decoded by getGasForData, handed over to the execute call that follows it
+    private byte[] lastParsedData;
+    private BridgeParsedData lastParsedBridgeData;
+
     public Bridge(
         RskAddress contractAddress,
         Constants constants,
@@ -304,6 +308,8 @@ public class Bridge extends PrecompiledContracts.PrecompiledContract {
         }
 
         BridgeParsedData bridgeParsedData = parseData(data);
+        lastParsedData = data;
+        lastParsedBridgeData = bridgeParsedData;
 
         long functionCost;
         long totalCost;
@@ -320,6 +326,15 @@ public class Bridge extends PrecompiledContracts.PrecompiledContract {
         return totalCost;
     }
 
+    private BridgeParsedData takeParsedData(byte[] data) {
+        BridgeParsedData bridgeParsedData = lastParsedBridgeData;
+        boolean parsedForGas = bridgeParsedData != null && data != null && data == lastParsedData;
+        lastParsedData = null;
+        lastParsedBridgeData = null;
+
+        return parsedForGas ? bridgeParsedData : parseData(data);
+    }
+
     @VisibleForTesting
     BridgeParsedData parseData(byte[] data) {
         BridgeParsedData bridgeParsedData = new BridgeParsedData();
@@ -333,17 +348,16 @@ public class Bridge extends PrecompiledContracts.PrecompiledContract {
             bridgeParsedData.bridgeMethod = BridgeMethods.RELEASE_BTC;
             bridgeParsedData.args = new Object[]{};
         } else {
-            byte[] functionSignature = Arrays.copyOfRange(data, 0, 4);
-            Optional<BridgeMethods> invokedMethod = BridgeMethods.findBySignature(functionSignature);
+            Optional<BridgeMethods> invokedMethod = BridgeMethods.findBySelector(BridgeMethods.selectorOf(data));
             if (!invokedMethod.isPresent()) {
-                logger.warn("Invalid function signature {}.", Bytes.of(functionSignature));
+                logger.warn("Invalid function signature {}.", Bytes.of(Arrays.copyOfRange(data, 0, 4)));
                 return null;
             }
             bridgeParsedData.bridgeMethod = invokedMethod.get();
             try {
                 bridgeParsedData.args = bridgeParsedData.bridgeMethod.getFunction().decode(data);
             } catch (Exception e) {
-                logger.warn("Invalid function arguments {} for function {}.", Bytes.of(data), Bytes.of(functionSignature));
+                logger.warn("Invalid function arguments {} for function {}.", Bytes.of(data), Bytes.of(Arrays.copyOfRange(data, 0, 4)));
                 return null;
             }
         }
@@ -368,6 +382,8 @@ public class Bridge extends PrecompiledContracts.PrecompiledContract {
         this.activations = activationConfig.forBlock(rskExecutionBlock.getNumber());
         this.rskTx = args.getTransaction();
         this.msgType = args.getMsgType();
+        this.lastParsedData = null;
+        this.lastParsedBridgeData = null;
 
         this.bridgeSupport = bridgeSupportFactory.newInstance(
             args.getRepository(),
@@ -389,7 +405,7 @@ public class Bridge extends PrecompiledContracts.PrecompiledContract {
                 throw new VMException("Rsk Transaction is null");
             }
 
-            BridgeParsedData bridgeParsedData = parseData(data);
+            BridgeParsedData bridgeParsedData = takeParsedData(data);
 
             // Function parsing from data returned null => invalid function selected, halt!
             if (bridgeParsedData == null) {
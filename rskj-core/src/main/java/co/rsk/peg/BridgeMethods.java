@@ -23,15 +23,13 @@ import static org.ethereum.solidity.SolidityType.*;
 import co.rsk.peg.constants.BridgeConstants;
 import co.rsk.peg.vote.AddressBasedAuthorizer;
 import java.math.BigInteger;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.ethereum.config.blockchain.upgrades.ActivationConfig;
 import org.ethereum.core.CallTransaction;
-import org.ethereum.db.ByteArrayWrapper;
 import org.ethereum.vm.MessageCall.MsgType;
 
 /**
@@ -1005,11 +1003,24 @@ public enum BridgeMethods {
         private static final Predicate<MsgType> RESTRICTED_TO_CALL =  callType -> callType == MsgType.CALL;
     }
 
-    private static final Map<ByteArrayWrapper, BridgeMethods> SIGNATURES = Stream.of(BridgeMethods.values())
-        .collect(Collectors.toMap(
-            m -> new ByteArrayWrapper(m.getFunction().encodeSignature()),
-            Function.identity()
-        ));
+    // Selector -> method table, sorted by selector so lookups are a binary search over primitive ints
+    private static final int[] SELECTORS;
+    private static final BridgeMethods[] METHODS_BY_SELECTOR;
+
+    static {
+        BridgeMethods[] methods = values();
+        Arrays.sort(methods, Comparator.comparingInt(m -> selectorOf(m.getFunction().encodeSignature())));
+
+        SELECTORS = new int[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            SELECTORS[i] = selectorOf(methods[i].getFunction().encodeSignature());
+            if (i > 0 && SELECTORS[i] == SELECTORS[i - 1]) {
+                throw new IllegalStateException(String.format(
+                    "Duplicate selector for %s and %s", methods[i - 1].name(), methods[i].name()));
+            }
+        }
+        METHODS_BY_SELECTOR = methods;
+    }
 
     private final CallTransaction.Function function;
     private final CostProvider costProvider;
@@ -1085,7 +1096,26 @@ public enum BridgeMethods {
     }
 
     public static Optional<BridgeMethods> findBySignature(byte[] encoding) {
-        return Optional.ofNullable(SIGNATURES.get(new ByteArrayWrapper(encoding)));
+        if (encoding == null || encoding.length != 4) {
+            return Optional.empty();
+        }
+
+        return findBySelector(selectorOf(encoding));
+    }
+
+    /**
+     * Looks up a method by the first four bytes of its call data, read as a big endian int
+     */
+    public static Optional<BridgeMethods> findBySelector(int selector) {
+        int index = Arrays.binarySearch(SELECTORS, selector);
+        return index < 0 ? Optional.empty() : Optional.of(METHODS_BY_SELECTOR[index]);
+    }
+
+    /**
+     * Reads the selector at the start of the given call data, which must be at least four bytes long
+     */
+    public static int selectorOf(byte[] data) {
+        return ((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16) | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
     }
 
     public CallTransaction.Function getFunction() {
@@ -28,8 +28,10 @@ import co.rsk.crypto.Keccak256;
 import co.rsk.peg.PegoutsWaitingForConfirmations.EntriesStore;
 import co.rsk.peg.bitcoin.CoinbaseInformation;
 import co.rsk.peg.flyover.FlyoverFederationInformation;
+import co.rsk.peg.storage.BridgeStateCache;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import org.ethereum.config.blockchain.upgrades.ActivationConfig;
 import org.ethereum.core.Repository;
 import org.ethereum.vm.DataWord;
@@ -53,6 +55,7 @@ public class BridgeStorageProvider {
     private final Repository repository;
     private final NetworkParameters networkParameters;
     private final ActivationConfig.ForBlock activations;
+    private final BridgeStateCache stateCache;
 
     private Map<Sha256Hash, Long> btcTxHashesAlreadyProcessed;
 
@@ -95,9 +98,18 @@ public class BridgeStorageProvider {
         Repository repository,
         NetworkParameters networkParameters,
         ActivationConfig.ForBlock activations) {
+        this(repository, networkParameters, activations, BridgeStateCache.DISABLED);
+    }
+
+    public BridgeStorageProvider(
+        Repository repository,
+        NetworkParameters networkParameters,
+        ActivationConfig.ForBlock activations,
+        BridgeStateCache stateCache) {
         this.repository = repository;
         this.networkParameters = networkParameters;
         this.activations = activations;
+        this.stateCache = stateCache;
     }
 
     public Optional<Long> getHeightIfBtcTxhashIsAlreadyProcessed(Sha256Hash btcTxHash) throws IOException {
@@ -170,11 +182,17 @@ public class BridgeStorageProvider {
             return releaseRequestQueue;
         }
 
+        // Queue entries are immutable and get copied into the new queue, so the cached lists can be shared
         List<ReleaseRequestQueue.Entry> entries = new ArrayList<>();
 
         entries.addAll(getFromRepository(
                 RELEASE_REQUEST_QUEUE,
-                data -> BridgeSerializationUtils.deserializeReleaseRequestQueue(data, networkParameters)
+                data -> stateCache.get(
+                    "releaseRequestQueue",
+                    data,
+                    d -> BridgeSerializationUtils.deserializeReleaseRequestQueue(d, networkParameters),
+                    UnaryOperator.identity()
+                )
                 )
         );
 
@@ -185,7 +203,12 @@ public class BridgeStorageProvider {
 
         entries.addAll(getFromRepository(
                 RELEASE_REQUEST_QUEUE_WITH_TXHASH,
-                data -> BridgeSerializationUtils.deserializeReleaseRequestQueue(data, networkParameters, true)
+                data -> stateCache.get(
+                    "releaseRequestQueueWithTxHash",
+                    data,
+                    d -> BridgeSerializationUtils.deserializeReleaseRequestQueue(d, networkParameters, true),
+                    UnaryOperator.identity()
+                )
                 )
         );
 
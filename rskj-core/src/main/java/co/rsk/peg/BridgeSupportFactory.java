@@ -29,6 +29,7 @@ import co.rsk.peg.feeperkb.constants.FeePerKbConstants;
 import co.rsk.peg.lockingcap.*;
 import co.rsk.peg.lockingcap.constants.LockingCapConstants;
 import co.rsk.peg.pegininstructions.PeginInstructionsProvider;
+import co.rsk.peg.storage.BridgeStateCache;
 import co.rsk.peg.storage.BridgeStorageAccessorImpl;
 import co.rsk.peg.storage.StorageAccessor;
 import co.rsk.peg.union.UnionBridgeStorageProvider;
@@ -53,17 +54,28 @@ public class BridgeSupportFactory {
     private final BridgeConstants bridgeConstants;
     private final ActivationConfig activationConfig;
     private final SignatureCache signatureCache;
+    private final BridgeStateCache stateCache;
 
     public BridgeSupportFactory(
         Factory btcBlockStoreFactory,
         BridgeConstants bridgeConstants,
         ActivationConfig activationConfig,
         SignatureCache signatureCache) {
+        this(btcBlockStoreFactory, bridgeConstants, activationConfig, signatureCache, BridgeStateCache.DISABLED);
+    }
+
+    public BridgeSupportFactory(
+        Factory btcBlockStoreFactory,
+        BridgeConstants bridgeConstants,
+        ActivationConfig activationConfig,
+        SignatureCache signatureCache,
+        BridgeStateCache stateCache) {
 
         this.btcBlockStoreFactory = btcBlockStoreFactory;
         this.bridgeConstants = bridgeConstants;
         this.activationConfig = activationConfig;
         this.signatureCache = signatureCache;
+        this.stateCache = stateCache;
     }
 
     public BridgeSupport newInstance(
@@ -80,7 +92,8 @@ public class BridgeSupportFactory {
         BridgeStorageProvider provider = new BridgeStorageProvider(
             repository,
             networkParameters,
-            activations
+            activations,
+            stateCache
         );
 
         FeePerKbSupport feePerKbSupport = getFeePerKbSupportInstance(bridgeStorageAccessor);
@@ -158,7 +171,7 @@ public class BridgeSupportFactory {
 
     private FederationSupport getFederationSupportInstance(StorageAccessor bridgeStorageAccessor, Block rskExecutionBlock, ActivationConfig.ForBlock activations) {
         FederationConstants federationConstants = bridgeConstants.getFederationConstants();
-        FederationStorageProvider federationStorageProvider = new FederationStorageProviderImpl(bridgeStorageAccessor);
+        FederationStorageProvider federationStorageProvider = new FederationStorageProviderImpl(bridgeStorageAccessor, stateCache);
         return new FederationSupportImpl(federationConstants, federationStorageProvider, rskExecutionBlock, activations);
     }
 
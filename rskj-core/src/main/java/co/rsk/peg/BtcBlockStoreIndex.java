@@ -0,0 +1,176 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.peg;
+
+import co.rsk.bitcoinj.core.Sha256Hash;
+import co.rsk.bitcoinj.core.StoredBlock;
+import co.rsk.util.MaxSizeHashMap;
+import org.ethereum.db.ByteArrayWrapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Process-wide index shared by all the {@link RepositoryBtcBlockStoreWithCache} instances created by the same factory.
+ *
+ * It holds two structures:
+ * - decoded stored blocks, addressed by their serialized bytes. A block is only reused when the bytes just read
+ *   from the repository are exactly the ones it was decoded from, so the repository is still the source of truth.
+ * - the hashes of the last known BTC main chain by height. Entries always form a single chain, so once a walk from
+ *   a chain head reaches an indexed block, every indexed block below it is an ancestor of that chain head.
+ */
+public class BtcBlockStoreIndex implements BtcBlockStoreIndexMBean {
+
+    private final int maxIndexedHeights;
+    private final Map<ByteArrayWrapper, StoredBlock> decodedBlocks;
+    private final NavigableMap<Integer, Sha256Hash> mainChainHashes = new TreeMap<>();
+
+    private final LongAdder decodeHits = new LongAdder();
+    private final LongAdder decodeMisses = new LongAdder();
+    private final LongAdder heightIndexHits = new LongAdder();
+    private final LongAdder heightIndexMisses = new LongAdder();
+
+    public BtcBlockStoreIndex(int maxDecodedBlocks, int maxIndexedHeights) {
+        this.decodedBlocks = new MaxSizeHashMap<>(maxDecodedBlocks, true);
+        this.maxIndexedHeights = maxIndexedHeights;
+    }
+
+    public StoredBlock decode(byte[] serializedBlock, Function<byte[], StoredBlock> deserializer) {
+        ByteArrayWrapper key = new ByteArrayWrapper(serializedBlock);
+
+        StoredBlock block;
+        synchronized (decodedBlocks) {
+            block = decodedBlocks.get(key);
+        }
+
+        if (block != null) {
+            decodeHits.increment();
+            return block;
+        }
+
+        decodeMisses.increment();
+        block = deserializer.apply(serializedBlock);
+        synchronized (decodedBlocks) {
+            decodedBlocks.put(key, block);
+        }
+
+        return block;
+    }
+
+    public void addDecoded(byte[] serializedBlock, StoredBlock block) {
+        synchronized (decodedBlocks) {
+            decodedBlocks.put(new ByteArrayWrapper(serializedBlock), block);
+        }
+    }
+
+    public synchronized boolean isIndexed(int height, Sha256Hash hash) {
+        return hash.equals(mainChainHashes.get(height));
+    }
+
+    /**
+     * Returns the hash of the ancestor at the given height of an indexed block, or null if the block is no longer
+     * indexed or the ancestor is out of the indexed heights.
+     */
+    public synchronized Sha256Hash getAncestorHash(int indexedHeight, Sha256Hash indexedHash, int height) {
+        if (height > indexedHeight || !isIndexed(indexedHeight, indexedHash)) {
+            return null;
+        }
+
+        return mainChainHashes.get(height);
+    }
+
+    /**
+     * Records the contiguous blocks of a walk done from a chain head, ordered from the chain head down.
+     */
+    public synchronized void update(List<StoredBlock> walkedBlocks) {
+        if (walkedBlocks.isEmpty()) {
+            return;
+        }
+
+        StoredBlock top = walkedBlocks.get(0);
+        StoredBlock bottom = walkedBlocks.get(walkedBlocks.size() - 1);
+        boolean joined = isIndexed(bottom.getHeight() - 1, bottom.getHeader().getPrevBlockHash());
+
+        if (!joined) {
+            // without a common block there is no way of telling whether the indexed blocks belong to the same chain,
+            // so the walk only replaces the index when it spans its lowest height
+            boolean spansIndex = mainChainHashes.isEmpty()
+                || (bottom.getHeight() <= mainChainHashes.firstKey() && top.getHeight() >= mainChainHashes.firstKey());
+            if (!spansIndex) {
+                return;
+            }
+            mainChainHashes.clear();
+        }
+
+        // blocks above the new chain head descend from a block that is no longer in the main chain
+        mainChainHashes.tailMap(top.getHeight(), false).clear();
+
+        for (StoredBlock block : walkedBlocks) {
+            mainChainHashes.put(block.getHeight(), block.getHeader().getHash());
+        }
+
+        while (mainChainHashes.size() > maxIndexedHeights) {
+            mainChainHashes.pollFirstEntry();
+        }
+    }
+
+    void recordHeightIndexLookup(boolean hit) {
+        if (hit) {
+            heightIndexHits.increment();
+        } else {
+            heightIndexMisses.increment();
+        }
+    }
+
+    @Override
+    public int getDecodedBlocks() {
+        synchronized (decodedBlocks) {
+            return decodedBlocks.size();
+        }
+    }
+
+    @Override
+    public long getDecodeHits() {
+        return decodeHits.sum();
+    }
+
+    @Override
+    public long getDecodeMisses() {
+        return decodeMisses.sum();
+    }
+
+    @Override
+    public synchronized int getIndexedHeights() {
+        return mainChainHashes.size();
+    }
+
+    @Override
+    public long getHeightIndexHits() {
+        return heightIndexHits.sum();
+    }
+
+    @Override
+    public long getHeightIndexMisses() {
+        return heightIndexMisses.sum();
+    }
+}
@@ -29,6 +29,8 @@ import co.rsk.bitcoinj.store.BlockStoreException;
 import co.rsk.peg.constants.BridgeConstants;
 import co.rsk.core.RskAddress;
 import co.rsk.util.MaxSizeHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import com.google.common.annotations.VisibleForTesting;
 import org.ethereum.config.blockchain.upgrades.ActivationConfig;
@@ -40,6 +42,7 @@ import org.ethereum.vm.PrecompiledContracts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.util.Map;
 
@@ -64,6 +67,8 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
     private final ActivationConfig.ForBlock activations;
     private final int maxDepthBlockCache;
     private final Map<Sha256Hash, StoredBlock> cacheBlocks;
+    @Nullable
+    private final BtcBlockStoreIndex blockStoreIndex;
 
     public RepositoryBtcBlockStoreWithCache(
         NetworkParameters btcNetworkParams,
@@ -96,7 +101,32 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
         ForBlock activations,
         int maxDepthBlockCache) {
 
+        this(
+            btcNetworkParams,
+            repository,
+            cacheBlocks,
+            contractAddress,
+            bridgeConstants,
+            bridgeStorageProvider,
+            activations,
+            maxDepthBlockCache,
+            null
+        );
+    }
+
+    public RepositoryBtcBlockStoreWithCache(
+        NetworkParameters btcNetworkParams,
+        Repository repository,
+        Map<Sha256Hash, StoredBlock> cacheBlocks,
+        RskAddress contractAddress,
+        BridgeConstants bridgeConstants,
+        BridgeStorageProvider bridgeStorageProvider,
+        ForBlock activations,
+        int maxDepthBlockCache,
+        @Nullable BtcBlockStoreIndex blockStoreIndex) {
+
         this.cacheBlocks = cacheBlocks;
+        this.blockStoreIndex = blockStoreIndex;
         this.repository = repository;
         this.contractAddress = contractAddress;
         this.btcNetworkParams = btcNetworkParams;
@@ -113,6 +143,9 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
         Sha256Hash hash = storedBlock.getHeader().getHash();
         byte[] ba = storedBlockToByteArray(storedBlock);
         repository.addStorageBytes(contractAddress, DataWord.valueFromHex(hash.toString()), ba);
+        if (blockStoreIndex != null) {
+            blockStoreIndex.addDecoded(ba, storedBlock);
+        }
         if (cacheBlocks != null) {
             StoredBlock chainHead = getChainHead();
             if (chainHead == null || chainHead.getHeight() - storedBlock.getHeight() < this.maxDepthBlockCache) {
@@ -271,19 +304,15 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
     public StoredBlock getStoredBlockAtMainChainDepth(int depth) throws BlockStoreException {
         logger.trace("[getStoredBlockAtMainChainDepth] Looking for block at depth {}", depth);
         StoredBlock chainHead = getChainHead();
-        Sha256Hash blockHash = chainHead.getHeader().getHash();
-
-        for (int i = 0; i < depth && blockHash != null; i++) {
-            //If its older than cache go to disk
-            StoredBlock currentBlock = getFromCache(blockHash);
-            if (currentBlock == null) {
-                logger.trace("[getStoredBlockAtMainChainDepth] Block with hash {} not in cache, getting from disk", blockHash);
-                currentBlock = get(blockHash);
-                if (currentBlock == null) {
-                    return null;
-                }
+        Sha256Hash blockHash;
+        if (blockStoreIndex != null) {
+            Optional<Sha256Hash> indexedBlockHash = getIndexedBlockHashAtMainChainDepth(chainHead, depth);
+            if (!indexedBlockHash.isPresent()) {
+                return null;
             }
-            blockHash = currentBlock.getHeader().getPrevBlockHash();
+            blockHash = indexedBlockHash.get();
+        } else {
+            blockHash = getBlockHashAtMainChainDepth(chainHead, depth);
         }
 
         if (blockHash == null) {
@@ -309,6 +338,67 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
         return block;
     }
 
+    /**
+     * Walks back from the chain head until reaching the requested depth or a block already in the shared main chain
+     * index, and then takes the block hash from the index. The walked blocks are added to the index so that the next
+     * lookups from this or later chain heads only need to walk the blocks added since.
+     *
+     * @return empty if a block of the walk is missing, in the same way the plain walk fails
+     */
+    private Optional<Sha256Hash> getIndexedBlockHashAtMainChainDepth(StoredBlock chainHead, int depth) {
+        int height = chainHead.getHeight() - depth;
+        List<StoredBlock> walkedBlocks = new ArrayList<>();
+
+        StoredBlock currentBlock = chainHead;
+        while (true) {
+            Sha256Hash currentBlockHash = currentBlock.getHeader().getHash();
+            Sha256Hash blockHash = blockStoreIndex.getAncestorHash(currentBlock.getHeight(), currentBlockHash, height);
+            if (blockHash != null) {
+                blockStoreIndex.update(walkedBlocks);
+                blockStoreIndex.recordHeightIndexLookup(true);
+                return Optional.of(blockHash);
+            }
+
+            walkedBlocks.add(currentBlock);
+            if (currentBlock.getHeight() <= height) {
+                break;
+            }
+
+            //If its older than cache go to disk
+            Sha256Hash prevBlockHash = currentBlock.getHeader().getPrevBlockHash();
+            currentBlock = getFromCache(prevBlockHash);
+            if (currentBlock == null) {
+                currentBlock = get(prevBlockHash);
+                if (currentBlock == null) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        blockStoreIndex.update(walkedBlocks);
+        blockStoreIndex.recordHeightIndexLookup(false);
+        return Optional.of(currentBlock.getHeader().getHash());
+    }
+
+    private Sha256Hash getBlockHashAtMainChainDepth(StoredBlock chainHead, int depth) {
+        Sha256Hash blockHash = chainHead.getHeader().getHash();
+
+        for (int i = 0; i < depth && blockHash != null; i++) {
+            //If its older than cache go to disk
+            StoredBlock currentBlock = getFromCache(blockHash);
+            if (currentBlock == null) {
+                logger.trace("[getStoredBlockAtMainChainDepth] Block with hash {} not in cache, getting from disk", blockHash);
+                currentBlock = get(blockHash);
+                if (currentBlock == null) {
+                    return null;
+                }
+            }
+            blockHash = currentBlock.getHeader().getPrevBlockHash();
+        }
+
+        return blockHash;
+    }
+
     private byte[] storedBlockToByteArray(StoredBlock block) {
         ByteBuffer byteBuffer = serializeBlock(block);
         byte[] ba = new byte[byteBuffer.position()];
@@ -334,6 +424,14 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
     }
 
     private StoredBlock byteArrayToStoredBlock(byte[] ba) {
+        if (blockStoreIndex != null) {
+            return blockStoreIndex.decode(ba, this::deserializeStoredBlock);
+        }
+
+        return deserializeStoredBlock(ba);
+    }
+
+    private StoredBlock deserializeStoredBlock(byte[] ba) {
         ByteBuffer byteBuffer = ByteBuffer.wrap(ba);
         if (ba.length == StoredBlock.COMPACT_SERIALIZED_SIZE_LEGACY) {
             return deserializeCompactLegacy(btcNetworkParams, byteBuffer);
@@ -359,6 +457,7 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
         private final RskAddress contractAddress;
         private final NetworkParameters btcNetworkParams;
         private final int maxDepthBlockCache;
+        private final BtcBlockStoreIndex blockStoreIndex;
 
         @VisibleForTesting
         public Factory(NetworkParameters btcNetworkParams) {
@@ -371,6 +470,7 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
             this.maxDepthBlockCache = maxDepthBlockCache;
             this.maxSizeBlockCache = maxSizeBlockCache;
             this.cacheBlocks = new MaxSizeHashMap<>(this.maxSizeBlockCache, true);
+            this.blockStoreIndex = new BtcBlockStoreIndex(this.maxSizeBlockCache, this.maxSizeBlockCache);
 
             if (this.maxDepthBlockCache > this.maxSizeBlockCache) {
                 logger.warn("Max depth ({}) is greater than Max Size ({}). This could lead to a misbehaviour.", this.maxDepthBlockCache, this.maxSizeBlockCache);
@@ -396,8 +496,13 @@ public class RepositoryBtcBlockStoreWithCache implements BtcBlockStoreWithCache
                 bridgeConstants,
                 bridgeStorageProvider,
                 activations,
-                this.maxDepthBlockCache
+                this.maxDepthBlockCache,
+                this.blockStoreIndex
             );
         }
+
+        public BtcBlockStoreIndex getBlockStoreIndex() {
+            return blockStoreIndex;
+        }
     }
 }
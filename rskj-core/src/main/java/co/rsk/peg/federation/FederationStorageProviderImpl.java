@@ -5,6 +5,7 @@ import co.rsk.bitcoinj.core.UTXO;
 import co.rsk.bitcoinj.script.Script;
 import co.rsk.peg.BridgeSerializationUtils;
 import co.rsk.peg.federation.constants.FederationConstants;
+import co.rsk.peg.storage.BridgeStateCache;
 import co.rsk.peg.storage.StorageAccessor;
 import co.rsk.peg.vote.ABICallElection;
 import co.rsk.peg.vote.AddressBasedAuthorizer;
@@ -14,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +27,7 @@ import static org.ethereum.config.blockchain.upgrades.ConsensusRule.*;
 public class FederationStorageProviderImpl implements FederationStorageProvider {
     private static final Logger logger = LoggerFactory.getLogger(FederationStorageProviderImpl.class);
     private final StorageAccessor bridgeStorageAccessor;
+    private final BridgeStateCache stateCache;
     private final HashMap<DataWord, Optional<Integer>> storageVersionEntries;
 
     private List<UTXO> newFederationBtcUTXOs;
@@ -47,7 +50,12 @@ public class FederationStorageProviderImpl implements FederationStorageProvider
     private Script lastRetiredFederationP2SHScript;
 
     public FederationStorageProviderImpl(StorageAccessor bridgeStorageAccessor) {
+        this(bridgeStorageAccessor, BridgeStateCache.DISABLED);
+    }
+
+    public FederationStorageProviderImpl(StorageAccessor bridgeStorageAccessor, BridgeStateCache stateCache) {
         this.bridgeStorageAccessor = bridgeStorageAccessor;
+        this.stateCache = stateCache;
         this.storageVersionEntries = new HashMap<>();
     }
 
@@ -58,7 +66,7 @@ public class FederationStorageProviderImpl implements FederationStorageProvider
         }
 
         DataWord key = getStorageKeyForNewFederationBtcUtxos(networkParameters, activations);
-        newFederationBtcUTXOs = bridgeStorageAccessor.getFromRepository(key, BridgeSerializationUtils::deserializeUTXOList);
+        newFederationBtcUTXOs = bridgeStorageAccessor.getFromRepository(key, this::deserializeUTXOList);
         return newFederationBtcUTXOs;
     }
 
@@ -101,10 +109,15 @@ public class FederationStorageProviderImpl implements FederationStorageProvider
             return oldFederationBtcUTXOs;
         }
 
-        oldFederationBtcUTXOs = bridgeStorageAccessor.getFromRepository(OLD_FEDERATION_BTC_UTXOS_KEY.getKey(), BridgeSerializationUtils::deserializeUTXOList);
+        oldFederationBtcUTXOs = bridgeStorageAccessor.getFromRepository(OLD_FEDERATION_BTC_UTXOS_KEY.getKey(), this::deserializeUTXOList);
         return oldFederationBtcUTXOs;
     }
 
+    private List<UTXO> deserializeUTXOList(byte[] data) {
+        // UTXO lists are modified in place by the callers, so each one gets its own copy of the (immutable) UTXOs
+        return stateCache.get("utxos", data, BridgeSerializationUtils::deserializeUTXOList, ArrayList::new);
+    }
+
     @Override
     public Federation getNewFederation(FederationConstants federationConstants, ActivationConfig.ForBlock activations) {
         if (newFederation != null) {
@@ -120,9 +133,9 @@ public class FederationStorageProviderImpl implements FederationStorageProvider
                     return null;
                 }
                 if (!storageVersion.isPresent()) {
-                    return BridgeSerializationUtils.deserializeStandardMultisigFederationOnlyBtcKeys(data, federationConstants.getBtcParams());
+                    return deserializeFederationOnlyBtcKeys(data, federationConstants);
                 }
-                return BridgeSerializationUtils.deserializeFederationAccordingToVersion(data, storageVersion.get(), federationConstants, activations);
+                return deserializeFederation(data, storageVersion.get(), federationConstants, activations);
             }
         );
 
@@ -165,10 +178,10 @@ public class FederationStorageProviderImpl implements FederationStorageProvider
                     return null;
                 }
                 if (storageVersion.isPresent()) {
-                    return BridgeSerializationUtils.deserializeFederationAccordingToVersion(data, storageVersion.get(), federationConstants, activations);
+                    return deserializeFederation(data, storageVersion.get(), federationConstants, activations);
                 }
 
-                return BridgeSerializationUtils.deserializeStandardMultisigFederationOnlyBtcKeys(data, federationConstants.getBtcParams());
+                return deserializeFederationOnlyBtcKeys(data, federationConstants);
             }
         );
 
@@ -246,13 +259,62 @@ public class FederationStorageProviderImpl implements FederationStorageProvider
                     logger.warn("[getProposedFederation] {}", message);
                     throw new IllegalStateException(message);
                 }
-                return BridgeSerializationUtils.deserializeFederationAccordingToVersion(data, storageVersion.get(), federationConstants, activations);
+                return deserializeFederation(data, storageVersion.get(), federationConstants, activations);
             }
         );
 
         return Optional.ofNullable(proposedFederation);
     }
 
+    private Federation deserializeFederation(byte[] data, int version, FederationConstants federationConstants, ActivationConfig.ForBlock activations) {
+        if (version == NON_STANDARD_ERP_FEDERATION.getFormatVersion()) {
+            // The redeem script of these federations depends on the active RSKIPs, so they can't be shared
+            return BridgeSerializationUtils.deserializeFederationAccordingToVersion(data, version, federationConstants, activations);
+        }
+
+        return stateCache.get(
+            "federation-" + version,
+            data,
+            d -> BridgeSerializationUtils.deserializeFederationAccordingToVersion(d, version, federationConstants, activations),
+            FederationStorageProviderImpl::copyFederation
+        );
+    }
+
+    private Federation deserializeFederationOnlyBtcKeys(byte[] data, FederationConstants federationConstants) {
+        return stateCache.get(
+            "federation-btc-keys",
+            data,
+            d -> BridgeSerializationUtils.deserializeStandardMultisigFederationOnlyBtcKeys(d, federationConstants.getBtcParams()),
+            FederationStorageProviderImpl::copyFederation
+        );
+    }
+
+    /**
+     * Federations lazily build and keep their scripts and address, so a cached instance can't be shared
+     * between threads. The copy reuses the already decoded members and only rebuilds those derived values.
+     */
+    private static Federation copyFederation(Federation federation) {
+        FederationArgs federationArgs = federation.getArgs();
+        if (!(federation instanceof ErpFederation)) {
+            return FederationFactory.buildStandardMultiSigFederation(federationArgs);
+        }
+
+        ErpFederation erpFederation = (ErpFederation) federation;
+        if (erpFederation.getFormatVersion() == P2SH_P2WSH_ERP_FEDERATION.getFormatVersion()) {
+            return FederationFactory.buildP2shP2wshErpFederation(
+                federationArgs,
+                erpFederation.getErpPubKeys(),
+                erpFederation.getActivationDelay()
+            );
+        }
+
+        return FederationFactory.buildP2shErpFederation(
+            federationArgs,
+            erpFederation.getErpPubKeys(),
+            erpFederation.getActivationDelay()
+        );
+    }
+
     @Override
     public ABICallElection getFederationElection(AddressBasedAuthorizer authorizer) {
         if (federationElection != null) {
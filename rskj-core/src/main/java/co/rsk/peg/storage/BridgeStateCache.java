@@ -0,0 +1,154 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.peg.storage;
+
+import co.rsk.crypto.Keccak256;
+import co.rsk.metrics.CacheStats;
+import org.ethereum.crypto.HashUtil;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Node-wide cache of decoded Bridge storage values.
+ *
+ * Entries are keyed by the kind of value and the hash of the raw storage bytes, so a value is reused only while
+ * the bytes in storage stay exactly the same and a cached entry can never become stale. Since the decoded
+ * objects are shared between Bridge invocations, callers must either store immutable values or provide a
+ * copier that returns a private copy of them.
+ */
+public class BridgeStateCache implements BridgeStateCacheMBean {
+
+    public static final BridgeStateCache DISABLED = new BridgeStateCache(0);
+
+    private final int maxEntries;
+    private final CacheStats stats = new CacheStats();
+    private final Map<Key, Object> entries;
+
+    public BridgeStateCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+
+        this.maxEntries = maxEntries;
+        this.entries = stats.newLruMap(maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Returns the decoded value for the given raw storage bytes, decoding them only if the same bytes weren't
+     * decoded before. Empty values are never cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, byte[] data, Function<byte[], T> deserializer, UnaryOperator<T> copier) {
+        if (!isEnabled() || data == null || data.length == 0) {
+            return deserializer.apply(data);
+        }
+
+        Key key = new Key(kind, new Keccak256(HashUtil.keccak256(data)));
+
+        T value;
+        synchronized (entries) {
+            value = (T) entries.get(key);
+        }
+
+        if (value != null) {
+            stats.onHit();
+            return copier.apply(value);
+        }
+
+        stats.onMiss();
+        value = deserializer.apply(data);
+        if (value == null) {
+            return null;
+        }
+
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+
+        return copier.apply(value);
+    }
+
+    @Override
+    public int getEntries() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public long getHits() {
+        return stats.getHits();
+    }
+
+    @Override
+    public long getMisses() {
+        return stats.getMisses();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats.getHitRate();
+    }
+
+    @Override
+    public long getEvictions() {
+        return stats.getEvictions();
+    }
+
+    private static final class Key {
+        private final String kind;
+        private final Keccak256 hash;
+
+        private Key(String kind, Keccak256 hash) {
+            this.kind = kind;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) o;
+            return kind.equals(other.kind) && hash.equals(other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, hash);
+        }
+    }
+}
@@ -74,7 +74,7 @@ public class RskTracer implements DebugTracer {
         txInfo.setTransaction(tx);
 
         ProgramTraceProcessor programTraceProcessor = new ProgramTraceProcessor(traceOptions);
-        blockExecutor.traceBlock(programTraceProcessor, 0, block, parent.getHeader(), false, false);
+        blockExecutor.traceTransaction(programTraceProcessor, 0, block, parent.getHeader(), txInfo.getIndex());
 
         return programTraceProcessor.getProgramTraceAsJsonNode(tx.getHash());
     }
@@ -19,6 +19,7 @@ package co.rsk.rpc.modules.eth.subscribe;
 
 import co.rsk.core.bc.BlockFork;
 import co.rsk.core.bc.BlockchainBranchComparator;
+import co.rsk.logfilter.LogIndexStore;
 import co.rsk.rpc.JsonRpcSerializer;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
@@ -34,6 +35,7 @@ import org.ethereum.vm.LogInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +49,8 @@ public class LogsNotificationEmitter {
     private final JsonRpcSerializer jsonRpcSerializer;
     private final ReceiptStore receiptStore;
     private final BlockchainBranchComparator branchComparator;
+    @Nullable
+    private final LogIndexStore logIndexStore;
 
     private final Map<SubscriptionId, Subscription> subscriptions = new ConcurrentHashMap<>();
     private Block lastEmitted;
@@ -56,9 +60,19 @@ public class LogsNotificationEmitter {
             JsonRpcSerializer jsonRpcSerializer,
             ReceiptStore receiptStore,
             BlockchainBranchComparator branchComparator) {
+        this(ethereum, jsonRpcSerializer, receiptStore, branchComparator, null);
+    }
+
+    public LogsNotificationEmitter(
+            Ethereum ethereum,
+            JsonRpcSerializer jsonRpcSerializer,
+            ReceiptStore receiptStore,
+            BlockchainBranchComparator branchComparator,
+            @Nullable LogIndexStore logIndexStore) {
         this.jsonRpcSerializer = jsonRpcSerializer;
         this.receiptStore = receiptStore;
         this.branchComparator = branchComparator;
+        this.logIndexStore = logIndexStore;
         ethereum.addListener(new EthereumListenerAdapter() {
             @Override
             public void onBestBlock(Block block, List<TransactionReceipt> receipts) {
@@ -127,6 +141,10 @@ public class LogsNotificationEmitter {
 
     private List<LogsNotification> getLogsNotifications(Block block, boolean removed) {
         List<LogsNotification> notifications = new ArrayList<>();
+        if (!mayContainSubscribedLogs(block)) {
+            return notifications;
+        }
+
         for (int transactionIndex = 0; transactionIndex < block.getTransactionsList().size(); transactionIndex++) {
             Transaction transaction = block.getTransactionsList().get(transactionIndex);
             Optional<TransactionInfo> transactionInfoOpt = receiptStore.get(transaction.getHash().getBytes(), block.getHash().getBytes());
@@ -149,6 +167,24 @@ public class LogsNotificationEmitter {
         return notifications;
     }
 
+    /**
+     * Uses the log index, when the block is already indexed, to avoid reading the receipts
+     * of blocks that don't have logs for any subscription
+     */
+    private boolean mayContainSubscribedLogs(Block block) {
+        if (logIndexStore == null) {
+            return true;
+        }
+
+        for (Subscription subscription : subscriptions.values()) {
+            if (logIndexStore.mayContainLogs(block, subscription.filter)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private static class Subscription {
         private final Channel channel;
         private final AddressesTopicsFilter filter;
@@ -0,0 +1,96 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.modules.trace;
+
+import co.rsk.config.VmConfig;
+import co.rsk.core.bc.BlockExecutor;
+import org.ethereum.core.Block;
+import org.ethereum.core.Transaction;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.db.BlockStore;
+import org.ethereum.db.ReceiptStore;
+import org.ethereum.db.TransactionInfo;
+import org.ethereum.vm.trace.ProgramTraceProcessor;
+import org.ethereum.vm.trace.SummarizedProgramTrace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Re-executes blocks to build the traces of their transactions, as returned by the trace_* methods
+ */
+public class BlockTracer {
+    private final BlockStore blockStore;
+    private final ReceiptStore receiptStore;
+    private final BlockExecutor blockExecutor;
+
+    public BlockTracer(BlockStore blockStore, ReceiptStore receiptStore, BlockExecutor blockExecutor) {
+        this.blockStore = blockStore;
+        this.receiptStore = receiptStore;
+        this.blockExecutor = blockExecutor;
+    }
+
+    public List<TransactionTrace> traceBlock(Block block) {
+        return traceBlock(block, tx -> true);
+    }
+
+    /**
+     * @param block the block to re-execute
+     * @param txFilter selects the transactions to return the traces of
+     * @return the traces of the selected transactions, in block order, or an empty list if any of them couldn't be traced
+     */
+    public List<TransactionTrace> traceBlock(Block block, Predicate<Transaction> txFilter) {
+        if (block == null || block.getNumber() == 0) {
+            return Collections.emptyList();
+        }
+
+        ProgramTraceProcessor programTraceProcessor = new ProgramTraceProcessor();
+        Block parent = this.blockStore.getBlockByHash(block.getParentHash().getBytes());
+        this.blockExecutor.traceBlock(programTraceProcessor, VmConfig.LIGHT_TRACE, block, parent.getHeader(), false, false);
+
+        List<TransactionTrace> blockTraces = new ArrayList<>();
+        List<Transaction> txList = block.getTransactionsList();
+
+        for (int txIndex = 0; txIndex < txList.size(); txIndex++) {
+            Transaction tx = txList.get(txIndex);
+
+            if (!txFilter.test(tx)) {
+                continue;
+            }
+
+            TransactionInfo txInfo = receiptStore.getInMainChain(tx.getHash().getBytes(), this.blockStore).orElse(null);
+            if (txInfo == null) { // for a pending block we have no receipt, so empty one is being provided
+                txInfo = new TransactionInfo(new TransactionReceipt(), block.getHash().getBytes(), txIndex);
+            }
+            txInfo.setTransaction(tx);
+
+            SummarizedProgramTrace programTrace = (SummarizedProgramTrace) programTraceProcessor.getProgramTrace(tx.getHash());
+
+            if (programTrace == null) {
+                return Collections.emptyList();
+            }
+
+            blockTraces.addAll(TraceTransformer.toTraces(programTrace, txInfo, block.getNumber()));
+        }
+
+        return blockTraces;
+    }
+}
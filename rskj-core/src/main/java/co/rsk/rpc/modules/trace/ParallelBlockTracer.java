@@ -0,0 +1,165 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.modules.trace;
+
+import co.rsk.rpc.netty.ExecTimeoutContext;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+/**
+ * Traces a range of consecutive blocks, re-executing up to a given number of them at the same time on an executor,
+ * and hands over their traces in block order.
+ * <p>
+ * The calling thread traces the next block itself when no worker started it yet, so the iteration always makes
+ * progress, even if the executor doesn't run its tasks. Closing it drops the blocks that weren't started.
+ */
+class ParallelBlockTracer implements AutoCloseable {
+
+    private final LongFunction<List<TransactionTrace>> blockTracer;
+    private final long toNumber;
+    private final int parallelism;
+    @Nullable
+    private final Executor executor;
+    private final Collection<ExecTimeoutContext> timeoutContexts;
+
+    private final Deque<BlockTask> pending = new ArrayDeque<>();
+    private long nextNumber;
+
+    /**
+     * @param blockTracer returns the traces of the block with the given number, or null if there's no such block
+     */
+    ParallelBlockTracer(LongFunction<List<TransactionTrace>> blockTracer, long fromNumber, long toNumber,
+                        int parallelism, @Nullable Executor executor) {
+        this.blockTracer = blockTracer;
+        this.nextNumber = fromNumber;
+        this.toNumber = toNumber;
+        this.parallelism = executor == null ? 1 : Math.max(1, parallelism);
+        this.executor = executor;
+        this.timeoutContexts = ExecTimeoutContext.getActiveContexts();
+    }
+
+    /**
+     * @return the traces of the next block, or null when there are no more blocks
+     */
+    @Nullable
+    List<TransactionTrace> next() {
+        ExecTimeoutContext.checkIfExpired();
+
+        while (pending.size() < parallelism && nextNumber <= toNumber) {
+            BlockTask task = new BlockTask(nextNumber++);
+            pending.add(task);
+            submit(task);
+        }
+
+        BlockTask task = pending.poll();
+        if (task == null) {
+            return null;
+        }
+
+        task.run();
+        List<TransactionTrace> traces = task.await();
+
+        if (traces == null) {
+            // the following blocks aren't in the blockchain either
+            nextNumber = toNumber + 1;
+            close();
+        }
+
+        return traces;
+    }
+
+    @Override
+    public void close() {
+        pending.forEach(BlockTask::cancel);
+        pending.clear();
+    }
+
+    private void submit(BlockTask task) {
+        if (parallelism == 1) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try (ExecTimeoutContext.Attachment ignored = ExecTimeoutContext.attach(timeoutContexts)) {
+                    task.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the block will be traced by the calling thread
+        }
+    }
+
+    private class BlockTask implements Runnable {
+        private final long number;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CompletableFuture<List<TransactionTrace>> result = new CompletableFuture<>();
+
+        BlockTask(long number) {
+            this.number = number;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                result.complete(blockTracer.apply(number));
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                result.cancel(false);
+            }
+        }
+
+        List<TransactionTrace> await() {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Block tracing was interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Block tracing failed", cause);
+            }
+        }
+    }
+}
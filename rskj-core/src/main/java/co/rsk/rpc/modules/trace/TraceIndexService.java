@@ -0,0 +1,158 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.modules.trace;
+
+import co.rsk.config.InternalService;
+import co.rsk.crypto.Keccak256;
+import org.ethereum.core.Block;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.db.BlockStore;
+import org.ethereum.listener.CompositeEthereumListener;
+import org.ethereum.listener.EthereumListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the trace index in sync with the main chain
+ *
+ * Building the traces requires re-executing the blocks, so it's done by a background thread
+ * instead of blocking the import. On each new best block an update is scheduled (at most one
+ * is pending at a time): the indexed blocks that left the main chain are removed, and then the
+ * main chain blocks up to the best one are traced and added, a bounded number of blocks per update
+ *
+ * An empty index starts from the best block. Older blocks can be indexed with the IndexTraces tool
+ */
+public class TraceIndexService implements InternalService {
+    private static final Logger logger = LoggerFactory.getLogger("traceindex");
+
+    private static final int MAX_BLOCKS_PER_UPDATE = 100;
+
+    private final CompositeEthereumListener emitter;
+    private final TraceIndexStore traceIndexStore;
+    private final BlockStore blockStore;
+    private final BlockTracer blockTracer;
+
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private final TraceIndexService.OnBestBlockListener listener = new TraceIndexService.OnBestBlockListener();
+
+    private ExecutorService executor;
+
+    public TraceIndexService(CompositeEthereumListener emitter, TraceIndexStore traceIndexStore, BlockStore blockStore, BlockTracer blockTracer) {
+        this.emitter = emitter;
+        this.traceIndexStore = traceIndexStore;
+        this.blockStore = blockStore;
+        this.blockTracer = blockTracer;
+    }
+
+    @Override
+    public void start() {
+        logger.info("trace index service started");
+
+        executor = Executors.newSingleThreadExecutor(target -> new Thread(target, "traceIndexer"));
+        emitter.addListener(listener);
+        scheduleUpdate();
+    }
+
+    @Override
+    public void stop() {
+        logger.info("trace index service stopped");
+
+        emitter.removeListener(listener);
+        executor.shutdownNow();
+    }
+
+    private void scheduleUpdate() {
+        if (!updateScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        executor.execute(() -> {
+            updateScheduled.set(false);
+
+            try {
+                if (!update()) {
+                    scheduleUpdate();
+                }
+            } catch (RuntimeException e) {
+                logger.error("Couldn't update the trace index, will retry on next block", e);
+            }
+        });
+    }
+
+    /**
+     * @return true if the index caught up with the best block
+     */
+    synchronized boolean update() {
+        Block bestBlock = blockStore.getBestBlock();
+
+        if (bestBlock == null) {
+            return true;
+        }
+
+        while (!traceIndexStore.isEmpty() && !isInMainChain(traceIndexStore.getHeadNumber())) {
+            traceIndexStore.removeHead();
+        }
+
+        long fromNumber = traceIndexStore.isEmpty() ? bestBlock.getNumber() : traceIndexStore.getHeadNumber() + 1;
+        long toNumber = Math.min(bestBlock.getNumber(), fromNumber + MAX_BLOCKS_PER_UPDATE - 1);
+
+        for (long number = fromNumber; number <= toNumber; number++) {
+            Block block = number == bestBlock.getNumber() ? bestBlock : blockStore.getChainBlockByNumber(number);
+
+            if (block == null || !addBlock(block)) {
+                logger.warn("Couldn't index traces of block {}, will retry on next block", number);
+                return true;
+            }
+        }
+
+        return toNumber == bestBlock.getNumber();
+    }
+
+    private boolean addBlock(Block block) {
+        List<TransactionTrace> traces = blockTracer.traceBlock(block);
+
+        // each transaction has at least one trace, no traces means the block couldn't be traced
+        if (traces.isEmpty() && !block.getTransactionsList().isEmpty() && block.getNumber() != 0) {
+            return false;
+        }
+
+        traceIndexStore.addBlock(block, traces);
+
+        return true;
+    }
+
+    private boolean isInMainChain(long number) {
+        Block block = blockStore.getChainBlockByNumber(number);
+        Keccak256 indexedHash = traceIndexStore.getBlockHash(number);
+
+        return block != null && block.getHash().equals(indexedHash);
+    }
+
+    private class OnBestBlockListener extends EthereumListenerAdapter {
+        @Override
+        public void onBestBlock(Block block, List<TransactionReceipt> receipts) {
+            scheduleUpdate();
+        }
+    }
+}
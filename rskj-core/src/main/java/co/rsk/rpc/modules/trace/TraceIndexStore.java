@@ -0,0 +1,455 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.modules.trace;
+
+import co.rsk.core.RskAddress;
+import co.rsk.crypto.Keccak256;
+import co.rsk.db.BlockTermIndex;
+import co.rsk.util.HexUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.ethereum.core.Block;
+import org.ethereum.core.SignatureCache;
+import org.ethereum.core.Transaction;
+import org.ethereum.datasource.KeyValueDataSource;
+import org.ethereum.db.ByteArrayWrapper;
+import org.ethereum.util.ByteUtil;
+import org.ethereum.util.RLP;
+import org.ethereum.util.RLPElement;
+import org.ethereum.util.RLPList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Trace index store
+ *
+ * It saves the traces of the transactions of the main chain blocks, so the trace_* methods
+ * can return them without re-executing the blocks, and a secondary index of the transactions
+ * by sender (from) and receiver (to) address
+ *
+ * Each block record has the block hash, the record format version and the compact RLP encoding
+ * of the block traces. Values that can be rebuilt from the block itself (block hash and number,
+ * transaction hash and position) aren't stored. Records with an unknown version are ignored,
+ * so the traces of those blocks are built by re-executing them
+ *
+ * The positions of the transactions by address are saved as described in {@link BlockTermIndex}
+ *
+ * The indexed blocks are contiguous. They're added at the head, as the chain grows,
+ * or before the first one, when indexing older blocks
+ */
+public class TraceIndexStore {
+    private static final Logger logger = LoggerFactory.getLogger("traceindex");
+
+    static final byte VERSION = 1;
+
+    private static final byte FROM_ADDRESS = 0;
+    private static final byte TO_ADDRESS = 1;
+    private static final int TERM_SIZE = 1 + RskAddress.LENGTH_IN_BYTES;
+    private static final int POSITION_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int HEADER_SIZE = Keccak256.HASH_LEN + 1;
+
+    // nullable string fields of a trace, in encoding order
+    private static final int NO_FIELDS = 16;
+    // flags beyond the string fields
+    private static final int HAS_ACTION = NO_FIELDS;
+    private static final int HAS_RESULT = NO_FIELDS + 1;
+
+    private final BlockTermIndex index;
+    private final SignatureCache signatureCache;
+
+    public TraceIndexStore(int noBlocks, @Nonnull KeyValueDataSource dataSource, @Nonnull SignatureCache signatureCache) {
+        this.index = new BlockTermIndex(noBlocks, dataSource);
+        this.signatureCache = Objects.requireNonNull(signatureCache);
+    }
+
+    public synchronized boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * @return the number of the first indexed block, -1 if the index is empty
+     */
+    public synchronized long getFirstNumber() {
+        return index.getFirstNumber();
+    }
+
+    /**
+     * @return the number of the last indexed block, -1 if the index is empty
+     */
+    public synchronized long getHeadNumber() {
+        return index.getHeadNumber();
+    }
+
+    /**
+     * @param number block number
+     * @return the hash of the block indexed at that height, null if there is none
+     */
+    @Nullable
+    public Keccak256 getBlockHash(long number) {
+        return index.getBlockHash(number);
+    }
+
+    /**
+     * Indexes the traces of a block, that must be the one after the current head
+     * or the one before the first indexed block (or any block, if the index is empty)
+     *
+     * @param block the block to index
+     * @param traces the traces of all the block transactions, in block order
+     */
+    public synchronized void addBlock(Block block, List<TransactionTrace> traces) {
+        long number = block.getNumber();
+        List<Transaction> transactions = block.getTransactionsList();
+        Map<ByteArrayWrapper, List<byte[]>> positionsByTerm = new LinkedHashMap<>();
+
+        for (int txIndex = 0; txIndex < transactions.size(); txIndex++) {
+            Transaction tx = transactions.get(txIndex);
+            byte[] position = ByteBuffer.allocate(POSITION_SIZE).putLong(number).putInt(txIndex).array();
+
+            RskAddress sender = tx.getSender(signatureCache);
+            if (sender.getBytes().length > 0) {
+                addPosition(positionsByTerm, term(FROM_ADDRESS, sender), position);
+            }
+
+            RskAddress receiver = tx.getReceiveAddress();
+            if (receiver.getBytes().length > 0) {
+                addPosition(positionsByTerm, term(TO_ADDRESS, receiver), position);
+            }
+        }
+
+        byte[][] terms = new byte[positionsByTerm.size()][];
+        int k = 0;
+        for (ByteArrayWrapper term : positionsByTerm.keySet()) {
+            terms[k++] = RLP.encodeElement(term.getData());
+        }
+
+        byte[] payload = RLP.encodeList(RLP.encodeList(terms), encodeTraces(traces));
+        byte[] blockRecord = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .put(block.getHash().getBytes())
+                .put(VERSION)
+                .put(payload)
+                .array();
+
+        index.addBlock(number, blockRecord, positionsByTerm);
+
+        logger.trace("indexed traces of block {}: {} traces, {} bytes", number, traces.size(), blockRecord.length);
+    }
+
+    /**
+     * Removes the traces of the head block from the index
+     */
+    public synchronized void removeHead() {
+        if (isEmpty()) {
+            return;
+        }
+
+        long number = index.getHeadNumber();
+
+        index.removeHead(decodeTerms(index.getBlockRecord(number)));
+
+        logger.trace("removed traces of block {}", number);
+    }
+
+    /**
+     * @param block the block to get the traces of
+     * @return the indexed traces of the block transactions, in block order,
+     * or null if the block isn't indexed or its record has an unknown version
+     */
+    @Nullable
+    public List<TransactionTrace> getBlockTraces(Block block) {
+        byte[] blockRecord = index.getBlockRecord(block.getNumber());
+
+        if (blockRecord == null
+                || !block.getHash().equals(new Keccak256(Arrays.copyOf(blockRecord, Keccak256.HASH_LEN)))
+                || blockRecord[Keccak256.HASH_LEN] != VERSION) {
+            return null;
+        }
+
+        RLPList payload = RLP.decodeList(Arrays.copyOfRange(blockRecord, HEADER_SIZE, blockRecord.length));
+
+        return decodeTraces(block, (RLPList) payload.get(1));
+    }
+
+    /**
+     * Finds the numbers of the indexed blocks having transactions sent from any of the from addresses
+     * and to any of the to addresses. An empty list of addresses matches any transaction
+     *
+     * @param fromAddresses transaction senders to look for
+     * @param toAddresses transaction receivers to look for
+     * @param fromNumber first block number of the range
+     * @param toNumber last block number of the range
+     * @return the block numbers, in ascending order
+     */
+    public List<Long> findBlocks(Collection<RskAddress> fromAddresses, Collection<RskAddress> toAddresses, long fromNumber, long toNumber) {
+        Set<ByteArrayWrapper> fromPositions = findPositions(FROM_ADDRESS, fromAddresses, fromNumber, toNumber);
+        Set<ByteArrayWrapper> toPositions = findPositions(TO_ADDRESS, toAddresses, fromNumber, toNumber);
+
+        Set<ByteArrayWrapper> positions;
+        if (fromPositions == null) {
+            positions = toPositions;
+        } else {
+            positions = fromPositions;
+            if (toPositions != null) {
+                positions.retainAll(toPositions);
+            }
+        }
+
+        if (positions == null) {
+            throw new IllegalArgumentException("No address to look for");
+        }
+
+        TreeSet<Long> numbers = new TreeSet<>();
+        for (ByteArrayWrapper position : positions) {
+            numbers.add(ByteBuffer.wrap(position.getData()).getLong());
+        }
+
+        return new ArrayList<>(numbers);
+    }
+
+    public void flush() {
+        this.index.flush();
+    }
+
+    public void close() {
+        this.index.close();
+    }
+
+    /**
+     * @return the positions of the transactions with any of the addresses, or null if there are no addresses to look for
+     */
+    @Nullable
+    private Set<ByteArrayWrapper> findPositions(byte kind, Collection<RskAddress> addresses, long fromNumber, long toNumber) {
+        if (addresses.isEmpty()) {
+            return null;
+        }
+
+        Set<ByteArrayWrapper> positions = new HashSet<>();
+
+        for (RskAddress address : addresses) {
+            for (byte[] data : index.getMatchingPositions(term(kind, address), fromNumber, toNumber)) {
+                for (int offset = 0; offset + POSITION_SIZE <= data.length; offset += POSITION_SIZE) {
+                    positions.add(new ByteArrayWrapper(Arrays.copyOfRange(data, offset, offset + POSITION_SIZE)));
+                }
+            }
+        }
+
+        return positions;
+    }
+
+    private static List<byte[]> decodeTerms(@Nullable byte[] blockRecord) {
+        if (blockRecord == null || blockRecord[Keccak256.HASH_LEN] != VERSION) {
+            return Collections.emptyList();
+        }
+
+        RLPList payload = RLP.decodeList(Arrays.copyOfRange(blockRecord, HEADER_SIZE, blockRecord.length));
+        RLPList encodedTerms = (RLPList) payload.get(0);
+
+        List<byte[]> terms = new ArrayList<>(encodedTerms.size());
+        for (int k = 0; k < encodedTerms.size(); k++) {
+            terms.add(encodedTerms.get(k).getRLPData());
+        }
+
+        return terms;
+    }
+
+    /**
+     * Encodes the traces grouped by transaction, as a list of [transaction position, traces]
+     */
+    private static byte[] encodeTraces(List<TransactionTrace> traces) {
+        List<byte[]> groups = new ArrayList<>();
+        List<byte[]> group = new ArrayList<>();
+        int txIndex = -1;
+
+        for (TransactionTrace trace : traces) {
+            if (trace.getTransactionPosition() != txIndex && !group.isEmpty()) {
+                groups.add(RLP.encodeList(RLP.encodeInt(txIndex), RLP.encodeList(group.toArray(new byte[0][]))));
+                group.clear();
+            }
+
+            txIndex = trace.getTransactionPosition();
+            group.add(encodeTrace(trace));
+        }
+
+        if (!group.isEmpty()) {
+            groups.add(RLP.encodeList(RLP.encodeInt(txIndex), RLP.encodeList(group.toArray(new byte[0][]))));
+        }
+
+        return RLP.encodeList(groups.toArray(new byte[0][]));
+    }
+
+    private static List<TransactionTrace> decodeTraces(Block block, RLPList groups) {
+        List<TransactionTrace> traces = new ArrayList<>();
+        String blockHash = HexUtils.toUnformattedJsonHex(block.getHash().getBytes());
+
+        for (int k = 0; k < groups.size(); k++) {
+            RLPList group = (RLPList) groups.get(k);
+            int txIndex = ByteUtil.byteArrayToInt(group.get(0).getRLPData());
+            String transactionHash = block.getTransactionsList().get(txIndex).getHash().toJsonString();
+            RLPList encodedTraces = (RLPList) group.get(1);
+
+            for (int j = 0; j < encodedTraces.size(); j++) {
+                traces.add(decodeTrace((RLPList) encodedTraces.get(j), blockHash, block.getNumber(), transactionHash, txIndex));
+            }
+        }
+
+        return traces;
+    }
+
+    /**
+     * Encodes a trace as [flags, hex flags, call type, subtraces, trace address, fields...]
+     *
+     * The flags tell which of the nullable fields are present, and the hex flags which of them
+     * are lowercase hex strings, stored as their bytes instead of their text
+     */
+    private static byte[] encodeTrace(TransactionTrace trace) {
+        TraceAction action = trace.getAction();
+        TraceResult result = trace.getResult();
+        String[] fields = {
+                trace.getType(),
+                trace.getError(),
+                action == null ? null : action.getFrom(),
+                action == null ? null : action.getTo(),
+                action == null ? null : action.getGas(),
+                action == null ? null : action.getInput(),
+                action == null ? null : action.getInit(),
+                action == null ? null : action.getCreationMethod(),
+                action == null ? null : action.getValue(),
+                action == null ? null : action.getAddress(),
+                action == null ? null : action.getRefundAddress(),
+                action == null ? null : action.getBalance(),
+                result == null ? null : result.getGasUsed(),
+                result == null ? null : result.getOutput(),
+                result == null ? null : result.getCode(),
+                result == null ? null : result.getAddress()
+        };
+
+        int flags = (action == null ? 0 : 1 << HAS_ACTION) | (result == null ? 0 : 1 << HAS_RESULT);
+        int hexFlags = 0;
+        List<byte[]> encodedFields = new ArrayList<>();
+
+        for (int k = 0; k < NO_FIELDS; k++) {
+            String field = fields[k];
+            if (field == null) {
+                continue;
+            }
+
+            flags |= 1 << k;
+
+            if (isLowerHex(field)) {
+                hexFlags |= 1 << k;
+                encodedFields.add(RLP.encodeElement(Hex.decode(field.substring(2))));
+            } else {
+                encodedFields.add(RLP.encodeElement(field.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        int[] traceAddress = trace.getTraceAddress() == null ? new int[0] : trace.getTraceAddress().toAddress();
+        byte[][] encodedTraceAddress = new byte[traceAddress.length][];
+        for (int k = 0; k < traceAddress.length; k++) {
+            encodedTraceAddress[k] = RLP.encodeInt(traceAddress[k]);
+        }
+
+        List<byte[]> elements = new ArrayList<>();
+        elements.add(RLP.encodeInt(flags));
+        elements.add(RLP.encodeInt(hexFlags));
+        elements.add(RLP.encodeInt(action == null ? 0 : callTypeOf(action).ordinal()));
+        elements.add(RLP.encodeInt(trace.getSubtraces()));
+        elements.add(RLP.encodeList(encodedTraceAddress));
+        elements.addAll(encodedFields);
+
+        return RLP.encodeList(elements.toArray(new byte[0][]));
+    }
+
+    private static TransactionTrace decodeTrace(RLPList encoded, String blockHash, long blockNumber, String transactionHash, int txIndex) {
+        int flags = ByteUtil.byteArrayToInt(encoded.get(0).getRLPData());
+        int hexFlags = ByteUtil.byteArrayToInt(encoded.get(1).getRLPData());
+        CallType callType = CallType.values()[ByteUtil.byteArrayToInt(encoded.get(2).getRLPData())];
+        int subtraces = ByteUtil.byteArrayToInt(encoded.get(3).getRLPData());
+
+        TraceAddress traceAddress = new TraceAddress();
+        RLPList encodedTraceAddress = (RLPList) encoded.get(4);
+        for (int k = 0; k < encodedTraceAddress.size(); k++) {
+            traceAddress = new TraceAddress(traceAddress, ByteUtil.byteArrayToInt(encodedTraceAddress.get(k).getRLPData()));
+        }
+
+        String[] fields = new String[NO_FIELDS];
+        int next = 5;
+        for (int k = 0; k < NO_FIELDS; k++) {
+            if ((flags & (1 << k)) == 0) {
+                continue;
+            }
+
+            byte[] data = encoded.get(next++).getRLPData();
+            if (data == null) {
+                data = ByteUtil.EMPTY_BYTE_ARRAY;
+            }
+
+            fields[k] = (hexFlags & (1 << k)) != 0 ? HexUtils.toUnformattedJsonHex(data) : new String(data, StandardCharsets.UTF_8);
+        }
+
+        TraceAction action = (flags & (1 << HAS_ACTION)) == 0 ? null :
+                new TraceAction(callType, fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], fields[8], fields[9], fields[10], fields[11]);
+        TraceResult result = (flags & (1 << HAS_RESULT)) == 0 ? null :
+                new TraceResult(fields[12], fields[13], fields[14], fields[15]);
+
+        return new TransactionTrace(action, blockHash, blockNumber, transactionHash, txIndex, fields[0], subtraces, traceAddress, result, fields[1]);
+    }
+
+    private static CallType callTypeOf(TraceAction action) {
+        String callType = action.getCallType();
+        return callType == null ? CallType.NONE : CallType.valueOf(callType.toUpperCase());
+    }
+
+    private static boolean isLowerHex(String value) {
+        if (value.length() % 2 != 0 || !value.startsWith("0x")) {
+            return false;
+        }
+
+        for (int k = 2; k < value.length(); k++) {
+            char c = value.charAt(k);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void addPosition(Map<ByteArrayWrapper, List<byte[]>> positionsByTerm, byte[] term, byte[] position) {
+        positionsByTerm.computeIfAbsent(new ByteArrayWrapper(term), k -> new ArrayList<>()).add(position);
+    }
+
+    private static byte[] term(byte kind, RskAddress address) {
+        return ByteBuffer.allocate(TERM_SIZE).put(kind).put(address.getBytes()).array();
+    }
+}
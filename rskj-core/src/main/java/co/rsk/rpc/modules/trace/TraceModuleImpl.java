@@ -22,14 +22,15 @@ import co.rsk.config.VmConfig;
 import co.rsk.core.RskAddress;
 import co.rsk.core.bc.BlockExecutor;
 import co.rsk.rpc.ExecutionBlockRetriever;
+import co.rsk.rpc.netty.ResponseSizeLimitContext;
 import co.rsk.util.HexUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.ethereum.core.Block;
 import org.ethereum.core.Blockchain;
 import org.ethereum.core.SignatureCache;
 import org.ethereum.core.Transaction;
-import org.ethereum.core.TransactionReceipt;
 import org.ethereum.db.BlockStore;
 import org.ethereum.db.ReceiptStore;
 import org.ethereum.db.TransactionInfo;
@@ -40,13 +41,18 @@ import org.ethereum.vm.trace.SummarizedProgramTrace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class TraceModuleImpl implements TraceModule {
 
@@ -66,6 +72,12 @@ public class TraceModuleImpl implements TraceModule {
 
     private final SignatureCache signatureCache;
     private final int maxTracesPerRequest;
+    private final int parallelism;
+    @Nullable
+    private final Executor traceExecutor;
+    @Nullable
+    private final TraceIndexStore traceIndexStore;
+    private final BlockTracer blockTracer;
 
     public TraceModuleImpl(
             Blockchain blockchain,
@@ -75,6 +87,35 @@ public class TraceModuleImpl implements TraceModule {
             ExecutionBlockRetriever executionBlockRetriever,
             SignatureCache signatureCache,
             RskSystemProperties config) {
+        this(blockchain, blockStore, receiptStore, blockExecutor, executionBlockRetriever, signatureCache, config, null);
+    }
+
+    public TraceModuleImpl(
+            Blockchain blockchain,
+            BlockStore blockStore,
+            ReceiptStore receiptStore,
+            BlockExecutor blockExecutor,
+            ExecutionBlockRetriever executionBlockRetriever,
+            SignatureCache signatureCache,
+            RskSystemProperties config,
+            @Nullable Executor traceExecutor) {
+        this(blockchain, blockStore, receiptStore, blockExecutor, executionBlockRetriever, signatureCache, config, traceExecutor, null);
+    }
+
+    /**
+     * @param traceExecutor runs the re-execution of trace_filter blocks in parallel, or null to re-execute them sequentially
+     * @param traceIndexStore the indexed traces to return instead of re-executing the blocks, or null to always re-execute them
+     */
+    public TraceModuleImpl(
+            Blockchain blockchain,
+            BlockStore blockStore,
+            ReceiptStore receiptStore,
+            BlockExecutor blockExecutor,
+            ExecutionBlockRetriever executionBlockRetriever,
+            SignatureCache signatureCache,
+            RskSystemProperties config,
+            @Nullable Executor traceExecutor,
+            @Nullable TraceIndexStore traceIndexStore) {
         this.blockchain = blockchain;
         this.blockStore = blockStore;
         this.receiptStore = receiptStore;
@@ -82,6 +123,10 @@ public class TraceModuleImpl implements TraceModule {
         this.executionBlockRetriever = executionBlockRetriever;
         this.signatureCache = signatureCache;
         this.maxTracesPerRequest = config.rpcTraceMaxTracesPerRequest();
+        this.parallelism = config.rpcTraceParallelism();
+        this.traceExecutor = traceExecutor;
+        this.traceIndexStore = traceIndexStore;
+        this.blockTracer = new BlockTracer(blockStore, receiptStore, blockExecutor);
     }
 
     @Override
@@ -97,12 +142,19 @@ public class TraceModuleImpl implements TraceModule {
         }
 
         Block block = this.blockchain.getBlockByHash(txInfo.getBlockHash());
+        List<TransactionTrace> indexedTraces = getIndexedTraces(block);
+
+        if (indexedTraces != null) {
+            int txIndex = txInfo.getIndex();
+            return OBJECT_MAPPER.valueToTree(indexedTraces.stream().filter(trace -> trace.getTransactionPosition() == txIndex).collect(Collectors.toList()));
+        }
+
         Block parent = this.blockchain.getBlockByHash(block.getParentHash().getBytes());
         Transaction tx = block.getTransactionsList().get(txInfo.getIndex());
         txInfo.setTransaction(tx);
 
         ProgramTraceProcessor programTraceProcessor = new ProgramTraceProcessor();
-        this.blockExecutor.traceBlock(programTraceProcessor, VmConfig.LIGHT_TRACE, block, parent.getHeader(), false, false);
+        this.blockExecutor.traceTransaction(programTraceProcessor, VmConfig.LIGHT_TRACE, block, parent.getHeader(), txInfo.getIndex());
 
         SummarizedProgramTrace programTrace = (SummarizedProgramTrace) programTraceProcessor.getProgramTrace(tx.getHash());
 
@@ -138,7 +190,10 @@ public class TraceModuleImpl implements TraceModule {
         final var count = Optional.ofNullable(traceFilterRequest.getCount()).orElse(maxTracesPerRequest);
         final var after = Optional.ofNullable(traceFilterRequest.getAfter()).orElse(0);
 
-        List<TransactionTrace> allTraces = new ArrayList<>();
+        // traces are converted as their blocks are traced, so that they're never held twice,
+        // and the request fails as soon as they don't fit in a response
+        ArrayNode allTraces = OBJECT_MAPPER.createArrayNode();
+        long allTracesSize = 0;
         Block fromBlock = getBlockByTagOrNumber(traceFilterRequest.getFromBlock(), traceFilterRequest.getFromBlockNumber());
         Block toBlock = getBlockByTagOrNumber(traceFilterRequest.getToBlock(), traceFilterRequest.getToBlockNumber());
 
@@ -148,38 +203,58 @@ public class TraceModuleImpl implements TraceModule {
 
         int processedBlocks = 0;
         int totalNeeded = after + count;
-        Block currentBlock = fromBlock;
         int tracesProcessed = 0;
 
         logger.debug("traceFilter: Starting processing from block {} to block {}, skipCount={}, limitCount={}",
                 fromBlock != null ? fromBlock.getNumber() : -1, toBlock.getNumber(), after, count);
 
-        while (currentBlock != null && currentBlock.getNumber() <= toBlock.getNumber()) {
-            List<TransactionTrace> builtTraces = buildBlockTraces(currentBlock, traceFilterRequest);
+        if (fromBlock == null) {
+            return allTraces;
+        }
+
+        LongPredicate mayHaveTraces = mayHaveTraces(traceFilterRequest, fromBlock.getNumber(), toBlock.getNumber());
 
-            int builtTracesSize = builtTraces.size();
-            if (tracesProcessed + builtTracesSize > after) {
-                int startIndex = Math.max(0, after - tracesProcessed);
-                int endIndex = Math.min(builtTracesSize, after + count - tracesProcessed);
-                allTraces.addAll(builtTraces.subList(startIndex, endIndex));
+        // blocks are re-executed ahead of the merge in parallel, as each one only depends on the stored state of its parent
+        LongFunction<List<TransactionTrace>> blockTraces = number -> {
+            if (!mayHaveTraces.test(number)) {
+                return Collections.emptyList();
             }
 
-            tracesProcessed += builtTracesSize;
-            processedBlocks++;
+            Block block = number == fromBlock.getNumber() ? fromBlock : this.blockchain.getBlockByNumber(number);
+            return block == null ? null : buildBlockTraces(block, traceFilterRequest);
+        };
+
+        try (ParallelBlockTracer blockTracer = new ParallelBlockTracer(
+                blockTraces, fromBlock.getNumber(), toBlock.getNumber(), parallelism, traceExecutor)) {
+            List<TransactionTrace> builtTraces;
+            while ((builtTraces = blockTracer.next()) != null) {
+                int builtTracesSize = builtTraces.size();
+                if (tracesProcessed + builtTracesSize > after) {
+                    int startIndex = Math.max(0, after - tracesProcessed);
+                    int endIndex = Math.min(builtTracesSize, after + count - tracesProcessed);
+                    for (TransactionTrace trace : builtTraces.subList(startIndex, endIndex)) {
+                        JsonNode traceNode = OBJECT_MAPPER.valueToTree(trace);
+                        allTracesSize += ResponseSizeLimitContext.getSize(traceNode) + 1;
+                        ResponseSizeLimitContext.checkPartialResponse(allTracesSize);
+                        allTraces.add(traceNode);
+                    }
+                }
 
-            if (tracesProcessed >= totalNeeded) {
-                logger.debug("traceFilter: Early termination at block {} with {} traces collected",
-                        currentBlock.getNumber(), allTraces.size());
-                break;
-            }
+                tracesProcessed += builtTracesSize;
+                processedBlocks++;
 
-            currentBlock = this.blockchain.getBlockByNumber(currentBlock.getNumber() + 1);
+                if (tracesProcessed >= totalNeeded) {
+                    logger.debug("traceFilter: Early termination at block {} with {} traces collected",
+                            fromBlock.getNumber() + processedBlocks - 1, allTraces.size());
+                    break;
+                }
+            }
         }
 
         logger.debug("traceFilter: Completed processing. Processed {} blocks, collected {} traces, returning {} traces",
                 processedBlocks, allTraces.size(), allTraces.size());
 
-        return OBJECT_MAPPER.valueToTree(allTraces);
+        return allTraces;
     }
 
     @Override
@@ -235,56 +310,74 @@ public class TraceModuleImpl implements TraceModule {
     }
 
     private List<TransactionTrace> buildBlockTraces(Block block) {
-        return buildBlockTraces(block, null);
+        List<TransactionTrace> indexedTraces = getIndexedTraces(block);
+
+        return indexedTraces != null ? indexedTraces : this.blockTracer.traceBlock(block);
     }
 
     private List<TransactionTrace> buildBlockTraces(Block block, TraceFilterRequest traceFilterRequest) {
-        List<TransactionTrace> blockTraces = new ArrayList<>();
+        Predicate<Transaction> txFilter = tx -> true;
 
-        if (block != null && block.getNumber() != 0) {
-            List<Transaction> txList = block.getTransactionsList();
+        if (traceFilterRequest.getFromAddress() != null && !traceFilterRequest.getFromAddress().isEmpty()) {
+            List<RskAddress> addresses = traceFilterRequest.getFromAddressAsRskAddresses();
+            txFilter = txFilter.and(tx -> tx.getSender(signatureCache).getBytes().length > 0 && addresses.contains(tx.getSender(signatureCache)));
+        }
 
-            ProgramTraceProcessor programTraceProcessor = new ProgramTraceProcessor();
-            Block parent = this.blockchain.getBlockByHash(block.getParentHash().getBytes());
-            this.blockExecutor.traceBlock(programTraceProcessor, VmConfig.LIGHT_TRACE, block, parent.getHeader(), false, false);
+        if (traceFilterRequest.getToAddress() != null && !traceFilterRequest.getToAddress().isEmpty()) {
+            List<RskAddress> addresses = traceFilterRequest.getToAddressAsRskAddresses();
+            txFilter = txFilter.and(tx -> tx.getReceiveAddress().getBytes().length > 0 && addresses.contains(tx.getReceiveAddress()));
+        }
 
-            if (traceFilterRequest != null) {
-                Stream<Transaction> txStream = block.getTransactionsList().stream();
+        List<TransactionTrace> indexedTraces = getIndexedTraces(block);
 
-                if (traceFilterRequest.getFromAddress() != null && !traceFilterRequest.getFromAddress().isEmpty()) {
-                    List<RskAddress> addresses = traceFilterRequest.getFromAddressAsRskAddresses();
-                    txStream = txStream.filter(tx -> tx.getSender(signatureCache).getBytes().length > 0 && addresses.contains(tx.getSender(signatureCache)));
-                }
+        if (indexedTraces == null) {
+            return this.blockTracer.traceBlock(block, txFilter);
+        }
 
-                if (traceFilterRequest.getToAddress() != null && !traceFilterRequest.getToAddress().isEmpty()) {
-                    List<RskAddress> addresses = traceFilterRequest.getToAddressAsRskAddresses();
-                    txStream = txStream.filter(tx -> tx.getReceiveAddress().getBytes().length > 0 && addresses.contains(tx.getReceiveAddress()));
-                }
+        List<Transaction> txList = block.getTransactionsList();
+        Predicate<Transaction> selected = txFilter;
 
-                txList = txStream.collect(Collectors.toList());
-            }
+        return indexedTraces.stream()
+                .filter(trace -> selected.test(txList.get(trace.getTransactionPosition())))
+                .collect(Collectors.toList());
+    }
 
-            for (Transaction tx : txList) {
-                TransactionInfo txInfo = receiptStore.getInMainChain(tx.getHash().getBytes(), this.blockStore).orElse(null);
-                if (txInfo == null) { // for a pending block we have no receipt, so empty one is being provided
-                    txInfo = new TransactionInfo(new TransactionReceipt(), block.getHash().getBytes(), block.getTransactionsList().indexOf(tx));
-                }
-                txInfo.setTransaction(tx);
+    /**
+     * @return the traces of the block from the trace index, or null if it isn't indexed
+     */
+    @Nullable
+    private List<TransactionTrace> getIndexedTraces(Block block) {
+        if (this.traceIndexStore == null || block == null) {
+            return null;
+        }
 
-                SummarizedProgramTrace programTrace = (SummarizedProgramTrace) programTraceProcessor.getProgramTrace(tx.getHash());
+        return this.traceIndexStore.getBlockTraces(block);
+    }
 
-                if (programTrace == null) {
-                    blockTraces.clear();
-                    return Collections.emptyList();
-                }
+    /**
+     * Uses the address index of the trace index, when the filter has addresses, to tell
+     * the indexed blocks without matching transactions, so they aren't traced at all
+     */
+    private LongPredicate mayHaveTraces(TraceFilterRequest traceFilterRequest, long fromNumber, long toNumber) {
+        List<RskAddress> fromAddresses = traceFilterRequest.getFromAddressAsRskAddresses();
+        List<RskAddress> toAddresses = traceFilterRequest.getToAddressAsRskAddresses();
 
-                List<co.rsk.rpc.modules.trace.TransactionTrace> traces = TraceTransformer.toTraces(programTrace, txInfo, block.getNumber());
+        if (this.traceIndexStore == null || (fromAddresses.isEmpty() && toAddresses.isEmpty())) {
+            return number -> true;
+        }
 
-                blockTraces.addAll(traces);
-            }
+        long indexedFrom = Math.max(fromNumber, this.traceIndexStore.getFirstNumber());
+        long indexedTo = Math.min(toNumber, this.traceIndexStore.getHeadNumber());
+
+        // the indexed blocks are contiguous, so they're all in the main chain if the last one is
+        Block indexedToBlock = indexedTo < 0 ? null : this.blockchain.getBlockByNumber(indexedTo);
+        if (indexedFrom > indexedTo || indexedToBlock == null || !indexedToBlock.getHash().equals(this.traceIndexStore.getBlockHash(indexedTo))) {
+            return number -> true;
         }
 
-        return blockTraces;
+        Set<Long> matchingBlocks = new HashSet<>(this.traceIndexStore.findBlocks(fromAddresses, toAddresses, indexedFrom, indexedTo));
+
+        return number -> number < indexedFrom || number > indexedTo || matchingBlocks.contains(number);
     }
 
     private Block getBlockByTagOrNumber(String strBlock, BigInteger biBlock) {
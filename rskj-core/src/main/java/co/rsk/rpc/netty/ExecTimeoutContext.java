@@ -21,6 +21,8 @@ package co.rsk.rpc.netty;
 import co.rsk.rpc.exception.JsonRpcTimeoutError;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -72,6 +74,62 @@ public class ExecTimeoutContext implements AutoCloseable {
         ctxs.forEach(ExecTimeoutContext::checkIfExpired);
     }
 
+    /**
+     * Returns the contexts active in the current thread, so that work done on its behalf
+     * by other threads can be bound to the same deadlines through {@link #attach(Collection)}.
+     */
+    public static Collection<ExecTimeoutContext> getActiveContexts() {
+        Set<ExecTimeoutContext> ctxs = sExecTimeoutContext.get();
+
+        if (ctxs == null) {
+            return Collections.emptySet();
+        }
+
+        return new HashSet<>(ctxs);
+    }
+
+    /**
+     * Makes the given contexts active in the current thread until the returned handle is closed.
+     * <p>
+     * <pre>
+     *         Collection&lt;ExecTimeoutContext&gt; ctxs = ExecTimeoutContext.getActiveContexts();
+     *         executor.execute(() -&gt; {
+     *             try (ExecTimeoutContext.Attachment ignored = ExecTimeoutContext.attach(ctxs)) {
+     *                 ExecTimeoutContext.checkIfExpired();
+     *             }
+     *         });
+     * </pre>
+     */
+    public static Attachment attach(Collection<ExecTimeoutContext> ctxs) {
+        Set<ExecTimeoutContext> attached = new HashSet<>(ctxs);
+        attached.removeAll(getActiveContexts());
+        get().addAll(attached);
+
+        return new Attachment(attached);
+    }
+
+    /**
+     * @return the milliseconds left before the first of the contexts active in the current thread expires,
+     * or {@link Long#MAX_VALUE} when none of them has a timeout.
+     */
+    public static long getRemainingTime() {
+        Set<ExecTimeoutContext> ctxs = sExecTimeoutContext.get();
+
+        if (ctxs == null) {
+            return Long.MAX_VALUE;
+        }
+
+        long currentTimeInMillis = System.currentTimeMillis();
+        long remainingTime = Long.MAX_VALUE;
+        for (ExecTimeoutContext ctx : ctxs) {
+            if (ctx.expirationTimeInMillis != Long.MAX_VALUE) {
+                remainingTime = Math.min(remainingTime, Math.max(0, ctx.expirationTimeInMillis - currentTimeInMillis));
+            }
+        }
+
+        return remainingTime;
+    }
+
     private static void checkIfExpired(@Nonnull ExecTimeoutContext execTimeoutContext) {
         long currentTimeInMillis = System.currentTimeMillis();
 
@@ -105,4 +163,18 @@ public class ExecTimeoutContext implements AutoCloseable {
             sExecTimeoutContext.remove();
         }
     }
+
+    public static class Attachment implements AutoCloseable {
+
+        private final Collection<ExecTimeoutContext> attached;
+
+        private Attachment(Collection<ExecTimeoutContext> attached) {
+            this.attached = attached;
+        }
+
+        @Override
+        public void close() {
+            attached.forEach(ExecTimeoutContext::close);
+        }
+    }
 }
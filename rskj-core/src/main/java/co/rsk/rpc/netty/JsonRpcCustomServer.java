@@ -20,34 +20,71 @@ package co.rsk.rpc.netty;
 
 import co.rsk.rpc.ModuleDescription;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.googlecode.jsonrpc4j.ErrorResolver;
 import com.googlecode.jsonrpc4j.JsonResponse;
 import com.googlecode.jsonrpc4j.JsonRpcBasicServer;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static co.rsk.jsonrpc.JsonRpcError.METHOD_NOT_FOUND;
+import static co.rsk.jsonrpc.JsonRpcError.RPC_LIMIT_ERROR;
 
 public class JsonRpcCustomServer extends JsonRpcBasicServer {
     public static final String METHOD_NOT_FOUND_MSG = "method not found";
+    public static final String RPC_LIMIT_MSG = "Too many concurrent requests, try again later";
     private final List<ModuleDescription> modules;
     private final Set<String> methodNames;
     private final ObjectMapper objectMapper;
+    @Nullable
+    private final JsonRpcRequestExecutor batchExecutor;
+    @Nullable
+    private final JsonRpcResponseCache responseCache;
 
     public JsonRpcCustomServer(final Object handler, final Class<?> remoteInterface, List<ModuleDescription> modules, ObjectMapper objetMapper) {
+        this(handler, remoteInterface, modules, objetMapper, null);
+    }
+
+    /**
+     * @param batchExecutor runs the entries of a batch request concurrently. When null, they're run one after the other.
+     */
+    public JsonRpcCustomServer(final Object handler, final Class<?> remoteInterface, List<ModuleDescription> modules, ObjectMapper objetMapper, @Nullable JsonRpcRequestExecutor batchExecutor) {
+        this(handler, remoteInterface, modules, objetMapper, batchExecutor, null);
+    }
+
+    /**
+     * @param responseCache keeps the results that can't change anymore, to answer the same requests without running them.
+     *                      When null, every request is run.
+     */
+    public JsonRpcCustomServer(final Object handler, final Class<?> remoteInterface, List<ModuleDescription> modules, ObjectMapper objetMapper,
+                               @Nullable JsonRpcRequestExecutor batchExecutor, @Nullable JsonRpcResponseCache responseCache) {
         super(objetMapper, handler, remoteInterface);
         this.modules = new ArrayList<>(modules);
         this.methodNames = extractMethodNames(remoteInterface);
         this.objectMapper = objetMapper;
+        this.batchExecutor = batchExecutor;
+        this.responseCache = responseCache;
     }
 
     @Override
     protected JsonResponse handleJsonNodeRequest(final JsonNode node) throws JsonParseException, JsonMappingException {
+        if (node.isArray() && node.size() > 1 && batchExecutor != null) {
+            return handleBatchRequest((ArrayNode) node);
+        }
+
         if (!node.isObject()) {
             return super.handleJsonNodeRequest(node);
         }
@@ -59,6 +96,15 @@ public class JsonRpcCustomServer extends JsonRpcBasicServer {
             return buildError(requestId, METHOD_NOT_FOUND, METHOD_NOT_FOUND_MSG);
         }
 
+        JsonNode requestId = node.get(ID);
+        String cacheKey = responseCache == null || requestId == null || requestId.isNull() ? null : responseCache.getKey(method, node.get(PARAMS));
+        if (cacheKey != null) {
+            JsonRpcResponseCache.Entry cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                return buildCachedResponse(requestId, cached);
+            }
+        }
+
         String[] methodParts = method.split("_");
         JsonResponse response;
         if (methodParts.length >= 2) {
@@ -82,9 +128,122 @@ public class JsonRpcCustomServer extends JsonRpcBasicServer {
         }
 
         ResponseSizeLimitContext.addResponse(response.getResponse());
+
+        if (cacheKey != null && response.getCode() == ErrorResolver.JsonError.OK.code
+                && response.getResponse() != null && !response.getResponse().has(ERROR)) {
+            responseCache.put(cacheKey, method, node.get(PARAMS), response.getResponse().get(RESULT));
+        }
+
         return response;
     }
 
+    private JsonResponse buildCachedResponse(JsonNode requestId, JsonRpcResponseCache.Entry cached) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put(JSONRPC, VERSION);
+        response.set(ID, requestId);
+
+        ResponseSizeLimitContext.addResponse(response);
+        ResponseSizeLimitContext.addResponseSize(cached.getResultSize());
+
+        // the result is written as it was serialized when it was cached
+        response.set(RESULT, objectMapper.getNodeFactory().pojoNode(new RawValue(cached.getRawResult())));
+
+        return new JsonResponse(response, ErrorResolver.JsonError.OK.code);
+    }
+
+    /**
+     * Runs the entries of a batch on the executor, and puts their responses together in the order they were requested.
+     * <p>
+     * Entries are bound to the deadlines and response size budget of the whole batch: when one of them fails
+     * because of those limits, the entries that didn't start yet are skipped and the batch fails as it would have
+     * done running sequentially. This thread runs any entry the executor didn't pick up yet, so a batch never waits
+     * for a request that isn't running. Entries of methods that are over their limits are answered with an error.
+     */
+    private JsonResponse handleBatchRequest(ArrayNode batch) throws JsonParseException, JsonMappingException {
+        Collection<ExecTimeoutContext> timeoutContexts = ExecTimeoutContext.getActiveContexts();
+        ResponseSizeLimitContext responseSizeLimitContext = ResponseSizeLimitContext.getCurrentContext();
+        BatchState state = new BatchState();
+
+        List<BatchEntry> entries = new ArrayList<>(batch.size());
+        for (JsonNode request : batch) {
+            BatchEntry entry = new BatchEntry(request);
+            entries.add(entry);
+            String method = request.isObject() ? Optional.ofNullable(request.get(METHOD)).map(JsonNode::asText).orElse(null) : null;
+            boolean accepted;
+            try {
+                accepted = batchExecutor.execute(method, () -> {
+                    try (ExecTimeoutContext.Attachment ignored = ExecTimeoutContext.attach(timeoutContexts);
+                         ResponseSizeLimitContext ignored2 = ResponseSizeLimitContext.attach(responseSizeLimitContext)) {
+                        runBatchEntry(entry, state);
+                    } catch (Exception e) {
+                        state.fail(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the entry will be run by this thread
+                accepted = true;
+            }
+
+            if (!accepted) {
+                // the method is over its limits, so the entry is answered as a single request would be
+                rejectBatchEntry(entry);
+            }
+        }
+
+        for (BatchEntry entry : entries) {
+            runBatchEntry(entry, state);
+        }
+
+        for (BatchEntry entry : entries) {
+            entry.await();
+        }
+
+        state.rethrowFailure();
+
+        int code = ErrorResolver.JsonError.OK.code;
+        ArrayNode responses = objectMapper.createArrayNode();
+        for (BatchEntry entry : entries) {
+            JsonResponse response = entry.response;
+            if (response == null) {
+                throw new IllegalStateException("Batch request was not completed");
+            }
+            if (response.getResponse() != null) {
+                responses.add(response.getResponse());
+            }
+            if (response.getCode() != ErrorResolver.JsonError.OK.code) {
+                code = ErrorResolver.JsonError.BULK_ERROR.code;
+            }
+        }
+
+        return new JsonResponse(responses, code);
+    }
+
+    private void runBatchEntry(BatchEntry entry, BatchState state) {
+        if (!entry.claimed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (!state.isFailed()) {
+                entry.response = handleJsonNodeRequest(entry.request);
+            }
+        } catch (RuntimeException | JsonProcessingException | StackOverflowError e) {
+            state.fail(e);
+        } finally {
+            entry.done.countDown();
+        }
+    }
+
+    private void rejectBatchEntry(BatchEntry entry) {
+        if (!entry.claimed.compareAndSet(false, true)) {
+            return;
+        }
+
+        Object requestId = entry.request.isObject() ? entry.request.get(ID) : null;
+        entry.response = buildError(requestId, RPC_LIMIT_ERROR, RPC_LIMIT_MSG);
+        entry.done.countDown();
+    }
+
     private long getTimeout(String moduleName, String methodName) {
         ModuleDescription moduleDescription = modules.stream()
                 .filter(m -> m.getName().equals(moduleName))
@@ -120,4 +279,57 @@ public class JsonRpcCustomServer extends JsonRpcBasicServer {
         return new JsonResponse(response, errorCode);
     }
 
+    private static class BatchEntry {
+        private final JsonNode request;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile JsonResponse response;
+
+        private BatchEntry(JsonNode request) {
+            this.request = request;
+        }
+
+        private void await() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a batch request", e);
+            }
+        }
+    }
+
+    private static class BatchState {
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private void fail(Throwable cause) {
+            failure.compareAndSet(null, cause);
+        }
+
+        private boolean isFailed() {
+            return failure.get() != null;
+        }
+
+        private void rethrowFailure() throws JsonParseException, JsonMappingException {
+            Throwable cause = failure.get();
+            if (cause == null) {
+                return;
+            }
+
+            if (cause instanceof JsonParseException) {
+                throw (JsonParseException) cause;
+            }
+            if (cause instanceof JsonMappingException) {
+                throw (JsonMappingException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
 }
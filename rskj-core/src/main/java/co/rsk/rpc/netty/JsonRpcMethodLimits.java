@@ -0,0 +1,53 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+/**
+ * Admission limits of a JSON-RPC method: at most {@code maxConcurrency} requests run at the same time,
+ * and at most {@code maxQueued} more wait for a free slot. Requests beyond that are rejected.
+ * A {@code maxConcurrency} of zero disables the limit.
+ */
+public class JsonRpcMethodLimits {
+
+    public static final JsonRpcMethodLimits UNLIMITED = new JsonRpcMethodLimits(0, 0);
+
+    private final int maxConcurrency;
+    private final int maxQueued;
+
+    public JsonRpcMethodLimits(int maxConcurrency, int maxQueued) {
+        if (maxConcurrency < 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("JSON-RPC method limits can't be negative");
+        }
+
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueued = maxQueued;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public boolean isUnlimited() {
+        return maxConcurrency == 0;
+    }
+}
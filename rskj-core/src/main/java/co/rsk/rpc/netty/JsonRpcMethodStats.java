@@ -0,0 +1,104 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import co.rsk.metrics.DurationStats;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Statistics of a JSON-RPC method: how long its requests waited for an execution slot, and how long they ran.
+ */
+public class JsonRpcMethodStats implements JsonRpcMethodStatsMBean {
+
+    private final IntSupplier activeRequests;
+    private final IntSupplier queuedRequests;
+
+    private final LongAdder requestsRejected = new LongAdder();
+    private final DurationStats queueWaitTime = new DurationStats();
+    private final DurationStats executionTime = new DurationStats();
+
+    JsonRpcMethodStats(IntSupplier activeRequests, IntSupplier queuedRequests) {
+        this.activeRequests = activeRequests;
+        this.queuedRequests = queuedRequests;
+    }
+
+    void onRejected() {
+        requestsRejected.increment();
+    }
+
+    void onStarted(long queueWaitNanos) {
+        queueWaitTime.add(queueWaitNanos);
+    }
+
+    void onExecuted(long executionNanos) {
+        executionTime.add(executionNanos);
+    }
+
+    @Override
+    public int getActiveRequests() {
+        return activeRequests.getAsInt();
+    }
+
+    @Override
+    public int getQueuedRequests() {
+        return queuedRequests.getAsInt();
+    }
+
+    @Override
+    public long getRequestsExecuted() {
+        return executionTime.getCount();
+    }
+
+    @Override
+    public long getRequestsRejected() {
+        return requestsRejected.sum();
+    }
+
+    @Override
+    public long getTotalQueueWaitTimeNanos() {
+        return queueWaitTime.getTotalNanos();
+    }
+
+    @Override
+    public long getMaxQueueWaitTimeNanos() {
+        return queueWaitTime.getMaxNanos();
+    }
+
+    @Override
+    public double getAverageQueueWaitTimeMillis() {
+        return queueWaitTime.getAverageMillis();
+    }
+
+    @Override
+    public long getTotalExecutionTimeNanos() {
+        return executionTime.getTotalNanos();
+    }
+
+    @Override
+    public long getMaxExecutionTimeNanos() {
+        return executionTime.getMaxNanos();
+    }
+
+    @Override
+    public double getAverageExecutionTimeMillis() {
+        return executionTime.getAverageMillis();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import co.rsk.config.InternalService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs JSON-RPC requests out of the network threads.
+ * <p>
+ * Every method has its own admission queue: a method runs at most a configured number of requests at the same
+ * time and keeps a bounded number waiting, so a burst of expensive calls (traces, logs queries) can't take every
+ * thread away from cheap ones. Methods that weren't known at construction time share a single queue, so that
+ * arbitrary method names sent by clients can't grow the number of queues.
+ */
+public class JsonRpcRequestExecutor implements InternalService {
+
+    public static final String BATCH_METHOD = "batch";
+    public static final String OTHER_METHOD = "other";
+
+    private static final Logger logger = LoggerFactory.getLogger("jsonrpc");
+
+    private final Executor executor;
+    private final Map<String, MethodQueue> methodQueues;
+
+    public JsonRpcRequestExecutor(
+            Executor executor,
+            Collection<String> methodNames,
+            JsonRpcMethodLimits defaultLimits,
+            Map<String, JsonRpcMethodLimits> methodLimits) {
+        this.executor = executor;
+
+        Map<String, MethodQueue> queues = new HashMap<>();
+        queues.put(BATCH_METHOD, new MethodQueue(methodLimits.getOrDefault(BATCH_METHOD, defaultLimits)));
+        queues.put(OTHER_METHOD, new MethodQueue(methodLimits.getOrDefault(OTHER_METHOD, defaultLimits)));
+        for (String methodName : methodNames) {
+            queues.computeIfAbsent(methodName, name -> new MethodQueue(methodLimits.getOrDefault(name, defaultLimits)));
+        }
+        for (Map.Entry<String, JsonRpcMethodLimits> entry : methodLimits.entrySet()) {
+            queues.computeIfAbsent(entry.getKey(), name -> new MethodQueue(entry.getValue()));
+        }
+        this.methodQueues = Collections.unmodifiableMap(queues);
+    }
+
+    /**
+     * Schedules a request of the given method.
+     *
+     * @return false if the method already has as many requests running and waiting as it is allowed to,
+     * in which case the task is not run.
+     * @throws RejectedExecutionException if the executor was stopped.
+     */
+    public boolean execute(String methodName, Runnable task) {
+        return getMethodQueue(methodName).offer(task);
+    }
+
+    public Map<String, JsonRpcMethodStats> getMethodStats() {
+        return methodQueues.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().stats));
+    }
+
+    @Override
+    public void start() {
+        // the executor is ready to run requests as soon as it is created
+    }
+
+    @Override
+    public void stop() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private MethodQueue getMethodQueue(String methodName) {
+        MethodQueue methodQueue = methodName == null ? null : methodQueues.get(methodName);
+        return methodQueue != null ? methodQueue : methodQueues.get(OTHER_METHOD);
+    }
+
+    /**
+     * Creates a thread per task executor backed by virtual threads when the JVM supports them,
+     * falling back to a fixed pool of platform threads.
+     */
+    public static ExecutorService createExecutorService(boolean useVirtualThreads, int threads) {
+        if (useVirtualThreads) {
+            try {
+                // looked up reflectively since the node is still built for JVMs without virtual threads
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.info("Virtual threads are not available, running JSON-RPC requests on {} threads", threads);
+            }
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "jsonrpc executor #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final class MethodQueue {
+        private final JsonRpcMethodLimits limits;
+        private final JsonRpcMethodStats stats;
+        private final Queue<QueuedTask> waiting = new ArrayDeque<>();
+        private int running; // guarded by this
+
+        private MethodQueue(JsonRpcMethodLimits limits) {
+            this.limits = limits;
+            this.stats = new JsonRpcMethodStats(this::getRunning, this::getWaiting);
+        }
+
+        private boolean offer(Runnable task) {
+            QueuedTask queuedTask = new QueuedTask(task, System.nanoTime());
+            synchronized (this) {
+                if (!limits.isUnlimited() && running >= limits.getMaxConcurrency()) {
+                    if (waiting.size() >= limits.getMaxQueued()) {
+                        stats.onRejected();
+                        return false;
+                    }
+
+                    waiting.add(queuedTask);
+                    return true;
+                }
+
+                running++;
+            }
+
+            dispatch(queuedTask);
+            return true;
+        }
+
+        private void dispatch(QueuedTask queuedTask) {
+            try {
+                executor.execute(() -> run(queuedTask));
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    running--;
+                }
+                throw e;
+            }
+        }
+
+        private void run(QueuedTask queuedTask) {
+            long start = System.nanoTime();
+            stats.onStarted(start - queuedTask.enqueuedNanos);
+            try {
+                queuedTask.task.run();
+            } finally {
+                stats.onExecuted(System.nanoTime() - start);
+                runNext();
+            }
+        }
+
+        private void runNext() {
+            QueuedTask next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+
+            try {
+                // the slot released by the finished request is handed over to the next one
+                executor.execute(() -> run(next));
+            } catch (RejectedExecutionException e) {
+                logger.debug("JSON-RPC executor stopped, dropping queued request");
+                synchronized (this) {
+                    running--;
+                }
+            }
+        }
+
+        private synchronized int getRunning() {
+            return running;
+        }
+
+        private synchronized int getWaiting() {
+            return waiting.size();
+        }
+    }
+
+    private static final class QueuedTask {
+        private final Runnable task;
+        private final long enqueuedNanos;
+
+        private QueuedTask(Runnable task, long enqueuedNanos) {
+            this.task = task;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import co.rsk.config.InternalService;
+import co.rsk.crypto.Keccak256;
+import co.rsk.metrics.CacheStats;
+import co.rsk.rpc.json.JsonResponseSizeLimiter;
+import co.rsk.util.HexUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.ethereum.core.Block;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.db.BlockStore;
+import org.ethereum.listener.CompositeEthereumListener;
+import org.ethereum.listener.EthereumListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the serialized results of JSON-RPC requests that can't change anymore, so that repeating them
+ * doesn't look up, decode and serialize the same data again.
+ * <p>
+ * Only results anchored to a block of the main chain with at least the configured number of confirmations
+ * are kept: blocks by hash, transactions and receipts by hash, and calls at a block given by its hash. Requests
+ * are told apart by method and params, compared ignoring the case of strings and the order of object fields.
+ * <p>
+ * The entries anchored to blocks that leave the main chain are removed when a reorganization is notified.
+ * The cache is bounded by the approximate size of the keys and results, and evicts in least recently used order.
+ */
+public class JsonRpcResponseCache implements InternalService, JsonRpcResponseCacheMBean {
+    private static final Logger logger = LoggerFactory.getLogger("jsonrpc");
+
+    private static final String ETH_CALL = "eth_call";
+    private static final String ETH_GET_BLOCK_BY_HASH = "eth_getBlockByHash";
+    private static final String ETH_GET_TRANSACTION_BY_HASH = "eth_getTransactionByHash";
+    private static final String ETH_GET_TRANSACTION_RECEIPT = "eth_getTransactionReceipt";
+    private static final Set<String> CACHEABLE_METHODS = Set.of(
+            ETH_CALL, ETH_GET_BLOCK_BY_HASH, ETH_GET_TRANSACTION_BY_HASH, ETH_GET_TRANSACTION_RECEIPT);
+
+    private static final String BLOCK_HASH = "blockHash";
+    private static final String BLOCK_NUMBER = "blockNumber";
+    // name, quotes, colon and comma of the result field, see JsonResponseSizeLimiter
+    private static final int RESULT_FIELD_SIZE = "result".length() + 4;
+    // rough fixed cost of an entry, besides its key and result
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final CompositeEthereumListener emitter;
+    private final BlockStore blockStore;
+    private final int confirmations;
+    private final long maxSizeInBytes;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    private volatile long bestNumber = -1;
+    @Nullable
+    private Keccak256 bestHash;
+
+    private final CacheStats stats = new CacheStats();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private final JsonRpcResponseCache.OnBestBlockListener listener = new JsonRpcResponseCache.OnBestBlockListener();
+
+    public JsonRpcResponseCache(CompositeEthereumListener emitter, BlockStore blockStore, int confirmations, long maxSizeInBytes) {
+        if (confirmations < 0 || maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("Response cache confirmations can't be negative and its size must be positive");
+        }
+
+        this.emitter = emitter;
+        this.blockStore = blockStore;
+        this.confirmations = confirmations;
+        this.maxSizeInBytes = maxSizeInBytes;
+
+        Block bestBlock = blockStore.getBestBlock();
+        if (bestBlock != null) {
+            this.bestNumber = bestBlock.getNumber();
+            this.bestHash = bestBlock.getHash();
+        }
+    }
+
+    @Override
+    public void start() {
+        emitter.addListener(listener);
+    }
+
+    @Override
+    public void stop() {
+        emitter.removeListener(listener);
+    }
+
+    /**
+     * @param method the requested method
+     * @param params the request params
+     * @return the key of the request in the cache, or null if its result can never be cached
+     */
+    @Nullable
+    public String getKey(String method, @Nullable JsonNode params) {
+        if (!CACHEABLE_METHODS.contains(method) || params == null || !params.isArray()) {
+            return null;
+        }
+
+        // only calls at a block given by its hash, without state overrides, always have the same result
+        if (ETH_CALL.equals(method) && (params.size() != 2 || !params.get(1).isObject()
+                || !params.get(1).has(BLOCK_HASH) || params.get(1).has(BLOCK_NUMBER))) {
+            return null;
+        }
+
+        try {
+            return method + mapper.writeValueAsString(canonicalize(params));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            stats.onMiss();
+        } else {
+            stats.onHit();
+        }
+
+        return entry;
+    }
+
+    /**
+     * Keeps the result of a request, if it's anchored to a block deep enough in the main chain
+     *
+     * @param key the key of the request, see {@link #getKey(String, JsonNode)}
+     * @param method the requested method
+     * @param params the request params
+     * @param result the result of the request
+     */
+    public void put(String key, String method, JsonNode params, @Nullable JsonNode result) {
+        if (result == null || result.isNull()) {
+            return;
+        }
+
+        Anchor anchor = getAnchor(method, params, result);
+        if (anchor == null || anchor.number > bestNumber - confirmations) {
+            return;
+        }
+
+        String rawResult;
+        try {
+            rawResult = mapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            logger.debug("Couldn't serialize {} result to cache it", method, e);
+            return;
+        }
+
+        int resultSize = JsonResponseSizeLimiter.getSizeInBytesWithLimit(result, Integer.MAX_VALUE) + RESULT_FIELD_SIZE;
+        Entry entry = new Entry(rawResult, resultSize, anchor.number, anchor.hash, key.length() + rawResult.length() + ENTRY_OVERHEAD);
+
+        synchronized (this) {
+            // checked while holding the lock, so a reorganization notified meanwhile waits and then removes the entry
+            if (!isInMainChain(anchor.number, anchor.hash)) {
+                return;
+            }
+
+            Entry previous = entries.put(key, entry);
+            sizeInBytes += entry.weight - (previous == null ? 0 : previous.weight);
+            puts.increment();
+
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+                sizeInBytes -= iterator.next().weight;
+                iterator.remove();
+                stats.onEviction();
+            }
+        }
+    }
+
+    void onBestBlock(Block block) {
+        boolean reorganized;
+
+        synchronized (this) {
+            reorganized = bestHash != null && !bestHash.equals(block.getParentHash());
+            bestHash = block.getHash();
+            bestNumber = block.getNumber();
+        }
+
+        if (reorganized) {
+            removeEntriesOutOfMainChain();
+        }
+    }
+
+    private synchronized void removeEntriesOutOfMainChain() {
+        Map<Long, Keccak256> mainChainHashes = new HashMap<>();
+        int removed = 0;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            Keccak256 mainChainHash = mainChainHashes.computeIfAbsent(entry.anchorNumber, number -> {
+                Block block = blockStore.getChainBlockByNumber(number);
+                return block == null ? null : block.getHash();
+            });
+
+            if (!entry.anchorHash.equals(mainChainHash)) {
+                sizeInBytes -= entry.weight;
+                iterator.remove();
+                removed++;
+            }
+        }
+
+        invalidations.add(removed);
+        logger.debug("Removed {} cached responses after a reorganization", removed);
+    }
+
+    private boolean isInMainChain(long number, Keccak256 hash) {
+        Block block = blockStore.getChainBlockByNumber(number);
+        return block != null && block.getHash().equals(hash);
+    }
+
+    @Nullable
+    private Anchor getAnchor(String method, JsonNode params, JsonNode result) {
+        try {
+            switch (method) {
+                case ETH_GET_BLOCK_BY_HASH:
+                    return new Anchor(HexUtils.jsonHexToLong(result.get("number").asText()), toHash(result.get("hash")));
+                case ETH_GET_TRANSACTION_BY_HASH:
+                case ETH_GET_TRANSACTION_RECEIPT:
+                    return new Anchor(HexUtils.jsonHexToLong(result.get(BLOCK_NUMBER).asText()), toHash(result.get(BLOCK_HASH)));
+                case ETH_CALL:
+                    Keccak256 hash = toHash(params.get(1).get(BLOCK_HASH));
+                    Block block = blockStore.getBlockByHash(hash.getBytes());
+                    return block == null ? null : new Anchor(block.getNumber(), hash);
+                default:
+                    return null;
+            }
+        } catch (RuntimeException e) {
+            // e.g. a pending transaction, that has no block yet
+            return null;
+        }
+    }
+
+    private static Keccak256 toHash(JsonNode node) {
+        return new Keccak256(HexUtils.stringHexToByteArray(node.asText()));
+    }
+
+    /**
+     * @return a copy of the node with lowercase strings and object fields sorted by name
+     */
+    private JsonNode canonicalize(JsonNode node) {
+        if (node.isTextual()) {
+            return TextNode.valueOf(node.asText().toLowerCase(Locale.ROOT));
+        }
+
+        if (node.isArray()) {
+            ArrayNode array = mapper.createArrayNode();
+            node.forEach(element -> array.add(canonicalize(element)));
+            return array;
+        }
+
+        if (node.isObject()) {
+            Map<String, JsonNode> fields = new TreeMap<>();
+            node.fields().forEachRemaining(field -> fields.put(field.getKey(), canonicalize(field.getValue())));
+            ObjectNode object = mapper.createObjectNode();
+            object.setAll(fields);
+            return object;
+        }
+
+        return node;
+    }
+
+    @Override
+    public synchronized int getEntries() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    @Override
+    public int getConfirmations() {
+        return confirmations;
+    }
+
+    @Override
+    public long getHits() {
+        return stats.getHits();
+    }
+
+    @Override
+    public long getMisses() {
+        return stats.getMisses();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats.getHitRate();
+    }
+
+    @Override
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return stats.getEvictions();
+    }
+
+    @Override
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * A cached result, serialized
+     */
+    public static class Entry {
+        private final String rawResult;
+        private final int resultSize;
+        private final long anchorNumber;
+        private final Keccak256 anchorHash;
+        private final long weight;
+
+        private Entry(String rawResult, int resultSize, long anchorNumber, Keccak256 anchorHash, long weight) {
+            this.rawResult = rawResult;
+            this.resultSize = resultSize;
+            this.anchorNumber = anchorNumber;
+            this.anchorHash = anchorHash;
+            this.weight = weight;
+        }
+
+        public String getRawResult() {
+            return rawResult;
+        }
+
+        /**
+         * @return the size of the result field, as accounted for by the response size limit
+         */
+        public int getResultSize() {
+            return resultSize;
+        }
+    }
+
+    private static class Anchor {
+        private final long number;
+        private final Keccak256 hash;
+
+        private Anchor(long number, Keccak256 hash) {
+            this.number = number;
+            this.hash = hash;
+        }
+    }
+
+    private class OnBestBlockListener extends EthereumListenerAdapter {
+        @Override
+        public void onBestBlock(Block block, List<TransactionReceipt> receipts) {
+            JsonRpcResponseCache.this.onBestBlock(block);
+        }
+    }
+}
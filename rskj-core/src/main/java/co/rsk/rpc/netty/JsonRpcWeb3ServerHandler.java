@@ -25,39 +25,83 @@ import co.rsk.rpc.exception.JsonRpcRequestPayloadException;
 import co.rsk.rpc.exception.JsonRpcResponseLimitError;
 import co.rsk.rpc.exception.JsonRpcThrowableError;
 import co.rsk.util.JacksonParserUtil;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.exc.StreamConstraintsException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.googlecode.jsonrpc4j.*;
 import io.netty.buffer.*;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.ethereum.rpc.Web3;
 import org.ethereum.rpc.exception.RskErrorResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @ChannelHandler.Sharable
 public class JsonRpcWeb3ServerHandler extends SimpleChannelInboundHandler<ByteBufHolder> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("jsonrpc");
 
+    // the longest a streamed response waits for its connection to drain, when the request has no earlier deadline
+    private static final long MAX_WRITABILITY_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    // requests of a connection waiting for the one in flight, present while a request is in flight
+    private static final AttributeKey<Deque<ByteBuf>> PENDING_REQUESTS = AttributeKey.valueOf("jsonRpcPendingRequests");
+
+    // completed once the connection can be written again, present while a streamed response waits for it to drain
+    private static final AttributeKey<CompletableFuture<Void>> WRITABLE = AttributeKey.valueOf("jsonRpcWritable");
+
     private final ObjectMapper mapper = new ObjectMapper();
     private final JsonNodeFactory jsonNodeFactory = JsonNodeFactory.instance;
     private final JsonRpcBasicServer jsonRpcServer;
     private final long defaultTimeout;
     private final int maxResponseSize;
+    private final int streamingChunkSize;
+    @Nullable
+    private final JsonRpcRequestExecutor requestExecutor;
 
     public JsonRpcWeb3ServerHandler(Web3 service, JsonRpcWeb3ServerProperties jsonRpcWeb3ServerProperties) {
-        this.jsonRpcServer = new JsonRpcCustomServer(service, service.getClass(), jsonRpcWeb3ServerProperties.getRpcModules(), mapper);
+        this(service, jsonRpcWeb3ServerProperties, null);
+    }
+
+    /**
+     * @param requestExecutor runs the requests out of the netty event loops. When null, requests are handled
+     *                        on the event loop that read them.
+     */
+    public JsonRpcWeb3ServerHandler(Web3 service, JsonRpcWeb3ServerProperties jsonRpcWeb3ServerProperties, @Nullable JsonRpcRequestExecutor requestExecutor) {
+        this(service, jsonRpcWeb3ServerProperties, requestExecutor, null);
+    }
+
+    /**
+     * @param responseCache answers the requests whose results can't change anymore. When null, every request is run.
+     */
+    public JsonRpcWeb3ServerHandler(Web3 service, JsonRpcWeb3ServerProperties jsonRpcWeb3ServerProperties,
+                                    @Nullable JsonRpcRequestExecutor requestExecutor, @Nullable JsonRpcResponseCache responseCache) {
+        this.jsonRpcServer = new JsonRpcCustomServer(service, service.getClass(), jsonRpcWeb3ServerProperties.getRpcModules(), mapper, requestExecutor, responseCache);
         List<JsonRpcInterceptor> interceptors = new ArrayList<>();
         interceptors.add(new JsonRpcRequestValidatorInterceptor(jsonRpcWeb3ServerProperties.getMaxBatchRequestsSize()));
         jsonRpcServer.setInterceptorList(interceptors);
@@ -65,14 +109,229 @@ public class JsonRpcWeb3ServerHandler extends SimpleChannelInboundHandler<ByteBu
         jsonRpcServer.setErrorResolver(new MultipleErrorResolver(new RskErrorResolver(), AnnotationsErrorResolver.INSTANCE, DefaultErrorResolver.INSTANCE));
         this.defaultTimeout = jsonRpcWeb3ServerProperties.getRpcTimeout();
         this.maxResponseSize = jsonRpcWeb3ServerProperties.getRpcMaxResponseSize();
+        this.streamingChunkSize = jsonRpcWeb3ServerProperties.getRpcStreamingChunkSize();
+        this.requestExecutor = requestExecutor;
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBufHolder request) throws Exception {
-        ByteBuf responseContent = Unpooled.buffer();
+        if (requestExecutor == null) {
+            // the event loop can't wait for the connection to drain, so the response is sent once complete
+            ctx.fireChannelRead(handleRequest(request.content(), ctx.alloc(), null));
+            return;
+        }
+
+        ByteBuf content = request.content().retain();
+        Attribute<Deque<ByteBuf>> pendingRequests = ctx.channel().attr(PENDING_REQUESTS);
+
+        if (pendingRequests.get() != null) {
+            // several requests can be decoded from a single read, and pausing the reads doesn't hold them back,
+            // so they wait here for the request in flight to keep the responses in order
+            pendingRequests.get().add(content);
+            return;
+        }
+
+        // responses have to be written in the same order requests arrived,
+        // so nothing else is read from this connection until this request is answered
+        pendingRequests.set(new ArrayDeque<>());
+        ctx.channel().config().setAutoRead(false);
+
+        dispatchRequest(ctx, content);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        Deque<ByteBuf> pendingRequests = ctx.channel().attr(PENDING_REQUESTS).getAndSet(null);
+        if (pendingRequests != null) {
+            pendingRequests.forEach(ByteBuf::release);
+        }
+
+        // a response waiting for the connection to drain has to learn it won't
+        signalWritable(ctx.channel());
+
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            signalWritable(ctx.channel());
+        }
+
+        super.channelWritabilityChanged(ctx);
+    }
+
+    private static void signalWritable(Channel channel) {
+        CompletableFuture<Void> writable = channel.attr(WRITABLE).getAndSet(null);
+        if (writable != null) {
+            writable.complete(null);
+        }
+    }
+
+    private void dispatchRequest(ChannelHandlerContext ctx, ByteBuf content) {
+        String methodName = peekMethodName(content);
+
+        boolean accepted;
+        try {
+            accepted = requestExecutor.execute(methodName, () -> handleRequestOnExecutor(ctx, content));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("JSON-RPC executor is stopped", e);
+            accepted = false;
+        }
+
+        if (accepted) {
+            return;
+        }
+
+        content.release();
+
+        int errorCode = JsonRpcError.RPC_LIMIT_ERROR;
+        try {
+            ctx.fireChannelRead(new Web3Result(buildErrorContent(errorCode, JsonRpcCustomServer.RPC_LIMIT_MSG), errorCode));
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Could not build the error response", e);
+            ctx.close();
+            return;
+        }
+
+        requestAnswered(ctx);
+    }
+
+    /**
+     * Called on the event loop once the request in flight was answered, to dispatch the next request
+     * of the connection or to resume reading from it.
+     */
+    private void requestAnswered(ChannelHandlerContext ctx) {
+        // the response was handed over out of a read, so nothing else would flush it
+        ctx.channel().flush();
+
+        Deque<ByteBuf> pendingRequests = ctx.channel().attr(PENDING_REQUESTS).get();
+        if (pendingRequests == null) {
+            // the connection was closed meanwhile
+            return;
+        }
+
+        ByteBuf next = pendingRequests.poll();
+        if (next != null) {
+            dispatchRequest(ctx, next);
+            return;
+        }
+
+        ctx.channel().attr(PENDING_REQUESTS).set(null);
+        ctx.channel().config().setAutoRead(true);
+    }
+
+    private void handleRequestOnExecutor(ChannelHandlerContext ctx, ByteBuf content) {
+        Web3Result result = null;
+        try {
+            result = handleRequest(content, ctx.alloc(), (chunk, first) -> writeChunk(ctx, chunk, first));
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error", e);
+        } finally {
+            content.release();
+
+            Web3Result response = result;
+            ctx.executor().execute(() -> {
+                if (response == null) {
+                    ctx.close();
+                    return;
+                }
+
+                ctx.fireChannelRead(response);
+                requestAnswered(ctx);
+            });
+        }
+    }
+
+    /**
+     * Hands over a chunk of a response being streamed to the response handler. Serialization is held back while
+     * the connection has too much data pending to be written, so that a slow client doesn't make the response pile
+     * up in memory.
+     */
+    private static void writeChunk(ChannelHandlerContext ctx, ByteBuf chunk, boolean first) throws IOException {
+        try {
+            awaitWritable(ctx.channel());
+        } catch (IOException e) {
+            chunk.release();
+            throw e;
+        }
+
+        ctx.fireChannelRead(new Web3ResultChunk(chunk, ErrorResolver.JsonError.OK.code, first, false));
+    }
+
+    /**
+     * Blocks until the event loop signals that the connection can be written again, for no longer than
+     * what is left of the request timeout.
+     */
+    private static void awaitWritable(Channel channel) throws IOException {
+        while (!channel.isWritable()) {
+            if (!channel.isActive()) {
+                throw new IOException("Connection closed while streaming the response");
+            }
+
+            CompletableFuture<Void> writable = new CompletableFuture<>();
+            channel.attr(WRITABLE).set(writable);
+            try {
+                // the connection may have drained or been closed before there was anything to signal
+                if (!channel.isWritable() && channel.isActive()) {
+                    long timeout = Math.min(ExecTimeoutContext.getRemainingTime(), MAX_WRITABILITY_WAIT_MILLIS);
+                    writable.get(timeout, TimeUnit.MILLISECONDS);
+                }
+            } catch (TimeoutException e) {
+                throw new IOException("Timed out while streaming the response", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while streaming the response");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } finally {
+                channel.attr(WRITABLE).compareAndSet(writable, null);
+            }
+        }
+    }
+
+    /**
+     * Reads just enough of the request to find which method it calls,
+     * the whole request is parsed and validated later by the JSON-RPC server.
+     */
+    private String peekMethodName(ByteBuf content) {
+        try (JsonParser parser = mapper.getFactory().createParser((InputStream) new ByteBufInputStream(content.duplicate()))) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                return JsonRpcRequestExecutor.BATCH_METHOD;
+            }
+
+            if (token != JsonToken.START_OBJECT) {
+                return JsonRpcRequestExecutor.OTHER_METHOD;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                token = parser.nextToken();
+                if ("method".equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            LOGGER.trace("Could not find the method of the request", e);
+        }
+
+        return JsonRpcRequestExecutor.OTHER_METHOD;
+    }
+
+    /**
+     * @return the response to the request, or null when a streamed response failed after it began to be sent,
+     * in which case the connection can only be closed.
+     */
+    @Nullable
+    private Web3Result handleRequest(ByteBuf requestContent, ByteBufAllocator allocator,
+                                     @Nullable Web3ResultOutputStream.ChunkConsumer chunkConsumer) throws JsonProcessingException {
+        Web3ResultOutputStream os = new Web3ResultOutputStream(allocator, maxResponseSize, streamingChunkSize, chunkConsumer);
+        ByteBuf responseContent;
         int responseCode;
-        try (ByteBufOutputStream os = new ByteBufOutputStream(responseContent);
-             ByteBufInputStream is = new ByteBufInputStream(request.content().retain());
+        try (ByteBufInputStream is = new ByteBufInputStream(requestContent);
              ResponseSizeLimitContext rslCtx = ResponseSizeLimitContext.createResponseSizeContext(maxResponseSize)) {
             if (defaultTimeout <= 0) {
                 responseCode = jsonRpcServer.handleRequest(is, os);
@@ -82,9 +341,12 @@ public class JsonRpcWeb3ServerHandler extends SimpleChannelInboundHandler<ByteBu
                     ExecTimeoutContext.checkIfExpired();
                 }
             }
-            if (maxResponseSize > 0 && maxResponseSize < responseContent.readableBytes()) {
-                throw new JsonRpcResponseLimitError(maxResponseSize);
-            }
+            responseContent = os.takeContent();
+        } catch (Web3ResultOutputStream.ResponseSizeExceededException e) {
+            JsonRpcError error = new JsonRpcResponseLimitError(e.getLimit()).getErrorResponse();
+            LOGGER.error(error.getMessage(), e);
+            responseContent = buildErrorContent(error.getCode(), error.getMessage());
+            responseCode = error.getCode();
         } catch (JsonRpcRequestPayloadException e) {
             String invalidReqMsg = "Invalid request";
             LOGGER.error(invalidReqMsg, e);
@@ -110,10 +372,22 @@ public class JsonRpcWeb3ServerHandler extends SimpleChannelInboundHandler<ByteBu
             responseCode = errorCode;
         }
 
-        ctx.fireChannelRead(new Web3Result(
-                responseContent,
-                responseCode
-        ));
+        os.discard();
+
+        if (!os.isStreaming()) {
+            return new Web3Result(
+                    responseContent,
+                    responseCode
+            );
+        }
+
+        if (!os.isCompleted()) {
+            LOGGER.warn("Aborting streamed response");
+            responseContent.release();
+            return null;
+        }
+
+        return new Web3ResultChunk(responseContent, responseCode, false, true);
     }
 
     @Override
@@ -29,6 +29,7 @@ public class JsonRpcWeb3ServerProperties {
     private List<ModuleDescription> rpcModules;
     private int rpcMaxResponseSize;
     private long rpcTimeout;
+    private int rpcStreamingChunkSize;
 
     //Default values
     private JsonRpcWeb3ServerProperties() {
@@ -36,6 +37,7 @@ public class JsonRpcWeb3ServerProperties {
         this.rpcModules = new ArrayList<>();
         this.rpcMaxResponseSize = 0;
         this.rpcTimeout = 0;
+        this.rpcStreamingChunkSize = 0;
     }
 
 
@@ -55,6 +57,10 @@ public class JsonRpcWeb3ServerProperties {
         return rpcTimeout;
     }
 
+    public int getRpcStreamingChunkSize() {
+        return rpcStreamingChunkSize;
+    }
+
     public static JsonRpcWeb3ServerPropertiesBuilder builder() {
         return new JsonRpcWeb3ServerPropertiesBuilder();
     }
@@ -65,6 +71,7 @@ public class JsonRpcWeb3ServerProperties {
         private List<ModuleDescription> rpcModules;
         private Integer rpcMaxResponseSize;
         private Long rpcTimeout;
+        private Integer rpcStreamingChunkSize;
 
         public JsonRpcWeb3ServerPropertiesBuilder() {
         }
@@ -83,6 +90,9 @@ public class JsonRpcWeb3ServerProperties {
             if(rpcTimeout != null){
                 jsonRpcWeb3ServerProperties.rpcTimeout = rpcTimeout;
             }
+            if(rpcStreamingChunkSize != null){
+                jsonRpcWeb3ServerProperties.rpcStreamingChunkSize = rpcStreamingChunkSize;
+            }
             return jsonRpcWeb3ServerProperties;
         }
 
@@ -105,6 +115,11 @@ public class JsonRpcWeb3ServerProperties {
             this.rpcTimeout = rpcTimeout;
             return this;
         }
+
+        public JsonRpcWeb3ServerPropertiesBuilder rpcStreamingChunkSize(int rpcStreamingChunkSize) {
+            this.rpcStreamingChunkSize = rpcStreamingChunkSize;
+            return this;
+        }
     }
 
 }
@@ -25,6 +25,8 @@ import co.rsk.rpc.json.JsonResponseSizeLimiter;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.ethereum.rpc.exception.RskJsonRpcRequestException;
 
+import javax.annotation.Nullable;
+
 public class ResponseSizeLimitContext implements AutoCloseable {
 
     //pay extra attention with ThreadLocal handling. In some cases, if incorrectly done it may lead to ctx being nul
@@ -37,7 +39,7 @@ public class ResponseSizeLimitContext implements AutoCloseable {
         this.limit = limit;
     }
 
-    private void add(int size) {
+    private synchronized void add(int size) {
 
         this.size += size;
         if (this.size > limit) {
@@ -45,6 +47,12 @@ public class ResponseSizeLimitContext implements AutoCloseable {
         }
     }
 
+    private synchronized void check(long partialSize) {
+        if (limit > 0 && size + partialSize > limit) {
+            throw new JsonRpcResponseLimitError(limit);
+        }
+    }
+
     private void add(JsonNode response) {
         if (limit <= 0) {
             return;
@@ -76,6 +84,31 @@ public class ResponseSizeLimitContext implements AutoCloseable {
         return ctx;
     }
 
+    /**
+     * Returns the context of the current thread, if any, so that work done on its behalf
+     * by other threads can share the same budget through {@link #attach(ResponseSizeLimitContext)}.
+     */
+    @Nullable
+    public static ResponseSizeLimitContext getCurrentContext() {
+        return accumulatedResponseSize.get();
+    }
+
+    /**
+     * Makes the given context the one of the current thread until the returned context is closed.
+     * A null context attaches nothing.
+     */
+    public static ResponseSizeLimitContext attach(@Nullable ResponseSizeLimitContext ctx) {
+        if (ctx == null || accumulatedResponseSize.get() == ctx) {
+            return createEmptyContext();
+        }
+
+        if (accumulatedResponseSize.get() != null) {
+            throw new RskJsonRpcRequestException(JsonRpcError.INTERNAL_ERROR, "ResponseSizeLimitContext already exists");
+        }
+        accumulatedResponseSize.set(ctx);
+        return ctx;
+    }
+
     private static ResponseSizeLimitContext createEmptyContext() {
         return new ResponseSizeLimitContext(0) {
             @Override
@@ -86,6 +119,30 @@ public class ResponseSizeLimitContext implements AutoCloseable {
         };
     }
 
+    /**
+     * Estimates the size of a part of a response being built, or returns zero when the current thread
+     * has no response size limit. Fails if the part alone is already over the limit.
+     */
+    public static int getSize(JsonNode partialResponse) {
+        ResponseSizeLimitContext ctx = accumulatedResponseSize.get();
+        if (ctx == null || ctx.limit <= 0) {
+            return 0;
+        }
+
+        return JsonResponseSizeLimiter.getSizeInBytesWithLimit(partialResponse, ctx.limit);
+    }
+
+    /**
+     * Fails as soon as a response still being built no longer fits in what's left of the limit. The size isn't
+     * accounted for, since the complete response is added once it's built.
+     */
+    public static void checkPartialResponse(long partialSize) {
+        ResponseSizeLimitContext ctx = accumulatedResponseSize.get();
+        if (ctx != null) {
+            ctx.check(partialSize);
+        }
+    }
+
     public static void addResponse(JsonNode response) {
         ResponseSizeLimitContext ctx = accumulatedResponseSize.get();
         if (ctx != null) {
@@ -93,5 +150,16 @@ public class ResponseSizeLimitContext implements AutoCloseable {
         }
     }
 
+    /**
+     * Accounts for a part of a response that isn't a {@link JsonNode}, like an already serialized result,
+     * given its size as estimated by {@link JsonResponseSizeLimiter}.
+     */
+    public static void addResponseSize(int size) {
+        ResponseSizeLimitContext ctx = accumulatedResponseSize.get();
+        if (ctx != null && ctx.limit > 0) {
+            ctx.add(size);
+        }
+    }
+
 
 }
@@ -0,0 +1,45 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A part of a response that is sent while it's still being serialized.
+ * The first chunk opens the response and the last one completes it.
+ */
+public class Web3ResultChunk extends Web3Result {
+
+    private final boolean first;
+    private final boolean last;
+
+    public Web3ResultChunk(ByteBuf content, int code, boolean first, boolean last) {
+        super(content, code);
+        this.first = first;
+        this.last = last;
+    }
+
+    public boolean isFirst() {
+        return first;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+}
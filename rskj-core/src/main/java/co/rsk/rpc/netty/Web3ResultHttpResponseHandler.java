@@ -23,11 +23,15 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 
 import static io.netty.handler.codec.http.HttpHeaders.Names.*;
 import static io.netty.handler.codec.http.HttpHeaders.Values.APPLICATION_JSON;
+import static io.netty.handler.codec.http.HttpHeaders.Values.CHUNKED;
 import static io.netty.handler.codec.http.HttpHeaders.Values.CLOSE;
 
 public class Web3ResultHttpResponseHandler extends SimpleChannelInboundHandler<Web3Result> {
@@ -40,6 +44,11 @@ public class Web3ResultHttpResponseHandler extends SimpleChannelInboundHandler<W
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, Web3Result msg) {
+        if (msg instanceof Web3ResultChunk) {
+            writeChunk(ctx, (Web3ResultChunk) msg);
+            return;
+        }
+
         ByteBuf content = msg.getContent();
 
         DefaultFullHttpResponse response = new DefaultFullHttpResponse(
@@ -55,6 +64,27 @@ public class Web3ResultHttpResponseHandler extends SimpleChannelInboundHandler<W
         ctx.write(response).addListener(ChannelFutureListener.CLOSE);
     }
 
+    private void writeChunk(ChannelHandlerContext ctx, Web3ResultChunk chunk) {
+        if (chunk.isFirst()) {
+            DefaultHttpResponse response = new DefaultHttpResponse(
+                    HttpVersion.HTTP_1_1,
+                    HttpResponseStatus.valueOf(httpStatusCodeProvider.getHttpStatusCode(chunk.getCode()))
+            );
+
+            response.headers().add(CONTENT_TYPE, APPLICATION_JSON);
+            response.headers().add(TRANSFER_ENCODING, CHUNKED);
+            response.headers().add(CONNECTION, CLOSE);
+
+            ctx.write(response);
+        }
+
+        if (chunk.isLast()) {
+            ctx.writeAndFlush(new DefaultLastHttpContent(chunk.getContent())).addListener(ChannelFutureListener.CLOSE);
+        } else {
+            ctx.writeAndFlush(new DefaultHttpContent(chunk.getContent()));
+        }
+    }
+
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) {
         ctx.flush();
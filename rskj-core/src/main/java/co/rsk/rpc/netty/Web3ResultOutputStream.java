@@ -0,0 +1,153 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Collects a serialized JSON-RPC response, failing as soon as it grows over the response size limit.
+ * <p>
+ * When given a chunk consumer, a response outgrowing the chunk size is handed over one chunk at a time while it's
+ * being serialized, so that it can be written to the connection instead of being held whole in memory.
+ */
+class Web3ResultOutputStream extends OutputStream {
+
+    interface ChunkConsumer {
+        void accept(ByteBuf chunk, boolean first) throws IOException;
+    }
+
+    /**
+     * Thrown when the response grows over the limit. It's an {@link IOException} so that it reaches the caller
+     * as it is, instead of being wrapped by the serializer writing the response.
+     */
+    static class ResponseSizeExceededException extends IOException {
+        private static final long serialVersionUID = 5125358326357271290L;
+
+        private final int limit;
+
+        private ResponseSizeExceededException(int limit) {
+            super("Response size limit of " + limit + " bytes exceeded");
+            this.limit = limit;
+        }
+
+        int getLimit() {
+            return limit;
+        }
+    }
+
+    private final ByteBufAllocator allocator;
+    private final int maxResponseSize;
+    private final int chunkSize;
+    @Nullable
+    private final ChunkConsumer chunkConsumer;
+
+    private ByteBuf buffer;
+    private long written;
+    private boolean streaming;
+    private boolean completed;
+
+    Web3ResultOutputStream(ByteBufAllocator allocator, int maxResponseSize, int chunkSize, @Nullable ChunkConsumer chunkConsumer) {
+        this.allocator = allocator;
+        this.maxResponseSize = maxResponseSize;
+        this.chunkSize = chunkSize;
+        this.chunkConsumer = chunkSize > 0 ? chunkConsumer : null;
+        this.buffer = this.chunkConsumer != null ? allocator.buffer(chunkSize) : allocator.buffer();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        reserve(1);
+        buffer.writeByte(b);
+        emitIfFull();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        reserve(len);
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            int length = chunkConsumer == null ? remaining : Math.min(remaining, chunkSize - buffer.readableBytes());
+            buffer.writeBytes(b, offset, length);
+            offset += length;
+            remaining -= length;
+            emitIfFull();
+        }
+    }
+
+    /**
+     * @return true once the beginning of the response was handed over, and it can no longer be replaced by an error.
+     */
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Takes what wasn't handed over of the response, which is the whole response unless it's being streamed.
+     * The caller becomes responsible for releasing it.
+     */
+    ByteBuf takeContent() {
+        ByteBuf content = buffer;
+        buffer = null;
+        completed = true;
+        return content;
+    }
+
+    /**
+     * Releases the content that wasn't taken, if any.
+     */
+    void discard() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
+    private void reserve(int length) throws ResponseSizeExceededException {
+        if (buffer == null) {
+            throw new IllegalStateException("Response already taken");
+        }
+
+        written += length;
+        if (maxResponseSize > 0 && written > maxResponseSize) {
+            throw new ResponseSizeExceededException(maxResponseSize);
+        }
+    }
+
+    private void emitIfFull() throws IOException {
+        if (chunkConsumer == null || buffer.readableBytes() < chunkSize) {
+            return;
+        }
+
+        ByteBuf chunk = buffer;
+        buffer = allocator.buffer(chunkSize);
+        boolean first = !streaming;
+        streaming = true;
+        chunkConsumer.accept(chunk, first);
+    }
+}
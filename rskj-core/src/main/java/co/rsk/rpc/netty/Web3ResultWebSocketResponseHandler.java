@@ -19,15 +19,33 @@ package co.rsk.rpc.netty;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 
 public class Web3ResultWebSocketResponseHandler extends SimpleChannelInboundHandler<Web3Result> {
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, Web3Result msg) {
+        if (msg instanceof Web3ResultChunk) {
+            writeChunk(ctx, (Web3ResultChunk) msg);
+            return;
+        }
+
         ctx.write(new TextWebSocketFrame(msg.getContent()));
     }
 
+    /**
+     * A streamed response is sent as a fragmented text message: the first chunk opens it
+     * and the following ones continue it, up to the last one.
+     */
+    private void writeChunk(ChannelHandlerContext ctx, Web3ResultChunk chunk) {
+        if (chunk.isFirst()) {
+            ctx.writeAndFlush(new TextWebSocketFrame(chunk.isLast(), 0, chunk.getContent()));
+        } else {
+            ctx.writeAndFlush(new ContinuationWebSocketFrame(chunk.isLast(), 0, chunk.getContent()));
+        }
+    }
+
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) {
         ctx.flush();
@@ -102,7 +102,9 @@ public abstract class SystemProperties {
     private static final String PROPERTY_RPC_MAX_RESPONSE_SIZE = "rpc.maxResponseSize";
     private static final String PROPERTY_RPC_MIN_GAS_PRICE_MULTIPLIER = "rpc.minGasPriceMultiplier";
     private static final String PROPERTY_RPC_TRACE_MAX_TRACES_PER_REQUEST = "rpc.trace.maxTracesPerRequest";
+    private static final String PROPERTY_RPC_TRACE_PARALLELISM = "rpc.trace.parallelism";
     private static final String PROPERTY_RPC_TIMEOUT = "rpc.timeout";
+    private static final String PROPERTY_RPC_STREAMING_CHUNK_SIZE = "rpc.streamingChunkSize";
 
     public static final String PROPERTY_PUBLIC_IP = "public.ip";
     public static final String PROPERTY_BIND_ADDRESS = "bind_address";
@@ -251,6 +253,38 @@ public abstract class SystemProperties {
         return configFromFiles.hasPath("peer.p2p.framing.maxSize") ? configFromFiles.getInt("peer.p2p.framing.maxSize") : MessageCodec.NO_FRAMING;
     }
 
+    public boolean peerCompressionEnabled() {
+        return getBoolean("peer.p2p.compression.enabled", false);
+    }
+
+    public int peerCompressionThreshold() {
+        return configFromFiles.hasPath("peer.p2p.compression.threshold") ? configFromFiles.getInt("peer.p2p.compression.threshold") : 1024;
+    }
+
+    public boolean peerCompactBlocksEnabled() {
+        return getBoolean("peer.p2p.compactBlocks.enabled", false);
+    }
+
+    public boolean peerTxAnnouncementsEnabled() {
+        return getBoolean("peer.p2p.txAnnouncements.enabled", false);
+    }
+
+    public int peerTxAnnouncementsMaxInFlightPerPeer() {
+        return configFromFiles.hasPath("peer.p2p.txAnnouncements.maxInFlightPerPeer") ? configFromFiles.getInt("peer.p2p.txAnnouncements.maxInFlightPerPeer") : 256;
+    }
+
+    public long peerTxAnnouncementsRequestTimeout() {
+        return configFromFiles.hasPath("peer.p2p.txAnnouncements.requestTimeout") ? configFromFiles.getLong("peer.p2p.txAnnouncements.requestTimeout") : 5000;
+    }
+
+    public int peerTxAnnouncementsSeenCacheSize() {
+        return configFromFiles.hasPath("peer.p2p.txAnnouncements.seenCacheSize") ? configFromFiles.getInt("peer.p2p.txAnnouncements.seenCacheSize") : 32768;
+    }
+
+    public int peerTxAnnouncementsRelayedCacheSize() {
+        return configFromFiles.hasPath("peer.p2p.txAnnouncements.relayedCacheSize") ? configFromFiles.getInt("peer.p2p.txAnnouncements.relayedCacheSize") : 4096;
+    }
+
     public List<String> peerDiscoveryIPList() {
         return configFromFiles.hasPath("peer.discovery.ip.list") ? configFromFiles.getStringList("peer.discovery.ip.list") : new ArrayList<>();
     }
@@ -766,6 +800,10 @@ public abstract class SystemProperties {
         return configFromFiles.getInt(PROPERTY_RPC_TRACE_MAX_TRACES_PER_REQUEST);
     }
 
+    public int rpcTraceParallelism() {
+        return configFromFiles.getInt(PROPERTY_RPC_TRACE_PARALLELISM);
+    }
+
     /**
      * Parses a list of IPs separated by commas. E.g. "171.99.160.48, 171.99.160.48".
      */
@@ -839,6 +877,14 @@ public abstract class SystemProperties {
         return configFromFiles.getInt(PROPERTY_RPC_MAX_RESPONSE_SIZE);
     }
 
+    public int getRpcStreamingChunkSize() {
+        if (!configFromFiles.hasPath(PROPERTY_RPC_STREAMING_CHUNK_SIZE)) {
+            return 0;
+        }
+
+        return configFromFiles.getInt(PROPERTY_RPC_STREAMING_CHUNK_SIZE);
+    }
+
     public StableMinGasPriceSystemConfig getStableGasPriceSystemConfig() {
         Config config = configFromFiles.getConfig(StableMinGasPriceSystemConfig.STABLE_GAS_PRICE_CONFIG_PATH_PROPERTY);
         return new StableMinGasPriceSystemConfig(config);
@@ -257,6 +257,8 @@ public class CallTransaction {
     }
 
     public static class Function {
+        private static final Object[] NO_ARGUMENTS = new Object[0];
+
         public boolean anonymous;
         public boolean constant;
         public boolean payable;
@@ -265,6 +267,9 @@ public class CallTransaction {
         public Param[] outputs = new Param[0];
         public FunctionType type;
 
+        // first four bytes of the signature hash, computed on first use
+        private volatile byte[] signature;
+
         private Function() {
         }
 
@@ -403,6 +408,17 @@ public class CallTransaction {
         }
 
         public byte[] encodeOutputs(Object... args) {
+            // native contracts mostly return a single value, which can be encoded without the generic layout pass
+            if (args.length == 1 && outputs.length == 1) {
+                SolidityType outputType = outputs[0].type;
+                byte[] encoded = outputType.encode(args[0]);
+                if (!outputType.isDynamicType()) {
+                    return encoded;
+                }
+
+                return ByteUtil.merge(SolidityType.IntType.encodeInt(outputType.getFixedSize()), encoded);
+            }
+
             return encodeArguments(outputs, args);
         }
 
@@ -422,6 +438,10 @@ public class CallTransaction {
         }
 
         public Object[] decode(byte[] encoded) {
+            if (inputs.length == 0 && encoded.length >= 4) {
+                return NO_ARGUMENTS;
+            }
+
             return decode(Bytes.of(encoded).slice(4, encoded.length), inputs);
         }
 
@@ -444,7 +464,13 @@ public class CallTransaction {
         }
 
         public byte[] encodeSignature() {
-            return Arrays.copyOfRange(encodeSignatureLong(), 0, 4);
+            byte[] cached = signature;
+            if (cached == null) {
+                cached = Arrays.copyOfRange(encodeSignatureLong(), 0, 4);
+                signature = cached;
+            }
+
+            return Arrays.copyOf(cached, cached.length);
         }
 
         @Override
@@ -20,9 +20,11 @@
 package org.ethereum.core;
 
 import co.rsk.config.InternalService;
+import co.rsk.core.ShortTxIdCalculator;
 import co.rsk.core.bc.PendingState;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TransactionPool extends InternalService {
     /**
@@ -74,6 +76,11 @@ public interface TransactionPool extends InternalService {
     // Returns a list of queued txs (out of nonce sequence)
     List<Transaction> getQueuedTransactions();
 
+    /**
+     * @return the pending or queued transaction with the given compact block short id, if any
+     */
+    Optional<Transaction> getTransactionByShortId(ShortTxIdCalculator calculator, long shortTxId);
+
     /**
      * @return pending state
      */
@@ -18,6 +18,7 @@
 package org.ethereum.core;
 
 import co.rsk.core.RskAddress;
+import co.rsk.core.ShortTxIdCalculator;
 import co.rsk.crypto.Keccak256;
 
 import java.util.*;
@@ -26,6 +27,10 @@ import java.util.stream.Collectors;
 public class TransactionSet {
     private final Map<Keccak256, Transaction> transactionsByHash;
     private final Map<RskAddress, List<Transaction>> transactionsByAddress;
+    // compact blocks refer to transactions by short ids salted with the block hash, so the index is
+    // built for the latest block asked for and kept up to date until another block is asked for
+    private ShortTxIdCalculator shortTxIdCalculator;
+    private Map<Long, Transaction> transactionsByShortId;
 
     private final SignatureCache signatureCache;
 
@@ -51,6 +56,7 @@ public class TransactionSet {
         }
 
         this.transactionsByHash.put(txhash, transaction);
+        addShortId(transaction);
 
         RskAddress senderAddress = transaction.getSender(signatureCache);
 
@@ -68,6 +74,7 @@ public class TransactionSet {
                 Transaction txToRemove = optTxToRemove.get();
                 txs.remove(txToRemove);
                 this.transactionsByHash.remove(txToRemove.getHash());
+                removeShortId(txToRemove);
             }
         }
 
@@ -86,6 +93,7 @@ public class TransactionSet {
         }
 
         this.transactionsByHash.remove(hash);
+        removeShortId(transaction);
 
         RskAddress senderAddress = transaction.getSender(signatureCache);
         List<Transaction> txs = this.transactionsByAddress.get(senderAddress);
@@ -99,6 +107,32 @@ public class TransactionSet {
         }
     }
 
+    /**
+     * @return a transaction with the given compact block short id, or null if there is none
+     */
+    public Transaction getTransactionByShortId(ShortTxIdCalculator calculator, long shortTxId) {
+        if (this.shortTxIdCalculator == null || !this.shortTxIdCalculator.getBlockHash().equals(calculator.getBlockHash())) {
+            this.shortTxIdCalculator = calculator;
+            this.transactionsByShortId = new HashMap<>();
+            this.transactionsByHash.values().forEach(this::addShortId);
+        }
+
+        return this.transactionsByShortId.get(shortTxId);
+    }
+
+    private void addShortId(Transaction transaction) {
+        if (this.shortTxIdCalculator != null) {
+            this.transactionsByShortId.put(this.shortTxIdCalculator.shortTxId(transaction.getHash()), transaction);
+        }
+    }
+
+    private void removeShortId(Transaction transaction) {
+        // another transaction can have the same short id, so only the entry of this one is removed
+        if (this.shortTxIdCalculator != null) {
+            this.transactionsByShortId.remove(this.shortTxIdCalculator.shortTxId(transaction.getHash()), transaction);
+        }
+    }
+
     public List<Transaction> getTransactions() {
         return transactionsByHash.values().stream()
                 .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
@@ -20,11 +20,9 @@
 package org.ethereum.crypto;
 
 import co.rsk.core.RskAddress;
-import co.rsk.core.types.bytes.Bytes;
 import co.rsk.core.types.bytes.BytesSlice;
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.digests.RIPEMD160Digest;
-import org.ethereum.crypto.cryptohash.Keccak256;
 import org.ethereum.util.ByteUtil;
 import org.ethereum.util.RLP;
 
@@ -61,13 +59,11 @@ public class HashUtil {
     }
 
     public static byte[] keccak256(byte[] input) {
-        return keccak256(Bytes.of(input));
+        return Keccak256Hasher.hash(input);
     }
 
     public static byte[] keccak256(BytesSlice input) {
-        Keccak256 digest =  new Keccak256();
-        digest.update(input);
-        return digest.digest();
+        return Keccak256Hasher.hash(input);
     }
 
     /**
@@ -143,8 +139,7 @@ public class HashUtil {
         currentOffset += senderAddress.getBytes().length;
         System.arraycopy(salt, 0, data, currentOffset, salt.length);
         currentOffset += salt.length;
-        byte[] keccak256InitCode = keccak256(initCode);
-        System.arraycopy(keccak256InitCode, 0, data, currentOffset, keccak256InitCode.length);
+        Keccak256Hasher.hashInto(initCode, data, currentOffset);
 
         return keccak256Omit12(data);
     }
@@ -0,0 +1,358 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.crypto;
+
+import co.rsk.core.types.bytes.BytesSlice;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reusable Keccak-256 hasher, with the Keccak-f[1600] permutation kept in local variables.
+ * <p>
+ * An instance holds its sponge state between {@link #update} calls and is reset by every digest, so it can be
+ * reused for any number of messages without allocating. Instances are not thread safe; the static helpers use one
+ * instance per thread and never hand it out, so they can be called from anywhere, including while another
+ * hasher is in use.
+ */
+public final class Keccak256Hasher {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final int RATE = 136;
+    private static final int RATE_LANES = RATE / 8;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long[] RC = {
+            0x0000000000000001L, 0x0000000000008082L, 0x800000000000808AL, 0x8000000080008000L,
+            0x000000000000808BL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+            0x000000000000008AL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000AL,
+            0x000000008000808BL, 0x800000000000008BL, 0x8000000000008089L, 0x8000000000008003L,
+            0x8000000000008002L, 0x8000000000000080L, 0x000000000000800AL, 0x800000008000000AL,
+            0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+    };
+
+    private static final ThreadLocal<Keccak256Hasher> THREAD_HASHER = ThreadLocal.withInitial(Keccak256Hasher::new);
+
+    private final long[] state = new long[25];
+    private final byte[] buffer = new byte[RATE];
+    private int buffered;
+
+    /**
+     * Hashes {@code input} with this thread's hasher
+     */
+    public static byte[] hash(byte[] input) {
+        return hash(input, 0, input.length);
+    }
+
+    public static byte[] hash(byte[] input, int offset, int length) {
+        byte[] out = new byte[DIGEST_LENGTH];
+        hashInto(input, offset, length, out, 0);
+        return out;
+    }
+
+    public static byte[] hash(BytesSlice input) {
+        byte[] out = new byte[DIGEST_LENGTH];
+        threadHasher().update(input).digestInto(out, 0);
+        return out;
+    }
+
+    /**
+     * Hashes the concatenation of {@code first} and {@code second}
+     */
+    public static byte[] hash(byte[] first, byte[] second) {
+        byte[] out = new byte[DIGEST_LENGTH];
+        threadHasher().update(first, 0, first.length).update(second, 0, second.length).digestInto(out, 0);
+        return out;
+    }
+
+    /**
+     * Writes the hash of {@code input[offset, offset + length)} into {@code out[outOffset, outOffset + 32)}
+     */
+    public static void hashInto(byte[] input, int offset, int length, byte[] out, int outOffset) {
+        threadHasher().update(input, offset, length).digestInto(out, outOffset);
+    }
+
+    public static void hashInto(BytesSlice input, byte[] out, int outOffset) {
+        threadHasher().update(input).digestInto(out, outOffset);
+    }
+
+    /**
+     * Hashes many independent messages, such as trie nodes, with a single hasher
+     *
+     * @return the hashes, in the same order as the messages
+     */
+    public static byte[][] hashAll(List<byte[]> messages) {
+        Keccak256Hasher hasher = threadHasher();
+        byte[][] hashes = new byte[messages.size()][];
+        int i = 0;
+        for (byte[] message : messages) {
+            byte[] out = new byte[DIGEST_LENGTH];
+            hasher.update(message, 0, message.length).digestInto(out, 0);
+            hashes[i++] = out;
+        }
+        return hashes;
+    }
+
+    /**
+     * Hashes many independent messages, writing their hashes one after the other into {@code out} starting at
+     * {@code outOffset}
+     */
+    public static void hashAllInto(List<byte[]> messages, byte[] out, int outOffset) {
+        Objects.checkFromIndexSize(outOffset, messages.size() * DIGEST_LENGTH, out.length);
+        Keccak256Hasher hasher = threadHasher();
+        for (byte[] message : messages) {
+            hasher.update(message, 0, message.length).digestInto(out, outOffset);
+            outOffset += DIGEST_LENGTH;
+        }
+    }
+
+    private static Keccak256Hasher threadHasher() {
+        // a digest always leaves the hasher reset, but an update that failed halfway may not have
+        return THREAD_HASHER.get().reset();
+    }
+
+    public Keccak256Hasher reset() {
+        Arrays.fill(state, 0);
+        buffered = 0;
+        return this;
+    }
+
+    public Keccak256Hasher update(byte[] input, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, input.length);
+
+        if (buffered > 0) {
+            int copied = Math.min(length, RATE - buffered);
+            System.arraycopy(input, offset, buffer, buffered, copied);
+            buffered += copied;
+            offset += copied;
+            length -= copied;
+            if (buffered < RATE) {
+                return this;
+            }
+            absorb(buffer, 0);
+            buffered = 0;
+        }
+
+        // full blocks are absorbed straight from the input
+        while (length >= RATE) {
+            absorb(input, offset);
+            offset += RATE;
+            length -= RATE;
+        }
+
+        System.arraycopy(input, offset, buffer, 0, length);
+        buffered = length;
+        return this;
+    }
+
+    public Keccak256Hasher update(BytesSlice input) {
+        int offset = 0;
+        int length = input.length();
+        while (length > 0) {
+            int copied = Math.min(length, RATE - buffered);
+            input.arraycopy(offset, buffer, buffered, copied);
+            buffered += copied;
+            offset += copied;
+            length -= copied;
+            if (buffered == RATE) {
+                absorb(buffer, 0);
+                buffered = 0;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Finishes the message, writes its 32 bytes hash into {@code out} at {@code offset} and resets the hasher
+     */
+    public void digestInto(byte[] out, int offset) {
+        Objects.checkFromIndexSize(offset, DIGEST_LENGTH, out.length);
+
+        // original Keccak padding, not the SHA-3 one
+        Arrays.fill(buffer, buffered, RATE, (byte) 0);
+        buffer[buffered] = 0x01;
+        buffer[RATE - 1] |= (byte) 0x80;
+        absorb(buffer, 0);
+
+        for (int i = 0; i < DIGEST_LENGTH / 8; i++) {
+            LONG_LE.set(out, offset + i * 8, state[i]);
+        }
+
+        reset();
+    }
+
+    public byte[] digest() {
+        byte[] out = new byte[DIGEST_LENGTH];
+        digestInto(out, 0);
+        return out;
+    }
+
+    private void absorb(byte[] block, int offset) {
+        for (int i = 0; i < RATE_LANES; i++) {
+            state[i] ^= (long) LONG_LE.get(block, offset + i * 8);
+        }
+        permute(state);
+    }
+
+    private static void permute(long[] state) {
+        long a00 = state[0];
+        long a01 = state[1];
+        long a02 = state[2];
+        long a03 = state[3];
+        long a04 = state[4];
+        long a05 = state[5];
+        long a06 = state[6];
+        long a07 = state[7];
+        long a08 = state[8];
+        long a09 = state[9];
+        long a10 = state[10];
+        long a11 = state[11];
+        long a12 = state[12];
+        long a13 = state[13];
+        long a14 = state[14];
+        long a15 = state[15];
+        long a16 = state[16];
+        long a17 = state[17];
+        long a18 = state[18];
+        long a19 = state[19];
+        long a20 = state[20];
+        long a21 = state[21];
+        long a22 = state[22];
+        long a23 = state[23];
+        long a24 = state[24];
+
+        for (int round = 0; round < 24; round++) {
+            // theta
+            long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+            long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+            long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+            long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+            long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+            long d0 = c4 ^ ((c1 << 1) | (c1 >>> 63));
+            long d1 = c0 ^ ((c2 << 1) | (c2 >>> 63));
+            long d2 = c1 ^ ((c3 << 1) | (c3 >>> 63));
+            long d3 = c2 ^ ((c4 << 1) | (c4 >>> 63));
+            long d4 = c3 ^ ((c0 << 1) | (c0 >>> 63));
+            a00 ^= d0; a01 ^= d1; a02 ^= d2; a03 ^= d3; a04 ^= d4;
+            a05 ^= d0; a06 ^= d1; a07 ^= d2; a08 ^= d3; a09 ^= d4;
+            a10 ^= d0; a11 ^= d1; a12 ^= d2; a13 ^= d3; a14 ^= d4;
+            a15 ^= d0; a16 ^= d1; a17 ^= d2; a18 ^= d3; a19 ^= d4;
+            a20 ^= d0; a21 ^= d1; a22 ^= d2; a23 ^= d3; a24 ^= d4;
+
+            // rho and pi, following the lane permutation cycle from a01
+            long t = (a01 << 1) | (a01 >>> 63);
+            a01 = (a06 << 44) | (a06 >>> 20);
+            a06 = (a09 << 20) | (a09 >>> 44);
+            a09 = (a22 << 61) | (a22 >>> 3);
+            a22 = (a14 << 39) | (a14 >>> 25);
+            a14 = (a20 << 18) | (a20 >>> 46);
+            a20 = (a02 << 62) | (a02 >>> 2);
+            a02 = (a12 << 43) | (a12 >>> 21);
+            a12 = (a13 << 25) | (a13 >>> 39);
+            a13 = (a19 << 8) | (a19 >>> 56);
+            a19 = (a23 << 56) | (a23 >>> 8);
+            a23 = (a15 << 41) | (a15 >>> 23);
+            a15 = (a04 << 27) | (a04 >>> 37);
+            a04 = (a24 << 14) | (a24 >>> 50);
+            a24 = (a21 << 2) | (a21 >>> 62);
+            a21 = (a08 << 55) | (a08 >>> 9);
+            a08 = (a16 << 45) | (a16 >>> 19);
+            a16 = (a05 << 36) | (a05 >>> 28);
+            a05 = (a03 << 28) | (a03 >>> 36);
+            a03 = (a18 << 21) | (a18 >>> 43);
+            a18 = (a17 << 15) | (a17 >>> 49);
+            a17 = (a11 << 10) | (a11 >>> 54);
+            a11 = (a07 << 6) | (a07 >>> 58);
+            a07 = (a10 << 3) | (a10 >>> 61);
+            a10 = t;
+
+            // chi
+            c0 = a00 ^ (~a01 & a02);
+            c1 = a01 ^ (~a02 & a03);
+            a02 ^= ~a03 & a04;
+            a03 ^= ~a04 & a00;
+            a04 ^= ~a00 & a01;
+            a00 = c0;
+            a01 = c1;
+            c0 = a05 ^ (~a06 & a07);
+            c1 = a06 ^ (~a07 & a08);
+            a07 ^= ~a08 & a09;
+            a08 ^= ~a09 & a05;
+            a09 ^= ~a05 & a06;
+            a05 = c0;
+            a06 = c1;
+            c0 = a10 ^ (~a11 & a12);
+            c1 = a11 ^ (~a12 & a13);
+            a12 ^= ~a13 & a14;
+            a13 ^= ~a14 & a10;
+            a14 ^= ~a10 & a11;
+            a10 = c0;
+            a11 = c1;
+            c0 = a15 ^ (~a16 & a17);
+            c1 = a16 ^ (~a17 & a18);
+            a17 ^= ~a18 & a19;
+            a18 ^= ~a19 & a15;
+            a19 ^= ~a15 & a16;
+            a15 = c0;
+            a16 = c1;
+            c0 = a20 ^ (~a21 & a22);
+            c1 = a21 ^ (~a22 & a23);
+            a22 ^= ~a23 & a24;
+            a23 ^= ~a24 & a20;
+            a24 ^= ~a20 & a21;
+            a20 = c0;
+            a21 = c1;
+
+            // iota
+            a00 ^= RC[round];
+        }
+
+        state[0] = a00;
+        state[1] = a01;
+        state[2] = a02;
+        state[3] = a03;
+        state[4] = a04;
+        state[5] = a05;
+        state[6] = a06;
+        state[7] = a07;
+        state[8] = a08;
+        state[9] = a09;
+        state[10] = a10;
+        state[11] = a11;
+        state[12] = a12;
+        state[13] = a13;
+        state[14] = a14;
+        state[15] = a15;
+        state[16] = a16;
+        state[17] = a17;
+        state[18] = a18;
+        state[19] = a19;
+        state[20] = a20;
+        state[21] = a21;
+        state[22] = a22;
+        state[23] = a23;
+        state[24] = a24;
+    }
+}
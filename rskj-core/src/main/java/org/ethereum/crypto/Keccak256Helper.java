@@ -31,19 +31,22 @@ public class Keccak256Helper {
     public static final int DEFAULT_SIZE_BYTES = DEFAULT_SIZE / 8;
 
     public static String keccak256String(String message) {
-        return keccak256String(message, new KeccakDigest(DEFAULT_SIZE), true);
+        if (message != null) {
+            return keccak256String(Hex.decode(message));
+        }
+        throw new NullPointerException("Can't hash a NULL value");
     }
 
     public static String keccak256String(byte[] message) {
-        return keccak256String(message, new KeccakDigest(DEFAULT_SIZE), true);
+        return ByteUtil.toHexString(Keccak256Hasher.hash(message));
     }
 
     public static byte[] keccak256(String message) {
-        return keccak256(Hex.decode(message), new KeccakDigest(DEFAULT_SIZE), true);
+        return Keccak256Hasher.hash(Hex.decode(message));
     }
 
     public static byte[] keccak256(byte[] message) {
-        return keccak256(message, new KeccakDigest(DEFAULT_SIZE), true);
+        return Keccak256Hasher.hash(message);
     }
 
     public static byte[] keccak256(byte[] message, Size sz) {
@@ -51,11 +54,14 @@ public class Keccak256Helper {
     }
 
     public static byte[] keccak256(byte[] m1, byte[] m2) {
-        return keccak256(m1, m2, new KeccakDigest(DEFAULT_SIZE), true);
+        return Keccak256Hasher.hash(m1, m2);
     }
 
     public static byte[] keccak256(byte[] message, int start, int length) {
-        return keccak256(message, start, length, new KeccakDigest(DEFAULT_SIZE), true);
+        if (message.length == 0) {
+            return Keccak256Hasher.hash(message);
+        }
+        return Keccak256Hasher.hash(message, start, length);
     }
 
     protected static String keccak256String(String message, Size bitSize) {
@@ -99,20 +105,6 @@ public class Keccak256Helper {
         return doKeccak256(message, digest, bouncyencoder);
     }
 
-    private static byte[] keccak256(byte[] m1, byte[] m2, KeccakDigest digest, boolean bouncyencoder) {
-        return doKeccak256(m1, m2, digest, bouncyencoder);
-    }
-
-    private static byte[] keccak256(byte[] message, int start, int length, KeccakDigest digest, boolean bouncyencoder) {
-        byte[] hash = new byte[digest.getDigestSize()];
-
-        if (message.length != 0) {
-            digest.update(message, start, length);
-        }
-        digest.doFinal(hash, 0);
-        return hash;
-    }
-
 
     private static byte[] doKeccak256(byte[] message, KeccakDigest digest, boolean bouncyencoder) {
         byte[] hash = new byte[digest.getDigestSize()];
@@ -124,15 +116,6 @@ public class Keccak256Helper {
         return hash;
     }
 
-    private static byte[] doKeccak256(byte[] m1, byte[] m2, KeccakDigest digest, boolean bouncyencoder) {
-        byte[] hash = new byte[digest.getDigestSize()];
-        digest.update(m1, 0, m1.length);
-        digest.update(m2, 0, m2.length);
-
-        digest.doFinal(hash, 0);
-        return hash;
-    }
-
     public enum Size {
 
         S224(224),
@@ -20,10 +20,13 @@
 package org.ethereum.datasource;
 
 import org.ethereum.db.ByteArrayWrapper;
+import org.ethereum.util.ByteUtil;
 
 import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public interface KeyValueDataSource extends DataSource {
 
@@ -43,6 +46,18 @@ public interface KeyValueDataSource extends DataSource {
 
     DataSourceKeyIterator keyIterator();
 
+    /**
+     * Iterates the keys starting with the given prefix. This default implementation goes through all the keys,
+     * data sources keeping their keys sorted seek to the prefix instead.
+     */
+    default DataSourceKeyIterator keyIterator(byte[] prefix) {
+        List<ByteArrayWrapper> keys = keys().stream()
+                .filter(key -> ByteUtil.startsWith(key.getData(), prefix))
+                .collect(Collectors.toList());
+
+        return new DefaultKeyIterator(keys);
+    }
+
     /**
      * Note that updateBatch() does not imply the operation is atomic:
      * if somethings breaks, it's possible that some keys get written and some
@@ -231,6 +231,11 @@ public class LevelDbDataSource implements KeyValueDataSource {
         return new LevelDbKeyIterator(this.db);
     }
 
+    @Override
+    public DataSourceKeyIterator keyIterator(byte[] prefix) {
+        return new LevelDbKeyIterator(this.db, prefix);
+    }
+
     @Override
     public Set<ByteArrayWrapper> keys() {
         Metric metric = profiler.start(MetricKind.DB_READ);
@@ -18,17 +18,31 @@
  */
 package org.ethereum.datasource;
 
+import org.ethereum.util.ByteUtil;
 import org.iq80.leveldb.DB;
 import org.iq80.leveldb.DBIterator;
 
+import javax.annotation.Nullable;
 import java.util.NoSuchElementException;
 
 public class LevelDbKeyIterator implements DataSourceKeyIterator {
     private final DBIterator iterator;
+    @Nullable
+    private final byte[] prefix;
 
     public LevelDbKeyIterator(DB db) {
         this.iterator = db.iterator();
         this.iterator.seekToFirst();
+        this.prefix = null;
+    }
+
+    /**
+     * Iterates the keys starting with the given prefix, which are next to each other since keys are sorted
+     */
+    public LevelDbKeyIterator(DB db, byte[] prefix) {
+        this.iterator = db.iterator();
+        this.iterator.seek(prefix);
+        this.prefix = prefix;
     }
 
     @Override
@@ -38,11 +52,15 @@ public class LevelDbKeyIterator implements DataSourceKeyIterator {
 
     @Override
     public boolean hasNext() {
-        return this.iterator.hasNext();
+        return this.iterator.hasNext() && (prefix == null || ByteUtil.startsWith(this.iterator.peekNext().getKey(), prefix));
     }
 
     @Override
     public byte[] next() throws NoSuchElementException {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
         return this.iterator.next().getKey();
     }
 }
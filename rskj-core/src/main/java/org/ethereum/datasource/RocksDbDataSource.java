@@ -243,6 +243,11 @@ public class RocksDbDataSource implements KeyValueDataSource {
         return new RocksDbKeyIterator(this.db);
     }
 
+    @Override
+    public DataSourceKeyIterator keyIterator(byte[] prefix) {
+        return new RocksDbKeyIterator(this.db, prefix);
+    }
+
     @Override
     public Set<ByteArrayWrapper> keys() {
         if (logger.isTraceEnabled()) {
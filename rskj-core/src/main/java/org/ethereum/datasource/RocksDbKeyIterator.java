@@ -18,17 +18,31 @@
  */
 package org.ethereum.datasource;
 
+import org.ethereum.util.ByteUtil;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksIterator;
 
+import javax.annotation.Nullable;
 import java.util.NoSuchElementException;
 
 public class RocksDbKeyIterator implements DataSourceKeyIterator {
     private final RocksIterator iterator;
+    @Nullable
+    private final byte[] prefix;
 
     public RocksDbKeyIterator(RocksDB db) {
         this.iterator = db.newIterator();
         this.iterator.seekToFirst();
+        this.prefix = null;
+    }
+
+    /**
+     * Iterates the keys starting with the given prefix, which are next to each other since keys are sorted
+     */
+    public RocksDbKeyIterator(RocksDB db, byte[] prefix) {
+        this.iterator = db.newIterator();
+        this.iterator.seek(prefix);
+        this.prefix = prefix;
     }
 
     @Override
@@ -38,7 +52,7 @@ public class RocksDbKeyIterator implements DataSourceKeyIterator {
 
     @Override
     public boolean hasNext() {
-        return this.iterator.isValid();
+        return this.iterator.isValid() && (prefix == null || ByteUtil.startsWith(this.iterator.key(), prefix));
     }
 
     @Override
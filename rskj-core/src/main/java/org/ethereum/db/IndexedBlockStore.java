@@ -22,6 +22,7 @@ package org.ethereum.db;
 import co.rsk.core.BlockDifficulty;
 import co.rsk.crypto.Keccak256;
 import co.rsk.db.BlocksIndex;
+import co.rsk.db.RemascSiblingIndex;
 import co.rsk.metrics.profilers.Metric;
 import co.rsk.metrics.profilers.MetricKind;
 import co.rsk.metrics.profilers.Profiler;
@@ -32,7 +33,6 @@ import co.rsk.util.MaxSizeHashMap;
 import com.google.common.annotations.VisibleForTesting;
 import org.ethereum.core.Block;
 import org.ethereum.core.BlockFactory;
-import org.ethereum.core.BlockHeader;
 import org.ethereum.core.Bloom;
 import org.ethereum.datasource.KeyValueDataSource;
 import org.mapdb.DataIO;
@@ -41,10 +41,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.*;
 import java.math.BigInteger;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static co.rsk.core.BlockDifficulty.ZERO;
 
@@ -59,14 +59,25 @@ public class IndexedBlockStore implements BlockStore {
     private final BlocksIndex index;
     private final KeyValueDataSource blocks;
     private final BlockFactory blockFactory;
+    @Nullable
+    private final RemascSiblingIndex siblingIndex;
 
     public IndexedBlockStore(
             BlockFactory blockFactory,
             KeyValueDataSource blocks,
             BlocksIndex index) {
+        this(blockFactory, blocks, index, null);
+    }
+
+    public IndexedBlockStore(
+            BlockFactory blockFactory,
+            KeyValueDataSource blocks,
+            BlocksIndex index,
+            @Nullable RemascSiblingIndex siblingIndex) {
         this.index = index;
         this.blocks = blocks;
         this.blockFactory = blockFactory;
+        this.siblingIndex = siblingIndex;
         //TODO(lsebrie): move these maps creation outside blockstore,
         // remascCache should be an external component and not be inside blockstore
         this.blockCache = new BlockCache(5000);
@@ -77,6 +88,9 @@ public class IndexedBlockStore implements BlockStore {
     public synchronized void removeBlock(Block block) {
         this.blockCache.removeBlock(block);
         this.remascCache.remove(block.getHash());
+        if (siblingIndex != null) {
+            siblingIndex.removeBlock(block.getHash());
+        }
         this.blocks.delete(block.getHash().getBytes());
         this.index.removeBlock(block.getNumber(), block.getHash());
     }
@@ -175,6 +189,9 @@ public class IndexedBlockStore implements BlockStore {
         Metric metric = profiler.start(MetricKind.DB_WRITE);
         index.flush();
         blocks.flush();
+        if (siblingIndex != null) {
+            siblingIndex.flush();
+        }
         profiler.stop(metric);
     }
 
@@ -183,6 +200,9 @@ public class IndexedBlockStore implements BlockStore {
 
         index.close();
         blocks.close();
+        if (siblingIndex != null) {
+            siblingIndex.close();
+        }
     }
 
     @Override
@@ -217,7 +237,7 @@ public class IndexedBlockStore implements BlockStore {
 
         index.putBlocks(block.getNumber(), blockInfos);
         blockCache.addBlock(block);
-        remascCache.put(block.getHash(), getSiblingsFromBlock(block));
+        remascCache.put(block.getHash(), siblingIndex != null ? siblingIndex.addBlock(block) : RemascSiblingIndex.getSiblingsFromBlock(block));
     }
 
     @Override
@@ -266,7 +286,7 @@ public class IndexedBlockStore implements BlockStore {
         }
 
         blockCache.addBlock(block);
-        remascCache.put(block.getHash(), getSiblingsFromBlock(block));
+        remascCache.computeIfAbsent(block.getHash(), key -> RemascSiblingIndex.getSiblingsFromBlock(block));
         return block;
     }
 
@@ -287,7 +307,21 @@ public class IndexedBlockStore implements BlockStore {
 
     @Override
     public synchronized Map<Long, List<Sibling>> getSiblingsFromBlockByHash(Keccak256 hash) {
-        return this.remascCache.computeIfAbsent(hash, key -> getSiblingsFromBlock(getBlock(key.getBytes())));
+        return this.remascCache.computeIfAbsent(hash, this::loadSiblings);
+    }
+
+    private Map<Long, List<Sibling>> loadSiblings(Keccak256 hash) {
+        if (siblingIndex == null) {
+            return RemascSiblingIndex.getSiblingsFromBlock(getBlock(hash.getBytes()));
+        }
+
+        Map<Long, List<Sibling>> siblings = siblingIndex.getSiblings(hash);
+        if (siblings != null) {
+            return siblings;
+        }
+
+        // blocks saved before the index existed are indexed the first time they're needed
+        return siblingIndex.addBlock(getBlock(hash.getBytes()));
     }
 
     @Override
@@ -514,32 +548,15 @@ public class IndexedBlockStore implements BlockStore {
 
             for (BlockInfo blockInfo : blockInfos) {
                 this.blocks.delete(blockInfo.getHash().getBytes());
+                if (siblingIndex != null) {
+                    siblingIndex.removeBlock(blockInfo.getHash());
+                }
             }
         }
 
         flush();
     }
 
-    /**
-     * When a block is processed on remasc the contract needs to calculate all siblings that
-     * that should be rewarded when fees on this block are paid
-     *
-     * @param block the block is looked for siblings
-     * @return
-     */
-    private Map<Long, List<Sibling>> getSiblingsFromBlock(Block block) {
-        return block.getUncleList().stream()
-                .collect(
-                        Collectors.groupingBy(
-                                BlockHeader::getNumber,
-                                Collectors.mapping(
-                                        header -> new Sibling(header, block.getCoinbase(), block.getNumber()),
-                                        Collectors.toList()
-                                )
-                        )
-                );
-    }
-
 
     public static class BlockInfo implements Serializable {
         private static final long serialVersionUID = 5906746360128478753L;
@@ -30,6 +30,12 @@ public class Capability implements Comparable<Capability> {
     public static final String RSK = "rsk";
     public static final String SNAP = "snap";
     public static final byte SNAP_VERSION = (byte) 1;
+    public static final String COMPRESSION = "cmp";
+    public static final byte COMPRESSION_VERSION = (byte) 1;
+    public static final String COMPACT_BLOCKS = "cblk";
+    public static final byte COMPACT_BLOCKS_VERSION = (byte) 1;
+    public static final String TX_ANNOUNCEMENTS = "txa";
+    public static final byte TX_ANNOUNCEMENTS_VERSION = (byte) 1;
 
     private final String name;
     private final byte version;
@@ -55,6 +61,18 @@ public class Capability implements Comparable<Capability> {
         return SNAP.equals(name);
     }
 
+    public boolean isCompression() {
+        return COMPRESSION.equals(name);
+    }
+
+    public boolean isCompactBlocks() {
+        return COMPACT_BLOCKS.equals(name);
+    }
+
+    public boolean isTxAnnouncements() {
+        return TX_ANNOUNCEMENTS.equals(name);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
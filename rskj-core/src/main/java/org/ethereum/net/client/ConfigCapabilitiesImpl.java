@@ -85,6 +85,15 @@ public class ConfigCapabilitiesImpl implements ConfigCapabilities{
         if (config.isClientSnapshotSyncEnabled()) {
             configCaps.add(new Capability(Capability.SNAP, Capability.SNAP_VERSION));
         }
+        if (config.peerCompressionEnabled()) {
+            configCaps.add(new Capability(Capability.COMPRESSION, Capability.COMPRESSION_VERSION));
+        }
+        if (config.peerCompactBlocksEnabled()) {
+            configCaps.add(new Capability(Capability.COMPACT_BLOCKS, Capability.COMPACT_BLOCKS_VERSION));
+        }
+        if (config.peerTxAnnouncementsEnabled()) {
+            configCaps.add(new Capability(Capability.TX_ANNOUNCEMENTS, Capability.TX_ANNOUNCEMENTS_VERSION));
+        }
 
         List<Capability> supported = new ArrayList<>();
 
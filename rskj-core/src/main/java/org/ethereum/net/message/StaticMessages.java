@@ -61,6 +61,15 @@ public class StaticMessages {
         if (config.isServerSnapshotSyncEnabled()) {
             capabilities.add(new Capability(Capability.SNAP, Capability.SNAP_VERSION));
         }
+        if (config.peerCompressionEnabled()) {
+            capabilities.add(new Capability(Capability.COMPRESSION, Capability.COMPRESSION_VERSION));
+        }
+        if (config.peerCompactBlocksEnabled()) {
+            capabilities.add(new Capability(Capability.COMPACT_BLOCKS, Capability.COMPACT_BLOCKS_VERSION));
+        }
+        if (config.peerTxAnnouncementsEnabled()) {
+            capabilities.add(new Capability(Capability.TX_ANNOUNCEMENTS, Capability.TX_ANNOUNCEMENTS_VERSION));
+        }
 
         return new HelloMessage(p2pVersion, helloAnnouncement,
                 capabilities, listenPort, peerId);
@@ -21,7 +21,9 @@ package org.ethereum.net.rlpx;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
 import org.bouncycastle.crypto.StreamCipher;
 import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.crypto.engines.AESEngine;
@@ -41,6 +43,8 @@ import static org.ethereum.util.RLP.decode2OneItem;
  * Created by devrandom on 2015-04-11.
  */
 public class FrameCodec {
+    private static final int SCRATCH_SIZE = 4096;
+
     private final StreamCipher enc;
     private final StreamCipher dec;
     private final KeccakDigest egressMac;
@@ -73,22 +77,24 @@ public class FrameCodec {
     public static class Frame {
         long type;
         int size;
-        InputStream payload;
+        ByteBuf payload;
 
         int totalFrameSize = -1;
         int contextId = -1;
 
 
-        public Frame(long type, int size, InputStream payload) {
+        public Frame(long type, ByteBuf payload) {
             this.type = type;
-            this.size = size;
+            this.size = payload.readableBytes();
             this.payload = payload;
         }
 
+        public Frame(long type, int size, InputStream payload) {
+            this(type, readPayload(payload, size));
+        }
+
         public Frame(int type, byte[] payload) {
-            this.type = type;
-            this.size = payload.length;
-            this.payload = new ByteArrayInputStream(payload);
+            this(type, Unpooled.wrappedBuffer(payload));
         }
 
         public int getSize() {
@@ -97,22 +103,68 @@ public class FrameCodec {
 
         public long getType() {return  type;}
 
-        public InputStream getStream() {
+        /**
+         * The frame payload. When the frame was read from the wire this is a slice of the
+         * decrypted inbound buffer, so whoever consumes the frame must {@link #release()} it.
+         */
+        public ByteBuf getPayload() {
             return payload;
         }
+
+        public InputStream getStream() {
+            return new ByteBufInputStream(payload.duplicate());
+        }
+
+        public byte[] getPayloadBytes() {
+            return ByteBufUtil.getBytes(payload);
+        }
+
         public boolean isChunked() {
             return contextId >= 0;
         }
 
-    }
+        public void release() {
+            ReferenceCountUtil.safeRelease(payload);
+        }
 
-    public void writeFrame(Frame frame, ByteBuf buf) throws IOException {
-        try (ByteBufOutputStream bos = new ByteBufOutputStream(buf)) {
-            writeFrame(frame, bos);
+        private static ByteBuf readPayload(InputStream in, int size) {
+            ByteBuf buf = Unpooled.buffer(size, size);
+            try {
+                while (buf.isWritable() && buf.writeBytes(in, buf.writableBytes()) > 0) {
+                    // keep reading until size bytes are available or the stream ends
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buf;
         }
     }
 
     public void writeFrame(Frame frame, OutputStream out) throws IOException {
+        ByteBuf buf = Unpooled.buffer(frame.size + 64);
+        try {
+            writeFrame(frame, buf);
+            buf.readBytes(out, buf.readableBytes());
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Encrypts and MACs the frame straight into {@code out}. The payload is consumed from its
+     * backing array (or through a small scratch buffer when it is not array-backed) and the
+     * cipher writes directly into the destination buffer, so no intermediate copies are made.
+     * The frame payload is released once written.
+     */
+    public void writeFrame(Frame frame, ByteBuf out) throws IOException {
+        try {
+            doWriteFrame(frame, out);
+        } finally {
+            frame.release();
+        }
+    }
+
+    private void doWriteFrame(Frame frame, ByteBuf out) throws IOException {
         byte[] headBuffer = new byte[32];
         byte[] ptype = RLP.encodeInt((int) frame.type); // FIXME encodeLong
         int totalSize = frame.size + ptype.length;
@@ -137,37 +189,115 @@ public class FrameCodec {
         // Header MAC
         updateMac(egressMac, headBuffer, 0, headBuffer, 16, true);
 
-        byte[] buff = new byte[256];
-        out.write(headBuffer);
-        enc.processBytes(ptype, 0, ptype.length, buff, 0);
-        out.write(buff, 0, ptype.length);
-        egressMac.update(buff, 0, ptype.length);
-        while (true) {
-            int n = frame.payload.read(buff);
-            if (n <= 0) {
-                break;
+        int padding = 16 - (totalSize % 16);
+        if (padding == 16) {
+            padding = 0;
+        }
+        out.ensureWritable(headBuffer.length + totalSize + padding + 16);
+        out.writeBytes(headBuffer);
+
+        encryptInto(ptype, 0, ptype.length, out);
+
+        ByteBuf payload = frame.payload;
+        if (payload.hasArray()) {
+            encryptInto(payload.array(), payload.arrayOffset() + payload.readerIndex(), payload.readableBytes(), out);
+        } else {
+            byte[] buff = new byte[Math.min(payload.readableBytes(), SCRATCH_SIZE)];
+            int index = payload.readerIndex();
+            int end = payload.writerIndex();
+            while (index < end) {
+                int n = Math.min(buff.length, end - index);
+                payload.getBytes(index, buff, 0, n);
+                encryptInto(buff, 0, n, out);
+                index += n;
             }
-            enc.processBytes(buff, 0, n, buff, 0);
-            egressMac.update(buff, 0, n);
-            out.write(buff, 0, n);
         }
-        int padding = 16 - (totalSize % 16);
-        byte[] pad = new byte[16];
-        if (padding < 16) {
-            enc.processBytes(pad, 0, padding, buff, 0);
-            egressMac.update(buff, 0, padding);
-            out.write(buff, 0, padding);
+
+        if (padding > 0) {
+            encryptInto(new byte[padding], 0, padding, out);
         }
 
         // Frame MAC
         byte[] macBuffer = new byte[egressMac.getDigestSize()];
         doSum(egressMac, macBuffer); // fmacseed
         updateMac(egressMac, macBuffer, 0, macBuffer, 0, true);
-        out.write(macBuffer, 0, 16);
+        out.writeBytes(macBuffer, 0, 16);
     }
 
+    /**
+     * Encrypts {@code length} bytes of {@code in} directly into the writable region of {@code out}
+     * and feeds the ciphertext to the egress MAC.
+     */
+    private void encryptInto(byte[] in, int offset, int length, ByteBuf out) {
+        if (out.hasArray()) {
+            byte[] dst = out.array();
+            int dstOffset = out.arrayOffset() + out.writerIndex();
+            enc.processBytes(in, offset, length, dst, dstOffset);
+            egressMac.update(dst, dstOffset, length);
+            out.writerIndex(out.writerIndex() + length);
+        } else {
+            byte[] cipherText = new byte[length];
+            enc.processBytes(in, offset, length, cipherText, 0);
+            egressMac.update(cipherText, 0, length);
+            out.writeBytes(cipherText);
+        }
+    }
+
+    /**
+     * Reads as many frames as are fully available in {@code buf}. The frame body is MAC-checked and
+     * decrypted in place and the returned frame payload is a retained slice of {@code buf}, which
+     * must be released by the consumer of the frame.
+     */
     public List<Frame> readFrames(ByteBuf buf) throws IOException {
-        return readFrames(new ByteBufInputStream(buf));
+        if (!isHeadRead) {
+            if (buf.readableBytes() < 32) {
+                return null;
+            }
+            byte[] headBuffer = new byte[32];
+            buf.readBytes(headBuffer);
+            if (!readHeader(headBuffer)) {
+                return null;
+            }
+        }
+
+        int padding = 16 - (totalBodySize % 16);
+        if (padding == 16) {
+            padding = 0;
+        }
+        int macSize = 16;
+        int frameSize = totalBodySize + padding;
+        if (buf.readableBytes() < frameSize + macSize) {
+            return null;
+        }
+
+        ByteBuf body;
+        if (buf.hasArray()) {
+            body = buf.readRetainedSlice(frameSize);
+        } else {
+            body = buf.alloc().heapBuffer(frameSize, frameSize);
+            buf.readBytes(body, frameSize);
+        }
+
+        byte[] frameMac = new byte[macSize];
+        buf.readBytes(frameMac);
+
+        try {
+            byte[] array = body.array();
+            int offset = body.arrayOffset() + body.readerIndex();
+            ingressMac.update(array, offset, frameSize);
+            dec.processBytes(array, offset, frameSize, array, offset);
+
+            byte[] macBuffer = new byte[ingressMac.getDigestSize()];
+
+            // Frame MAC
+            doSum(ingressMac, macBuffer); // fmacseed
+            updateMac(ingressMac, macBuffer, 0, frameMac, 0, false);
+
+            return Collections.singletonList(newFrame(array, offset, body));
+        } catch (IOException | RuntimeException e) {
+            body.release();
+            throw e;
+        }
     }
 
     public List<Frame> readFrames(DataInput inp) throws IOException {
@@ -179,23 +309,9 @@ public class FrameCodec {
                 return null;
             }
 
-            // Header MAC
-            updateMac(ingressMac, headBuffer, 0, headBuffer, 16, false);
-
-            dec.processBytes(headBuffer, 0, 16, headBuffer, 0);
-            totalBodySize = headBuffer[0];
-            totalBodySize = (totalBodySize << 8) + (headBuffer[1] & 0xFF);
-            totalBodySize = (totalBodySize << 8) + (headBuffer[2] & 0xFF);
-
-            if (totalBodySize < 0) {
+            if (!readHeader(headBuffer)) {
                 return null;
             }
-
-            decode2OneItem(headBuffer, 3);
-
-            contextId = -1;
-            totalFrameSize = -1;
-            isHeadRead = true;
         }
 
         int padding = 16 - (totalBodySize % 16);
@@ -212,22 +328,49 @@ public class FrameCodec {
         int frameSize = buffer.length - macSize;
         ingressMac.update(buffer, 0, frameSize);
         dec.processBytes(buffer, 0, frameSize, buffer, 0);
-        int pos = 0;
-        long type = RLP.decodeInt(buffer, pos); // FIXME long
-        pos = RLP.getNextElementIndex(buffer, pos);
-        InputStream payload = new ByteArrayInputStream(buffer, pos, totalBodySize - pos);
-        int size = totalBodySize - pos;
         byte[] macBuffer = new byte[ingressMac.getDigestSize()];
 
         // Frame MAC
         doSum(ingressMac, macBuffer); // fmacseed
         updateMac(ingressMac, macBuffer, 0, buffer, frameSize, false);
 
+        return Collections.singletonList(newFrame(buffer, 0, Unpooled.wrappedBuffer(buffer, 0, frameSize)));
+    }
+
+    private boolean readHeader(byte[] headBuffer) throws IOException {
+        // Header MAC
+        updateMac(ingressMac, headBuffer, 0, headBuffer, 16, false);
+
+        dec.processBytes(headBuffer, 0, 16, headBuffer, 0);
+        totalBodySize = headBuffer[0];
+        totalBodySize = (totalBodySize << 8) + (headBuffer[1] & 0xFF);
+        totalBodySize = (totalBodySize << 8) + (headBuffer[2] & 0xFF);
+
+        if (totalBodySize < 0) {
+            return false;
+        }
+
+        decode2OneItem(headBuffer, 3);
+
+        contextId = -1;
+        totalFrameSize = -1;
+        isHeadRead = true;
+        return true;
+    }
+
+    /**
+     * Builds a frame over the already decrypted {@code body}, whose content starts at {@code offset}
+     * of {@code array}. The payload is the slice of the body after the RLP encoded frame type.
+     */
+    private Frame newFrame(byte[] array, int offset, ByteBuf body) {
+        long type = RLP.decodeInt(array, offset); // FIXME long
+        int pos = RLP.getNextElementIndex(array, offset) - offset;
+
         isHeadRead = false;
-        Frame frame = new Frame(type, size, payload);
+        Frame frame = new Frame(type, body.slice(body.readerIndex() + pos, totalBodySize - pos));
         frame.contextId = contextId;
         frame.totalFrameSize = totalFrameSize;
-        return Collections.singletonList(frame);
+        return frame;
     }
 
     private byte[] updateMac(KeccakDigest mac, byte[] seed, int offset, byte[] out, int outOffset, boolean egress) throws IOException {
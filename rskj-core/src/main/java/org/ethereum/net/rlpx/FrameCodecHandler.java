@@ -43,6 +43,8 @@ public class FrameCodecHandler extends ByteToMessageCodec<FrameCodec.Frame> {
     protected final Channel channel;
 
     public FrameCodecHandler(FrameCodec frameCodec, Channel channel) {
+        // heap buffers let FrameCodec encrypt straight into the outbound buffer's backing array
+        super(false);
         this.frameCodec = frameCodec;
         this.channel = channel;
     }
@@ -23,7 +23,6 @@ import co.rsk.net.NodeID;
 import co.rsk.scoring.EventType;
 import co.rsk.scoring.PeerScoringManager;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.io.ByteStreams;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -197,7 +196,8 @@ public class HandshakeHandler extends ByteToMessageDecoder {
                     return;
                 }
                 Frame frame = frames.get(0);
-                byte[] payload = ByteStreams.toByteArray(frame.getStream());
+                byte[] payload = frame.getPayloadBytes();
+                frame.release();
                 if (frame.getType() == P2pMessageCodes.HELLO.asByte()) {
                     HelloMessage helloMessage = new HelloMessage(payload);
                     loggerNet.trace("From: \t{} \tRecv: \t{}", ctx.channel().remoteAddress(), helloMessage);
@@ -281,9 +281,10 @@ public class HandshakeHandler extends ByteToMessageDecoder {
                     return;
                 }
                 Frame frame = frames.get(0);
+                byte[] payload = frame.getPayloadBytes();
+                frame.release();
 
-                Message message = new P2pMessageFactory().create((byte) frame.getType(),
-                        ByteStreams.toByteArray(frame.getStream()));
+                Message message = new P2pMessageFactory().create((byte) frame.getType(), payload);
                 loggerNet.trace("From: \t{} \tRecv: \t{}", ctx.channel().remoteAddress(), message);
 
                 if (frame.getType() == P2pMessageCodes.DISCONNECT.asByte()) {
@@ -20,7 +20,10 @@
 package org.ethereum.net.rlpx;
 
 import co.rsk.core.types.bytes.Bytes;
-import com.google.common.io.ByteStreams;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageCodec;
 import org.apache.commons.lang3.tuple.Pair;
@@ -38,13 +41,12 @@ import org.ethereum.util.LRUMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
 
 import static java.lang.Math.min;
 import static org.ethereum.net.rlpx.FrameCodec.Frame;
@@ -59,6 +61,9 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
 
     public static final int NO_FRAMING = Integer.MAX_VALUE >> 1;
 
+    // matches the size of the receive buffer of the p2p channels
+    private static final int MAX_MESSAGE_SIZE = 16_777_216;
+
     private int maxFramePayloadSize = NO_FRAMING;
 
     private Channel channel;
@@ -72,19 +77,33 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
 
     private boolean supportChunkedFrames = true;
 
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final WireCompressionStats compressionStats;
+    // only set once both peers agreed on compressing eth messages
+    private MessageCompressor compressor;
+
     Map<Integer, Pair<? extends List<Frame>, AtomicInteger>> incompleteFrames = new LRUMap<>(1, 16);
     // LRU avoids OOM on invalid peers
     AtomicInteger contextIdCounter = new AtomicInteger(1);
 
     public MessageCodec(EthereumListener ethereumListener, SystemProperties config) {
+        this(ethereumListener, config, new WireCompressionStats());
+    }
+
+    public MessageCodec(EthereumListener ethereumListener, SystemProperties config, WireCompressionStats compressionStats) {
         this.ethereumListener = ethereumListener;
         this.maxFramePayloadSize = config.rlpxMaxFrameSize();
+        this.compressionEnabled = config.peerCompressionEnabled();
+        this.compressionThreshold = config.peerCompressionThreshold();
+        this.compressionStats = compressionStats;
     }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, Frame frame, List<Object> out) throws Exception {
         if (frame.isChunked()) {
             if (!supportChunkedFrames && frame.totalFrameSize > 0) {
+                frame.release();
                 throw new RuntimeException("Faming is not supported in this configuration.");
             }
 
@@ -102,7 +121,8 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
             } else {
                 if (frame.totalFrameSize >= 0) {
                     loggerNet.warn("Non-initial chunked frame shouldn't contain totalFrameSize field (context-id: {}, totalFrameSize: {}). Discarding this frame and all previous.", frame.contextId, frame.totalFrameSize);
-                    incompleteFrames.remove(frame.contextId);
+                    frame.release();
+                    releaseFrames(incompleteFrames.remove(frame.contextId));
                     return;
                 }
             }
@@ -116,12 +136,12 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
 
             if (curSize > frameParts.getLeft().get(0).totalFrameSize) {
                 loggerNet.warn("The total frame chunks size ({}) is greater than expected ({}). Discarding the frame.", curSize, frameParts.getLeft().get(0).totalFrameSize);
-                incompleteFrames.remove(frame.contextId);
+                releaseFrames(incompleteFrames.remove(frame.contextId));
                 return;
             }
             if (curSize == frameParts.getLeft().get(0).totalFrameSize) {
-                Message message = decodeMessage(frameParts.getLeft());
                 incompleteFrames.remove(frame.contextId);
+                Message message = decodeMessage(frameParts.getLeft());
                 out.add(message);
             }
         } else {
@@ -130,19 +150,56 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
         }
     }
 
-    private Message decodeMessage(List<Frame> frames) throws IOException {
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        for (Pair<? extends List<Frame>, AtomicInteger> frameParts : incompleteFrames.values()) {
+            releaseFrames(frameParts);
+        }
+        incompleteFrames.clear();
+        if (compressor != null) {
+            compressor.close();
+        }
+        super.handlerRemoved(ctx);
+    }
+
+    private static void releaseFrames(Pair<? extends List<Frame>, AtomicInteger> frameParts) {
+        if (frameParts != null) {
+            frameParts.getLeft().forEach(Frame::release);
+        }
+    }
+
+    /**
+     * Decodes the message carried by the given frames, releasing them. Chunked frames are
+     * gathered in a composite buffer over the frame slices, so the only copy made is the one
+     * into the byte array the message keeps as its encoded form.
+     */
+    private Message decodeMessage(List<Frame> frames) throws DataFormatException {
         long frameType = frames.get(0).getType();
 
-        byte[] payload = new byte[frames.size() == 1 ? frames.get(0).getSize() : frames.get(0).totalFrameSize];
-        int pos = 0;
-        for (Frame frame : frames) {
-            pos += ByteStreams.read(frame.getStream(), payload, pos, frame.getSize());
+        byte[] payload;
+        if (frames.size() == 1) {
+            payload = frames.get(0).getPayloadBytes();
+            frames.get(0).release();
+        } else {
+            CompositeByteBuf composite = Unpooled.compositeBuffer(frames.size());
+            for (Frame frame : frames) {
+                composite.addComponent(true, frame.getPayload());
+            }
+            try {
+                payload = ByteBufUtil.getBytes(composite);
+            } finally {
+                composite.release();
+            }
         }
 
         if (loggerWire.isDebugEnabled()) {
             loggerWire.debug("Recv: Encoded: {} [{}]", frameType, Bytes.of(payload));
         }
 
+        if (compressor != null && isEthMessage((byte) frameType)) {
+            payload = compressor.decompress(payload);
+        }
+
         Message msg = createMessage((byte) frameType, payload);
 
         loggerNet.trace("From: \t{} \tRecv: \t{}", channel, msg);
@@ -176,21 +233,28 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
     private List<Frame> splitMessageToFrames(Message msg) {
         byte code = getCode(msg.getCommand());
         List<Frame> ret = new ArrayList<>();
-        byte[] bytes = msg.getEncoded();
-        int curPos = 0;
-        while(curPos < bytes.length) {
-            int newPos = min(curPos + maxFramePayloadSize, bytes.length);
-            byte[] frameBytes = curPos == 0 && newPos == bytes.length ? bytes :
-                    Arrays.copyOfRange(bytes, curPos, newPos);
-            ret.add(new Frame(code, frameBytes));
-            curPos = newPos;
+        // frames are slices over the encoded message, FrameCodec encrypts them straight from its array.
+        // Each frame retains its own slice because FrameCodec releases every frame once it is written
+        ByteBuf wrapped = compressor != null && msg.getCommand() instanceof EthMessageCodes ?
+                compressor.compress(msg.getEncoded()) :
+                Unpooled.wrappedBuffer(msg.getEncoded());
+        int length = wrapped.readableBytes();
+        try {
+            int curPos = 0;
+            while (curPos < length) {
+                int newPos = min(curPos + maxFramePayloadSize, length);
+                ret.add(new Frame(code, wrapped.retainedSlice(curPos, newPos - curPos)));
+                curPos = newPos;
+            }
+        } finally {
+            wrapped.release();
         }
 
         if (ret.size() > 1) {
             // frame has been split
             int contextId = contextIdCounter.getAndIncrement();
-            ret.get(0).totalFrameSize = bytes.length;
-            loggerWire.debug("Message (size {}) split to {} frames. Context-id: {}", bytes.length ,ret.size(), contextId);
+            ret.get(0).totalFrameSize = length;
+            loggerWire.debug("Message (size {}) split to {} frames. Context-id: {}", length ,ret.size(), contextId);
             for (Frame frame : ret) {
                 frame.contextId = contextId;
             }
@@ -219,6 +283,10 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
         return code;
     }
 
+    private boolean isEthMessage(byte code) {
+        return !P2pMessageCodes.inRange(messageCodesResolver.resolveP2p(code));
+    }
+
     private Message createMessage(byte code, byte[] payload) {
 
         byte resolved = messageCodesResolver.resolveP2p(code);
@@ -248,6 +316,10 @@ public class MessageCodec extends MessageToMessageCodec<Frame, Message> {
 
     public void initMessageCodes(List<Capability> caps) {
         this.messageCodesResolver = new MessageCodesResolver(caps);
+        if (compressionEnabled && compressor == null && caps.stream().anyMatch(Capability::isCompression)) {
+            this.compressor = new MessageCompressor(compressionThreshold, MAX_MESSAGE_SIZE, compressionStats);
+            loggerNet.debug("Compression of eth messages enabled with {}", channel);
+        }
     }
 
     public void setP2pMessageFactory(P2pMessageFactory p2pMessageFactory) {
@@ -0,0 +1,162 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.net.rlpx;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the payload of the messages of a single connection, once both peers advertised the
+ * {@link org.ethereum.net.client.Capability#COMPRESSION} capability.
+ * <p>
+ * Every payload is prefixed by a flag byte. {@link #RAW} means the rest is the message payload as is,
+ * it's used for messages under the threshold or when compressing doesn't pay off. {@link #DEFLATED}
+ * is followed by the uncompressed size (4 bytes, big endian) and the deflated payload.
+ * <p>
+ * Instances are not thread safe, they're meant to be used from the connection event loop.
+ */
+public class MessageCompressor {
+
+    static final byte RAW = 0;
+    static final byte DEFLATED = 1;
+
+    private static final int DEFLATED_HEADER_SIZE = 5;
+
+    private final int threshold;
+    private final int maxMessageSize;
+    private final WireCompressionStats stats;
+
+    private Deflater deflater;
+    private Inflater inflater;
+
+    public MessageCompressor(int threshold, int maxMessageSize, WireCompressionStats stats) {
+        this.threshold = threshold;
+        this.maxMessageSize = maxMessageSize;
+        this.stats = stats;
+    }
+
+    public ByteBuf compress(byte[] payload) {
+        if (payload.length >= threshold && payload.length > DEFLATED_HEADER_SIZE) {
+            long start = System.nanoTime();
+            byte[] compressed = deflate(payload);
+            if (compressed != null) {
+                stats.onCompressed(payload.length, compressed.length, System.nanoTime() - start);
+                return Unpooled.wrappedBuffer(compressed);
+            }
+        }
+
+        return Unpooled.wrappedBuffer(new byte[] { RAW }, payload);
+    }
+
+    public byte[] decompress(byte[] wire) throws DataFormatException {
+        if (wire.length == 0) {
+            throw new DataFormatException("Missing compression flag");
+        }
+
+        if (wire[0] == RAW) {
+            return Arrays.copyOfRange(wire, 1, wire.length);
+        }
+
+        if (wire[0] != DEFLATED || wire.length < DEFLATED_HEADER_SIZE) {
+            throw new DataFormatException("Invalid compressed message");
+        }
+
+        int size = ((wire[1] & 0xFF) << 24) | ((wire[2] & 0xFF) << 16) | ((wire[3] & 0xFF) << 8) | (wire[4] & 0xFF);
+        if (size < 0 || size > maxMessageSize) {
+            throw new DataFormatException("Compressed message size out of bounds: " + size);
+        }
+
+        long start = System.nanoTime();
+        Inflater inf = getInflater();
+        inf.reset();
+        inf.setInput(wire, DEFLATED_HEADER_SIZE, wire.length - DEFLATED_HEADER_SIZE);
+        byte[] payload = new byte[size];
+        int read = 0;
+        while (read < size) {
+            int n = inf.inflate(payload, read, size - read);
+            if (n == 0) {
+                break;
+            }
+            read += n;
+        }
+
+        if (read != size || !inf.finished()) {
+            throw new DataFormatException("Compressed message doesn't match its declared size");
+        }
+
+        stats.onDecompressed(wire.length, size, System.nanoTime() - start);
+        return payload;
+    }
+
+    /**
+     * Releases the native resources held by the (de)compressor.
+     */
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private byte[] deflate(byte[] payload) {
+        Deflater def = getDeflater();
+        def.reset();
+        def.setInput(payload);
+        def.finish();
+
+        // only worth it if it's smaller than the raw message
+        byte[] out = new byte[payload.length];
+        out[0] = DEFLATED;
+        out[1] = (byte) (payload.length >>> 24);
+        out[2] = (byte) (payload.length >>> 16);
+        out[3] = (byte) (payload.length >>> 8);
+        out[4] = (byte) payload.length;
+        int size = DEFLATED_HEADER_SIZE;
+        while (!def.finished() && size < out.length) {
+            size += def.deflate(out, size, out.length - size);
+        }
+
+        if (!def.finished()) {
+            return null;
+        }
+
+        return Arrays.copyOf(out, size);
+    }
+
+    private Deflater getDeflater() {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        return deflater;
+    }
+
+    private Inflater getInflater() {
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        return inflater;
+    }
+}
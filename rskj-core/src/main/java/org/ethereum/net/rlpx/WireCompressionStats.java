@@ -0,0 +1,105 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.net.rlpx;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node wide statistics of the p2p message compression, shared by every connection.
+ * Ratios are compressed size over uncompressed size of the messages that were actually compressed.
+ */
+public class WireCompressionStats implements WireCompressionStatsMBean {
+
+    private final LongAdder messagesCompressed = new LongAdder();
+    private final LongAdder messagesDecompressed = new LongAdder();
+    private final LongAdder uncompressedBytesOut = new LongAdder();
+    private final LongAdder compressedBytesOut = new LongAdder();
+    private final LongAdder uncompressedBytesIn = new LongAdder();
+    private final LongAdder compressedBytesIn = new LongAdder();
+    private final LongAdder compressionTime = new LongAdder();
+    private final LongAdder decompressionTime = new LongAdder();
+
+    void onCompressed(int uncompressedSize, int compressedSize, long nanos) {
+        messagesCompressed.increment();
+        uncompressedBytesOut.add(uncompressedSize);
+        compressedBytesOut.add(compressedSize);
+        compressionTime.add(nanos);
+    }
+
+    void onDecompressed(int compressedSize, int uncompressedSize, long nanos) {
+        messagesDecompressed.increment();
+        compressedBytesIn.add(compressedSize);
+        uncompressedBytesIn.add(uncompressedSize);
+        decompressionTime.add(nanos);
+    }
+
+    @Override
+    public long getMessagesCompressed() {
+        return messagesCompressed.sum();
+    }
+
+    @Override
+    public long getMessagesDecompressed() {
+        return messagesDecompressed.sum();
+    }
+
+    @Override
+    public long getUncompressedBytesOut() {
+        return uncompressedBytesOut.sum();
+    }
+
+    @Override
+    public long getCompressedBytesOut() {
+        return compressedBytesOut.sum();
+    }
+
+    @Override
+    public long getUncompressedBytesIn() {
+        return uncompressedBytesIn.sum();
+    }
+
+    @Override
+    public long getCompressedBytesIn() {
+        return compressedBytesIn.sum();
+    }
+
+    @Override
+    public double getOutboundCompressionRatio() {
+        return ratio(getCompressedBytesOut(), getUncompressedBytesOut());
+    }
+
+    @Override
+    public double getInboundCompressionRatio() {
+        return ratio(getCompressedBytesIn(), getUncompressedBytesIn());
+    }
+
+    @Override
+    public long getCompressionTimeNanos() {
+        return compressionTime.sum();
+    }
+
+    @Override
+    public long getDecompressionTimeNanos() {
+        return decompressionTime.sum();
+    }
+
+    private static double ratio(long compressed, long uncompressed) {
+        return uncompressed == 0 ? 1.0 : (double) compressed / uncompressed;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.net.rlpx;
+
+public interface WireCompressionStatsMBean {
+    long getMessagesCompressed();
+    long getMessagesDecompressed();
+    long getUncompressedBytesOut();
+    long getCompressedBytesOut();
+    long getUncompressedBytesIn();
+    long getCompressedBytesIn();
+    double getOutboundCompressionRatio();
+    double getInboundCompressionRatio();
+    long getCompressionTimeNanos();
+    long getDecompressionTimeNanos();
+}
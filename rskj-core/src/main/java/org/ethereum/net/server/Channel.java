@@ -77,6 +77,8 @@ public class Channel implements Peer {
 
     private final Stats stats;
     private boolean isSnapCapable;
+    private boolean isCompactBlockCapable;
+    private boolean isTxAnnouncementCapable;
 
     @VisibleForTesting
     public Channel(MessageQueue msgQueue,
@@ -168,6 +170,8 @@ public class Channel implements Peer {
 
     public void initMessageCodes(List<Capability> caps) {
         isSnapCapable = caps.stream().anyMatch(Capability::isSNAP);
+        isCompactBlockCapable = caps.stream().anyMatch(Capability::isCompactBlocks);
+        isTxAnnouncementCapable = caps.stream().anyMatch(Capability::isTxAnnouncements);
         messageCodec.initMessageCodes(caps);
     }
 
@@ -283,6 +287,16 @@ public class Channel implements Peer {
         return isSnapCapable;
     }
 
+    @Override
+    public boolean isCompactBlockCapable() {
+        return isCompactBlockCapable;
+    }
+
+    @Override
+    public boolean isTxAnnouncementCapable() {
+        return isTxAnnouncementCapable;
+    }
+
     @Override
     public String toString() {
         return String.format("%s | %s", getPeerId(), inetSocketAddress);
@@ -197,6 +197,7 @@ public class ChannelManagerImpl implements ChannelManager {
         final Set<NodeID> nodesIdsBroadcastedTo = new HashSet<>();
         final BlockIdentifier bi = new BlockIdentifier(block.getHash().getBytes(), block.getNumber());
         final Message newBlock = new BlockMessage(block);
+        final Message compactBlock = CompactBlockMessage.fromBlock(block);
         final Message newBlockHashes = new NewBlockHashesMessage(Arrays.asList(bi));
         synchronized (activePeersLock) {
             // Get a randomized list with all the peers that don't have the block yet.
@@ -209,7 +210,7 @@ public class ChannelManagerImpl implements ChannelManager {
                 Channel peer = peers.get(i);
                 nodesIdsBroadcastedTo.add(peer.getNodeId());
                 logger.trace("RSK propagate: {}", peer);
-                peer.sendMessage(newBlock);
+                peer.sendMessage(peer.isCompactBlockCapable() ? compactBlock : newBlock);
             }
             for (int i = sqrt; i < peers.size(); i++) {
                 Channel peer = peers.get(i);
@@ -343,11 +344,13 @@ public class ChannelManagerImpl implements ChannelManager {
     private Set<NodeID> internalBroadcastTransactions(Set<NodeID> skip, List<Transaction> transactions) {
         final Set<NodeID> nodesIdsBroadcastedTo = new HashSet<>();
         final Message newTransactions = new TransactionsMessage(transactions);
+        final Message newTransactionHashes = new NewTransactionHashesMessage(
+                transactions.stream().map(Transaction::getHash).collect(Collectors.toList()));
         final List<Channel> peersToBroadcast = activePeers.values().stream().
                 filter(p -> !skip.contains(p.getNodeId())).collect(Collectors.toList());
 
         peersToBroadcast.forEach(peer -> {
-            peer.sendMessage(newTransactions);
+            peer.sendMessage(peer.isTxAnnouncementCapable() ? newTransactionHashes : newTransactions);
             nodesIdsBroadcastedTo.add(peer.getNodeId());
         });
 
@@ -38,6 +38,7 @@ import org.ethereum.net.p2p.P2pHandler;
 import org.ethereum.net.p2p.P2pMessageFactory;
 import org.ethereum.net.rlpx.HandshakeHandler;
 import org.ethereum.net.rlpx.MessageCodec;
+import org.ethereum.net.rlpx.WireCompressionStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +59,7 @@ public class EthereumChannelInitializer extends ChannelInitializer<NioSocketChan
     private final Eth62MessageFactory eth62MessageFactory;
     private final StaticMessages staticMessages;
     private final PeerScoringManager peerScoringManager;
+    private final WireCompressionStats wireCompressionStats;
 
     public EthereumChannelInitializer(
             String remoteId,
@@ -69,7 +71,8 @@ public class EthereumChannelInitializer extends ChannelInitializer<NioSocketChan
             RskWireProtocol.Factory rskWireProtocolFactory,
             Eth62MessageFactory eth62MessageFactory,
             StaticMessages staticMessages,
-            PeerScoringManager peerScoringManager) {
+            PeerScoringManager peerScoringManager,
+            WireCompressionStats wireCompressionStats) {
         this.remoteId = remoteId;
         this.config = config;
         this.channelManager = channelManager;
@@ -80,6 +83,7 @@ public class EthereumChannelInitializer extends ChannelInitializer<NioSocketChan
         this.eth62MessageFactory = eth62MessageFactory;
         this.staticMessages = staticMessages;
         this.peerScoringManager = peerScoringManager;
+        this.wireCompressionStats = wireCompressionStats;
     }
 
     @Override
@@ -109,7 +113,7 @@ public class EthereumChannelInitializer extends ChannelInitializer<NioSocketChan
 
             MessageQueue messageQueue = new MessageQueue();
             P2pHandler p2pHandler = new P2pHandler(ethereumListener, messageQueue, config.getPeerP2PPingInterval());
-            MessageCodec messageCodec = new MessageCodec(ethereumListener, config);
+            MessageCodec messageCodec = new MessageCodec(ethereumListener, config, wireCompressionStats);
             HandshakeHandler handshakeHandler = new HandshakeHandler(config, peerScoringManager, p2pHandler, messageCodec, configCapabilities);
             Stats stats = new Stats(config.getMessageQueuePerMinuteThreshold());
             Channel channel = new Channel(messageQueue, messageCodec, nodeManager, rskWireProtocolFactory, eth62MessageFactory, staticMessages, remoteId, stats);
@@ -166,6 +166,16 @@ public class Stats {
                 return 1;
             case SNAP_STATE_CHUNK_RESPONSE_MESSAGE:
                 return 3;
+            case COMPACT_BLOCK_MESSAGE:
+                return 10;
+            case GET_BLOCK_TRANSACTIONS_MESSAGE:
+                return 1;
+            case BLOCK_TRANSACTIONS_MESSAGE:
+                return 10;
+            case NEW_TRANSACTION_HASHES_MESSAGE:
+                return 2;
+            case GET_TRANSACTIONS_MESSAGE:
+                return 1;
             default:
                 return 0.0;
         }
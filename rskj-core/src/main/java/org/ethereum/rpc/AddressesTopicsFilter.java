@@ -88,6 +88,17 @@ public class AddressesTopicsFilter {
         }
     }
 
+    public RskAddress[] getAddresses() {
+        return addresses;
+    }
+
+    /**
+     * @return for each position, the topics that match there, an empty array matching any
+     */
+    public List<Topic[]> getTopics() {
+        return topics;
+    }
+
     public boolean matchBloom(Bloom blockBloom) {
         for (Bloom[] andBloom : filterBlooms) {
             boolean orMatches = false;
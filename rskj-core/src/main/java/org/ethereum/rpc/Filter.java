@@ -79,6 +79,10 @@ public class Filter {
         Collections.reverse(this.events);
     }
 
+    protected void reverseEvents(int fromIndex) {
+        Collections.reverse(this.events.subList(fromIndex, this.events.size()));
+    }
+
     public void newBlockReceived(Block b) {
     }
 
@@ -23,6 +23,8 @@ import co.rsk.crypto.Keccak256;
 import co.rsk.jsonrpc.JsonRpcError;
 import co.rsk.logfilter.BlocksBloom;
 import co.rsk.logfilter.BlocksBloomStore;
+import co.rsk.logfilter.LogIndexStore;
+import co.rsk.logfilter.LogPosition;
 import co.rsk.rpc.netty.ExecTimeoutContext;
 import co.rsk.util.HexUtils;
 import org.ethereum.core.*;
@@ -33,7 +35,9 @@ import org.ethereum.vm.LogInfo;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Created by ajlopez on 17/01/2018.
@@ -46,14 +50,19 @@ public class LogFilter extends Filter {
     private final Blockchain blockchain;
     private final long maxBlocksToQuery;
     private final long maxLogsToReturn;
+    @Nullable
+    private final Executor executor;
+    private final int parallelism;
 
-    private LogFilter(AddressesTopicsFilter addressesTopicsFilter, Blockchain blockchain, boolean fromLatestBlock, boolean toLatestBlock, long maxBlocksToQuery, long maxLogsToReturn) {
+    private LogFilter(AddressesTopicsFilter addressesTopicsFilter, Blockchain blockchain, boolean fromLatestBlock, boolean toLatestBlock, long maxBlocksToQuery, long maxLogsToReturn, @Nullable Executor executor, int parallelism) {
         this.maxLogsToReturn = maxLogsToReturn;
         this.addressesTopicsFilter = addressesTopicsFilter;
         this.blockchain = blockchain;
         this.fromLatestBlock = fromLatestBlock;
         this.toLatestBlock = toLatestBlock;
         this.maxBlocksToQuery = maxBlocksToQuery;
+        this.executor = executor;
+        this.parallelism = parallelism;
     }
 
     List<LogFilterEvent> onTransaction(TransactionInfo txInfo, Block block, int txIndex, int acc) {
@@ -73,12 +82,15 @@ public class LogFilter extends Filter {
         return eventList;
     }
 
-    void onBlock(Block block, boolean reverseTxOrder) {
-        List<LogFilterEvent> matchingEvents = new ArrayList<>();
+    /**
+     * Matches the logs of a block without adding them, so it can be called from several threads at once
+     */
+    List<LogFilterEvent> getMatchingEvents(Block block) {
         if (!addressesTopicsFilter.matchBloom(new Bloom(block.getLogBloom()))) {
-            return;
+            return Collections.emptyList();
         }
 
+        List<LogFilterEvent> matchingEvents = new ArrayList<>();
         List<Transaction> txs = block.getTransactionsList();
         int acc = 0;
 
@@ -89,6 +101,12 @@ public class LogFilter extends Filter {
             acc += txInfo.getReceipt().getLogInfoList().size();
         }
 
+        return matchingEvents;
+    }
+
+    void onBlock(Block block, boolean reverseTxOrder) {
+        List<LogFilterEvent> matchingEvents = getMatchingEvents(block);
+
         if (reverseTxOrder) {
             for (int j = matchingEvents.size() - 1; j >= 0; j--) {
                 add(matchingEvents.get(j));
@@ -128,6 +146,17 @@ public class LogFilter extends Filter {
     }
 
     public static LogFilter fromFilterRequest(FilterRequest fr, Blockchain blockchain, BlocksBloomStore blocksBloomStore, Long maxBlocksToQuery, Long maxBlocksToReturn) {
+        return fromFilterRequest(fr, blockchain, blocksBloomStore, null, null, 1, maxBlocksToQuery, maxBlocksToReturn);
+    }
+
+    /**
+     * @param logIndexStore the log index to look up logs in, null to scan the blocks
+     * @param executor the executor to scan wide block ranges in parallel on, null to scan them on the calling thread
+     * @param parallelism the maximum number of threads scanning blocks for a single request
+     */
+    public static LogFilter fromFilterRequest(FilterRequest fr, Blockchain blockchain, BlocksBloomStore blocksBloomStore,
+                                              @Nullable LogIndexStore logIndexStore, @Nullable Executor executor, int parallelism,
+                                              Long maxBlocksToQuery, Long maxBlocksToReturn) {
         RskAddress[] addresses;
         // Now, there is an array of array of topics
         // first level are topic filters by position
@@ -211,9 +240,11 @@ public class LogFilter extends Filter {
                 .toLatestBlock(toLatestBlock)
                 .maxBlocksToQuery(maxBlocksToQuery)
                 .maxBlocksToReturn(maxBlocksToReturn)
+                .executor(executor)
+                .parallelism(parallelism)
                 .build();
 
-        retrieveHistoricalData(fr, blockchain, filter, blocksBloomStore);
+        retrieveHistoricalData(fr, blockchain, filter, blocksBloomStore, logIndexStore);
 
         return filter;
     }
@@ -227,7 +258,7 @@ public class LogFilter extends Filter {
         }
     }
 
-    private static void retrieveHistoricalData(FilterRequest fr, Blockchain blockchain, LogFilter filter, BlocksBloomStore blocksBloomStore) {
+    private static void retrieveHistoricalData(FilterRequest fr, Blockchain blockchain, LogFilter filter, BlocksBloomStore blocksBloomStore, @Nullable LogIndexStore logIndexStore) {
         if (fr.getBlockHash() != null) {
             processSingleBlockByHash(fr.getBlockHash(), blockchain, filter, blocksBloomStore);
             return;
@@ -244,7 +275,7 @@ public class LogFilter extends Filter {
             // need to add historical data
             blockTo = blockTo == null ? blockchain.getBestBlock() : blockTo;
 
-            processBlocks(blockFrom, blockTo, filter, blockchain, blocksBloomStore);
+            processBlocks(blockFrom, blockTo, filter, blockchain, blocksBloomStore, logIndexStore);
         } else if ("latest".equalsIgnoreCase(fr.getFromBlock())) {
             filter.onBlock(blockchain.getBestBlock(), false);
         }
@@ -257,12 +288,87 @@ public class LogFilter extends Filter {
             return;
         }
 
-        processBlocks(blockByHash, blockByHash, filter, blockchain, blocksBloomStore);
+        filter.checkLimit(blockByHash.getNumber(), blockByHash.getNumber());
+        scanBlocks(blockByHash, blockByHash, filter, blockchain, blocksBloomStore);
     }
 
-    private static void processBlocks(Block fromBlock, Block toBlock, LogFilter filter, Blockchain blockchain, BlocksBloomStore blocksBloomStore) {
+    private static void processBlocks(Block fromBlock, Block toBlock, LogFilter filter, Blockchain blockchain, BlocksBloomStore blocksBloomStore, @Nullable LogIndexStore logIndexStore) {
         filter.checkLimit(fromBlock.getNumber(), toBlock.getNumber());
 
+        if (logIndexStore == null || logIndexStore.isEmpty() || !LogIndexStore.canFind(filter.addressesTopicsFilter)) {
+            scanBlocks(fromBlock, toBlock, filter, blockchain, blocksBloomStore);
+            return;
+        }
+
+        long indexedFrom = Math.max(fromBlock.getNumber(), logIndexStore.getFirstNumber());
+        long indexedTo = Math.min(toBlock.getNumber(), logIndexStore.getHeadNumber());
+
+        // the index may be behind a reorganization that's still being processed
+        if (indexedFrom > indexedTo || !isIndexInMainChain(indexedTo, toBlock, blockchain, logIndexStore)) {
+            scanBlocks(fromBlock, toBlock, filter, blockchain, blocksBloomStore);
+            return;
+        }
+
+        if (fromBlock.getNumber() < indexedFrom) {
+            scanBlocks(fromBlock, blockchain.getBlockByNumber(indexedFrom - 1), filter, blockchain, blocksBloomStore);
+        }
+
+        processIndexedBlocks(indexedFrom, indexedTo, filter, blockchain, logIndexStore);
+
+        if (indexedTo < toBlock.getNumber()) {
+            scanBlocks(blockchain.getBlockByNumber(indexedTo + 1), toBlock, filter, blockchain, blocksBloomStore);
+        }
+    }
+
+    private static boolean isIndexInMainChain(long indexedTo, Block toBlock, Blockchain blockchain, LogIndexStore logIndexStore) {
+        Block mainChainToBlock = blockchain.getBlockByNumber(toBlock.getNumber());
+        Block mainChainIndexedTo = blockchain.getBlockByNumber(indexedTo);
+
+        return mainChainToBlock != null && mainChainToBlock.getHash().equals(toBlock.getHash())
+                && mainChainIndexedTo != null && mainChainIndexedTo.getHash().equals(logIndexStore.getBlockHash(indexedTo));
+    }
+
+    private static void processIndexedBlocks(long fromNumber, long toNumber, LogFilter filter, Blockchain blockchain, LogIndexStore logIndexStore) {
+        Block block = null;
+        Transaction tx = null;
+        TransactionInfo txInfo = null;
+
+        for (LogPosition position : logIndexStore.findLogs(filter.addressesTopicsFilter, fromNumber, toNumber)) {
+            ExecTimeoutContext.checkIfExpired();
+
+            if (block == null || block.getNumber() != position.getBlockNumber()) {
+                block = blockchain.getBlockByNumber(position.getBlockNumber());
+                txInfo = null;
+            }
+
+            if (txInfo == null || txInfo.getIndex() != position.getTransactionIndex()) {
+                tx = block.getTransactionsList().get(position.getTransactionIndex());
+                txInfo = blockchain.getTransactionInfoByBlock(tx, block.getHash().getBytes());
+            }
+
+            if (txInfo == null) {
+                // the receipt may not be available anymore, e.g. if the block just left the main chain
+                continue;
+            }
+
+            LogInfo logInfo = txInfo.getReceipt().getLogInfoList().get(position.getLogIndex());
+            if (filter.addressesTopicsFilter.matchesExactly(logInfo)) {
+                filter.add(new LogFilterEvent(new LogFilterElement(logInfo, block, position.getTransactionIndex(), tx, position.getBlockLogIndex())));
+            }
+        }
+    }
+
+    private static void scanBlocks(Block fromBlock, Block toBlock, LogFilter filter, Blockchain blockchain, BlocksBloomStore blocksBloomStore) {
+        if (filter.canScanInParallel(fromBlock, toBlock)) {
+            LogFilterParallelScan scan = new LogFilterParallelScan(filter, blockchain, blocksBloomStore, filter.maxLogsToReturn,
+                    fromBlock.getNumber(), toBlock.getNumber(), filter.parallelism);
+            for (LogFilterEvent event : scan.run(filter.executor)) {
+                filter.add(event);
+            }
+            return;
+        }
+
+        final int firstEvent = filter.eventsSize();
         final long bestBlockNumber = blockchain.getBestBlock().getNumber();
 
         BlocksBloom bloomAccumulator = null;
@@ -306,7 +412,24 @@ public class LogFilter extends Filter {
         } while (blockNumber >= fromBlock.getNumber());
 
         // sort in a from-to fashion after looping in reverse order
-        filter.reverseEvents();
+        filter.reverseEvents(firstEvent);
+    }
+
+    /**
+     * Wide ranges of the main chain are split in segments scanned in parallel, ranges
+     * that end in another branch are walked back from their last block instead
+     */
+    private boolean canScanInParallel(Block fromBlock, Block toBlock) {
+        if (executor == null || !LogFilterParallelScan.isWorthScanning(fromBlock.getNumber(), toBlock.getNumber(), parallelism)) {
+            return false;
+        }
+
+        Block mainChainToBlock = blockchain.getBlockByNumber(toBlock.getNumber());
+        return mainChainToBlock != null && mainChainToBlock.getHash().equals(toBlock.getHash());
+    }
+
+    boolean matchBloom(Bloom bloom) {
+        return addressesTopicsFilter.matchBloom(bloom);
     }
 
     private static boolean canSkipByBloom(BlocksBloom blocksBloom, LogFilter filter) {
@@ -358,6 +481,8 @@ public class LogFilter extends Filter {
         private boolean toLatestBlock;
         private long maxBlocksToQuery;
         private long maxBlocksToReturn;
+        private Executor executor;
+        private int parallelism;
 
         public LogFilterBuilder() {
             this.addressesTopicsFilter = null;
@@ -366,6 +491,8 @@ public class LogFilter extends Filter {
             this.toLatestBlock = false;
             this.maxBlocksToQuery = 0;
             this.maxBlocksToReturn = 0;
+            this.executor = null;
+            this.parallelism = 1;
         }
 
         public LogFilterBuilder addressesTopicsFilter(AddressesTopicsFilter addressesTopicsFilter) {
@@ -398,8 +525,18 @@ public class LogFilter extends Filter {
             return this;
         }
 
+        public LogFilterBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public LogFilterBuilder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
         public LogFilter build() {
-            return new LogFilter(addressesTopicsFilter, blockchain, fromLatestBlock, toLatestBlock, maxBlocksToQuery, maxBlocksToReturn);
+            return new LogFilter(addressesTopicsFilter, blockchain, fromLatestBlock, toLatestBlock, maxBlocksToQuery, maxBlocksToReturn, executor, parallelism);
         }
     }
 
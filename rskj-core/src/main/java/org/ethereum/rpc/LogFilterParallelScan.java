@@ -0,0 +1,202 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.rpc;
+
+import co.rsk.jsonrpc.JsonRpcError;
+import co.rsk.logfilter.BlocksBloom;
+import co.rsk.logfilter.BlocksBloomStore;
+import co.rsk.rpc.netty.ExecTimeoutContext;
+import org.ethereum.core.Block;
+import org.ethereum.core.Blockchain;
+import org.ethereum.rpc.exception.RskJsonRpcRequestException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scans a range of main chain blocks for the logs matching a filter, splitting it in segments
+ * that are scanned in parallel. The matching logs of each segment are kept apart and put together
+ * in order at the end.
+ * <p>
+ * The calling thread scans segments too, so a scan completes even if the executor doesn't run
+ * any of its tasks. Workers stop as soon as one of them fails, either because the request timed out
+ * or because the scan found more logs than the request can return.
+ */
+class LogFilterParallelScan {
+
+    private static final long MIN_SEGMENT_BLOCKS = 256;
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    private final LogFilter filter;
+    private final Blockchain blockchain;
+    private final BlocksBloomStore blocksBloomStore;
+    private final long maxLogsToReturn;
+    private final long bestBlockNumber;
+
+    private final long fromNumber;
+    private final long toNumber;
+    private final long segmentBlocks;
+    private final int threads;
+    private final List<List<LogFilter.LogFilterEvent>> segmentEvents;
+
+    private final AtomicInteger nextSegment = new AtomicInteger();
+    private final AtomicLong matchedLogs = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    LogFilterParallelScan(LogFilter filter, Blockchain blockchain, BlocksBloomStore blocksBloomStore, long maxLogsToReturn,
+                          long fromNumber, long toNumber, int parallelism) {
+        this.filter = filter;
+        this.blockchain = blockchain;
+        this.blocksBloomStore = blocksBloomStore;
+        this.maxLogsToReturn = maxLogsToReturn;
+        this.bestBlockNumber = blockchain.getBestBlock().getNumber();
+        this.fromNumber = fromNumber;
+        this.toNumber = toNumber;
+
+        long blocks = toNumber - fromNumber + 1;
+        // segments are aligned to the blocks bloom ranges, so each range is read by a single segment
+        long bloomBlocks = blocksBloomStore.getNoBlocks();
+        long targetBlocks = Math.max(MIN_SEGMENT_BLOCKS, blocks / ((long) parallelism * SEGMENTS_PER_THREAD));
+        this.segmentBlocks = (targetBlocks + bloomBlocks - 1) / bloomBlocks * bloomBlocks;
+
+        int segments = (int) ((toNumber - firstSegmentStart()) / this.segmentBlocks + 1);
+        this.threads = Math.min(parallelism, segments);
+        this.segmentEvents = new ArrayList<>(Collections.nCopies(segments, null));
+    }
+
+    static boolean isWorthScanning(long fromNumber, long toNumber, int parallelism) {
+        return parallelism > 1 && toNumber - fromNumber + 1 >= 2 * MIN_SEGMENT_BLOCKS;
+    }
+
+    /**
+     * @return the matching logs, in blockchain order
+     */
+    List<LogFilter.LogFilterEvent> run(Executor executor) {
+        Collection<ExecTimeoutContext> timeoutContexts = ExecTimeoutContext.getActiveContexts();
+        CountDownLatch workersDone = new CountDownLatch(threads - 1);
+
+        for (int i = 1; i < threads; i++) {
+            try {
+                executor.execute(() -> {
+                    try (ExecTimeoutContext.Attachment ignored = ExecTimeoutContext.attach(timeoutContexts)) {
+                        scanSegments();
+                    } finally {
+                        workersDone.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the segments will be scanned by the other threads
+                workersDone.countDown();
+            }
+        }
+
+        scanSegments();
+
+        try {
+            workersDone.await();
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+        }
+
+        rethrowFailure();
+
+        List<LogFilter.LogFilterEvent> events = new ArrayList<>();
+        segmentEvents.forEach(events::addAll);
+        return events;
+    }
+
+    private void scanSegments() {
+        try {
+            for (int segment = nextSegment.getAndIncrement(); segment < segmentEvents.size() && failure.get() == null; segment = nextSegment.getAndIncrement()) {
+                long first = Math.max(fromNumber, firstSegmentStart() + segment * segmentBlocks);
+                long last = Math.min(toNumber, firstSegmentStart() + (segment + 1) * segmentBlocks - 1);
+                segmentEvents.set(segment, scanSegment(first, last));
+            }
+        } catch (RuntimeException | StackOverflowError e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private List<LogFilter.LogFilterEvent> scanSegment(long first, long last) {
+        List<LogFilter.LogFilterEvent> events = new ArrayList<>();
+        BlocksBloom blocksBloom = null;
+
+        long number = first;
+        while (number <= last && failure.get() == null) {
+            ExecTimeoutContext.checkIfExpired();
+
+            boolean isConfirmedBlock = number <= bestBlockNumber - blocksBloomStore.getNoConfirmations();
+            if (isConfirmedBlock && (blocksBloom == null || !blocksBloom.hasBlockBloom(number))) {
+                blocksBloom = blocksBloomStore.getBlocksBloomByNumber(number);
+            }
+
+            if (isConfirmedBlock && blocksBloom != null && blocksBloom.hasBlockBloom(number) && !filter.matchBloom(blocksBloom.getBloom())) {
+                number = blocksBloomStore.lastNumberInRange(number) + 1;
+                continue;
+            }
+
+            List<LogFilter.LogFilterEvent> blockEvents = filter.getMatchingEvents(blockchain.getBlockByNumber(number));
+            if (!blockEvents.isEmpty()) {
+                checkLogsLimit(blockEvents.size());
+                events.addAll(blockEvents);
+            }
+
+            number++;
+        }
+
+        return events;
+    }
+
+    private void checkLogsLimit(int newLogs) {
+        if (maxLogsToReturn > 0 && matchedLogs.addAndGet(newLogs) > maxLogsToReturn) {
+            throw new RskJsonRpcRequestException(JsonRpcError.MAX_ETH_GET_LOGS_LIMIT, "Filter returned more than " + maxLogsToReturn + " logs.");
+        }
+    }
+
+    private long firstSegmentStart() {
+        return fromNumber - fromNumber % blocksBloomStore.getNoBlocks();
+    }
+
+    private void rethrowFailure() {
+        Throwable e = failure.get();
+
+        if (e == null) {
+            return;
+        }
+
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+
+        throw new IllegalStateException("Log scan was interrupted", e);
+    }
+}
@@ -23,6 +23,7 @@ import co.rsk.core.RskAddress;
 import co.rsk.core.bc.AccountInformationProvider;
 import co.rsk.crypto.Keccak256;
 import co.rsk.logfilter.BlocksBloomStore;
+import co.rsk.logfilter.LogIndexStore;
 import co.rsk.metrics.HashRateCalculator;
 import co.rsk.mine.MinerClient;
 import co.rsk.mine.MinerServer;
@@ -76,6 +77,7 @@ import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
@@ -107,6 +109,10 @@ public class Web3Impl implements Web3 {
     private final BuildInfo buildInfo;
 
     private final BlocksBloomStore blocksBloomStore;
+    @Nullable
+    private final LogIndexStore logIndexStore;
+    @Nullable
+    private final Executor logsExecutor;
     private final Web3InformationRetriever web3InformationRetriever;
 
     private final PersonalModule personalModule;
@@ -150,6 +156,42 @@ public class Web3Impl implements Web3 {
             Web3InformationRetriever web3InformationRetriever,
             SyncProcessor syncProcessor,
             SignatureCache signatureCache) {
+        this(eth, blockchain, blockStore, receiptStore, config, minerClient, minerServer,
+                personalModule, ethModule, evmModule, txPoolModule, mnrModule, debugModule, traceModule, rskModule,
+                channelManager, peerScoringManager, peerServer, nodeBlockProcessor,
+                hashRateCalculator, configCapabilities, buildInfo, blocksBloomStore, web3InformationRetriever, syncProcessor,
+                signatureCache, null, null);
+    }
+
+    protected Web3Impl(
+            Ethereum eth,
+            Blockchain blockchain,
+            BlockStore blockStore,
+            ReceiptStore receiptStore,
+            RskSystemProperties config,
+            MinerClient minerClient,
+            MinerServer minerServer,
+            PersonalModule personalModule,
+            EthModule ethModule,
+            EvmModule evmModule,
+            TxPoolModule txPoolModule,
+            MnrModule mnrModule,
+            DebugModule debugModule,
+            TraceModule traceModule,
+            RskModule rskModule,
+            ChannelManager channelManager,
+            PeerScoringManager peerScoringManager,
+            PeerServer peerServer,
+            BlockProcessor nodeBlockProcessor,
+            HashRateCalculator hashRateCalculator,
+            ConfigCapabilities configCapabilities,
+            BuildInfo buildInfo,
+            BlocksBloomStore blocksBloomStore,
+            Web3InformationRetriever web3InformationRetriever,
+            SyncProcessor syncProcessor,
+            SignatureCache signatureCache,
+            @Nullable LogIndexStore logIndexStore,
+            @Nullable Executor logsExecutor) {
         this.eth = eth;
         this.blockchain = blockchain;
         this.blockStore = blockStore;
@@ -173,6 +215,8 @@ public class Web3Impl implements Web3 {
         this.filterManager = new FilterManager(eth);
         this.buildInfo = buildInfo;
         this.blocksBloomStore = blocksBloomStore;
+        this.logIndexStore = logIndexStore;
+        this.logsExecutor = logsExecutor;
         this.web3InformationRetriever = web3InformationRetriever;
         this.syncProcessor = syncProcessor;
         this.signatureCache = signatureCache;
@@ -984,7 +1028,9 @@ public class Web3Impl implements Web3 {
     private String newFilter(FilterRequest fr) {
         String str = null;
         try {
-            Filter filter = LogFilter.fromFilterRequest(fr, blockchain, blocksBloomStore, config.getRpcEthGetLogsMaxBlockToQuery(), config.getRpcEthGetLogsMaxLogsToReturn());
+            Filter filter = LogFilter.fromFilterRequest(fr, blockchain, blocksBloomStore, logIndexStore,
+                    logsExecutor, config.getRpcEthGetLogsParallelism(),
+                    config.getRpcEthGetLogsMaxBlockToQuery(), config.getRpcEthGetLogsMaxLogsToReturn());
             return filterManager.registerFilter(filter);
         } finally {
             if (logger.isDebugEnabled()) {
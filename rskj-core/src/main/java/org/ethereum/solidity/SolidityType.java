@@ -426,6 +426,8 @@ public abstract class SolidityType {
                 bigInt = new BigInteger(s, radix);
             } else if (value instanceof BigInteger) {
                 bigInt = (BigInteger) value;
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return encodeLong(((Number) value).longValue());
             } else if (value instanceof Number) {
                 bigInt = new BigInteger(value.toString());
             } else {
@@ -449,7 +451,22 @@ public abstract class SolidityType {
         }
 
         public static byte[] encodeInt(int i) {
-            return encodeInt(new BigInteger("" + i));
+            return encodeLong(i);
+        }
+
+        /**
+         * Same output as {@link #encodeInt(BigInteger)} for the value, without going through a BigInteger
+         */
+        public static byte[] encodeLong(long value) {
+            byte[] ret = new byte[INT_SIZE];
+            if (value < 0) {
+                Arrays.fill(ret, 0, INT_SIZE - Long.BYTES, (byte) 0xFF);
+            }
+            for (int i = INT_SIZE - 1; i >= INT_SIZE - Long.BYTES; i--) {
+                ret[i] = (byte) value;
+                value >>= 8;
+            }
+            return ret;
         }
 
         public static byte[] encodeInt(BigInteger bigInt) {
@@ -471,7 +488,7 @@ public abstract class SolidityType {
             if (!(value instanceof Boolean)) {
                 throw new RuntimeException("Wrong value for bool type: " + value);
             }
-            return super.encode(value == Boolean.TRUE ? 1 : 0);
+            return encodeLong(value == Boolean.TRUE ? 1 : 0);
         }
 
         @Override
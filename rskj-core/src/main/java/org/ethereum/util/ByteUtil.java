@@ -673,6 +673,12 @@ public class ByteUtil {
         return copy;
     }
 
+    public static boolean startsWith(byte[] array, byte[] prefix) {
+        return array.length >= prefix.length && FastByteComparisons.compareTo(
+                array, 0, prefix.length,
+                prefix, 0, prefix.length) == 0;
+    }
+
     public static boolean fastEquals(byte[] left, byte[] right) {
         return FastByteComparisons.compareTo(
                 left, 0, left.length,
@@ -64,10 +64,10 @@ import java.util.stream.Stream;
 
 import static org.ethereum.util.BIUtil.toBI;
 import static org.ethereum.util.ByteUtil.EMPTY_BYTE_ARRAY;
+import static org.ethereum.util.ByteUtil.bigIntegerToBytes;
 import static org.ethereum.util.ByteUtil.leftPadBytes;
 import static org.ethereum.util.ByteUtil.numberOfLeadingZeros;
 import static org.ethereum.util.ByteUtil.parseBytes;
-import static org.ethereum.util.ByteUtil.stripLeadingZeroes;
 
 /**
  * @author Roman Mandeleil
@@ -161,14 +161,25 @@ public class PrecompiledContracts {
     private final BridgeSupportFactory bridgeSupportFactory;
     private final SignatureCache signatureCache;
     private final RemascConfig remascConfig;
+    private final PrecompiledResultCache resultCache;
+    private final PrecompiledContract cachedEcRecover;
 
     public PrecompiledContracts(RskSystemProperties config,
                                 BridgeSupportFactory bridgeSupportFactory,
                                 SignatureCache signatureCache) {
+        this(config, bridgeSupportFactory, signatureCache, PrecompiledResultCache.DISABLED);
+    }
+
+    public PrecompiledContracts(RskSystemProperties config,
+                                BridgeSupportFactory bridgeSupportFactory,
+                                SignatureCache signatureCache,
+                                PrecompiledResultCache resultCache) {
         this.config = config;
         this.bridgeSupportFactory = bridgeSupportFactory;
         this.signatureCache = signatureCache;
         this.remascConfig = new RemascConfigFactory(RemascContract.REMASC_CONFIG).createRemascConfig(config.netName());
+        this.resultCache = resultCache;
+        this.cachedEcRecover = resultCache.memoize(ECRECOVER_ADDR, ecRecover);
     }
 
     protected RskSystemProperties getConfig() {
@@ -183,6 +194,10 @@ public class PrecompiledContracts {
         return signatureCache;
     }
 
+    protected PrecompiledResultCache getResultCache() {
+        return resultCache;
+    }
+
     public boolean precompiledContactExists(RskAddress address) {
         return GENESIS_ADDRESSES.contains(address) || CONSENSUS_ENABLED_ADDRESSES.containsKey(address);
     }
@@ -193,7 +208,7 @@ public class PrecompiledContracts {
             return identity;
         }
         if (address.equals(ECRECOVER_ADDR_DW)) {
-            return ecRecover;
+            return cachedEcRecover;
         }
         if (address.equals(SHA256_ADDR_DW)) {
             return sha256;
@@ -229,19 +244,19 @@ public class PrecompiledContracts {
         }
 
         if (activations.isActive(ConsensusRule.RSKIP137) && address.equals(ALT_BN_128_ADD_DW)) {
-            return new BN128Addition(activations, AbstractAltBN128.create());
+            return memoizeAltBN128(activations, ALT_BN_128_ADD_ADDR, new BN128Addition(activations, AbstractAltBN128.create()));
         }
 
         if (activations.isActive(ConsensusRule.RSKIP137) && address.equals(ALT_BN_128_MUL_DW)) {
-            return new BN128Multiplication(activations, AbstractAltBN128.create());
+            return memoizeAltBN128(activations, ALT_BN_128_MUL_ADDR, new BN128Multiplication(activations, AbstractAltBN128.create()));
         }
 
         if (activations.isActive(ConsensusRule.RSKIP137) && address.equals(ALT_BN_128_PAIRING_DW)) {
-            return new BN128Pairing(activations, AbstractAltBN128.create());
+            return memoizeAltBN128(activations, ALT_BN_128_PAIRING_ADDR, new BN128Pairing(activations, AbstractAltBN128.create()));
         }
 
         if (activations.isActive(ConsensusRule.RSKIP153) && address.equals(BLAKE2F_ADDR_DW)) {
-            return new Blake2F(activations);
+            return resultCache.memoize(BLAKE2F_ADDR, new Blake2F(activations));
         }
 
         if (activations.isActive(ConsensusRule.RSKIP203) && address.equals(ENVIRONMENT_ADDR_DW)) {
@@ -259,6 +274,15 @@ public class PrecompiledContracts {
         return null;
     }
 
+    private PrecompiledContract memoizeAltBN128(ActivationConfig.ForBlock activations, RskAddress address, PrecompiledContract contract) {
+        // before RSKIP197 invalid points produce an empty output instead of an error, which must not be served afterwards
+        if (!activations.isActive(ConsensusRule.RSKIP197)) {
+            return contract;
+        }
+
+        return resultCache.memoize(address, contract);
+    }
+
     private Secp256k1Service createSecp256k1Service() {
         return Secp256k1.getInstance();
     }
@@ -517,8 +541,8 @@ public class PrecompiledContracts {
                     return leftPadBytes(EMPTY_BYTE_ARRAY, modLen);
                 }
 
-                byte[] res = stripLeadingZeroes(base.modPow(exp, mod).toByteArray());
-                return leftPadBytes(res, modLen);
+                // the result is lower than mod, so it always fits in modLen bytes
+                return bigIntegerToBytes(base.modPow(exp, mod), modLen);
             } catch (ArithmeticException e) {
                 return EMPTY_BYTE_ARRAY;
             }
@@ -561,6 +585,10 @@ public class PrecompiledContracts {
         }
 
         private BigInteger parseArg(byte[] data, int offset, int len) {
+            if (offset < data.length && len <= data.length - offset) {
+                // fully inside the input, no need for a right padded copy
+                return new BigInteger(1, data, offset, len);
+            }
             byte[] bytes = parseBytes(data, offset, len);
             return toBI(bytes);
         }
@@ -0,0 +1,164 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.vm;
+
+import co.rsk.core.RskAddress;
+import co.rsk.crypto.Keccak256;
+import co.rsk.metrics.CacheStats;
+import co.rsk.rpc.modules.trace.ProgramSubtrace;
+import org.ethereum.crypto.Keccak256Hasher;
+import org.ethereum.vm.PrecompiledContracts.PrecompiledContract;
+import org.ethereum.vm.exception.VMException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node-wide cache of the outputs of pure precompiled contracts, keyed by the hash of the contract address and
+ * the call input.
+ *
+ * Only successful executions are cached, a call that fails is executed again every time. Gas is charged by the
+ * caller from {@link PrecompiledContract#getGasForData} as usual, hits only save the execution itself.
+ */
+public class PrecompiledResultCache implements PrecompiledResultCacheMBean {
+
+    public static final PrecompiledResultCache DISABLED = new PrecompiledResultCache(0);
+
+    private final int maxEntries;
+    private final CacheStats stats = new CacheStats();
+    private final Map<Keccak256, byte[]> entries;
+
+    public PrecompiledResultCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+
+        this.maxEntries = maxEntries;
+        this.entries = stats.newLruMap(maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Wraps the contract so its executions go through this cache, or returns it as is if the cache is disabled
+     */
+    public PrecompiledContract memoize(RskAddress address, PrecompiledContract contract) {
+        if (!isEnabled()) {
+            return contract;
+        }
+
+        return new MemoizedContract(address, contract);
+    }
+
+    byte[] execute(RskAddress address, PrecompiledContract contract, byte[] data) throws VMException {
+        if (data == null) {
+            return contract.execute(null);
+        }
+
+        Keccak256 key = new Keccak256(Keccak256Hasher.hash(address.getBytes(), data));
+
+        byte[] cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+
+        if (cached != null) {
+            stats.onHit();
+            return Arrays.copyOf(cached, cached.length);
+        }
+
+        stats.onMiss();
+        byte[] result = contract.execute(data);
+        if (result != null) {
+            synchronized (entries) {
+                entries.put(key, Arrays.copyOf(result, result.length));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getEntries() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public long getHits() {
+        return stats.getHits();
+    }
+
+    @Override
+    public long getMisses() {
+        return stats.getMisses();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats.getHitRate();
+    }
+
+    @Override
+    public long getEvictions() {
+        return stats.getEvictions();
+    }
+
+    private final class MemoizedContract extends PrecompiledContract {
+        private final PrecompiledContract delegate;
+
+        private MemoizedContract(RskAddress address, PrecompiledContract delegate) {
+            super(address);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long getGasForData(byte[] data) {
+            return delegate.getGasForData(data);
+        }
+
+        @Override
+        public void init(PrecompiledContractArgs args) {
+            delegate.init(args);
+        }
+
+        @Override
+        public List<ProgramSubtrace> getSubtraces() {
+            return delegate.getSubtraces();
+        }
+
+        @Override
+        public byte[] execute(byte[] data) throws VMException {
+            return PrecompiledResultCache.this.execute(contractAddress, delegate, data);
+        }
+
+        @Override
+        public int getMaxInput() {
+            return delegate.getMaxInput();
+        }
+    }
+}
@@ -129,4 +129,52 @@ class CallTransactionTest {
         String value = "0000000000000000000000000000000000000000000000000000000000000020";
         Assertions.assertEquals(new BigInteger("32"), event.decodeEventData(Hex.decode(value))[0]);
     }
+
+    @Test
+    void encodeSingleOutputMatchesGenericLayout() {
+        CallTransaction.Function staticOutput = CallTransaction.Function.fromSignature("func", new String[] {}, new String[] { "int" });
+        CallTransaction.Function dynamicOutput = CallTransaction.Function.fromSignature("func", new String[] {}, new String[] { "string" });
+        CallTransaction.Function arrayOutput = CallTransaction.Function.fromSignature("func", new String[] {}, new String[] { "string[]" });
+
+        Assertions.assertArrayEquals(staticOutput.encodeArguments(staticOutput.outputs, 42), staticOutput.encodeOutputs(42));
+        Assertions.assertArrayEquals(
+                dynamicOutput.encodeArguments(dynamicOutput.outputs, "2N5muMepJizJE1gR7FbHJU6CD18V3BpNF9p"),
+                dynamicOutput.encodeOutputs("2N5muMepJizJE1gR7FbHJU6CD18V3BpNF9p"));
+        Object[] locator = new Object[] { "00aa", "00bb" };
+        Assertions.assertArrayEquals(
+                arrayOutput.encodeArguments(arrayOutput.outputs, new Object[] { locator }),
+                arrayOutput.encodeOutputs(new Object[] { locator }));
+    }
+
+    @Test
+    void encodeSingleValueOfSeveralOutputsUsesGenericLayout() {
+        CallTransaction.Function func = CallTransaction.Function.fromSignature("func", new String[] {}, new String[] { "string", "int" });
+
+        Assertions.assertArrayEquals(func.encodeArguments(func.outputs, "abc"), func.encodeOutputs("abc"));
+    }
+
+    @Test
+    void encodeOutputsWithoutDeclaredOutputs() {
+        CallTransaction.Function func = CallTransaction.Function.fromSignature("func", new String[] {}, new String[] {});
+
+        Assertions.assertThrows(CallTransaction.CallTransactionException.class, () -> func.encodeOutputs(1));
+    }
+
+    @Test
+    void decodeWithoutInputs() {
+        CallTransaction.Function func = CallTransaction.Function.fromSignature("func", new String[] {}, new String[] { "int" });
+
+        Assertions.assertEquals(0, func.decode(func.encode()).length);
+    }
+
+    @Test
+    void encodeSignatureReturnsCopies() {
+        CallTransaction.Function func = CallTransaction.Function.fromSignature("getFederationAddress", new String[] {}, new String[] { "string" });
+
+        byte[] signature = func.encodeSignature();
+        Assertions.assertArrayEquals(Hex.decode("6923fa85"), signature);
+
+        signature[0] = 0;
+        Assertions.assertArrayEquals(Hex.decode("6923fa85"), func.encodeSignature());
+    }
 }
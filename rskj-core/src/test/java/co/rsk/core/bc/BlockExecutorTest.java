@@ -75,6 +75,7 @@ import org.ethereum.vm.DataWord;
 import org.ethereum.vm.GasCost;
 import org.ethereum.vm.PrecompiledContracts;
 import org.ethereum.vm.program.invoke.ProgramInvokeFactoryImpl;
+import org.ethereum.vm.trace.ProgramTraceProcessor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -887,6 +888,123 @@ public class BlockExecutorTest {
                 parallelResult.getFinalState().getHash().getBytes());
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void traceTransactionOnlyTracesAndExecutesUpToTheTarget(boolean activeRskip144) {
+        doReturn(activeRskip144).when(activationConfig).isActive(eq(ConsensusRule.RSKIP144), anyLong());
+        BlockExecutor executor = buildBlockExecutor(trieStore, activeRskip144, RSKIP_126_IS_ACTIVE);
+        Block parent = blockchain.getBestBlock();
+        Block block = getBlockWithTenTransactions(activeRskip144 ? new short[] { 4, 8 } : null);
+        List<Transaction> txs = block.getTransactionsList();
+
+        ProgramTraceProcessor programTraceProcessor = new ProgramTraceProcessor();
+        BlockResult result = executor.traceTransaction(programTraceProcessor, 0, block, parent.getHeader(), 5);
+
+        // in a parallel sublist, only the transactions before the target in the same sublist are executed
+        Assertions.assertEquals(activeRskip144 ? 2 : 6, result.getExecutedTransactions().size());
+        Assertions.assertNotNull(programTraceProcessor.getProgramTrace(txs.get(5).getHash()));
+        for (int i = 0; i < txs.size(); i++) {
+            if (i != 5) {
+                Assertions.assertNull(programTraceProcessor.getProgramTrace(txs.get(i).getHash()));
+            }
+        }
+
+        programTraceProcessor = new ProgramTraceProcessor();
+        result = executor.traceTransaction(programTraceProcessor, 0, block, parent.getHeader(), 9);
+
+        Assertions.assertEquals(10, result.getExecutedTransactions().size());
+        Assertions.assertNotNull(programTraceProcessor.getProgramTrace(txs.get(9).getHash()));
+        Assertions.assertNull(programTraceProcessor.getProgramTrace(txs.get(8).getHash()));
+        Assertions.assertNull(programTraceProcessor.getProgramTrace(txs.get(0).getHash()));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> executor.traceTransaction(new ProgramTraceProcessor(), 0, block, parent.getHeader(), 10));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void traceTransactionResumesFromCheckpoints(boolean activeRskip144) {
+        doReturn(activeRskip144).when(activationConfig).isActive(eq(ConsensusRule.RSKIP144), anyLong());
+        BlockExecutor plainExecutor = buildBlockExecutor(trieStore, activeRskip144, RSKIP_126_IS_ACTIVE);
+        BlockExecutor executor = buildBlockExecutor(trieStore, activeRskip144, RSKIP_126_IS_ACTIVE);
+        StateCheckpointCache checkpointCache = new StateCheckpointCache(8, 2);
+        executor.setStateCheckpointCache(checkpointCache);
+        Block parent = blockchain.getBestBlock();
+        Block block = getBlockWithTenTransactions(activeRskip144 ? new short[] { 4, 8 } : null);
+
+        // keeping checkpoints doesn't change the resulting state
+        BlockResult expectedResult = plainExecutor.execute(null, 0, block, parent.getHeader(), false, false, false);
+        BlockResult result = executor.execute(null, 0, block, parent.getHeader(), false, false, false);
+        Assertions.assertArrayEquals(expectedResult.getFinalState().getHash().getBytes(),
+                result.getFinalState().getHash().getBytes());
+        Assertions.assertEquals(0, checkpointCache.getHits());
+
+        for (int txIndex : new int[] { 5, 7, 9 }) {
+            ProgramTraceProcessor expectedTrace = new ProgramTraceProcessor();
+            plainExecutor.traceTransaction(expectedTrace, 0, block, parent.getHeader(), txIndex);
+            ProgramTraceProcessor trace = new ProgramTraceProcessor();
+            executor.traceTransaction(trace, 0, block, parent.getHeader(), txIndex);
+
+            var txHash = block.getTransactionsList().get(txIndex).getHash();
+            Assertions.assertNotNull(trace.getProgramTraceAsJsonNode(txHash));
+            Assertions.assertEquals(expectedTrace.getProgramTraceAsJsonNode(txHash), trace.getProgramTraceAsJsonNode(txHash));
+        }
+
+        // the block execution only keeps checkpoints of the sequential sublist, traces keep the ones of their sublist
+        Assertions.assertEquals(activeRskip144 ? 1 : 3, checkpointCache.getHits());
+        Assertions.assertEquals(activeRskip144 ? 2 : 0, checkpointCache.getMisses());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void executeAndFillExtendingAMiningPrefixMatchesTheFullExecution(boolean activeRskip144) {
+        BlockExecutor executor = buildBlockExecutor(trieStore, activeRskip144, RSKIP_126_IS_ACTIVE);
+        Block fullBlock = getBlockWithNIndependentTransactions(6, BigInteger.valueOf(21000), true);
+        Block parent = blockchain.getBestBlock();
+        List<Transaction> txs = new ArrayList<>(fullBlock.getTransactionsList());
+        Transaction remascTx = txs.get(txs.size() - 1);
+
+        List<Transaction> prefixTxs = new ArrayList<>(txs.subList(0, 3));
+        prefixTxs.add(remascTx);
+        BlockResult prefixResult = executor.executeAndFill(createChildBlock(parent, prefixTxs), parent.getHeader());
+        MiningPrefix prefix = prefixResult.getMiningPrefix();
+
+        BlockResult expectedResult = executor.executeAndFill(createChildBlock(parent, txs), parent.getHeader());
+
+        if (activeRskip144) {
+            // parallel blocks are always built from scratch
+            Assertions.assertNull(prefix);
+            return;
+        }
+
+        Assertions.assertNotNull(prefix);
+        Assertions.assertEquals(txs.subList(0, 3), prefix.getTransactions());
+        Assertions.assertEquals(3 * 21000L, prefix.getGasUsed());
+
+        BlockResult result = executor.executeAndFill(createChildBlock(parent, txs), parent.getHeader(), prefix);
+
+        Assertions.assertArrayEquals(expectedResult.getFinalState().getHash().getBytes(),
+                result.getFinalState().getHash().getBytes());
+        Assertions.assertEquals(expectedResult.getExecutedTransactions(), result.getExecutedTransactions());
+        Assertions.assertEquals(expectedResult.getGasUsed(), result.getGasUsed());
+        Assertions.assertEquals(expectedResult.getPaidFees(), result.getPaidFees());
+        Assertions.assertEquals(expectedResult.getTransactionReceipts().size(), result.getTransactionReceipts().size());
+        Assertions.assertEquals(txs.subList(0, 6), result.getMiningPrefix().getTransactions());
+    }
+
+    private Block createChildBlock(Block parent, List<Transaction> txs) {
+        return new BlockGenerator(Constants.regtest(), activationConfig)
+                .createChildBlockUsingCoinbase(
+                        parent,
+                        txs,
+                        new ArrayList<>(),
+                        1,
+                        null,
+                        parent.getGasLimit(),
+                        parent.getCoinbase(),
+                        null);
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = { true, false })
     void executeInvalidParallelBlockDueToCollision(boolean activeRskip144) {
@@ -0,0 +1,98 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.core.bc;
+
+import co.rsk.core.Coin;
+import co.rsk.crypto.Keccak256;
+import co.rsk.trie.Trie;
+import org.ethereum.crypto.HashUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateCheckpointCacheTest {
+
+    @Test
+    void keepsCheckpointsEveryInterval() {
+        StateCheckpointCache cache = new StateCheckpointCache(4, 3);
+
+        assertFalse(cache.isCheckpoint(0));
+        assertFalse(cache.isCheckpoint(1));
+        assertTrue(cache.isCheckpoint(2));
+        assertTrue(cache.isCheckpoint(5));
+        assertThrows(IllegalArgumentException.class, () -> new StateCheckpointCache(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new StateCheckpointCache(4, 0));
+    }
+
+    @Test
+    void findsLatestCheckpointOfTheSameList() {
+        StateCheckpointCache cache = new StateCheckpointCache(4, 2);
+        Keccak256 blockHash = blockHash(1);
+        StateCheckpointCache.Checkpoint checkpoint1 = checkpoint(1);
+        StateCheckpointCache.Checkpoint checkpoint5 = checkpoint(5);
+        cache.put(blockHash, checkpoint1);
+        cache.put(blockHash, checkpoint5);
+
+        assertSame(checkpoint1, cache.find(blockHash, 0, 5).get());
+        assertSame(checkpoint5, cache.find(blockHash, 0, 6).get());
+        // a checkpoint before the first transaction of the list belongs to another list
+        assertSame(checkpoint5, cache.find(blockHash, 4, 8).get());
+        assertEquals(Optional.empty(), cache.find(blockHash, 2, 5));
+        assertEquals(Optional.empty(), cache.find(blockHash, 0, 1));
+        assertEquals(Optional.empty(), cache.find(blockHash(2), 0, 6));
+
+        assertEquals(3, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+        // transactions not executed thanks to the checkpoints
+        assertEquals(2 + 6 + 2, cache.getSkippedTransactions());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBlocks() {
+        StateCheckpointCache cache = new StateCheckpointCache(2, 2);
+        cache.put(blockHash(1), checkpoint(1));
+        cache.put(blockHash(1), checkpoint(3));
+        cache.put(blockHash(2), checkpoint(1));
+        cache.find(blockHash(1), 0, 2);
+        cache.put(blockHash(3), checkpoint(1));
+
+        assertEquals(2, cache.getBlocks());
+        assertEquals(3, cache.getCheckpoints());
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.find(blockHash(1), 0, 2).isPresent());
+        assertFalse(cache.find(blockHash(2), 0, 2).isPresent());
+        assertTrue(cache.find(blockHash(3), 0, 2).isPresent());
+    }
+
+    private static StateCheckpointCache.Checkpoint checkpoint(int txIndex) {
+        return new StateCheckpointCache.Checkpoint(txIndex, new Trie(), 21000L * (txIndex + 1), Coin.ZERO, Collections.emptySet());
+    }
+
+    private static Keccak256 blockHash(int number) {
+        return new Keccak256(HashUtil.keccak256(new byte[] { (byte) number }));
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.crypto.altbn128java;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static co.rsk.crypto.altbn128java.Params.P;
+import static co.rsk.crypto.altbn128java.Params.PAIRING_FINAL_EXPONENT_Z;
+import static co.rsk.crypto.altbn128java.Params.R;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Differential tests of the Montgomery form towers against the {@link BigInteger} based ones
+ */
+class MontgomeryFieldTest {
+
+    private static final int ITERATIONS = 200;
+
+    private static final BigInteger[] EDGE_VALUES = {
+            BigInteger.ZERO,
+            BigInteger.ONE,
+            BigInteger.valueOf(2),
+            P.subtract(BigInteger.ONE),
+            P.subtract(BigInteger.valueOf(2)),
+            BigInteger.ONE.shiftLeft(64),
+            BigInteger.ONE.shiftLeft(192).subtract(BigInteger.ONE),
+            BigInteger.ONE.shiftLeft(253)
+    };
+
+    private static final BN128G1 G1_GENERATOR = BN128G1.create(new byte[] {1}, new byte[] {2});
+    private static final BN128G2 G2_GENERATOR = BN128G2.create(
+            new BigInteger("10857046999023057135944570762232829481370756359578518086990519993285655852781").toByteArray(),
+            new BigInteger("11559732032986387107991004021392285783925812861821192530917403151452391805634").toByteArray(),
+            new BigInteger("8495653923123431417604973247489272438418190587263600148770280649306958101930").toByteArray(),
+            new BigInteger("4082367875863433681332203403145435568316851327593401208105741076214120093531").toByteArray()
+    );
+
+    private final Random random = new Random(42);
+
+    @Test
+    void fpArithmeticMatchesFp() {
+        for (BigInteger x : EDGE_VALUES) {
+            for (BigInteger y : EDGE_VALUES) {
+                assertFpOperationsMatch(x, y);
+            }
+        }
+
+        for (int i = 0; i < ITERATIONS * 10; i++) {
+            assertFpOperationsMatch(randomFpValue(), randomFpValue());
+        }
+    }
+
+    @Test
+    void fpInverseOfZeroFailsLikeFp() {
+        long[] zero = new long[FpMont.LIMBS];
+
+        assertThrows(ArithmeticException.class, () -> Fp.ZERO.inverse());
+        assertThrows(ArithmeticException.class, () -> FpMont.inverse(zero, 0, zero, 0));
+    }
+
+    @Test
+    void fp2ArithmeticMatchesFp2() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            Fp2 x = randomFp2();
+            Fp2 y = randomFp2();
+            Fp2Mont xm = Fp2Mont.of(x);
+            Fp2Mont ym = Fp2Mont.of(y);
+
+            assertEquals(x.add(y), xm.add(ym).toFp2());
+            assertEquals(x.sub(y), xm.sub(ym).toFp2());
+            assertEquals(x.mul(y), xm.mul(ym).toFp2());
+            assertEquals(x.squared(), xm.squared().toFp2());
+            assertEquals(x.dbl(), xm.dbl().toFp2());
+            assertEquals(x.negate(), xm.negate().toFp2());
+            assertEquals(x.inverse(), xm.inverse().toFp2());
+            assertEquals(x.mulByNonResidue(), xm.mulByNonResidue().toFp2());
+            assertEquals(x.frobeniusMap(1), xm.frobeniusMap(1).toFp2());
+            assertEquals(x.frobeniusMap(2), xm.frobeniusMap(2).toFp2());
+            assertEquals(x.a().mul(y), ym.mul(Fp2Mont.of(new Fp2(x.a(), Fp.ZERO)).v, 0).toFp2());
+        }
+    }
+
+    @Test
+    void fp6ArithmeticMatchesFp6() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            Fp6 x = randomFp6();
+            Fp6 y = randomFp6();
+            Fp2 s = randomFp2();
+            Fp6Mont xm = Fp6Mont.of(x);
+            Fp6Mont ym = Fp6Mont.of(y);
+
+            assertEquals(x.add(y), xm.add(ym).toFp6());
+            assertEquals(x.sub(y), xm.sub(ym).toFp6());
+            assertEquals(x.mul(y), xm.mul(ym).toFp6());
+            assertEquals(x.mul(s), xm.mul(Fp2Mont.of(s)).toFp6());
+            assertEquals(x.squared(), xm.squared().toFp6());
+            assertEquals(x.dbl(), xm.dbl().toFp6());
+            assertEquals(x.negate(), xm.negate().toFp6());
+            assertEquals(x.inverse(), xm.inverse().toFp6());
+            assertEquals(x.mulByNonResidue(), xm.mulByNonResidue().toFp6());
+            for (int power = 0; power < 6; power++) {
+                assertEquals(x.frobeniusMap(power), xm.frobeniusMap(power).toFp6());
+            }
+        }
+    }
+
+    @Test
+    void fp12ArithmeticMatchesFp12() {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            Fp12 x = randomFp12();
+            Fp12 y = randomFp12();
+            Fp2 ell0 = randomFp2();
+            Fp2 ellVW = randomFp2();
+            Fp2 ellVV = randomFp2();
+            Fp12Mont xm = Fp12Mont.of(x);
+            Fp12Mont ym = Fp12Mont.of(y);
+
+            assertEquals(x.add(y), xm.add(ym).toFp12());
+            assertEquals(x.sub(y), xm.sub(ym).toFp12());
+            assertEquals(x.mul(y), xm.mul(ym).toFp12());
+            assertEquals(x.squared(), xm.squared().toFp12());
+            assertEquals(x.negate(), xm.negate().toFp12());
+            assertEquals(x.inverse(), xm.inverse().toFp12());
+            assertEquals(x.unitaryInverse(), xm.unitaryInverse().toFp12());
+            assertEquals(x.cyclotomicSquared(), xm.cyclotomicSquared().toFp12());
+            assertEquals(
+                    x.mulBy024(ell0, ellVW, ellVV),
+                    xm.mulBy024(Fp2Mont.of(ell0), Fp2Mont.of(ellVW), Fp2Mont.of(ellVV)).toFp12()
+            );
+            for (int power = 0; power < 12; power++) {
+                assertEquals(x.frobeniusMap(power), xm.frobeniusMap(power).toFp12());
+            }
+        }
+
+        Fp12 x = randomFp12();
+        assertEquals(x.negExp(PAIRING_FINAL_EXPONENT_Z), Fp12Mont.of(x).negExp(PAIRING_FINAL_EXPONENT_Z).toFp12());
+    }
+
+    @Test
+    void millerLoopAndFinalExponentiationMatchReferenceImplementation() {
+        for (int i = 0; i < 4; i++) {
+            BN128G1 g1 = new BN128G1(G1_GENERATOR.mul(randomScalar()));
+            BN128G2 g2 = new BN128G2(G2_GENERATOR.mul(randomScalar()));
+
+            Fp12 miller = PairingCheck.millerLoop(g1, g2);
+            Fp12Mont millerMont = PairingCheck.millerLoopMont(g1, g2);
+
+            assertEquals(miller, millerMont.toFp12());
+            assertEquals(
+                    PairingCheck.finalExponentiation(miller),
+                    PairingCheck.finalExponentiationMont(millerMont).toFp12()
+            );
+        }
+    }
+
+    @Test
+    void pairingCheck() {
+        BigInteger a = randomScalar();
+        BigInteger b = randomScalar();
+
+        // e(a * G1, b * G2) * e(-(a * b) * G1, G2) == 1
+        PairingCheck valid = PairingCheck.create();
+        valid.addPair(new BN128G1(G1_GENERATOR.mul(a)), new BN128G2(G2_GENERATOR.mul(b)));
+        valid.addPair(new BN128G1(G1_GENERATOR.mul(a.multiply(b).negate().mod(R))), G2_GENERATOR);
+        valid.run();
+        assertEquals(1, valid.result());
+
+        PairingCheck invalid = PairingCheck.create();
+        invalid.addPair(new BN128G1(G1_GENERATOR.mul(a)), new BN128G2(G2_GENERATOR.mul(b)));
+        invalid.addPair(new BN128G1(G1_GENERATOR.mul(a.multiply(b).mod(R))), G2_GENERATOR);
+        invalid.run();
+        assertEquals(0, invalid.result());
+
+        PairingCheck withZeroPoints = PairingCheck.create();
+        withZeroPoints.addPair(new BN128G1(G1_GENERATOR.mul(BigInteger.ZERO)), G2_GENERATOR);
+        withZeroPoints.addPair(G1_GENERATOR, new BN128G2(G2_GENERATOR.mul(BigInteger.ZERO)));
+        withZeroPoints.run();
+        assertEquals(1, withZeroPoints.result());
+
+        PairingCheck empty = PairingCheck.create();
+        empty.run();
+        assertEquals(1, empty.result());
+    }
+
+    private void assertFpOperationsMatch(BigInteger xValue, BigInteger yValue) {
+        Fp x = Fp.create(xValue);
+        Fp y = Fp.create(yValue);
+        long[] xm = new long[FpMont.LIMBS];
+        long[] ym = new long[FpMont.LIMBS];
+        long[] r = new long[FpMont.LIMBS];
+        FpMont.set(xValue, xm, 0);
+        FpMont.set(yValue, ym, 0);
+
+        FpMont.add(xm, 0, ym, 0, r, 0);
+        assertEquals(x.add(y), Fp.create(FpMont.toBigInteger(r, 0)));
+        FpMont.sub(xm, 0, ym, 0, r, 0);
+        assertEquals(x.sub(y), Fp.create(FpMont.toBigInteger(r, 0)));
+        FpMont.mul(xm, 0, ym, 0, r, 0);
+        assertEquals(x.mul(y), Fp.create(FpMont.toBigInteger(r, 0)));
+        FpMont.squared(xm, 0, r, 0);
+        assertEquals(x.squared(), Fp.create(FpMont.toBigInteger(r, 0)));
+        FpMont.dbl(xm, 0, r, 0);
+        assertEquals(x.dbl(), Fp.create(FpMont.toBigInteger(r, 0)));
+        FpMont.negate(xm, 0, r, 0);
+        assertEquals(x.negate(), Fp.create(FpMont.toBigInteger(r, 0)));
+        if (!x.isZero()) {
+            FpMont.inverse(xm, 0, r, 0);
+            assertEquals(x.inverse(), Fp.create(FpMont.toBigInteger(r, 0)));
+        }
+
+        // the output may alias the inputs
+        System.arraycopy(xm, 0, r, 0, FpMont.LIMBS);
+        FpMont.mul(r, 0, r, 0, r, 0);
+        assertEquals(x.squared(), Fp.create(FpMont.toBigInteger(r, 0)));
+    }
+
+    private BigInteger randomFpValue() {
+        return new BigInteger(P.bitLength(), random).mod(P);
+    }
+
+    private BigInteger randomScalar() {
+        return new BigInteger(R.bitLength(), random).mod(R);
+    }
+
+    private Fp2 randomFp2() {
+        return Fp2.create(randomFpValue(), randomFpValue());
+    }
+
+    private Fp6 randomFp6() {
+        return new Fp6(randomFp2(), randomFp2(), randomFp2());
+    }
+
+    private Fp12 randomFp12() {
+        return new Fp12(randomFp6(), randomFp6());
+    }
+}
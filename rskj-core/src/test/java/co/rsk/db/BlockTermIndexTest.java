@@ -0,0 +1,114 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.db;
+
+import co.rsk.crypto.Keccak256;
+import org.ethereum.datasource.HashMapDB;
+import org.ethereum.db.ByteArrayWrapper;
+import org.ethereum.vm.DataWord;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockTermIndexTest {
+    private static final byte[] TERM1 = {1, 1};
+    private static final byte[] TERM2 = {1, 2};
+
+    @Test
+    void getMatchingPositionsInRange() {
+        BlockTermIndex index = new BlockTermIndex(4, new HashMapDB());
+
+        index.addBlock(3, record(3), positions(TERM1, 30));
+        index.addBlock(4, record(4), positions(TERM2, 40));
+        index.addBlock(5, record(5), positions(TERM1, 50));
+
+        assertEquals(3, index.getFirstNumber());
+        assertEquals(5, index.getHeadNumber());
+        assertEquals(new Keccak256(record(4)), index.getBlockHash(4));
+        assertMatchingPositions(index.getMatchingPositions(TERM1, 0, 10), 30, 50);
+        assertMatchingPositions(index.getMatchingPositions(TERM1, 4, 10), 50);
+        assertMatchingPositions(index.getMatchingPositions(TERM2, 0, 3));
+    }
+
+    @Test
+    void addBlockBeforeTheFirstOne() {
+        BlockTermIndex index = new BlockTermIndex(4, new HashMapDB());
+
+        index.addBlock(5, record(5), positions(TERM1, 50));
+        index.addBlock(4, record(4), positions(TERM1, 40));
+
+        assertEquals(4, index.getFirstNumber());
+        assertEquals(5, index.getHeadNumber());
+        assertMatchingPositions(index.getMatchingPositions(TERM1, 0, 10), 40, 50);
+
+        Map<ByteArrayWrapper, List<byte[]>> positions = positions(TERM1, 70);
+        byte[] record = record(7);
+        assertThrows(IllegalStateException.class, () -> index.addBlock(7, record, positions));
+    }
+
+    @Test
+    void removeHeadDropsItsRows() {
+        HashMapDB dataSource = new HashMapDB();
+        BlockTermIndex index = new BlockTermIndex(4, dataSource);
+        index.addBlock(3, record(3), positions(TERM1, 30));
+        index.addBlock(4, record(4), positions(TERM1, 40));
+
+        index.removeHead(Collections.singletonList(TERM1));
+
+        assertEquals(3, index.getHeadNumber());
+        assertNull(index.getBlockRecord(4));
+        assertMatchingPositions(index.getMatchingPositions(TERM1, 0, 10), 30);
+
+        index.removeHead(Collections.singletonList(TERM1));
+
+        assertTrue(index.isEmpty());
+        assertTrue(dataSource.keys().isEmpty());
+    }
+
+    @Test
+    void reloadFromDataSource() {
+        HashMapDB dataSource = new HashMapDB();
+        new BlockTermIndex(4, dataSource).addBlock(7, record(7), positions(TERM1, 70));
+
+        BlockTermIndex reloaded = new BlockTermIndex(4, dataSource);
+
+        assertEquals(7, reloaded.getFirstNumber());
+        assertEquals(7, reloaded.getHeadNumber());
+        assertMatchingPositions(reloaded.getMatchingPositions(TERM1, 0, 10), 70);
+    }
+
+    private static void assertMatchingPositions(List<byte[]> matching, int... expected) {
+        assertEquals(expected.length, matching.size());
+        for (int k = 0; k < expected.length; k++) {
+            assertArrayEquals(new byte[]{(byte) expected[k]}, matching.get(k));
+        }
+    }
+
+    private static Map<ByteArrayWrapper, List<byte[]>> positions(byte[] term, int position) {
+        return Collections.singletonMap(new ByteArrayWrapper(term), Collections.singletonList(new byte[]{(byte) position}));
+    }
+
+    private static byte[] record(long number) {
+        return DataWord.valueOf(number).getData();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.db;
+
+import co.rsk.blockchain.utils.BlockGenerator;
+import co.rsk.remasc.Sibling;
+import org.ethereum.config.blockchain.upgrades.ActivationConfigsForTest;
+import org.ethereum.core.Block;
+import org.ethereum.core.BlockFactory;
+import org.ethereum.core.BlockHeader;
+import org.ethereum.datasource.HashMapDB;
+import org.ethereum.db.IndexedBlockStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static co.rsk.core.BlockDifficulty.ZERO;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemascSiblingIndexTest {
+
+    private BlockGenerator blockGenerator;
+    private Block genesis;
+    private Block uncle1;
+    private Block uncle2;
+    private Block block2;
+    private Block block3;
+
+    @BeforeEach
+    void setUp() {
+        blockGenerator = new BlockGenerator();
+        genesis = blockGenerator.getGenesisBlock();
+        Block block1 = blockGenerator.createChildBlock(genesis);
+        uncle1 = blockGenerator.createChildBlock(genesis, 0, 2);
+        uncle2 = blockGenerator.createChildBlock(block1, 0, 3);
+        block2 = blockGenerator.createChildBlock(block1, 0, Collections.singletonList(uncle1.getHeader()), new byte[]{1});
+        block3 = blockGenerator.createChildBlock(block2, 0, Arrays.asList(uncle2.getHeader(), uncle1.getHeader()), new byte[]{1});
+    }
+
+    @Test
+    void indexedSiblingsMatchTheOnesInTheBlock() {
+        RemascSiblingIndex index = new RemascSiblingIndex(new HashMapDB());
+
+        index.addBlock(block3);
+        Map<Long, List<Sibling>> siblings = index.getSiblings(block3.getHash());
+
+        assertNotNull(siblings);
+        assertEquals(2, siblings.size());
+        assertSibling(uncle1.getHeader(), block3, siblings.get(1L).get(0));
+        assertSibling(uncle2.getHeader(), block3, siblings.get(2L).get(0));
+    }
+
+    @Test
+    void blocksWithoutUnclesAreIndexed() {
+        RemascSiblingIndex index = new RemascSiblingIndex(new HashMapDB());
+
+        assertNull(index.getSiblings(genesis.getHash()));
+
+        index.addBlock(genesis);
+
+        assertEquals(Collections.emptyMap(), index.getSiblings(genesis.getHash()));
+    }
+
+    @Test
+    void removedBlocksAreNoLongerIndexed() {
+        RemascSiblingIndex index = new RemascSiblingIndex(new HashMapDB());
+
+        index.addBlock(block2);
+        index.removeBlock(block2.getHash());
+
+        assertNull(index.getSiblings(block2.getHash()));
+    }
+
+    @Test
+    void blockStoreReadsSiblingsSavedByAPreviousInstance() {
+        HashMapDB blocksDb = new HashMapDB();
+        HashMapDB siblingsDb = new HashMapDB();
+        HashMapBlocksIndex blocksIndex = new HashMapBlocksIndex();
+        BlockFactory blockFactory = new BlockFactory(ActivationConfigsForTest.regtest());
+
+        new IndexedBlockStore(blockFactory, blocksDb, blocksIndex, new RemascSiblingIndex(siblingsDb))
+                .saveBlock(block3, ZERO, true);
+
+        // the blocks are gone, so the siblings can only come from the index
+        blocksDb.delete(block3.getHash().getBytes());
+        IndexedBlockStore restarted = new IndexedBlockStore(blockFactory, blocksDb, blocksIndex, new RemascSiblingIndex(siblingsDb));
+        Map<Long, List<Sibling>> siblings = restarted.getSiblingsFromBlockByHash(block3.getHash());
+
+        assertEquals(2, siblings.size());
+        assertSibling(uncle2.getHeader(), block3, siblings.get(2L).get(0));
+    }
+
+    @Test
+    void blockStoreIndexesBlocksSavedBeforeTheIndexExisted() {
+        HashMapDB blocksDb = new HashMapDB();
+        HashMapBlocksIndex blocksIndex = new HashMapBlocksIndex();
+        BlockFactory blockFactory = new BlockFactory(ActivationConfigsForTest.regtest());
+        new IndexedBlockStore(blockFactory, blocksDb, blocksIndex).saveBlock(block2, ZERO, true);
+
+        RemascSiblingIndex index = new RemascSiblingIndex(new HashMapDB());
+        IndexedBlockStore blockStore = new IndexedBlockStore(blockFactory, blocksDb, blocksIndex, index);
+        blockStore.getSiblingsFromBlockByHash(block2.getHash());
+
+        assertSibling(uncle1.getHeader(), block2, index.getSiblings(block2.getHash()).get(1L).get(0));
+    }
+
+    private static void assertSibling(BlockHeader uncle, Block includer, Sibling sibling) {
+        assertArrayEquals(uncle.getHash().getBytes(), sibling.getHash());
+        assertEquals(uncle.getCoinbase(), sibling.getCoinbase());
+        assertEquals(uncle.getPaidFees(), sibling.getPaidFees());
+        assertEquals(includer.getCoinbase(), sibling.getIncludedBlockCoinbase());
+        assertEquals(includer.getNumber(), sibling.getIncludedHeight());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.logfilter;
+
+import co.rsk.core.RskAddress;
+import co.rsk.crypto.Keccak256;
+import org.ethereum.core.Block;
+import org.ethereum.core.TransactionReceipt;
+import org.ethereum.datasource.HashMapDB;
+import org.ethereum.rpc.AddressesTopicsFilter;
+import org.ethereum.rpc.Topic;
+import org.ethereum.vm.DataWord;
+import org.ethereum.vm.LogInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class LogIndexStoreTest {
+    private static final RskAddress ADDRESS1 = new RskAddress("0000000000000000000000000000000001000008");
+    private static final RskAddress ADDRESS2 = new RskAddress("0000000000000000000000000000000001000006");
+    private static final DataWord TOPIC1 = DataWord.valueOf(1);
+    private static final DataWord TOPIC2 = DataWord.valueOf(2);
+
+    @Test
+    void emptyStore() {
+        LogIndexStore logIndexStore = new LogIndexStore(4, new HashMapDB());
+
+        Assertions.assertTrue(logIndexStore.isEmpty());
+        Assertions.assertEquals(-1, logIndexStore.getFirstNumber());
+        Assertions.assertEquals(-1, logIndexStore.getHeadNumber());
+        Assertions.assertTrue(logIndexStore.findLogs(filter(ADDRESS1), 0, 10).isEmpty());
+    }
+
+    @Test
+    void findLogsByAddressAndTopics() {
+        LogIndexStore logIndexStore = new LogIndexStore(4, new HashMapDB());
+
+        logIndexStore.addBlock(block(3), Arrays.asList(
+                receipt(log(ADDRESS1, TOPIC1), log(ADDRESS2, TOPIC1)),
+                receipt(log(ADDRESS1, TOPIC2))));
+        logIndexStore.addBlock(block(4), Collections.singletonList(receipt(log(ADDRESS2, TOPIC2), log(ADDRESS1, TOPIC1))));
+
+        Assertions.assertEquals(3, logIndexStore.getFirstNumber());
+        Assertions.assertEquals(4, logIndexStore.getHeadNumber());
+        Assertions.assertEquals(block(4).getHash(), logIndexStore.getBlockHash(4));
+
+        Assertions.assertEquals(Arrays.asList(
+                new LogPosition(3, 0, 0, 0),
+                new LogPosition(3, 1, 0, 2),
+                new LogPosition(4, 0, 1, 1)), logIndexStore.findLogs(filter(ADDRESS1), 0, 10));
+
+        List<LogPosition> positions = logIndexStore.findLogs(filter(ADDRESS1, TOPIC1), 0, 10);
+        Assertions.assertEquals(Arrays.asList(new LogPosition(3, 0, 0, 0), new LogPosition(4, 0, 1, 1)), positions);
+        Assertions.assertEquals(1, positions.get(1).getLogIndex());
+
+        Assertions.assertEquals(Collections.singletonList(new LogPosition(4, 0, 0, 0)),
+                logIndexStore.findLogs(filter(ADDRESS2, TOPIC2), 0, 10));
+        Assertions.assertEquals(Collections.singletonList(new LogPosition(3, 0, 0, 0)),
+                logIndexStore.findLogs(filter(ADDRESS1, TOPIC1), 0, 3));
+    }
+
+    @Test
+    void removeHead() {
+        HashMapDB dataSource = new HashMapDB();
+        LogIndexStore logIndexStore = new LogIndexStore(4, dataSource);
+
+        logIndexStore.addBlock(block(3), Collections.singletonList(receipt(log(ADDRESS1, TOPIC1))));
+        logIndexStore.addBlock(block(4), Collections.singletonList(receipt(log(ADDRESS1, TOPIC1))));
+        logIndexStore.addBlock(block(5), Collections.singletonList(receipt(log(ADDRESS2, TOPIC2))));
+
+        logIndexStore.removeHead();
+        logIndexStore.removeHead();
+
+        Assertions.assertEquals(3, logIndexStore.getHeadNumber());
+        Assertions.assertNull(logIndexStore.getBlockHash(4));
+        Assertions.assertEquals(Collections.singletonList(new LogPosition(3, 0, 0, 0)),
+                logIndexStore.findLogs(filter(ADDRESS1), 0, 10));
+        Assertions.assertTrue(logIndexStore.findLogs(filter(ADDRESS2), 0, 10).isEmpty());
+
+        logIndexStore.removeHead();
+
+        Assertions.assertTrue(logIndexStore.isEmpty());
+        Assertions.assertTrue(dataSource.keys().isEmpty());
+    }
+
+    @Test
+    void addBlockWithoutReadingPreviousBlocks() {
+        HashMapDB dataSource = spy(new HashMapDB());
+        LogIndexStore logIndexStore = new LogIndexStore(4, dataSource);
+        logIndexStore.addBlock(block(4), Collections.singletonList(receipt(log(ADDRESS1, TOPIC1))));
+        clearInvocations(dataSource);
+
+        logIndexStore.addBlock(block(5), Collections.singletonList(receipt(log(ADDRESS1, TOPIC1))));
+
+        verify(dataSource, never()).get(any());
+        Assertions.assertEquals(Arrays.asList(new LogPosition(4, 0, 0, 0), new LogPosition(5, 0, 0, 0)),
+                logIndexStore.findLogs(filter(ADDRESS1, TOPIC1), 0, 10));
+    }
+
+    @Test
+    void reloadFromDataSource() {
+        HashMapDB dataSource = new HashMapDB();
+        LogIndexStore logIndexStore = new LogIndexStore(4, dataSource);
+        logIndexStore.addBlock(block(7), Collections.singletonList(receipt(log(ADDRESS1, TOPIC1))));
+        logIndexStore.addBlock(block(8), Collections.emptyList());
+
+        LogIndexStore reloaded = new LogIndexStore(4, dataSource);
+
+        Assertions.assertEquals(7, reloaded.getFirstNumber());
+        Assertions.assertEquals(8, reloaded.getHeadNumber());
+        Assertions.assertEquals(1, reloaded.findLogs(filter(ADDRESS1), 0, 10).size());
+    }
+
+    @Test
+    void addOnlyAfterHead() {
+        LogIndexStore logIndexStore = new LogIndexStore(4, new HashMapDB());
+        logIndexStore.addBlock(block(7), Collections.emptyList());
+
+        Block block = block(9);
+        List<TransactionReceipt> receipts = Collections.emptyList();
+        Assertions.assertThrows(IllegalStateException.class, () -> logIndexStore.addBlock(block, receipts));
+    }
+
+    @Test
+    void mayContainLogs() {
+        LogIndexStore logIndexStore = new LogIndexStore(4, new HashMapDB());
+        logIndexStore.addBlock(block(3), Collections.singletonList(receipt(log(ADDRESS1, TOPIC1))));
+
+        Assertions.assertTrue(logIndexStore.mayContainLogs(block(3), filter(ADDRESS1, TOPIC1)));
+        Assertions.assertFalse(logIndexStore.mayContainLogs(block(3), filter(ADDRESS1, TOPIC2)));
+        Assertions.assertFalse(logIndexStore.mayContainLogs(block(3), filter(ADDRESS2)));
+        Assertions.assertTrue(logIndexStore.mayContainLogs(block(3), new AddressesTopicsFilter(new RskAddress[0], null)));
+        // not indexed
+        Assertions.assertTrue(logIndexStore.mayContainLogs(block(4), filter(ADDRESS2)));
+    }
+
+    @Test
+    void canFind() {
+        Assertions.assertTrue(LogIndexStore.canFind(filter(ADDRESS1)));
+        Assertions.assertTrue(LogIndexStore.canFind(new AddressesTopicsFilter(new RskAddress[0], new Topic[][]{{new Topic(TOPIC1.getData())}})));
+        Assertions.assertFalse(LogIndexStore.canFind(new AddressesTopicsFilter(new RskAddress[0], new Topic[][]{{}})));
+        Assertions.assertFalse(LogIndexStore.canFind(new AddressesTopicsFilter(new RskAddress[0], null)));
+    }
+
+    private static AddressesTopicsFilter filter(RskAddress address) {
+        return new AddressesTopicsFilter(new RskAddress[]{address}, null);
+    }
+
+    private static AddressesTopicsFilter filter(RskAddress address, DataWord topic) {
+        return new AddressesTopicsFilter(new RskAddress[]{address}, new Topic[][]{{new Topic(topic.getData())}});
+    }
+
+    private static Block block(long number) {
+        Block block = mock(Block.class);
+        when(block.getNumber()).thenReturn(number);
+        when(block.getHash()).thenReturn(new Keccak256(DataWord.valueOf(number).getData()));
+        return block;
+    }
+
+    private static TransactionReceipt receipt(LogInfo... logs) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setLogInfoList(Arrays.asList(logs));
+        return receipt;
+    }
+
+    private static LogInfo log(RskAddress address, DataWord topic) {
+        return new LogInfo(address.getBytes(), Collections.singletonList(topic), new byte[0]);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatsTest {
+
+    @Test
+    void hitRateIsZeroWithoutLookups() {
+        assertEquals(0.0, new CacheStats().getHitRate());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        CacheStats stats = new CacheStats();
+
+        stats.onHit();
+        stats.onHit();
+        stats.onHit();
+        stats.onMiss();
+
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.75, stats.getHitRate());
+    }
+
+    @Test
+    void lruMapEvictsLeastRecentlyAccessedEntry() {
+        CacheStats stats = new CacheStats();
+        Map<String, Integer> map = stats.newLruMap(2);
+
+        map.put("a", 1);
+        map.put("b", 2);
+        map.get("a");
+        map.put("c", 3);
+
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey("b"));
+        assertEquals(1, stats.getEvictions());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DurationStatsTest {
+
+    @Test
+    void averageIsZeroWithoutMeasurements() {
+        DurationStats stats = new DurationStats();
+
+        assertEquals(0, stats.getCount());
+        assertEquals(0.0, stats.getAverageMillis());
+    }
+
+    @Test
+    void aggregatesMeasurements() {
+        DurationStats stats = new DurationStats();
+
+        stats.add(1_000_000);
+        stats.add(5_000_000);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(6_000_000, stats.getTotalNanos());
+        assertEquals(5_000_000, stats.getMaxNanos());
+        assertEquals(3.0, stats.getAverageMillis());
+    }
+}
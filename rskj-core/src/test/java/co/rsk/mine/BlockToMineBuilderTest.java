@@ -26,8 +26,10 @@ import co.rsk.core.DifficultyCalculator;
 import co.rsk.core.bc.BlockExecutor;
 import co.rsk.core.bc.BlockResult;
 import co.rsk.core.bc.FamilyUtils;
+import co.rsk.core.bc.MiningPrefix;
 import co.rsk.crypto.Keccak256;
 import co.rsk.db.RepositoryLocator;
+import co.rsk.remasc.RemascTransaction;
 import co.rsk.validators.BlockValidationRule;
 import org.ethereum.TestUtils;
 import org.ethereum.config.Constants;
@@ -42,7 +44,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.function.Consumer;
 
@@ -51,6 +55,7 @@ import static org.ethereum.util.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
@@ -62,6 +67,8 @@ class BlockToMineBuilderTest {
     private BlockValidationRule validationRules;
     private BlockExecutor blockExecutor;
     private ActivationConfig activationConfig;
+    private MinerUtils minerUtils;
+    private MinerClock clock;
 
     @BeforeEach
     void setUp() {
@@ -71,7 +78,8 @@ class BlockToMineBuilderTest {
         MiningConfig miningConfig = mock(MiningConfig.class);
         DifficultyCalculator difficultyCalculator = mock(DifficultyCalculator.class);
         MinimumGasPriceCalculator minimumGasPriceCalculator = mock(MinimumGasPriceCalculator.class);
-        MinerUtils minerUtils = mock(MinerUtils.class);
+        minerUtils = mock(MinerUtils.class);
+        clock = mock(MinerClock.class);
         SignatureCache signatureCache = new BlockTxSignatureCache(new ReceivedTxSignatureCache());
         activationConfig = mock(ActivationConfig.class);
 
@@ -86,7 +94,7 @@ class BlockToMineBuilderTest {
                 new GasLimitCalculator(Constants.mainnet()),
                 new ForkDetectionDataCalculator(RegTestParams.get()),
                 validationRules,
-                mock(MinerClock.class),
+                clock,
                 new BlockFactory(activationConfig),
                 blockExecutor,
                 minimumGasPriceCalculator,
@@ -207,6 +215,81 @@ class BlockToMineBuilderTest {
         assertEquals(1, actualBlock.getHeader().getVersion());
     }
 
+    @Test
+    void extendAppendsNewTransactionsToThePreviousBlock() {
+        Consumer<BlockHeader> test = (parent) -> {
+            Transaction tx1 = createTransaction(0);
+            Transaction tx2 = createTransaction(1);
+            Transaction remascTx = new RemascTransaction(43L);
+            MiningPrefix prefix = mock(MiningPrefix.class);
+            when(prefix.getTransactions()).thenReturn(Collections.singletonList(tx1));
+            when(validationRules.isValid(any())).thenReturn(true);
+            when(clock.calculateTimestampForChild(any())).thenReturn(100L);
+            when(minerUtils.filterTransactions(any(), any(), any(), any(), any(), anyBoolean(), any()))
+                    .thenReturn(new ArrayList<>(Arrays.asList(tx1, remascTx)), new ArrayList<>(Arrays.asList(tx1, tx2, remascTx)));
+
+            BlockResult result = mock(BlockResult.class);
+            ArgumentCaptor<Block> blockCaptor = ArgumentCaptor.forClass(Block.class);
+            when(blockExecutor.executeAndFill(blockCaptor.capture(), any())).thenReturn(result);
+            when(result.getBlock()).thenAnswer(invocation -> blockCaptor.getValue());
+            when(result.getMiningPrefix()).thenReturn(prefix);
+
+            blockBuilder.build(new ArrayList<>(Collections.singletonList(parent)), new byte[0]);
+
+            BlockResult extendedResult = mock(BlockResult.class);
+            ArgumentCaptor<Block> extendedCaptor = ArgumentCaptor.forClass(Block.class);
+            when(blockExecutor.executeAndFill(extendedCaptor.capture(), any(), eq(prefix))).thenReturn(extendedResult);
+
+            assertSame(extendedResult, blockBuilder.extend(new ArrayList<>(Collections.singletonList(parent)), new byte[0]));
+
+            Block extendedBlock = extendedCaptor.getValue();
+            assertEquals(Arrays.asList(tx1, tx2, remascTx), extendedBlock.getTransactionsList());
+            assertEquals(100L, extendedBlock.getTimestamp());
+            assertThat(extendedBlock.getUncleList(), hasSize(1));
+            verify(blockExecutor, times(1)).executeAndFill(any(), any());
+        };
+
+        runMocked(test);
+    }
+
+    @Test
+    void extendBuildsFromScratchWhenTheSelectionChanged() {
+        Consumer<BlockHeader> test = (parent) -> {
+            Transaction tx1 = createTransaction(0);
+            Transaction tx2 = createTransaction(1);
+            Transaction remascTx = new RemascTransaction(43L);
+            MiningPrefix prefix = mock(MiningPrefix.class);
+            when(validationRules.isValid(any())).thenReturn(true);
+            when(minerUtils.filterTransactions(any(), any(), any(), any(), any(), anyBoolean(), any()))
+                    .thenReturn(new ArrayList<>(Arrays.asList(tx1, remascTx)), new ArrayList<>(Arrays.asList(tx2, tx1, remascTx)));
+
+            BlockResult result = mock(BlockResult.class);
+            ArgumentCaptor<Block> blockCaptor = ArgumentCaptor.forClass(Block.class);
+            when(blockExecutor.executeAndFill(blockCaptor.capture(), any())).thenReturn(result);
+            when(result.getBlock()).thenAnswer(invocation -> blockCaptor.getValue());
+            when(result.getMiningPrefix()).thenReturn(prefix);
+
+            blockBuilder.build(new ArrayList<>(Collections.singletonList(parent)), new byte[0]);
+            blockBuilder.extend(new ArrayList<>(Collections.singletonList(parent)), new byte[0]);
+
+            assertEquals(Arrays.asList(tx2, tx1, remascTx), blockCaptor.getValue().getTransactionsList());
+            verify(blockExecutor, times(2)).executeAndFill(any(), any());
+            verify(blockExecutor, never()).executeAndFill(any(), any(), any());
+        };
+
+        runMocked(test);
+    }
+
+    private static Transaction createTransaction(long nonce) {
+        return Transaction.builder()
+                .nonce(BigInteger.valueOf(nonce))
+                .gasPrice(BigInteger.ONE)
+                .gasLimit(BigInteger.valueOf(21000))
+                .destination(TestUtils.generateAddress("receiver"))
+                .value(BigInteger.TEN)
+                .build();
+    }
+
     private void runMocked(Consumer<BlockHeader> task) {
         BlockHeader blockHeader = mock(BlockHeader.class);
         long blockNumber = 42L;
@@ -46,6 +46,7 @@ import org.ethereum.db.BlockStore;
 import org.ethereum.facade.Ethereum;
 import org.ethereum.facade.EthereumImpl;
 import org.ethereum.listener.CompositeEthereumListener;
+import org.ethereum.listener.EthereumListener;
 import org.ethereum.listener.GasPriceTracker;
 import org.ethereum.util.BuildInfo;
 import org.ethereum.util.RLP;
@@ -54,6 +55,7 @@ import org.ethereum.util.RskTestFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -63,6 +65,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -787,6 +792,81 @@ public abstract class MinerServerTest {
     }
 
 
+    @Test
+    void onBestBlockGivesEmptyWorkFirstWhenEnabled() {
+        Ethereum ethereum = mock(EthereumImpl.class);
+        List<Runnable> fullBlockBuilds = new ArrayList<>();
+        MinerServerImpl minerServer = makeEmptyWorkMinerServer(ethereum, fullBlockBuilds);
+        minerServer.start();
+
+        ArgumentCaptor<EthereumListener> listenerCaptor = ArgumentCaptor.forClass(EthereumListener.class);
+        verify(ethereum).addListener(listenerCaptor.capture());
+
+        Block block = mock(Block.class);
+        when(block.getHeader()).thenReturn(this.miningMainchainView.get().get(0));
+
+        listenerCaptor.getValue().onBestBlock(block, null);
+
+        MinerWorkStats workStats = minerServer.getWorkStats();
+        assertEquals(1, workStats.getNewBlocks());
+        assertEquals(1, workStats.getEmptyWorks());
+        assertEquals(0, workStats.getFullWorks());
+        Block emptyBlock = minerServer.getLatestBlock().get();
+        assertEquals(1, emptyBlock.getTransactionsList().size());
+
+        assertEquals(1, fullBlockBuilds.size());
+        fullBlockBuilds.get(0).run();
+
+        assertEquals(1, workStats.getFullWorks());
+        assertTrue(minerServer.getBlocksWaitingForPoW().containsKey(new Keccak256(emptyBlock.getHashForMergedMining())));
+
+        minerServer.stop();
+    }
+
+    @Test
+    void onBestBlockBuildsOnlyTheNewestFullBlock() {
+        Ethereum ethereum = mock(EthereumImpl.class);
+        List<Runnable> fullBlockBuilds = new ArrayList<>();
+        MinerServerImpl minerServer = makeEmptyWorkMinerServer(ethereum, fullBlockBuilds);
+        minerServer.start();
+
+        ArgumentCaptor<EthereumListener> listenerCaptor = ArgumentCaptor.forClass(EthereumListener.class);
+        verify(ethereum).addListener(listenerCaptor.capture());
+
+        Block block = mock(Block.class);
+        when(block.getHeader()).thenReturn(this.miningMainchainView.get().get(0));
+
+        listenerCaptor.getValue().onBestBlock(block, null);
+        listenerCaptor.getValue().onBestBlock(block, null);
+
+        assertEquals(2, fullBlockBuilds.size());
+        fullBlockBuilds.forEach(Runnable::run);
+
+        MinerWorkStats workStats = minerServer.getWorkStats();
+        assertEquals(2, workStats.getEmptyWorks());
+        assertEquals(1, workStats.getDiscardedWorks());
+        assertEquals(1, workStats.getFullWorks());
+
+        minerServer.stop();
+    }
+
+    private MinerServerImpl makeEmptyWorkMinerServer(Ethereum ethereum, List<Runnable> fullBlockBuilds) {
+        BlockProcessor blockProcessor = mock(NodeBlockProcessor.class);
+        when(blockProcessor.hasBetterBlockToSync()).thenReturn(false);
+
+        BlockUnclesValidationRule unclesValidationRule = mock(BlockUnclesValidationRule.class);
+        when(unclesValidationRule.isValid(any())).thenReturn(true);
+
+        TestSystemProperties emptyWorkConfig = spy(config);
+        doReturn(true).when(emptyWorkConfig).updateEmptyWorkOnNewBlock();
+
+        ExecutorService fullBlockBuilder = mock(ExecutorService.class);
+        doAnswer(invocation -> fullBlockBuilds.add(invocation.getArgument(0))).when(fullBlockBuilder).execute(any());
+
+        return makeMinerServer(emptyWorkConfig, ethereum, blockProcessor, unclesValidationRule,
+                new MinerClock(true, Clock.systemUTC()), transactionPool, () -> fullBlockBuilder);
+    }
+
     private BtcBlock getMergedMiningBlockWithOnlyCoinbase(MinerWork work) {
         return getMergedMiningBlock(work, Collections.emptyList());
     }
@@ -839,6 +919,13 @@ public abstract class MinerServerTest {
 
     private MinerServer makeMinerServer(Ethereum ethereum, BlockProcessor blockProcessor, BlockUnclesValidationRule unclesValidationRule,
                                             MinerClock clock, TransactionPool transactionPool) {
+        return makeMinerServer(config, ethereum, blockProcessor, unclesValidationRule, clock, transactionPool,
+                Executors::newSingleThreadExecutor);
+    }
+
+    private MinerServerImpl makeMinerServer(TestSystemProperties config, Ethereum ethereum, BlockProcessor blockProcessor,
+                                            BlockUnclesValidationRule unclesValidationRule, MinerClock clock,
+                                            TransactionPool transactionPool, Supplier<ExecutorService> fullBlockBuilderFactory) {
         return new MinerServerImpl(
                 config,
                 ethereum,
@@ -865,7 +952,9 @@ public abstract class MinerServerTest {
                 clock,
                 blockFactory,
                 new BuildInfo("cb7f28e", "master"),
-                ConfigUtils.getDefaultMiningConfig()
+                ConfigUtils.getDefaultMiningConfig(),
+                SubmissionRateLimitHandler.ofMiningConfig(ConfigUtils.getDefaultMiningConfig()),
+                fullBlockBuilderFactory
         );
     }
 
@@ -28,6 +28,7 @@ import co.rsk.db.RepositorySnapshot;
 import co.rsk.db.StateRootHandler;
 import co.rsk.db.StateRootsStoreImpl;
 import co.rsk.mine.gas.provider.FixedMinGasPriceProvider;
+import co.rsk.net.TransactionFetcher;
 import co.rsk.net.TransactionGateway;
 import co.rsk.net.handler.quota.TxQuotaChecker;
 import co.rsk.peg.BridgeSupportFactory;
@@ -109,7 +110,7 @@ class TransactionModuleTest {
 
         TransactionPool transactionPool = new TransactionPoolImpl(config, repositoryLocator, blockStore, blockFactory, null, buildTransactionExecutorFactory(blockStore, null, world.getBlockTxSignatureCache()),
                 world.getReceivedTxSignatureCache(), 10, 100, Mockito.mock(TxQuotaChecker.class), Mockito.mock(GasPriceTracker.class));
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
         Web3Impl web3 = createEnvironment(blockchain, null, trieStore, transactionPool, blockStore, false, world.getBlockTxSignatureCache(), transactionGateway);
 
@@ -136,7 +137,7 @@ class TransactionModuleTest {
 
         TransactionPool transactionPool = new TransactionPoolImpl(config, repositoryLocator, blockStore, blockFactory, null, buildTransactionExecutorFactory(blockStore, null, world.getBlockTxSignatureCache()),
                 world.getReceivedTxSignatureCache(), 10, 100, Mockito.mock(TxQuotaChecker.class), Mockito.mock(GasPriceTracker.class));
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
 
         Web3Impl web3 = createEnvironment(blockchain, null, trieStore, transactionPool, blockStore, true, world.getBlockTxSignatureCache(), transactionGateway);
@@ -168,7 +169,7 @@ class TransactionModuleTest {
         BlockStore blockStore = world.getBlockStore();
 
         TransactionPool transactionPool = world.getTransactionPool();
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
         Web3Impl web3 = createEnvironment(blockchain, mainchainView, receiptStore, transactionPool, blockStore,
                 true, createStateRootHandler(), repositoryLocator,
@@ -201,7 +202,7 @@ class TransactionModuleTest {
 
         TransactionPool transactionPool = new TransactionPoolImpl(config, repositoryLocator, blockStore, blockFactory, null, buildTransactionExecutorFactory(blockStore, receiptStore, world.getBlockTxSignatureCache()),
                 world.getReceivedTxSignatureCache(), 10, 100, Mockito.mock(TxQuotaChecker.class), Mockito.mock(GasPriceTracker.class));
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
         Web3Impl web3 = createEnvironment(blockchain, receiptStore, trieStore, transactionPool, blockStore, true, world.getBlockTxSignatureCache(), transactionGateway);
 
@@ -230,7 +231,7 @@ class TransactionModuleTest {
 
         TransactionPool transactionPool = new TransactionPoolImpl(config, repositoryLocator, blockStore, blockFactory, null, buildTransactionExecutorFactory(blockStore, receiptStore, world.getBlockTxSignatureCache()),
                 world.getReceivedTxSignatureCache(), 10, 100, Mockito.mock(TxQuotaChecker.class), Mockito.mock(GasPriceTracker.class));
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
         Web3Impl web3 = createEnvironment(blockchain, receiptStore, trieStore, transactionPool, blockStore, false, world.getBlockTxSignatureCache(), transactionGateway);
 
@@ -269,7 +270,7 @@ class TransactionModuleTest {
                 Mockito.mock(TxQuotaChecker.class),
                 Mockito.mock(GasPriceTracker.class)
         );
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
         Web3Impl web3 = createEnvironmentGasExactimation(
                 blockchain,
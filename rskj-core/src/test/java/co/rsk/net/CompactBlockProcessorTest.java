@@ -0,0 +1,180 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.blockchain.utils.BlockGenerator;
+import co.rsk.core.ShortTxIdCalculator;
+import co.rsk.net.messages.*;
+import co.rsk.net.simples.SimplePeer;
+import co.rsk.net.sync.SyncConfiguration;
+import co.rsk.remasc.RemascTransaction;
+import co.rsk.test.builders.AccountBuilder;
+import co.rsk.test.builders.TransactionBuilder;
+import org.ethereum.config.blockchain.upgrades.ActivationConfig;
+import org.ethereum.config.blockchain.upgrades.ActivationConfigsForTest;
+import org.ethereum.core.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+class CompactBlockProcessorTest {
+    private TransactionPool transactionPool;
+    private CompactBlockProcessor processor;
+    private SimplePeer sender;
+
+    @BeforeEach
+    void setUp() {
+        ActivationConfig activationConfig = ActivationConfigsForTest.regtest();
+        transactionPool = mock(TransactionPool.class);
+        when(transactionPool.getTransactionByShortId(any(), anyLong())).thenReturn(Optional.empty());
+        processor = new CompactBlockProcessor(transactionPool, new BlockFactory(activationConfig), activationConfig);
+        sender = new SimplePeer();
+    }
+
+    @Test
+    void rebuildBlockFromTransactionPool() {
+        Block block = createBlock(5);
+        poolContains(withoutRemasc(block));
+
+        Optional<Block> result = processor.processCompactBlock(sender, CompactBlockMessage.fromBlock(block));
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(block.getHash(), result.get().getHash());
+        Assertions.assertEquals(block.getTransactionsList(), result.get().getTransactionsList());
+        Assertions.assertTrue(sender.getMessages().isEmpty());
+    }
+
+    @Test
+    void requestMissingTransactions() {
+        Block block = createBlock(5);
+        List<Transaction> transactions = block.getTransactionsList();
+        List<Transaction> pool = withoutRemasc(block);
+        pool.remove(transactions.get(1));
+        pool.remove(transactions.get(3));
+        poolContains(pool);
+
+        Optional<Block> result = processor.processCompactBlock(sender, CompactBlockMessage.fromBlock(block));
+
+        Assertions.assertFalse(result.isPresent());
+        Assertions.assertEquals(1, sender.getMessages().size());
+        GetBlockTransactionsMessage request = (GetBlockTransactionsMessage) sender.getMessages().get(0);
+        Assertions.assertArrayEquals(block.getHash().getBytes(), request.getBlockHash());
+        Assertions.assertEquals(List.of(1, 3), request.getIndexes());
+
+        BlockTransactionsMessage response = new BlockTransactionsMessage(
+                request.getId(), block.getHash().getBytes(), List.of(transactions.get(1), transactions.get(3)));
+        result = processor.processBlockTransactions(sender, response);
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(block.getHash(), result.get().getHash());
+        Assertions.assertEquals(transactions, result.get().getTransactionsList());
+    }
+
+    @Test
+    void requestFullBlockOnWrongTransactions() {
+        Block block = createBlock(3);
+        List<Transaction> transactions = block.getTransactionsList();
+        List<Transaction> pool = withoutRemasc(block);
+        pool.remove(transactions.get(0));
+        poolContains(pool);
+
+        processor.processCompactBlock(sender, CompactBlockMessage.fromBlock(block));
+        GetBlockTransactionsMessage request = (GetBlockTransactionsMessage) sender.getMessages().get(0);
+
+        BlockTransactionsMessage response = new BlockTransactionsMessage(
+                request.getId(), block.getHash().getBytes(), List.of(transactions.get(2)));
+        Optional<Block> result = processor.processBlockTransactions(sender, response);
+
+        Assertions.assertFalse(result.isPresent());
+        Assertions.assertEquals(1, sender.getGetBlockMessages().size());
+        Assertions.assertEquals(block.getHash(), sender.getGetBlockMessagesHashes().get(0));
+    }
+
+    @Test
+    void ignoreUnexpectedBlockTransactions() {
+        Block block = createBlock(2);
+
+        BlockTransactionsMessage response = new BlockTransactionsMessage(
+                1, block.getHash().getBytes(), block.getTransactionsList());
+
+        Assertions.assertFalse(processor.processBlockTransactions(sender, response).isPresent());
+        Assertions.assertTrue(sender.getMessages().isEmpty());
+    }
+
+    @Test
+    void nodeBlockProcessorServesRequestedTransactions() {
+        Block block = createBlock(4);
+        BlockSyncService blockSyncService = mock(BlockSyncService.class);
+        when(blockSyncService.getBlockFromStoreOrBlockchain(block.getHash().getBytes())).thenReturn(block);
+        NodeBlockProcessor nodeBlockProcessor = new NodeBlockProcessor(
+                mock(NetBlockStore.class), mock(Blockchain.class), mock(BlockNodeInformation.class),
+                blockSyncService, mock(SyncConfiguration.class), processor);
+
+        nodeBlockProcessor.processGetBlockTransactions(sender, 7, block.getHash().getBytes(), List.of(0, 2));
+
+        Assertions.assertEquals(1, sender.getMessages().size());
+        BlockTransactionsMessage response = (BlockTransactionsMessage) sender.getMessages().get(0);
+        Assertions.assertEquals(7, response.getId());
+        Assertions.assertEquals(List.of(block.getTransactionsList().get(0), block.getTransactionsList().get(2)), response.getTransactions());
+    }
+
+    private void poolContains(List<Transaction> transactions) {
+        when(transactionPool.getTransactionByShortId(any(), anyLong())).thenAnswer(invocation -> {
+            ShortTxIdCalculator calculator = invocation.getArgument(0);
+            long shortTxId = invocation.getArgument(1);
+            return transactions.stream().filter(tx -> calculator.shortTxId(tx.getHash()) == shortTxId).findFirst();
+        });
+    }
+
+    private static List<Transaction> withoutRemasc(Block block) {
+        List<Transaction> transactions = new ArrayList<>(block.getTransactionsList());
+        transactions.removeIf(RemascTransaction.class::isInstance);
+        return transactions;
+    }
+
+    private static Block createBlock(int ntxs) {
+        BlockGenerator blockGenerator = new BlockGenerator();
+        Block genesis = blockGenerator.getGenesisBlock();
+
+        List<Transaction> txs = new ArrayList<>();
+        for (int k = 1; k <= ntxs; k++) {
+            txs.add(createTransaction(k));
+        }
+        txs.add(new RemascTransaction(genesis.getNumber() + 1));
+
+        return blockGenerator.createChildBlock(genesis, txs);
+    }
+
+    private static Transaction createTransaction(int number) {
+        AccountBuilder acbuilder = new AccountBuilder();
+        acbuilder.name("sender" + number);
+        Account sender = acbuilder.build();
+        acbuilder.name("receiver" + number);
+        Account receiver = acbuilder.build();
+        TransactionBuilder txbuilder = new TransactionBuilder();
+        return txbuilder.sender(sender).receiver(receiver).value(BigInteger.valueOf(number * 1000 + 1000)).build();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.net.messages.Message;
+import co.rsk.net.messages.MessageType;
+import co.rsk.net.simples.SimplePeer;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+class MessageLaneTest {
+
+    @Test
+    void servePeersInTurns() throws InterruptedException {
+        MessageLane lane = new MessageLane(MessageLaneType.TRANSACTIONS, 100, 1, task -> { });
+        SimplePeer flooder = new SimplePeer(new NodeID(new byte[] {1}));
+        SimplePeer other = new SimplePeer(new NodeID(new byte[] {2}));
+
+        for (int k = 0; k < 10; k++) {
+            Assertions.assertTrue(lane.offer(newTask(flooder)));
+        }
+        Assertions.assertTrue(lane.offer(newTask(other)));
+
+        Assertions.assertEquals(11, lane.size());
+        Assertions.assertEquals(10, lane.size(flooder.getPeerNodeID()));
+
+        Assertions.assertSame(flooder, lane.poll(1, TimeUnit.SECONDS).getSender());
+        Assertions.assertSame(other, lane.poll(1, TimeUnit.SECONDS).getSender());
+        Assertions.assertSame(flooder, lane.poll(1, TimeUnit.SECONDS).getSender());
+        Assertions.assertEquals(8, lane.size());
+    }
+
+    @Test
+    void dropMessagesWhenFull() {
+        MessageLane lane = new MessageLane(MessageLaneType.TRANSACTIONS, 2, 1, task -> { });
+        SimplePeer peer = new SimplePeer();
+
+        Assertions.assertTrue(lane.offer(newTask(peer)));
+        Assertions.assertTrue(lane.offer(newTask(peer)));
+        Assertions.assertFalse(lane.offer(newTask(peer)));
+
+        Assertions.assertEquals(2, lane.getStats().getQueueDepth());
+        Assertions.assertEquals(2, lane.getStats().getMessagesEnqueued());
+        Assertions.assertEquals(1, lane.getStats().getMessagesDropped());
+    }
+
+    @Test
+    void pollReturnsNullWhenEmpty() throws InterruptedException {
+        MessageLane lane = new MessageLane(MessageLaneType.SYNC_SERVING, 2, 1, task -> { });
+
+        Assertions.assertNull(lane.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void workersProcessMessages() {
+        List<NodeMessageHandler.MessageTask> processed = new CopyOnWriteArrayList<>();
+        MessageLane lane = new MessageLane(MessageLaneType.SYNC_SERVING, 100, 2, processed::add);
+        SimplePeer peer = new SimplePeer();
+
+        lane.start();
+        try {
+            List<NodeMessageHandler.MessageTask> tasks = new ArrayList<>();
+            for (int k = 0; k < 5; k++) {
+                NodeMessageHandler.MessageTask task = newTask(peer);
+                tasks.add(task);
+                lane.offer(task);
+            }
+
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> processed.size() == 5);
+
+            Assertions.assertTrue(processed.containsAll(tasks));
+            Assertions.assertEquals(5, lane.getStats().getMessagesProcessed());
+            Assertions.assertEquals(0, lane.getStats().getQueueDepth());
+        } finally {
+            lane.stop();
+        }
+    }
+
+    @Test
+    void routeMessagesToLanes() {
+        Assertions.assertEquals(MessageLaneType.TRANSACTIONS, MessageLaneType.of(MessageType.TRANSACTIONS));
+        Assertions.assertEquals(MessageLaneType.SYNC_SERVING, MessageLaneType.of(MessageType.BLOCK_HEADERS_REQUEST_MESSAGE));
+        Assertions.assertEquals(MessageLaneType.SYNC_SERVING, MessageLaneType.of(MessageType.SNAP_STATE_CHUNK_REQUEST_MESSAGE));
+        Assertions.assertEquals(MessageLaneType.BLOCKS, MessageLaneType.of(MessageType.BLOCK_MESSAGE));
+        Assertions.assertEquals(MessageLaneType.BLOCKS, MessageLaneType.of(MessageType.BLOCK_HEADERS_RESPONSE_MESSAGE));
+        Assertions.assertEquals(MessageLaneType.BLOCKS, MessageLaneType.of(MessageType.STATUS_MESSAGE));
+    }
+
+    private static NodeMessageHandler.MessageTask newTask(Peer sender) {
+        return new NodeMessageHandler.MessageTask(sender, mock(Message.class), 100, null);
+    }
+}
@@ -336,6 +336,43 @@ class NodeMessageHandlerTest {
         Assertions.assertEquals(1, nodeMessageHandler.getMessageQueueSize());
     }
 
+    @Test
+    void postMessagesToLanes() {
+        RskSystemProperties config = spy(this.config);
+        doReturn(true).when(config).isMessageQueueLanesEnabled();
+        Peer sender = new SimplePeer();
+        SimpleBlockProcessor sbp = new SimpleBlockProcessor();
+        Block block = new BlockChainBuilder().ofSize(1, true).getBestBlock();
+
+        NodeMessageHandler nodeMessageHandler = new NodeMessageHandler(config, sbp, null, null, null, null,
+                createPeerScoringManager(), mock(StatusResolver.class));
+
+        nodeMessageHandler.postMessage(sender, new BlockMessage(block), null);
+        nodeMessageHandler.postMessage(sender, new TransactionsMessage(TransactionUtils.getTransactions(1)), null);
+        nodeMessageHandler.postMessage(sender, new BlockHeadersRequestMessage(1, block.getHash().getBytes(), 1), null);
+
+        Map<MessageLaneType, MessageLaneStats> stats = nodeMessageHandler.getLaneStats();
+        Assertions.assertEquals(3, nodeMessageHandler.getMessageQueueSize());
+        Assertions.assertEquals(3, nodeMessageHandler.getMessageQueueSize(sender));
+        Assertions.assertEquals(1, stats.get(MessageLaneType.BLOCKS).getQueueDepth());
+        Assertions.assertEquals(1, stats.get(MessageLaneType.TRANSACTIONS).getQueueDepth());
+        Assertions.assertEquals(1, stats.get(MessageLaneType.SYNC_SERVING).getQueueDepth());
+    }
+
+    @Test
+    void postMessagesWithoutLanes() {
+        Peer sender = new SimplePeer();
+        NodeMessageHandler nodeMessageHandler = new NodeMessageHandler(config, new SimpleBlockProcessor(), null, null, null, null,
+                createPeerScoringManager(), mock(StatusResolver.class));
+
+        nodeMessageHandler.postMessage(sender, new TransactionsMessage(TransactionUtils.getTransactions(1)), null);
+
+        Map<MessageLaneType, MessageLaneStats> stats = nodeMessageHandler.getLaneStats();
+        Assertions.assertEquals(1, stats.size());
+        Assertions.assertEquals(1, stats.get(MessageLaneType.BLOCKS).getQueueDepth());
+        Assertions.assertEquals(1, stats.get(MessageLaneType.BLOCKS).getMessagesEnqueued());
+    }
+
     // TODO: Difficulty in RegTest is so small that this test will sometimes pass and other times fail
     @Disabled("This should be executed in a special mode where difficulty is high")
     public void processInvalidPoWMessageUsingProcessor() {
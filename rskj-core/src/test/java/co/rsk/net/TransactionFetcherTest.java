@@ -0,0 +1,145 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net;
+
+import co.rsk.crypto.Keccak256;
+import org.ethereum.TestUtils;
+import org.ethereum.core.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionFetcherTest {
+    private static final int MAX_IN_FLIGHT = 3;
+    private static final long TIMEOUT = 1000;
+
+    private Clock clock;
+    private TransactionFetcher fetcher;
+    private NodeID peer1;
+    private NodeID peer2;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(10_000L);
+        fetcher = new TransactionFetcher(100, 100, MAX_IN_FLIGHT, TIMEOUT, clock);
+        peer1 = new NodeID(TestUtils.generateBytes("peer1", 32));
+        peer2 = new NodeID(TestUtils.generateBytes("peer2", 32));
+    }
+
+    @Test
+    void requestUnknownHashesUpToInFlightLimit() {
+        List<Keccak256> hashes = generateHashes(5);
+
+        List<Keccak256> requested = fetcher.processAnnouncement(peer1, hashes);
+
+        assertEquals(hashes.subList(0, MAX_IN_FLIGHT), requested);
+        assertEquals(MAX_IN_FLIGHT, fetcher.getInFlightCount(peer1));
+        assertTrue(fetcher.processAnnouncement(peer1, hashes).isEmpty());
+    }
+
+    @Test
+    void requestEachHashOnlyOnce() {
+        List<Keccak256> hashes = generateHashes(2);
+
+        assertEquals(hashes, fetcher.processAnnouncement(peer1, hashes));
+        assertTrue(fetcher.processAnnouncement(peer2, hashes).isEmpty());
+        assertEquals(0, fetcher.getInFlightCount(peer2));
+    }
+
+    @Test
+    void skipSeenHashes() {
+        Transaction tx = mockTransaction("tx");
+        fetcher.transactionsReceived(Collections.singletonList(tx));
+
+        assertTrue(fetcher.isRecentlySeen(tx.getHash()));
+        assertTrue(fetcher.processAnnouncement(peer1, Collections.singletonList(tx.getHash())).isEmpty());
+    }
+
+    @Test
+    void receivedTransactionsReleaseRequests() {
+        Transaction tx = mockTransaction("tx");
+        fetcher.processAnnouncement(peer1, Collections.singletonList(tx.getHash()));
+        assertEquals(1, fetcher.getInFlightCount(peer1));
+
+        fetcher.transactionsReceived(Collections.singletonList(tx));
+
+        assertEquals(0, fetcher.getInFlightCount(peer1));
+    }
+
+    @Test
+    void rejectedTransactionsCanBeRequestedAgain() {
+        Transaction tx = mockTransaction("tx");
+        List<Keccak256> hashes = Collections.singletonList(tx.getHash());
+        fetcher.processAnnouncement(peer1, hashes);
+
+        fetcher.transactionsRejected(Collections.singletonList(tx));
+
+        assertEquals(0, fetcher.getInFlightCount(peer1));
+        assertFalse(fetcher.isRecentlySeen(tx.getHash()));
+        assertEquals(hashes, fetcher.processAnnouncement(peer2, hashes));
+    }
+
+    @Test
+    void expiredRequestsCanBeRequestedToOtherPeer() {
+        List<Keccak256> hashes = generateHashes(2);
+        fetcher.processAnnouncement(peer1, hashes);
+
+        when(clock.millis()).thenReturn(10_000L + TIMEOUT + 1);
+
+        assertEquals(hashes, fetcher.processAnnouncement(peer2, hashes));
+        assertEquals(0, fetcher.getInFlightCount(peer1));
+        assertEquals(2, fetcher.getInFlightCount(peer2));
+    }
+
+    @Test
+    void serveOnlyRelayedTransactions() {
+        Transaction relayed = mockTransaction("relayed");
+        Transaction received = mockTransaction("received");
+        fetcher.transactionsRelayed(Collections.singletonList(relayed));
+        fetcher.transactionsReceived(Collections.singletonList(received));
+
+        List<Transaction> result = fetcher.getRelayedTransactions(Arrays.asList(relayed.getHash(), received.getHash()));
+
+        assertEquals(Collections.singletonList(relayed), result);
+        assertTrue(fetcher.isRecentlySeen(relayed.getHash()));
+    }
+
+    private static List<Keccak256> generateHashes(int count) {
+        List<Keccak256> hashes = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            hashes.add(TestUtils.generateHash("hash" + k));
+        }
+        return hashes;
+    }
+
+    private static Transaction mockTransaction(String seed) {
+        Transaction tx = mock(Transaction.class);
+        when(tx.getHash()).thenReturn(TestUtils.generateHash(seed));
+        return tx;
+    }
+}
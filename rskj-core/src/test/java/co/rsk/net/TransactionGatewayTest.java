@@ -17,6 +17,10 @@
  */
 package co.rsk.net;
 
+import co.rsk.crypto.Keccak256;
+import co.rsk.net.messages.GetTransactionsMessage;
+import co.rsk.net.messages.TransactionsMessage;
+import co.rsk.net.simples.SimplePeer;
 import org.ethereum.TestUtils;
 import org.ethereum.core.Transaction;
 import org.ethereum.core.TransactionPool;
@@ -25,13 +29,19 @@ import org.ethereum.net.server.ChannelManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class TransactionGatewayTest {
+    private static final int MAX_IN_FLIGHT = 4;
+
     private ChannelManager channelManager;
     private TransactionPool transactionPool;
     private TransactionGateway gateway;
@@ -44,7 +54,8 @@ class TransactionGatewayTest {
         this.tx = mock(Transaction.class);
         when(this.tx.getHash()).thenReturn(TestUtils.generateHash("txHash"));
 
-        this.gateway = new TransactionGateway(channelManager, transactionPool);
+        this.gateway = new TransactionGateway(channelManager, transactionPool,
+                new TransactionFetcher(100, 100, MAX_IN_FLIGHT, 5000, Clock.systemUTC()));
     }
 
     @Test
@@ -89,6 +100,80 @@ class TransactionGatewayTest {
         receiveTransactionAndVerifyCalls(transactionPoolAddResult, 0);
     }
 
+    @Test
+    void receiveTransactionsFrom_marksTransactionsAsSeen() {
+        when(transactionPool.addTransactions(any())).thenReturn(Collections.singletonList(tx));
+
+        assertFalse(gateway.isRecentlySeen(tx.getHash()));
+
+        this.gateway.receiveTransactionsFrom(Collections.singletonList(tx), Collections.emptySet());
+
+        assertTrue(gateway.isRecentlySeen(tx.getHash()));
+    }
+
+    @Test
+    void receiveTransactionsFrom_rejectedTransactionsCanBeRequestedAgain() {
+        SimplePeer sender = new SimplePeer();
+        List<Keccak256> hashes = Collections.singletonList(tx.getHash());
+        when(transactionPool.addTransactions(any())).thenReturn(Collections.emptyList());
+        this.gateway.receiveTransactionHashesFrom(sender, hashes);
+
+        this.gateway.receiveTransactionsFrom(Collections.singletonList(tx), Collections.emptySet());
+
+        assertFalse(gateway.isRecentlySeen(tx.getHash()));
+
+        this.gateway.receiveTransactionHashesFrom(sender, hashes);
+
+        assertEquals(2, sender.getMessages().size());
+        assertEquals(hashes, ((GetTransactionsMessage) sender.getMessages().get(1)).getHashes());
+    }
+
+    @Test
+    void receiveTransactionHashesFrom_requestsUnknownTransactions() {
+        SimplePeer sender = new SimplePeer();
+        Keccak256 unknownHash = TestUtils.generateHash("unknown");
+        when(transactionPool.addTransactions(any())).thenReturn(Collections.singletonList(tx));
+        this.gateway.receiveTransactionsFrom(Collections.singletonList(tx), Collections.emptySet());
+
+        this.gateway.receiveTransactionHashesFrom(sender, Arrays.asList(tx.getHash(), unknownHash));
+
+        assertEquals(1, sender.getMessages().size());
+        GetTransactionsMessage request = (GetTransactionsMessage) sender.getMessages().get(0);
+        assertEquals(Collections.singletonList(unknownHash), request.getHashes());
+    }
+
+    @Test
+    void processGetTransactions_sendsRelayedTransactions() {
+        SimplePeer sender = new SimplePeer();
+        List<Transaction> transactions = Collections.singletonList(tx);
+        when(transactionPool.addTransactions(transactions)).thenReturn(transactions);
+        this.gateway.receiveTransactionsFrom(transactions, Collections.emptySet());
+
+        this.gateway.processGetTransactions(sender, Arrays.asList(tx.getHash(), TestUtils.generateHash("unknown")));
+
+        assertEquals(1, sender.getMessages().size());
+        assertEquals(transactions, ((TransactionsMessage) sender.getMessages().get(0)).getTransactions());
+    }
+
+    @Test
+    void processGetTransactions_dropsRequestsOverTheInFlightLimit() {
+        SimplePeer sender = new SimplePeer();
+        List<Transaction> transactions = Collections.singletonList(tx);
+        when(transactionPool.addTransactions(transactions)).thenReturn(transactions);
+        this.gateway.receiveTransactionsFrom(transactions, Collections.emptySet());
+
+        List<Keccak256> hashes = new ArrayList<>();
+        hashes.add(tx.getHash());
+        for (int k = 0; k < MAX_IN_FLIGHT; k++) {
+            hashes.add(TestUtils.generateHash("unknown" + k));
+        }
+
+        assertFalse(this.gateway.processGetTransactions(sender, hashes));
+        assertTrue(sender.getMessages().isEmpty());
+        assertTrue(this.gateway.processGetTransactions(sender, hashes.subList(0, MAX_IN_FLIGHT)));
+        assertEquals(1, sender.getMessages().size());
+    }
+
     private void receiveTransactionAndVerifyCalls(TransactionPoolAddResult transactionPoolAddResult,
                                                   int broadcastTransactionsCount) {
         when(transactionPool.addTransaction(tx)).thenReturn(transactionPoolAddResult);
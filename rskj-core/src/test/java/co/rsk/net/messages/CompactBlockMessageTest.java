@@ -0,0 +1,160 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net.messages;
+
+import co.rsk.blockchain.utils.BlockGenerator;
+import co.rsk.core.ShortTxIdCalculator;
+import co.rsk.remasc.RemascTransaction;
+import co.rsk.test.builders.AccountBuilder;
+import co.rsk.test.builders.TransactionBuilder;
+import org.ethereum.config.blockchain.upgrades.ActivationConfigsForTest;
+import org.ethereum.core.*;
+import org.ethereum.util.RLP;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class CompactBlockMessageTest {
+    private final BlockFactory blockFactory = new BlockFactory(ActivationConfigsForTest.regtest());
+
+    @Test
+    void createFromBlock() {
+        Block block = createBlock(5);
+
+        CompactBlockMessage message = CompactBlockMessage.fromBlock(block);
+
+        Assertions.assertEquals(MessageType.COMPACT_BLOCK_MESSAGE, message.getMessageType());
+        Assertions.assertEquals(block.getHash(), message.getHeader().getHash());
+        Assertions.assertEquals(6, message.getTransactionCount());
+
+        ShortTxIdCalculator shortTxIdCalculator = new ShortTxIdCalculator(block.getHash());
+        for (int k = 0; k < block.getTransactionsList().size(); k++) {
+            Assertions.assertEquals(shortTxIdCalculator.shortTxId(block.getTransactionsList().get(k).getHash()), message.getShortTxId(k));
+        }
+
+        Assertions.assertEquals(1, message.getPrefilledTransactions().size());
+        Assertions.assertTrue(message.getPrefilledTransactions().get(5) instanceof RemascTransaction);
+    }
+
+    @Test
+    void encodeDecodeMessage() {
+        Block block = createBlock(10);
+        CompactBlockMessage message = CompactBlockMessage.fromBlock(block);
+
+        Message result = Message.create(blockFactory, message.getEncoded());
+
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(MessageType.COMPACT_BLOCK_MESSAGE, result.getMessageType());
+
+        CompactBlockMessage decoded = (CompactBlockMessage) result;
+
+        Assertions.assertEquals(block.getHash(), decoded.getHeader().getHash());
+        Assertions.assertEquals(message.getTransactionCount(), decoded.getTransactionCount());
+
+        for (int k = 0; k < message.getTransactionCount(); k++) {
+            Assertions.assertEquals(message.getShortTxId(k), decoded.getShortTxId(k));
+        }
+
+        Assertions.assertEquals(message.getPrefilledTransactions().keySet(), decoded.getPrefilledTransactions().keySet());
+        Assertions.assertTrue(decoded.getPrefilledTransactions().get(10) instanceof RemascTransaction);
+        Assertions.assertEquals(block.getTransactionsList().get(10).getHash(), decoded.getPrefilledTransactions().get(10).getHash());
+        Assertions.assertArrayEquals(message.getEncoded(), decoded.getEncoded());
+    }
+
+    @Test
+    void encodeDecodeGetBlockTransactionsMessage() {
+        byte[] hash = createBlock(1).getHash().getBytes();
+        GetBlockTransactionsMessage message = new GetBlockTransactionsMessage(42, hash, List.of(0, 3, 300));
+
+        GetBlockTransactionsMessage result = (GetBlockTransactionsMessage) Message.create(blockFactory, message.getEncoded());
+
+        Assertions.assertEquals(MessageType.GET_BLOCK_TRANSACTIONS_MESSAGE, result.getMessageType());
+        Assertions.assertEquals(42, result.getId());
+        Assertions.assertArrayEquals(hash, result.getBlockHash());
+        Assertions.assertEquals(List.of(0, 3, 300), result.getIndexes());
+    }
+
+    @Test
+    void encodeDecodeBlockTransactionsMessage() {
+        Block block = createBlock(3);
+        List<Transaction> transactions = block.getTransactionsList().subList(0, 3);
+        BlockTransactionsMessage message = new BlockTransactionsMessage(42, block.getHash().getBytes(), transactions);
+
+        BlockTransactionsMessage result = (BlockTransactionsMessage) Message.create(blockFactory, message.getEncoded());
+
+        Assertions.assertEquals(MessageType.BLOCK_TRANSACTIONS_MESSAGE, result.getMessageType());
+        Assertions.assertEquals(42, result.getId());
+        Assertions.assertArrayEquals(block.getHash().getBytes(), result.getBlockHash());
+        Assertions.assertEquals(transactions, result.getTransactions());
+    }
+
+    @Test
+    void rejectInvalidShortIdsLength() {
+        BlockHeader header = createBlock(1).getHeader();
+        byte[] body = RLP.encodeList(
+                header.getFullEncoded(),
+                RLP.encodeList(),
+                RLP.encodeElement(new byte[CompactBlockMessage.SHORT_ID_SIZE - 1]),
+                RLP.encodeList());
+        byte[] encoded = RLP.encodeList(
+                RLP.encodeByte(MessageType.COMPACT_BLOCK_MESSAGE.getTypeAsByte()),
+                RLP.encodeElement(body));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Message.create(blockFactory, encoded));
+    }
+
+    @Test
+    void accept() {
+        CompactBlockMessage message = CompactBlockMessage.fromBlock(createBlock(1));
+
+        MessageVisitor visitor = mock(MessageVisitor.class);
+
+        message.accept(visitor);
+
+        verify(visitor, times(1)).apply(message);
+    }
+
+    private static Block createBlock(int ntxs) {
+        BlockGenerator blockGenerator = new BlockGenerator();
+        Block genesis = blockGenerator.getGenesisBlock();
+
+        List<Transaction> txs = new ArrayList<>();
+        for (int k = 1; k <= ntxs; k++) {
+            txs.add(createTransaction(k));
+        }
+        txs.add(new RemascTransaction(genesis.getNumber() + 1));
+
+        return blockGenerator.createChildBlock(genesis, txs);
+    }
+
+    private static Transaction createTransaction(int number) {
+        AccountBuilder acbuilder = new AccountBuilder();
+        acbuilder.name("sender" + number);
+        Account sender = acbuilder.build();
+        acbuilder.name("receiver" + number);
+        Account receiver = acbuilder.build();
+        TransactionBuilder txbuilder = new TransactionBuilder();
+        return txbuilder.sender(sender).receiver(receiver).value(BigInteger.valueOf(number * 1000 + 1000)).build();
+    }
+}
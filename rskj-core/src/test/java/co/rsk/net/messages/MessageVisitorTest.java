@@ -471,4 +471,32 @@ class MessageVisitorTest {
                 .recordEvent(peer, peerAddress, EventType.INVALID_TRANSACTION, "Invalid transaction {} at {}",
                         invalidTx.getHash().toString(), MessageVisitor.class);
     }
+
+    @Test
+    void getTransactionsMessage_tooManyHashes_penalizesSender() {
+        NodeID peer = mock(NodeID.class);
+        InetAddress peerAddress = mock(InetAddress.class);
+        when(sender.getAddress()).thenReturn(peerAddress);
+        when(sender.getPeerNodeID()).thenReturn(peer);
+
+        List<Keccak256> hashes = List.of(TestUtils.generateHash("tx1"), TestUtils.generateHash("tx2"));
+        GetTransactionsMessage message = new GetTransactionsMessage(hashes);
+        when(transactionGateway.processGetTransactions(sender, hashes)).thenReturn(false);
+
+        target.apply(message);
+
+        verify(peerScoringManager, times(1))
+                .recordEvent(peer, peerAddress, EventType.INVALID_MESSAGE, "Too many transactions requested ({}) at {}",
+                        2, MessageVisitor.class);
+    }
+
+    @Test
+    void getTransactionsMessage_servedRequest_doesNotPenalizeSender() {
+        List<Keccak256> hashes = List.of(TestUtils.generateHash("tx1"));
+        when(transactionGateway.processGetTransactions(sender, hashes)).thenReturn(true);
+
+        target.apply(new GetTransactionsMessage(hashes));
+
+        verify(peerScoringManager, never()).recordEvent(any(), any(), any(), any(), any());
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.net.messages;
+
+import co.rsk.crypto.Keccak256;
+import org.ethereum.TestUtils;
+import org.ethereum.config.blockchain.upgrades.ActivationConfigsForTest;
+import org.ethereum.core.BlockFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class TransactionHashesMessageTest {
+    private final BlockFactory blockFactory = new BlockFactory(ActivationConfigsForTest.regtest());
+    private final List<Keccak256> hashes = Arrays.asList(TestUtils.generateHash("tx1"), TestUtils.generateHash("tx2"));
+
+    @Test
+    void encodeDecodeNewTransactionHashesMessage() {
+        NewTransactionHashesMessage message = new NewTransactionHashesMessage(hashes);
+
+        Message result = Message.create(blockFactory, message.getEncoded());
+
+        Assertions.assertEquals(MessageType.NEW_TRANSACTION_HASHES_MESSAGE, result.getMessageType());
+        Assertions.assertEquals(hashes, ((NewTransactionHashesMessage) result).getHashes());
+    }
+
+    @Test
+    void encodeDecodeGetTransactionsMessage() {
+        GetTransactionsMessage message = new GetTransactionsMessage(hashes);
+
+        Message result = Message.create(blockFactory, message.getEncoded());
+
+        Assertions.assertEquals(MessageType.GET_TRANSACTIONS_MESSAGE, result.getMessageType());
+        Assertions.assertEquals(hashes, ((GetTransactionsMessage) result).getHashes());
+    }
+
+    @Test
+    void encodeDecodeEmptyMessage() {
+        NewTransactionHashesMessage message = new NewTransactionHashesMessage(Collections.emptyList());
+
+        Message result = Message.create(blockFactory, message.getEncoded());
+
+        Assertions.assertTrue(((NewTransactionHashesMessage) result).getHashes().isEmpty());
+    }
+
+    @Test
+    void accept() {
+        NewTransactionHashesMessage announcement = new NewTransactionHashesMessage(hashes);
+        GetTransactionsMessage request = new GetTransactionsMessage(hashes);
+
+        MessageVisitor visitor = mock(MessageVisitor.class);
+
+        announcement.accept(visitor);
+        request.accept(visitor);
+
+        verify(visitor, times(1)).apply(announcement);
+        verify(visitor, times(1)).apply(request);
+    }
+}
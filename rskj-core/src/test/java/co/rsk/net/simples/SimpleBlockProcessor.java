@@ -22,6 +22,8 @@ import co.rsk.net.BlockNodeInformation;
 import co.rsk.net.BlockProcessResult;
 import co.rsk.net.BlockProcessor;
 import co.rsk.net.Peer;
+import co.rsk.net.messages.BlockTransactionsMessage;
+import co.rsk.net.messages.CompactBlockMessage;
 import co.rsk.net.messages.NewBlockHashesMessage;
 import org.ethereum.core.Block;
 import org.ethereum.core.BlockHeader;
@@ -29,6 +31,7 @@ import org.ethereum.core.BlockHeader;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Created by ajlopez on 5/11/2016.
@@ -108,6 +111,21 @@ public class SimpleBlockProcessor implements BlockProcessor {
 
     }
 
+    @Override
+    public Optional<Block> processCompactBlock(Peer sender, CompactBlockMessage message) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void processGetBlockTransactions(Peer sender, long requestId, byte[] hash, List<Integer> indexes) {
+
+    }
+
+    @Override
+    public Optional<Block> processBlockTransactions(Peer sender, BlockTransactionsMessage message) {
+        return Optional.empty();
+    }
+
     @Override
     public boolean canBeIgnoredForUnclesRewards(long blockNumber) {
         return false;
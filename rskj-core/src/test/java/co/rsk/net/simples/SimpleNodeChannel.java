@@ -66,6 +66,16 @@ public class SimpleNodeChannel implements Peer {
         return false;
     }
 
+    @Override
+    public boolean isCompactBlockCapable() {
+        return false;
+    }
+
+    @Override
+    public boolean isTxAnnouncementCapable() {
+        return false;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
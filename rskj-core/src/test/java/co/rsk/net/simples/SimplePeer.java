@@ -107,6 +107,16 @@ public class SimplePeer implements Peer {
         return false;
     }
 
+    @Override
+    public boolean isCompactBlockCapable() {
+        return false;
+    }
+
+    @Override
+    public boolean isTxAnnouncementCapable() {
+        return false;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
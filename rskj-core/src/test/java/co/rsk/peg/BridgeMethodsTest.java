@@ -0,0 +1,53 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.peg;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+class BridgeMethodsTest {
+
+    @Test
+    void everyMethodIsFoundByItsSelector() {
+        for (BridgeMethods method : BridgeMethods.values()) {
+            byte[] signature = method.getFunction().encodeSignature();
+
+            assertEquals(Optional.of(method), BridgeMethods.findBySelector(BridgeMethods.selectorOf(signature)));
+            assertEquals(Optional.of(method), BridgeMethods.findBySignature(signature));
+        }
+    }
+
+    @Test
+    void selectorIsReadFromTheStartOfTheCallData() {
+        byte[] data = BridgeMethods.GET_FEDERATION_ADDRESS.getFunction().encode();
+
+        assertEquals(0x6923fa85, BridgeMethods.selectorOf(data));
+        assertEquals(Optional.of(BridgeMethods.GET_FEDERATION_ADDRESS), BridgeMethods.findBySelector(0x6923fa85));
+    }
+
+    @Test
+    void unknownSelectorsAreNotFound() {
+        assertEquals(Optional.empty(), BridgeMethods.findBySelector(0));
+        assertEquals(Optional.empty(), BridgeMethods.findBySignature(Hex.decode("00000000")));
+        assertEquals(Optional.empty(), BridgeMethods.findBySignature(Hex.decode("6923fa")));
+    }
+}
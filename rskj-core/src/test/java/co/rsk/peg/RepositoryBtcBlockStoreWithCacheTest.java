@@ -171,6 +171,64 @@ class RepositoryBtcBlockStoreWithCacheTest {
         assertEquals(secondStoredBlock, btcBlockStore2.getFromCache(secondBlockHash));
     }
 
+    @Test
+    void getStoredBlockAtMainChainDepthFollowsReorgsAcrossInstances() throws BlockStoreException {
+        Repository repository = createRepository();
+        RepositoryBtcBlockStoreWithCache.Factory factory = createBlockStoreFactory();
+        Repository track = repository.startTracking();
+        BtcBlockStoreWithCache btcBlockStore = createBlockStoreWithTrack(factory, track);
+
+        BtcBlock genesis = networkParameters.getGenesisBlock();
+        StoredBlock a1 = createStoredBlock(genesis, 1, 0);
+        StoredBlock a2 = createStoredBlock(a1.getHeader(), 2, 0);
+        StoredBlock a3 = createStoredBlock(a2.getHeader(), 3, 0);
+        btcBlockStore.put(a1);
+        btcBlockStore.put(a2);
+        btcBlockStore.put(a3);
+        btcBlockStore.setChainHead(a3);
+
+        assertEquals(a1, btcBlockStore.getStoredBlockAtMainChainDepth(2));
+        assertEquals(a2, btcBlockStore.getStoredBlockAtMainChainDepth(1));
+        assertTrue(factory.getBlockStoreIndex().getHeightIndexHits() > 0);
+
+        BtcBlockStoreWithCache forkBtcBlockStore = createBlockStoreWithTrack(factory, track.startTracking());
+        StoredBlock b2 = createStoredBlock(a1.getHeader(), 2, 1);
+        StoredBlock b3 = createStoredBlock(b2.getHeader(), 3, 1);
+        StoredBlock b4 = createStoredBlock(b3.getHeader(), 4, 1);
+        forkBtcBlockStore.put(b2);
+        forkBtcBlockStore.put(b3);
+        forkBtcBlockStore.put(b4);
+        forkBtcBlockStore.setChainHead(b4);
+
+        assertEquals(b3, forkBtcBlockStore.getStoredBlockAtMainChainDepth(1));
+        assertEquals(b2, forkBtcBlockStore.getStoredBlockAtMainChainDepth(2));
+        assertEquals(a1, forkBtcBlockStore.getStoredBlockAtMainChainDepth(3));
+        assertEquals(genesis, forkBtcBlockStore.getStoredBlockAtMainChainDepth(4).getHeader());
+
+        // The original chain is still the main chain for the first instance
+        assertEquals(a2, btcBlockStore.getStoredBlockAtMainChainDepth(1));
+        assertEquals(a3, btcBlockStore.getStoredBlockAtMainChainDepth(0));
+        assertEquals(a1, btcBlockStore.getStoredBlockAtMainChainDepth(2));
+    }
+
+    @Test
+    void storedBlocksAreOnlyDecodedOnce() throws BlockStoreException {
+        Repository repository = createRepository();
+        RepositoryBtcBlockStoreWithCache.Factory factory = createBlockStoreFactory();
+        Repository track = repository.startTracking();
+        BtcBlockStoreWithCache btcBlockStore = createBlockStoreWithTrack(factory, track);
+
+        StoredBlock storedBlock = createStoredBlock(networkParameters.getGenesisBlock(), 1, 0);
+        Sha256Hash blockHash = storedBlock.getHeader().getHash();
+        btcBlockStore.put(storedBlock);
+        track.commit();
+
+        long decodeMisses = factory.getBlockStoreIndex().getDecodeMisses();
+        assertSame(storedBlock, btcBlockStore.get(blockHash));
+        assertSame(storedBlock, createBlockStoreWithTrack(factory, repository.startTracking()).get(blockHash));
+        assertEquals(decodeMisses, factory.getBlockStoreIndex().getDecodeMisses());
+    }
+
     @Test
     void getInMainchain() throws BlockStoreException {
         Repository repository =  createRepository();
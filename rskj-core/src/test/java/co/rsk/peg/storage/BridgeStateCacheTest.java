@@ -0,0 +1,163 @@
+package co.rsk.peg.storage;
+
+import static co.rsk.peg.bitcoin.BitcoinTestUtils.createHash;
+import static co.rsk.peg.federation.FederationStorageIndexKey.NEW_FEDERATION_FORMAT_VERSION;
+import static co.rsk.peg.federation.FederationStorageIndexKey.NEW_FEDERATION_KEY;
+import static co.rsk.peg.federation.FederationStorageIndexKey.OLD_FEDERATION_BTC_UTXOS_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
+import co.rsk.bitcoinj.core.UTXO;
+import co.rsk.peg.BridgeSerializationUtils;
+import co.rsk.peg.constants.BridgeMainNetConstants;
+import co.rsk.peg.federation.Federation;
+import co.rsk.peg.federation.FederationStorageProvider;
+import co.rsk.peg.federation.FederationStorageProviderImpl;
+import co.rsk.peg.federation.P2shErpFederationBuilder;
+import co.rsk.peg.federation.constants.FederationConstants;
+import co.rsk.test.builders.UTXOBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.ethereum.config.blockchain.upgrades.ActivationConfig;
+import org.ethereum.config.blockchain.upgrades.ActivationConfigsForTest;
+import org.junit.jupiter.api.Test;
+
+class BridgeStateCacheTest {
+
+    @Test
+    void decodesSameBytesOnlyOnce() {
+        BridgeStateCache cache = new BridgeStateCache(10);
+        AtomicInteger decodings = new AtomicInteger();
+        Function<byte[], String> deserializer = countingDeserializer(decodings);
+
+        assertEquals("010203", cache.get("kind", new byte[]{1, 2, 3}, deserializer, UnaryOperator.identity()));
+        assertEquals("010203", cache.get("kind", new byte[]{1, 2, 3}, deserializer, UnaryOperator.identity()));
+        assertEquals("010204", cache.get("kind", new byte[]{1, 2, 4}, deserializer, UnaryOperator.identity()));
+
+        assertEquals(2, decodings.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getEntries());
+    }
+
+    @Test
+    void sameBytesOfDifferentKindsAreDecodedSeparately() {
+        BridgeStateCache cache = new BridgeStateCache(10);
+        byte[] data = new byte[]{1, 2, 3};
+
+        assertEquals("a", cache.get("a", data, d -> "a", UnaryOperator.identity()));
+        assertEquals("b", cache.get("b", data, d -> "b", UnaryOperator.identity()));
+        assertEquals(2, cache.getEntries());
+    }
+
+    @Test
+    void emptyValuesAreNotCached() {
+        BridgeStateCache cache = new BridgeStateCache(10);
+        AtomicInteger decodings = new AtomicInteger();
+        Function<byte[], String> deserializer = countingDeserializer(decodings);
+
+        cache.get("kind", null, deserializer, UnaryOperator.identity());
+        cache.get("kind", null, deserializer, UnaryOperator.identity());
+        cache.get("kind", new byte[0], deserializer, UnaryOperator.identity());
+
+        assertEquals(3, decodings.get());
+        assertEquals(0, cache.getEntries());
+    }
+
+    @Test
+    void disabledCacheAlwaysDecodes() {
+        AtomicInteger decodings = new AtomicInteger();
+        Function<byte[], String> deserializer = countingDeserializer(decodings);
+
+        BridgeStateCache.DISABLED.get("kind", new byte[]{1}, deserializer, UnaryOperator.identity());
+        BridgeStateCache.DISABLED.get("kind", new byte[]{1}, deserializer, UnaryOperator.identity());
+
+        assertEquals(2, decodings.get());
+        assertEquals(0, BridgeStateCache.DISABLED.getEntries());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        BridgeStateCache cache = new BridgeStateCache(2);
+        AtomicInteger decodings = new AtomicInteger();
+        Function<byte[], String> deserializer = countingDeserializer(decodings);
+
+        cache.get("kind", new byte[]{1}, deserializer, UnaryOperator.identity());
+        cache.get("kind", new byte[]{2}, deserializer, UnaryOperator.identity());
+        cache.get("kind", new byte[]{1}, deserializer, UnaryOperator.identity());
+        cache.get("kind", new byte[]{3}, deserializer, UnaryOperator.identity());
+
+        assertEquals(2, cache.getEntries());
+        assertEquals(1, cache.getEvictions());
+
+        cache.get("kind", new byte[]{1}, deserializer, UnaryOperator.identity());
+        assertEquals(3, decodings.get());
+
+        cache.get("kind", new byte[]{2}, deserializer, UnaryOperator.identity());
+        assertEquals(4, decodings.get());
+    }
+
+    @Test
+    void copierIsAppliedOnEveryLookup() {
+        BridgeStateCache cache = new BridgeStateCache(10);
+        byte[] data = new byte[]{1};
+
+        List<String> first = cache.get("kind", data, d -> new ArrayList<>(List.of("x")), ArrayList::new);
+        first.add("y");
+        List<String> second = cache.get("kind", data, d -> new ArrayList<>(List.of("x")), ArrayList::new);
+
+        assertNotSame(first, second);
+        assertEquals(List.of("x"), second);
+    }
+
+    @Test
+    void federationUtxosAreNotSharedBetweenProviders() {
+        BridgeStateCache cache = new BridgeStateCache(10);
+        StorageAccessor storageAccessor = new InMemoryStorage();
+        List<UTXO> utxos = UTXOBuilder.builder().buildMany(2, i -> createHash(i + 1));
+        storageAccessor.saveToRepository(OLD_FEDERATION_BTC_UTXOS_KEY.getKey(), utxos, BridgeSerializationUtils::serializeUTXOList);
+
+        FederationStorageProvider firstProvider = new FederationStorageProviderImpl(storageAccessor, cache);
+        List<UTXO> firstUtxos = firstProvider.getOldFederationBtcUTXOs();
+        firstUtxos.remove(0);
+
+        FederationStorageProvider secondProvider = new FederationStorageProviderImpl(storageAccessor, cache);
+        assertEquals(utxos, secondProvider.getOldFederationBtcUTXOs());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void federationsAreNotSharedBetweenProviders() {
+        BridgeStateCache cache = new BridgeStateCache(10);
+        StorageAccessor storageAccessor = new InMemoryStorage();
+        Federation federation = P2shErpFederationBuilder.builder().build();
+        storageAccessor.saveToRepository(NEW_FEDERATION_FORMAT_VERSION.getKey(), BridgeSerializationUtils.serializeInteger(federation.getFormatVersion()));
+        storageAccessor.saveToRepository(NEW_FEDERATION_KEY.getKey(), BridgeSerializationUtils.serializeFederation(federation));
+        FederationConstants federationConstants = BridgeMainNetConstants.getInstance().getFederationConstants();
+        ActivationConfig.ForBlock activations = ActivationConfigsForTest.all().forBlock(0L);
+
+        Federation first = new FederationStorageProviderImpl(storageAccessor, cache).getNewFederation(federationConstants, activations);
+        Federation second = new FederationStorageProviderImpl(storageAccessor, cache).getNewFederation(federationConstants, activations);
+
+        assertNotSame(first, second);
+        assertEquals(federation, first);
+        assertEquals(federation, second);
+        assertEquals(federation.getP2SHScript(), second.getP2SHScript());
+        assertEquals(1, cache.getHits());
+    }
+
+    private static Function<byte[], String> countingDeserializer(AtomicInteger decodings) {
+        return data -> {
+            decodings.incrementAndGet();
+            StringBuilder sb = new StringBuilder();
+            if (data != null) {
+                for (byte b : data) {
+                    sb.append(String.format("%02x", b));
+                }
+            }
+            return sb.toString();
+        };
+    }
+}
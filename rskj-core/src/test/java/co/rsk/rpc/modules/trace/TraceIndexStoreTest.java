@@ -0,0 +1,199 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.modules.trace;
+
+import co.rsk.core.RskAddress;
+import co.rsk.crypto.Keccak256;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ethereum.core.Block;
+import org.ethereum.core.SignatureCache;
+import org.ethereum.core.Transaction;
+import org.ethereum.datasource.HashMapDB;
+import org.ethereum.vm.DataWord;
+import org.ethereum.vm.trace.Serializers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TraceIndexStoreTest {
+    private static final ObjectMapper OBJECT_MAPPER = Serializers.createMapper(true);
+
+    private static final RskAddress ADDRESS1 = new RskAddress("0000000000000000000000000000000001000008");
+    private static final RskAddress ADDRESS2 = new RskAddress("0000000000000000000000000000000001000006");
+    private static final RskAddress ADDRESS3 = new RskAddress("0000000000000000000000000000000001000009");
+
+    private final SignatureCache signatureCache = mock(SignatureCache.class);
+
+    @Test
+    void emptyStore() {
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, new HashMapDB(), signatureCache);
+
+        Assertions.assertTrue(traceIndexStore.isEmpty());
+        Assertions.assertEquals(-1, traceIndexStore.getFirstNumber());
+        Assertions.assertEquals(-1, traceIndexStore.getHeadNumber());
+        Assertions.assertNull(traceIndexStore.getBlockTraces(block(3)));
+        Assertions.assertTrue(traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.emptyList(), 0, 10).isEmpty());
+    }
+
+    @Test
+    void getBlockTracesAsTheyWereIndexed() {
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, new HashMapDB(), signatureCache);
+        Block block = block(3, tx(ADDRESS1, ADDRESS2), tx(ADDRESS2, null));
+        List<TransactionTrace> traces = Arrays.asList(
+                callTrace(block, 0, new TraceAddress(), 1),
+                callTrace(block, 0, new TraceAddress(new TraceAddress(), 0), 0),
+                createTrace(block, 1));
+
+        traceIndexStore.addBlock(block, traces);
+
+        Assertions.assertEquals(block.getHash(), traceIndexStore.getBlockHash(3));
+        Assertions.assertEquals(OBJECT_MAPPER.valueToTree(traces), OBJECT_MAPPER.valueToTree(traceIndexStore.getBlockTraces(block)));
+        Assertions.assertNull(traceIndexStore.getBlockTraces(block(3, tx(ADDRESS1, ADDRESS3))));
+    }
+
+    @Test
+    void findBlocksByFromAndToAddresses() {
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, new HashMapDB(), signatureCache);
+
+        addBlock(traceIndexStore, block(3, tx(ADDRESS1, ADDRESS2)));
+        addBlock(traceIndexStore, block(4, tx(ADDRESS2, ADDRESS3), tx(ADDRESS1, null)));
+        addBlock(traceIndexStore, block(5, tx(ADDRESS3, ADDRESS1)));
+
+        Assertions.assertEquals(Arrays.asList(3L, 4L), traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.emptyList(), 0, 10));
+        Assertions.assertEquals(Arrays.asList(4L, 5L), traceIndexStore.findBlocks(Collections.emptyList(), Arrays.asList(ADDRESS1, ADDRESS3), 0, 10));
+        Assertions.assertEquals(Collections.singletonList(3L), traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.singletonList(ADDRESS2), 0, 10));
+        Assertions.assertTrue(traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.singletonList(ADDRESS3), 0, 10).isEmpty());
+        Assertions.assertEquals(Collections.singletonList(4L), traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.emptyList(), 4, 5));
+    }
+
+    @Test
+    void addBlocksBeforeTheFirstOne() {
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, new HashMapDB(), signatureCache);
+
+        addBlock(traceIndexStore, block(5, tx(ADDRESS1, ADDRESS2)));
+        addBlock(traceIndexStore, block(4, tx(ADDRESS1, ADDRESS3)));
+        addBlock(traceIndexStore, block(3, tx(ADDRESS1, ADDRESS2)));
+
+        Assertions.assertEquals(3, traceIndexStore.getFirstNumber());
+        Assertions.assertEquals(5, traceIndexStore.getHeadNumber());
+        Assertions.assertEquals(Arrays.asList(3L, 4L, 5L), traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.emptyList(), 0, 10));
+
+        traceIndexStore.removeHead();
+
+        Assertions.assertEquals(Arrays.asList(3L, 4L), traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.emptyList(), 0, 10));
+        Assertions.assertThrows(IllegalStateException.class, () -> addBlock(traceIndexStore, block(1)));
+    }
+
+    @Test
+    void addBlocksWithoutReadingTheIndexedOnes() {
+        HashMapDB dataSource = spy(new HashMapDB());
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, dataSource, signatureCache);
+        addBlock(traceIndexStore, block(5, tx(ADDRESS1, ADDRESS2)));
+        clearInvocations(dataSource);
+
+        addBlock(traceIndexStore, block(6, tx(ADDRESS1, ADDRESS2)));
+        addBlock(traceIndexStore, block(4, tx(ADDRESS1, ADDRESS2)));
+
+        verify(dataSource, never()).get(any());
+        Assertions.assertEquals(Arrays.asList(4L, 5L, 6L), traceIndexStore.findBlocks(Collections.emptyList(), Collections.singletonList(ADDRESS2), 0, 10));
+    }
+
+    @Test
+    void removeHead() {
+        HashMapDB dataSource = new HashMapDB();
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, dataSource, signatureCache);
+
+        addBlock(traceIndexStore, block(3, tx(ADDRESS1, ADDRESS2)));
+        addBlock(traceIndexStore, block(4, tx(ADDRESS1, ADDRESS2)));
+
+        traceIndexStore.removeHead();
+
+        Assertions.assertEquals(3, traceIndexStore.getHeadNumber());
+        Assertions.assertNull(traceIndexStore.getBlockHash(4));
+        Assertions.assertEquals(Collections.singletonList(3L), traceIndexStore.findBlocks(Collections.singletonList(ADDRESS1), Collections.emptyList(), 0, 10));
+
+        traceIndexStore.removeHead();
+
+        Assertions.assertTrue(traceIndexStore.isEmpty());
+        Assertions.assertTrue(dataSource.keys().isEmpty());
+    }
+
+    @Test
+    void reloadFromDataSource() {
+        HashMapDB dataSource = new HashMapDB();
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, dataSource, signatureCache);
+        Block block = block(7, tx(ADDRESS1, ADDRESS2));
+        addBlock(traceIndexStore, block);
+        addBlock(traceIndexStore, block(8));
+
+        TraceIndexStore reloaded = new TraceIndexStore(4, dataSource, signatureCache);
+
+        Assertions.assertEquals(7, reloaded.getFirstNumber());
+        Assertions.assertEquals(8, reloaded.getHeadNumber());
+        Assertions.assertEquals(1, reloaded.getBlockTraces(block).size());
+    }
+
+    private static void addBlock(TraceIndexStore traceIndexStore, Block block) {
+        List<TransactionTrace> traces = new ArrayList<>();
+        for (int k = 0; k < block.getTransactionsList().size(); k++) {
+            traces.add(callTrace(block, k, new TraceAddress(), 0));
+        }
+        traceIndexStore.addBlock(block, traces);
+    }
+
+    private static TransactionTrace callTrace(Block block, int txIndex, TraceAddress traceAddress, int subtraces) {
+        TraceAction action = new TraceAction(CallType.CALL, "0x0000000000000000000000000000000001000008", "0x0000000000000000000000000000000001000006",
+                "0x5208", "0xcafe", null, null, "0x0", null, null, null);
+        TraceResult result = new TraceResult("0x5208", "0x", null, null);
+
+        return new TransactionTrace(action, block.getHash().toJsonString(), block.getNumber(), block.getTransactionsList().get(txIndex).getHash().toJsonString(),
+                txIndex, "call", subtraces, traceAddress, result, null);
+    }
+
+    private static TransactionTrace createTrace(Block block, int txIndex) {
+        TraceAction action = new TraceAction(CallType.NONE, "0x0000000000000000000000000000000001000006", null,
+                "0x1e8480", null, "0x6080", "create", "0x0", null, null, null);
+
+        return new TransactionTrace(action, block.getHash().toJsonString(), block.getNumber(), block.getTransactionsList().get(txIndex).getHash().toJsonString(),
+                txIndex, "create", 0, new TraceAddress(), null, "Reverted");
+    }
+
+    private static Transaction tx(RskAddress sender, RskAddress receiver) {
+        Transaction tx = mock(Transaction.class);
+        when(tx.getHash()).thenReturn(new Keccak256(DataWord.valueOf(sender.hashCode() * 31L + (receiver == null ? 0 : receiver.hashCode())).getData()));
+        when(tx.getSender(any(SignatureCache.class))).thenReturn(sender);
+        when(tx.getReceiveAddress()).thenReturn(receiver == null ? RskAddress.nullAddress() : receiver);
+        return tx;
+    }
+
+    private static Block block(long number, Transaction... transactions) {
+        Block block = mock(Block.class);
+        when(block.getNumber()).thenReturn(number);
+        when(block.getHash()).thenReturn(new Keccak256(DataWord.valueOf(number * 1000 + transactions.length).getData()));
+        when(block.getTransactionsList()).thenReturn(Arrays.asList(transactions));
+        return block;
+    }
+}
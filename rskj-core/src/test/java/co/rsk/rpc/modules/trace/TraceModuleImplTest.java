@@ -54,6 +54,9 @@ import org.ethereum.rpc.exception.RskJsonRpcRequestException;
 import java.io.FileNotFoundException;
 import java.math.BigInteger;
 import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -679,6 +682,80 @@ class TraceModuleImplTest {
         }
     }
 
+    @Test
+    void traceFilterInParallelReturnsTheSameTraces() throws Exception {
+        ReceiptStore receiptStore = new ReceiptStoreImpl(new HashMapDB());
+        World world = executeMultiContract(receiptStore);
+
+        TraceModuleImpl traceModule = new TraceModuleImpl(world.getBlockChain(), world.getBlockStore(), receiptStore, world.getBlockExecutor(), null, world.getBlockTxSignatureCache(), world.getConfig());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            TraceModuleImpl parallelTraceModule = new TraceModuleImpl(world.getBlockChain(), world.getBlockStore(), receiptStore, world.getBlockExecutor(), null, world.getBlockTxSignatureCache(), world.getConfig(), executor);
+            // blocks are traced by the calling thread when the executor doesn't run them
+            TraceModuleImpl rejectingTraceModule = new TraceModuleImpl(world.getBlockChain(), world.getBlockStore(), receiptStore, world.getBlockExecutor(), null, world.getBlockTxSignatureCache(), world.getConfig(), command -> {
+                throw new RejectedExecutionException();
+            });
+
+            for (int after : new int[] { 0, 1, 3 }) {
+                TraceFilterRequest request = new TraceFilterRequest();
+                request.setAfter(after);
+                request.setCount(3);
+
+                JsonNode expected = traceModule.traceFilter(request);
+                Assertions.assertEquals(expected, parallelTraceModule.traceFilter(request));
+                Assertions.assertEquals(expected, rejectingTraceModule.traceFilter(request));
+            }
+
+            TraceFilterRequest requestAll = new TraceFilterRequest();
+            requestAll.setCount(1000);
+            JsonNode expectedAll = traceModule.traceFilter(requestAll);
+            Assertions.assertTrue(expectedAll.size() > 0);
+            Assertions.assertEquals(expectedAll, parallelTraceModule.traceFilter(requestAll));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void traceFromTheTraceIndexReturnsTheSameTraces() throws Exception {
+        ReceiptStore receiptStore = new ReceiptStoreImpl(new HashMapDB());
+        World world = executeMultiContract(receiptStore);
+
+        TraceModuleImpl traceModule = new TraceModuleImpl(world.getBlockChain(), world.getBlockStore(), receiptStore, world.getBlockExecutor(), null, world.getBlockTxSignatureCache(), world.getConfig());
+
+        TraceIndexStore traceIndexStore = new TraceIndexStore(4, new HashMapDB(), world.getBlockTxSignatureCache());
+        BlockTracer blockTracer = new BlockTracer(world.getBlockStore(), receiptStore, world.getBlockExecutor());
+        long bestNumber = world.getBlockChain().getBestBlock().getNumber();
+        for (long number = 1; number <= bestNumber; number++) {
+            Block block = world.getBlockChain().getBlockByNumber(number);
+            traceIndexStore.addBlock(block, blockTracer.traceBlock(block));
+        }
+
+        TraceModuleImpl indexedTraceModule = new TraceModuleImpl(world.getBlockChain(), world.getBlockStore(), receiptStore, world.getBlockExecutor(), null, world.getBlockTxSignatureCache(), world.getConfig(), null, traceIndexStore);
+
+        for (long number = 1; number <= bestNumber; number++) {
+            String blockNumber = "0x" + Long.toHexString(number);
+            Assertions.assertEquals(traceModule.traceBlock(blockNumber), indexedTraceModule.traceBlock(blockNumber));
+        }
+
+        TraceFilterRequest requestAll = new TraceFilterRequest();
+        requestAll.setCount(1000);
+        JsonNode expectedAll = traceModule.traceFilter(requestAll);
+        Assertions.assertTrue(expectedAll.size() > 0);
+        Assertions.assertEquals(expectedAll, indexedTraceModule.traceFilter(requestAll));
+
+        TraceFilterRequest requestByAddress = new TraceFilterRequest();
+        requestByAddress.setCount(1000);
+        requestByAddress.setFromAddress(Stream.of("0xa0663f719962ec10bb57865532bef522059dfd96").collect(Collectors.toList()));
+        JsonNode expectedByAddress = traceModule.traceFilter(requestByAddress);
+        Assertions.assertTrue(expectedByAddress.size() > 0);
+        Assertions.assertEquals(expectedByAddress, indexedTraceModule.traceFilter(requestByAddress));
+
+        String transactionHash = expectedAll.get(0).get("transactionHash").asText();
+        Assertions.assertEquals(traceModule.traceTransaction(transactionHash), indexedTraceModule.traceTransaction(transactionHash));
+    }
+
     private static void retrieveTraceFilterByAddress(World world, ReceiptStore receiptStore) throws Exception {
         TraceModuleImpl traceModule = new TraceModuleImpl(world.getBlockChain(), world.getBlockStore(), receiptStore, world.getBlockExecutor(), null, world.getBlockTxSignatureCache(), world.getConfig());
 
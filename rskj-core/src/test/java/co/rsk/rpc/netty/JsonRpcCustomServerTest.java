@@ -19,6 +19,7 @@
 
 package co.rsk.rpc.netty;
 
+import co.rsk.jsonrpc.JsonRpcError;
 import co.rsk.rpc.ModuleDescription;
 import co.rsk.rpc.exception.JsonRpcResponseLimitError;
 import co.rsk.rpc.exception.JsonRpcTimeoutError;
@@ -39,10 +40,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.ethereum.TestUtils.waitFor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
@@ -221,6 +227,118 @@ class JsonRpcCustomServerTest {
         verify(handler, times(1)).test_second(anyString(), anyString());
     }
 
+    @Test
+    void concurrentBatchRequest_runsEntriesInParallelAndKeepsOrder() throws Exception {
+        String jsonRequest = """
+                [
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["a"], "id": 1},
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["b"], "id": 2},
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["c"], "id": 3}
+                ]
+                """;
+        JsonNode request = objectMapper.readTree(jsonRequest);
+        Web3Test handler = mock(Web3Test.class);
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        // every entry waits for the others to start, which only completes if they run concurrently
+        when(handler.test_first(anyString())).thenAnswer(invocation -> {
+            allStarted.countDown();
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            return invocation.getArgument(0);
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            jsonRpcCustomServer = new JsonRpcCustomServer(handler, Web3Test.class, modules, objectMapper, newBatchExecutor(executorService));
+
+            JsonResponse response = jsonRpcCustomServer.handleJsonNodeRequest(request);
+
+            assertEquals(3, response.getResponse().size());
+            assertEquals("a", response.getResponse().get(0).get("result").asText());
+            assertEquals("b", response.getResponse().get(1).get("result").asText());
+            assertEquals("c", response.getResponse().get(2).get("result").asText());
+            assertEquals(3, response.getResponse().get(2).get("id").asInt());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentBatchRequest_sharesTheRequestTimeout() throws Exception {
+        String jsonRequest = """
+                [
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["a"], "id": 1},
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["b"], "id": 2}
+                ]
+                """;
+        JsonNode request = objectMapper.readTree(jsonRequest);
+        Web3Test handler = mock(Web3Test.class);
+        when(handler.test_first(anyString())).thenAnswer(invocation -> {
+            waitFor(200);
+            return "response";
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (ExecTimeoutContext ignored = ExecTimeoutContext.create(100)) {
+            jsonRpcCustomServer = new JsonRpcCustomServer(handler, Web3Test.class, modules, objectMapper, newBatchExecutor(executorService));
+
+            assertThrows(JsonRpcTimeoutError.class, () -> jsonRpcCustomServer.handleJsonNodeRequest(request));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentBatchRequest_sharesTheResponseSizeLimit() throws Exception {
+        String jsonRequest = """
+                [
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["a"], "id": 1},
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["b"], "id": 2}
+                ]
+                """;
+        JsonNode request = objectMapper.readTree(jsonRequest);
+        Web3Test handler = mock(Web3Test.class);
+        //each response would be {"jsonrpc":"2.0","id":1,"result":"test_method_response"} with 56 bytes
+        when(handler.test_first(anyString())).thenReturn("test_method_response");
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (ResponseSizeLimitContext ignored = ResponseSizeLimitContext.createResponseSizeContext(100)) {
+            jsonRpcCustomServer = new JsonRpcCustomServer(handler, Web3Test.class, modules, objectMapper, newBatchExecutor(executorService));
+
+            assertThrows(JsonRpcResponseLimitError.class, () -> jsonRpcCustomServer.handleJsonNodeRequest(request));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentBatchRequest_rejectsEntriesOverTheMethodLimits() throws Exception {
+        String jsonRequest = """
+                [
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["a"], "id": 1},
+                    {"jsonrpc": "2.0", "method": "test_first", "params": ["b"], "id": 2}
+                ]
+                """;
+        JsonNode request = objectMapper.readTree(jsonRequest);
+        Web3Test handler = mock(Web3Test.class);
+        when(handler.test_first("a")).thenReturn("a");
+
+        // the executor never starts the entries it takes, so the first one is run by the calling thread,
+        // while the second one finds the method over its limits
+        List<Runnable> tasks = new ArrayList<>();
+        JsonRpcRequestExecutor batchExecutor = new JsonRpcRequestExecutor(tasks::add, Collections.singletonList("test_first"),
+                new JsonRpcMethodLimits(1, 0), Collections.emptyMap());
+        jsonRpcCustomServer = new JsonRpcCustomServer(handler, Web3Test.class, modules, objectMapper, batchExecutor);
+
+        JsonResponse response = jsonRpcCustomServer.handleJsonNodeRequest(request);
+
+        assertEquals(2, response.getResponse().size());
+        assertEquals("a", response.getResponse().get(0).get("result").asText());
+        assertEquals(2, response.getResponse().get(1).get("id").asInt());
+        assertEquals(JsonRpcError.RPC_LIMIT_ERROR, response.getResponse().get(1).get("error").get("code").asInt());
+        verify(handler, times(1)).test_first(anyString());
+    }
+
     @Test
     void sendingRequestWithNonDeclaredMethodShouldFail() throws Exception {
         String jsonRequest = """
@@ -275,6 +393,11 @@ class JsonRpcCustomServerTest {
 
     }
 
+    private static JsonRpcRequestExecutor newBatchExecutor(ExecutorService executorService) {
+        return new JsonRpcRequestExecutor(executorService, Collections.singletonList("test_first"),
+                JsonRpcMethodLimits.UNLIMITED, Collections.emptyMap());
+    }
+
     private List<ModuleDescription> getModulesWithMethodTimeout(long methodTimeout, long moduleTimeout) {
         List<String> enabledMethods = new ArrayList<>();
         enabledMethods.add("test_first");
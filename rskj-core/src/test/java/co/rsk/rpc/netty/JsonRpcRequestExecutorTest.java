@@ -0,0 +1,135 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+class JsonRpcRequestExecutorTest {
+
+    private final Queue<Runnable> scheduled = new ArrayDeque<>();
+
+    @Test
+    void runRequestsUpToTheMethodLimit() {
+        JsonRpcRequestExecutor requestExecutor = newRequestExecutor();
+        List<String> executed = new ArrayList<>();
+
+        Assertions.assertTrue(requestExecutor.execute("debug_traceTransaction", () -> executed.add("trace1")));
+        Assertions.assertTrue(requestExecutor.execute("debug_traceTransaction", () -> executed.add("trace2")));
+        Assertions.assertTrue(requestExecutor.execute("debug_traceTransaction", () -> executed.add("trace3")));
+
+        JsonRpcMethodStats stats = requestExecutor.getMethodStats().get("debug_traceTransaction");
+        Assertions.assertEquals(1, scheduled.size());
+        Assertions.assertEquals(1, stats.getActiveRequests());
+        Assertions.assertEquals(2, stats.getQueuedRequests());
+
+        runScheduled();
+
+        Assertions.assertEquals(Arrays.asList("trace1", "trace2", "trace3"), executed);
+        Assertions.assertEquals(0, stats.getActiveRequests());
+        Assertions.assertEquals(0, stats.getQueuedRequests());
+        Assertions.assertEquals(3, stats.getRequestsExecuted());
+    }
+
+    @Test
+    void rejectRequestsWhenTheQueueIsFull() {
+        JsonRpcRequestExecutor requestExecutor = newRequestExecutor();
+
+        Assertions.assertTrue(requestExecutor.execute("debug_traceTransaction", () -> { }));
+        Assertions.assertTrue(requestExecutor.execute("debug_traceTransaction", () -> { }));
+        Assertions.assertTrue(requestExecutor.execute("debug_traceTransaction", () -> { }));
+        Assertions.assertFalse(requestExecutor.execute("debug_traceTransaction", () -> Assertions.fail("rejected request executed")));
+
+        Assertions.assertEquals(1, requestExecutor.getMethodStats().get("debug_traceTransaction").getRequestsRejected());
+
+        runScheduled();
+    }
+
+    @Test
+    void busyMethodDoesNotDelayOtherMethods() {
+        JsonRpcRequestExecutor requestExecutor = newRequestExecutor();
+        List<String> executed = new ArrayList<>();
+
+        requestExecutor.execute("debug_traceTransaction", () -> executed.add("trace1"));
+        requestExecutor.execute("debug_traceTransaction", () -> executed.add("trace2"));
+        requestExecutor.execute("eth_blockNumber", () -> executed.add("blockNumber"));
+
+        Assertions.assertEquals(2, scheduled.size());
+        scheduled.poll().run();
+        Runnable blockNumber = scheduled.poll();
+        blockNumber.run();
+
+        Assertions.assertEquals(Arrays.asList("trace1", "blockNumber"), executed);
+
+        runScheduled();
+        Assertions.assertEquals(Arrays.asList("trace1", "blockNumber", "trace2"), executed);
+    }
+
+    @Test
+    void unknownMethodsShareTheOtherQueue() {
+        JsonRpcRequestExecutor requestExecutor = newRequestExecutor();
+
+        requestExecutor.execute("foo_bar", () -> { });
+        requestExecutor.execute(null, () -> { });
+        runScheduled();
+
+        Map<String, JsonRpcMethodStats> methodStats = requestExecutor.getMethodStats();
+        Assertions.assertFalse(methodStats.containsKey("foo_bar"));
+        Assertions.assertEquals(2, methodStats.get(JsonRpcRequestExecutor.OTHER_METHOD).getRequestsExecuted());
+        Assertions.assertTrue(methodStats.containsKey(JsonRpcRequestExecutor.BATCH_METHOD));
+    }
+
+    @Test
+    void releaseSlotWhenTheExecutorRejects() {
+        JsonRpcRequestExecutor requestExecutor = new JsonRpcRequestExecutor(
+                task -> { throw new RejectedExecutionException(); },
+                Collections.singletonList("eth_blockNumber"),
+                new JsonRpcMethodLimits(1, 0),
+                Collections.emptyMap()
+        );
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> requestExecutor.execute("eth_blockNumber", () -> { }));
+        Assertions.assertEquals(0, requestExecutor.getMethodStats().get("eth_blockNumber").getActiveRequests());
+    }
+
+    private JsonRpcRequestExecutor newRequestExecutor() {
+        return new JsonRpcRequestExecutor(
+                scheduled::add,
+                Arrays.asList("eth_blockNumber", "debug_traceTransaction"),
+                JsonRpcMethodLimits.UNLIMITED,
+                Collections.singletonMap("debug_traceTransaction", new JsonRpcMethodLimits(1, 2))
+        );
+    }
+
+    private void runScheduled() {
+        Runnable task;
+        while ((task = scheduled.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import co.rsk.crypto.Keccak256;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ethereum.core.Block;
+import org.ethereum.db.BlockStore;
+import org.ethereum.listener.CompositeEthereumListener;
+import org.ethereum.vm.DataWord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JsonRpcResponseCacheTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<Long, Block> mainChain = new HashMap<>();
+    private BlockStore blockStore;
+
+    @BeforeEach
+    void setUp() {
+        blockStore = mock(BlockStore.class);
+        when(blockStore.getChainBlockByNumber(anyLong())).thenAnswer(invocation -> mainChain.get(invocation.<Long>getArgument(0)));
+        for (long number = 0; number <= 20; number++) {
+            mainChain.put(number, block(number, 0));
+        }
+        when(blockStore.getBestBlock()).thenReturn(mainChain.get(20L));
+    }
+
+    @Test
+    void keysIgnoreCaseAndFieldOrder() throws IOException {
+        JsonRpcResponseCache cache = newCache(10, 1 << 20);
+
+        String key = cache.getKey("eth_call", json("[{\"to\":\"0xAB\",\"data\":\"0x01\"},{\"blockHash\":\"0xCD\"}]"));
+
+        Assertions.assertNotNull(key);
+        Assertions.assertEquals(key, cache.getKey("eth_call", json("[{\"data\":\"0x01\",\"to\":\"0xab\"},{\"blockHash\":\"0xcd\"}]")));
+        Assertions.assertNotEquals(key, cache.getKey("eth_call", json("[{\"data\":\"0x02\",\"to\":\"0xab\"},{\"blockHash\":\"0xcd\"}]")));
+    }
+
+    @Test
+    void onlyRequestsAnchoredToABlockHashHaveKeys() throws IOException {
+        JsonRpcResponseCache cache = newCache(10, 1 << 20);
+
+        Assertions.assertNull(cache.getKey("eth_call", json("[{\"to\":\"0xab\"},\"latest\"]")));
+        Assertions.assertNull(cache.getKey("eth_call", json("[{\"to\":\"0xab\"},{\"blockNumber\":\"0x1\"}]")));
+        Assertions.assertNull(cache.getKey("eth_getBlockByNumber", json("[\"0x1\",false]")));
+        Assertions.assertNotNull(cache.getKey("eth_getBlockByHash", json("[\"0x01\",false]")));
+        Assertions.assertNotNull(cache.getKey("eth_getTransactionReceipt", json("[\"0x01\"]")));
+    }
+
+    @Test
+    void keepsResultsOfConfirmedBlocksOnly() throws IOException {
+        JsonRpcResponseCache cache = newCache(10, 1 << 20);
+
+        JsonNode confirmedParams = json("[\"0x01\"]");
+        String confirmedKey = cache.getKey("eth_getTransactionReceipt", confirmedParams);
+        cache.put(confirmedKey, "eth_getTransactionReceipt", confirmedParams, receipt(mainChain.get(10L)));
+
+        JsonNode recentParams = json("[\"0x02\"]");
+        String recentKey = cache.getKey("eth_getTransactionReceipt", recentParams);
+        cache.put(recentKey, "eth_getTransactionReceipt", recentParams, receipt(mainChain.get(11L)));
+
+        JsonNode forkParams = json("[\"0x03\"]");
+        String forkKey = cache.getKey("eth_getTransactionReceipt", forkParams);
+        cache.put(forkKey, "eth_getTransactionReceipt", forkParams, receipt(block(5, 1)));
+
+        JsonRpcResponseCache.Entry entry = cache.get(confirmedKey);
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(MAPPER.writeValueAsString(receipt(mainChain.get(10L))), entry.getRawResult());
+        Assertions.assertNull(cache.get(recentKey));
+        Assertions.assertNull(cache.get(forkKey));
+        Assertions.assertEquals(1, cache.getEntries());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void keepsCallsAtAConfirmedBlockHash() throws IOException {
+        JsonRpcResponseCache cache = newCache(10, 1 << 20);
+        Block block = mainChain.get(3L);
+        when(blockStore.getBlockByHash(block.getHash().getBytes())).thenReturn(block);
+
+        JsonNode params = json("[{\"to\":\"0xab\"},{\"blockHash\":\"" + block.getHash().toJsonString() + "\"}]");
+        String key = cache.getKey("eth_call", params);
+        cache.put(key, "eth_call", params, MAPPER.getNodeFactory().textNode("0x1234"));
+
+        Assertions.assertEquals("\"0x1234\"", cache.get(key).getRawResult());
+    }
+
+    @Test
+    void removesEntriesOutOfTheMainChainOnReorganizations() throws IOException {
+        JsonRpcResponseCache cache = newCache(10, 1 << 20);
+
+        JsonNode params = json("[\"0x01\"]");
+        String key = cache.getKey("eth_getTransactionByHash", params);
+        cache.put(key, "eth_getTransactionByHash", params, receipt(mainChain.get(8L)));
+
+        // the next block doesn't change the entry
+        Block next = block(21, 0);
+        when(next.getParentHash()).thenReturn(mainChain.get(20L).getHash());
+        mainChain.put(21L, next);
+        cache.onBestBlock(next);
+        Assertions.assertNotNull(cache.get(key));
+
+        // a reorganization replacing the anchor block removes it
+        for (long number = 8; number <= 22; number++) {
+            mainChain.put(number, block(number, 1));
+        }
+        cache.onBestBlock(mainChain.get(22L));
+
+        Assertions.assertNull(cache.get(key));
+        Assertions.assertEquals(1, cache.getInvalidations());
+        Assertions.assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesOverTheMaxSize() throws IOException {
+        JsonRpcResponseCache cache = newCache(0, 600);
+
+        for (int k = 1; k <= 4; k++) {
+            JsonNode params = json("[\"0x0" + k + "\"]");
+            cache.put(cache.getKey("eth_getTransactionReceipt", params), "eth_getTransactionReceipt", params, receipt(mainChain.get((long) k)));
+        }
+
+        Assertions.assertTrue(cache.getSizeInBytes() <= 600);
+        Assertions.assertTrue(cache.getEvictions() > 0);
+        Assertions.assertNull(cache.get(cache.getKey("eth_getTransactionReceipt", json("[\"0x01\"]"))));
+        Assertions.assertNotNull(cache.get(cache.getKey("eth_getTransactionReceipt", json("[\"0x04\"]"))));
+    }
+
+    private JsonRpcResponseCache newCache(int confirmations, long maxSize) {
+        return new JsonRpcResponseCache(new CompositeEthereumListener(), blockStore, confirmations, maxSize);
+    }
+
+    private static JsonNode json(String json) throws IOException {
+        return MAPPER.readTree(json);
+    }
+
+    private static JsonNode receipt(Block block) throws IOException {
+        return json("{\"blockHash\":\"" + block.getHash().toJsonString() + "\",\"blockNumber\":\"0x" + Long.toHexString(block.getNumber())
+                + "\",\"status\":\"0x1\",\"logs\":[]}");
+    }
+
+    private static Block block(long number, int fork) {
+        Block block = mock(Block.class);
+        when(block.getNumber()).thenReturn(number);
+        when(block.getHash()).thenReturn(new Keccak256(DataWord.valueOf(number * 10 + fork).getData()));
+        return block;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import co.rsk.rpc.ModuleDescription;
+import co.rsk.util.JacksonParserUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.ethereum.rpc.Web3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JsonRpcWeb3ServerHandlerTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String LONG_RESULT = String.join("", Collections.nCopies(20, "0123456789"));
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private Web3 web3;
+    private List<ModuleDescription> modules;
+    private JsonRpcRequestExecutor requestExecutor;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        web3 = mock(Web3.class);
+        when(web3.web3_sha3("0x01")).thenReturn("first");
+        when(web3.web3_sha3("0x02")).thenReturn("second");
+        when(web3.web3_sha3("0x03")).thenReturn(LONG_RESULT);
+
+        modules = Collections.singletonList(new ModuleDescription("web3", "1.0", true,
+                Collections.emptyList(), Collections.emptyList(), 0, new HashMap<>()));
+        JsonRpcWeb3ServerProperties properties = JsonRpcWeb3ServerProperties.builder()
+                .rpcModules(modules)
+                .build();
+        // requests are run only when the test says so, in the order the test chooses
+        requestExecutor = new JsonRpcRequestExecutor(tasks::add,
+                Collections.singletonList("web3_sha3"), new JsonRpcMethodLimits(2, 10), Collections.emptyMap());
+
+        channel = new EmbeddedChannel(new JsonRpcWeb3ServerHandler(web3, properties, requestExecutor));
+    }
+
+    @Test
+    void answerPipelinedRequestsInOrder() throws Exception {
+        // both requests reach the handler from a single read
+        channel.writeInbound(request("0x01", 1), request("0x02", 2));
+
+        assertEquals(1, tasks.size());
+        assertFalse(channel.config().isAutoRead());
+
+        tasks.remove(0).run();
+        channel.runPendingTasks();
+
+        assertEquals("first", readResult());
+        assertEquals(1, tasks.size());
+        assertFalse(channel.config().isAutoRead());
+
+        tasks.remove(0).run();
+        channel.runPendingTasks();
+
+        assertEquals("second", readResult());
+        assertTrue(tasks.isEmpty());
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    void releasePipelinedRequestsWhenClosed() {
+        ByteBufHolder pipelined = request("0x02", 2);
+        channel.writeInbound(request("0x01", 1), pipelined);
+
+        channel.close();
+
+        assertEquals(0, pipelined.refCnt());
+    }
+
+    @Test
+    void resumeStreamingOnceTheConnectionIsWritable() throws Exception {
+        EmbeddedChannel streamingChannel = streamingChannel(0);
+        streamingChannel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        streamingChannel.writeInbound(request("0x03", 3));
+
+        Thread requestThread = new Thread(tasks.remove(0));
+        requestThread.start();
+        requestThread.join(200);
+        // nothing is serialized while the connection can't take it
+        assertTrue(requestThread.isAlive());
+
+        streamingChannel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        requestThread.join(5000);
+        assertFalse(requestThread.isAlive());
+        streamingChannel.runPendingTasks();
+
+        StringBuilder response = new StringBuilder();
+        Web3ResultChunk chunk;
+        do {
+            chunk = streamingChannel.readInbound();
+            assertNotNull(chunk);
+            assertEquals(response.length() == 0, chunk.isFirst());
+            response.append(chunk.getContent().toString(StandardCharsets.UTF_8));
+            chunk.getContent().release();
+        } while (!chunk.isLast());
+
+        assertEquals(LONG_RESULT, JacksonParserUtil.readTree(OBJECT_MAPPER, response.toString()).at("/result").asText());
+        assertTrue(streamingChannel.isOpen());
+    }
+
+    @Test
+    void closeConnectionWhenItDoesNotDrainBeforeTheTimeout() throws Exception {
+        EmbeddedChannel streamingChannel = streamingChannel(100);
+        streamingChannel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        streamingChannel.writeInbound(request("0x03", 3));
+
+        Thread requestThread = new Thread(tasks.remove(0));
+        requestThread.start();
+        requestThread.join(5000);
+        assertFalse(requestThread.isAlive());
+        streamingChannel.runPendingTasks();
+
+        assertFalse(streamingChannel.isOpen());
+    }
+
+    private EmbeddedChannel streamingChannel(long rpcTimeout) {
+        JsonRpcWeb3ServerProperties properties = JsonRpcWeb3ServerProperties.builder()
+                .rpcModules(modules)
+                .rpcTimeout(rpcTimeout)
+                .rpcStreamingChunkSize(16)
+                .build();
+
+        return new EmbeddedChannel(new JsonRpcWeb3ServerHandler(web3, properties, requestExecutor));
+    }
+
+    private String readResult() throws Exception {
+        Web3Result result = channel.readInbound();
+        assertNotNull(result);
+        JsonNode response = JacksonParserUtil.readTree(OBJECT_MAPPER, result.getContent().toString(StandardCharsets.UTF_8));
+        result.getContent().release();
+        return response.at("/result").asText();
+    }
+
+    private static ByteBufHolder request(String data, int id) {
+        String content = "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"web3_sha3\",\"params\":[\"" + data + "\"]}";
+        return new DefaultByteBufHolder(Unpooled.copiedBuffer(content, StandardCharsets.UTF_8));
+    }
+}
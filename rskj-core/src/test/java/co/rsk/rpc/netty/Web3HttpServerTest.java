@@ -41,6 +41,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import static org.ethereum.TestUtils.waitFor;
@@ -396,6 +398,44 @@ class Web3HttpServerTest {
         }
     }
 
+    @Test
+    void runRequestsOnExecutor() throws Exception {
+        Web3 web3Mock = Mockito.mock(Web3.class);
+        Mockito.when(web3Mock.web3_sha3(anyString())).thenReturn("output");
+        CorsConfiguration mockCorsConfiguration = Mockito.mock(CorsConfiguration.class);
+        Mockito.when(mockCorsConfiguration.hasHeader()).thenReturn(true);
+        Mockito.when(mockCorsConfiguration.getHeader()).thenReturn("*");
+
+        int randomPort = getAvailablePort();
+
+        List<ModuleDescription> filteredModules = Collections.singletonList(new ModuleDescription("web3", "1.0", true,
+                Collections.emptyList(), Collections.emptyList(), 0, new HashMap<>()));
+        JsonRpcWeb3FilterHandler filterHandler = new JsonRpcWeb3FilterHandler("*", InetAddress.getLoopbackAddress(),
+                new ArrayList<>());
+        JsonRpcWeb3ServerProperties properties = JsonRpcWeb3ServerProperties.builder()
+                .rpcModules(filteredModules)
+                .build();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        JsonRpcRequestExecutor requestExecutor = new JsonRpcRequestExecutor(executorService,
+                Collections.singletonList("web3_sha3"), new JsonRpcMethodLimits(1, 10), Collections.emptyMap());
+
+        JsonRpcWeb3ServerHandler serverHandler = new JsonRpcWeb3ServerHandler(web3Mock, properties, requestExecutor);
+        Web3HttpServer server = new Web3HttpServer(InetAddress.getLoopbackAddress(), randomPort, 0, Boolean.TRUE,
+                mockCorsConfiguration, filterHandler, serverHandler, 52428800);
+        server.start();
+        try {
+            Response response = sendJsonRpcMessage(randomPort, "application/json", "127.0.0.1", "web3_sha3");
+            JsonNode jsonRpcResponse = JacksonParserUtil.readTree(OBJECT_MAPPER, response.body().string());
+
+            assertThat(response.code(), is(HttpResponseStatus.OK.code()));
+            assertThat(jsonRpcResponse.at("/result").asText(), is("output"));
+            verify(web3Mock, times(1)).web3_sha3(anyString());
+        } finally {
+            server.stop();
+            requestExecutor.stop();
+        }
+    }
+
     @Test
     void testMaxResponseSize_stopBatch() throws Exception {
         Web3 web3Mock = Mockito.mock(Web3.class);
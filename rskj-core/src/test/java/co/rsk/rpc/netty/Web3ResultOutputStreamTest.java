@@ -0,0 +1,100 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package co.rsk.rpc.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class Web3ResultOutputStreamTest {
+
+    private final List<String> chunks = new ArrayList<>();
+    private final List<Boolean> firsts = new ArrayList<>();
+
+    @Test
+    void keepSmallResponsesWhole() throws IOException {
+        Web3ResultOutputStream os = new Web3ResultOutputStream(UnpooledByteBufAllocator.DEFAULT, 100, 8, this::collect);
+
+        os.write(bytes("{\"a\":1}"));
+
+        Assertions.assertFalse(os.isStreaming());
+        Assertions.assertTrue(chunks.isEmpty());
+        Assertions.assertEquals("{\"a\":1}", take(os));
+    }
+
+    @Test
+    void handOverChunksOfLargeResponses() throws IOException {
+        Web3ResultOutputStream os = new Web3ResultOutputStream(UnpooledByteBufAllocator.DEFAULT, 100, 4, this::collect);
+
+        os.write(bytes("0123456789"));
+        os.write('a');
+
+        Assertions.assertTrue(os.isStreaming());
+        Assertions.assertEquals(List.of("0123", "4567"), chunks);
+        Assertions.assertEquals(List.of(true, false), firsts);
+        Assertions.assertEquals("89a", take(os));
+    }
+
+    @Test
+    void keepResponsesWholeWithoutConsumer() throws IOException {
+        Web3ResultOutputStream os = new Web3ResultOutputStream(UnpooledByteBufAllocator.DEFAULT, 100, 4, null);
+
+        os.write(bytes("0123456789"));
+
+        Assertions.assertFalse(os.isStreaming());
+        Assertions.assertEquals("0123456789", take(os));
+    }
+
+    @Test
+    void failAsSoonAsTheLimitIsExceeded() throws IOException {
+        Web3ResultOutputStream os = new Web3ResultOutputStream(UnpooledByteBufAllocator.DEFAULT, 10, 4, this::collect);
+
+        os.write(bytes("0123456789"));
+        Web3ResultOutputStream.ResponseSizeExceededException e = Assertions.assertThrows(
+                Web3ResultOutputStream.ResponseSizeExceededException.class, () -> os.write('a'));
+
+        Assertions.assertEquals(10, e.getLimit());
+        os.discard();
+    }
+
+    private void collect(ByteBuf chunk, boolean first) {
+        chunks.add(chunk.toString(StandardCharsets.UTF_8));
+        firsts.add(first);
+        chunk.release();
+    }
+
+    private static String take(Web3ResultOutputStream os) {
+        ByteBuf content = os.takeContent();
+        try {
+            return content.toString(StandardCharsets.UTF_8);
+        } finally {
+            content.release();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -18,6 +18,8 @@
 package org.ethereum.core;
 
 import co.rsk.core.RskAddress;
+import co.rsk.core.ShortTxIdCalculator;
+import org.ethereum.TestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -171,4 +173,39 @@ class TransactionSetTest {
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(transaction.getHash(), result.get(0).getHash());
     }
+
+    @Test
+    void addAndRemoveTransactionAndGetByShortId() {
+        TransactionSet txset = new TransactionSet(signatureCache);
+        Transaction transaction = createSampleTransaction();
+        ShortTxIdCalculator calculator = new ShortTxIdCalculator(TestUtils.generateHash("block"));
+        long shortTxId = calculator.shortTxId(transaction.getHash());
+
+        txset.addTransaction(transaction);
+
+        Assertions.assertSame(transaction, txset.getTransactionByShortId(calculator, shortTxId));
+
+        txset.removeTransactionByHash(transaction.getHash());
+
+        Assertions.assertNull(txset.getTransactionByShortId(calculator, shortTxId));
+
+        txset.addTransaction(transaction);
+
+        Assertions.assertSame(transaction, txset.getTransactionByShortId(calculator, shortTxId));
+    }
+
+    @Test
+    void shortIdsAreSaltedWithTheBlockHash() {
+        TransactionSet txset = new TransactionSet(signatureCache);
+        Transaction transaction = createSampleTransaction();
+        txset.addTransaction(transaction);
+        ShortTxIdCalculator calculator = new ShortTxIdCalculator(TestUtils.generateHash("block"));
+        ShortTxIdCalculator otherCalculator = new ShortTxIdCalculator(TestUtils.generateHash("otherBlock"));
+        long shortTxId = calculator.shortTxId(transaction.getHash());
+
+        Assertions.assertNotEquals(shortTxId, otherCalculator.shortTxId(transaction.getHash()));
+        Assertions.assertSame(transaction, txset.getTransactionByShortId(calculator, shortTxId));
+        Assertions.assertNull(txset.getTransactionByShortId(otherCalculator, shortTxId));
+        Assertions.assertSame(transaction, txset.getTransactionByShortId(otherCalculator, otherCalculator.shortTxId(transaction.getHash())));
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.crypto;
+
+import co.rsk.core.types.bytes.Bytes;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Keccak256HasherTest {
+
+    private final Random random = new Random(256);
+
+    @Test
+    void hashOfEmptyInput() {
+        assertArrayEquals(
+                Hex.decode("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470"),
+                Keccak256Hasher.hash(new byte[0])
+        );
+    }
+
+    @Test
+    void matchesKeccakDigestAroundBlockBoundaries() {
+        // block length is 136 bytes, the interesting lengths are around its multiples
+        for (int length = 0; length <= 3 * 136 + 1; length++) {
+            byte[] input = randomBytes(length + 10);
+            int offset = random.nextInt(10);
+            byte[] expected = keccakDigest(input, offset, length);
+
+            assertArrayEquals(expected, Keccak256Hasher.hash(input, offset, length));
+            assertArrayEquals(expected, Keccak256Hasher.hash(Bytes.of(Arrays.copyOfRange(input, offset, offset + length))));
+
+            byte[] out = new byte[40];
+            Keccak256Hasher.hashInto(input, offset, length, out, 8);
+            assertArrayEquals(expected, Arrays.copyOfRange(out, 8, 40));
+        }
+    }
+
+    @Test
+    void matchesKeccakDigestWhenUpdatedInChunks() {
+        Keccak256Hasher hasher = new Keccak256Hasher();
+
+        for (int i = 0; i < 200; i++) {
+            byte[] input = randomBytes(random.nextInt(2000));
+
+            int offset = 0;
+            while (offset < input.length) {
+                int chunk = Math.min(input.length - offset, random.nextInt(300));
+                hasher.update(input, offset, chunk);
+                offset += chunk;
+            }
+
+            // digest leaves the hasher ready for the next message
+            assertArrayEquals(keccakDigest(input, 0, input.length), hasher.digest());
+        }
+    }
+
+    @Test
+    void hashesTwoMessagesAsTheirConcatenation() {
+        byte[] first = randomBytes(100);
+        byte[] second = randomBytes(200);
+        byte[] both = new byte[300];
+        System.arraycopy(first, 0, both, 0, 100);
+        System.arraycopy(second, 0, both, 100, 200);
+
+        assertArrayEquals(keccakDigest(both, 0, both.length), Keccak256Hasher.hash(first, second));
+    }
+
+    @Test
+    void hashesManyMessages() {
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            messages.add(randomBytes(random.nextInt(600)));
+        }
+
+        byte[][] hashes = Keccak256Hasher.hashAll(messages);
+        byte[] out = new byte[4 + messages.size() * Keccak256Hasher.DIGEST_LENGTH];
+        Keccak256Hasher.hashAllInto(messages, out, 4);
+
+        for (int i = 0; i < messages.size(); i++) {
+            byte[] expected = keccakDigest(messages.get(i), 0, messages.get(i).length);
+            int hashOffset = 4 + i * Keccak256Hasher.DIGEST_LENGTH;
+
+            assertArrayEquals(expected, hashes[i]);
+            assertArrayEquals(expected, Arrays.copyOfRange(out, hashOffset, hashOffset + Keccak256Hasher.DIGEST_LENGTH));
+        }
+    }
+
+    @Test
+    void failedUpdateDoesNotAffectTheNextHash() {
+        byte[] input = randomBytes(10);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> Keccak256Hasher.hash(input, 5, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> Keccak256Hasher.hashInto(input, 0, 10, new byte[31], 0));
+        assertArrayEquals(keccakDigest(input, 0, input.length), Keccak256Hasher.hash(input));
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] keccakDigest(byte[] input, int offset, int length) {
+        KeccakDigest digest = new KeccakDigest(256);
+        digest.update(input, offset, length);
+        byte[] hash = new byte[32];
+        digest.doFinal(hash, 0);
+        return hash;
+    }
+}
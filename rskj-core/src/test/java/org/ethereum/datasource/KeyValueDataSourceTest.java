@@ -192,6 +192,30 @@ class KeyValueDataSourceTest {
         assertEquals(expectedKeys, keyValueDataSource.keys());
     }
 
+    @ParameterizedTest(name = "{1}, flush = {2}")
+    @ArgumentsSource(DatasourceArgumentsProvider.class)
+    void keyIteratorWithPrefix(KeyValueDataSource keyValueDataSource, String className, boolean withFlush) throws Exception {
+        byte[] value = TestUtils.generateBytes(this.getClass(), "value", 20);
+        keyValueDataSource.put(new byte[]{0, 9}, value);
+        keyValueDataSource.put(new byte[]{1, 1}, value);
+        keyValueDataSource.put(new byte[]{1, 2, 3}, value);
+        keyValueDataSource.put(new byte[]{2, 1}, value);
+
+        if (withFlush) {
+            keyValueDataSource.flush();
+        }
+
+        Set<ByteArrayWrapper> keys = new HashSet<>();
+        try (DataSourceKeyIterator iterator = keyValueDataSource.keyIterator(new byte[]{1})) {
+            iterator.forEachRemaining(key -> keys.add(ByteUtil.wrap(key)));
+        }
+
+        Set<ByteArrayWrapper> expectedKeys = new HashSet<>();
+        expectedKeys.add(ByteUtil.wrap(new byte[]{1, 1}));
+        expectedKeys.add(ByteUtil.wrap(new byte[]{1, 2, 3}));
+        assertEquals(expectedKeys, keys);
+    }
+
     @ParameterizedTest(name = "{1}, flush = {2}")
     @ArgumentsSource(DatasourceArgumentsProvider.class)
     void updateBatch(KeyValueDataSource keyValueDataSource, String className, boolean withFlush) {
@@ -0,0 +1,164 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.net.rlpx;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import org.ethereum.config.SystemProperties;
+import org.ethereum.crypto.ECKey;
+import org.ethereum.listener.EthereumListener;
+import org.ethereum.net.NodeStatistics;
+import org.ethereum.net.client.Capability;
+import org.ethereum.net.eth.EthVersion;
+import org.ethereum.net.eth.message.Eth62MessageFactory;
+import org.ethereum.net.eth.message.EthMessageCodes;
+import org.ethereum.net.message.Message;
+import org.ethereum.net.server.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.ethereum.net.rlpx.FrameCodec.Frame;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MessageCodecTest {
+
+    private static final int MAX_FRAME_SIZE = 32768;
+
+    private final ChannelHandlerContext ctx = mock(ChannelHandlerContext.class, RETURNS_DEEP_STUBS);
+    private final List<byte[]> receivedPayloads = new ArrayList<>();
+
+    private FrameCodec senderFrameCodec;
+    private FrameCodec receiverFrameCodec;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ECKey remoteKey = new ECKey();
+        ECKey myKey = new ECKey();
+        EncryptionHandshake initiator = new EncryptionHandshake(remoteKey.getPubKeyPoint());
+        EncryptionHandshake responder = new EncryptionHandshake();
+        AuthInitiateMessage initiate = initiator.createAuthInitiate(null, myKey);
+        byte[] initiatePacket = initiator.encryptAuthMessage(initiate);
+        byte[] responsePacket = responder.handleAuthInitiate(initiatePacket, remoteKey);
+        initiator.handleAuthResponse(myKey, initiatePacket, responsePacket);
+        senderFrameCodec = new FrameCodec(initiator.getSecrets());
+        receiverFrameCodec = new FrameCodec(responder.getSecrets());
+    }
+
+    @Test
+    void encodeMessageSpanningSeveralFrames() throws Exception {
+        byte[] encoded = new byte[3 * MAX_FRAME_SIZE + 100];
+        new Random(42).nextBytes(encoded);
+
+        List<Frame> frames = encode(makeCodec(false), encoded);
+        assertEquals(4, frames.size());
+
+        assertArrayEquals(encoded, roundTrip(frames, makeCodec(false)));
+        frames.forEach(frame -> assertEquals(0, frame.getPayload().refCnt()));
+    }
+
+    @Test
+    void encodeCompressedMessageSpanningSeveralFrames() throws Exception {
+        // only four distinct values per byte, so it compresses but still needs several frames
+        byte[] encoded = new byte[8 * MAX_FRAME_SIZE];
+        Random random = new Random(42);
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = (byte) random.nextInt(4);
+        }
+
+        List<Frame> frames = encode(makeCodec(true), encoded);
+        int wireSize = frames.stream().mapToInt(Frame::getSize).sum();
+        assertTrue(frames.size() > 1);
+        assertTrue(wireSize < encoded.length);
+
+        assertArrayEquals(encoded, roundTrip(frames, makeCodec(true)));
+        frames.forEach(frame -> assertEquals(0, frame.getPayload().refCnt()));
+    }
+
+    private List<Frame> encode(MessageCodec codec, byte[] encoded) throws Exception {
+        Message message = mock(Message.class);
+        when(message.getCommand()).thenReturn(EthMessageCodes.RSK_MESSAGE);
+        when(message.getEncoded()).thenReturn(encoded);
+
+        List<Object> out = new ArrayList<>();
+        codec.encode(ctx, message, out);
+
+        List<Frame> frames = new ArrayList<>();
+        out.forEach(frame -> frames.add((Frame) frame));
+        return frames;
+    }
+
+    /**
+     * Writes the frames to the wire as the sender does and decodes them as the receiver does, returning the
+     * payload of the message received.
+     */
+    private byte[] roundTrip(List<Frame> frames, MessageCodec receiver) throws Exception {
+        ByteBuf wire = Unpooled.buffer();
+        try {
+            for (Frame frame : frames) {
+                senderFrameCodec.writeFrame(frame, wire);
+            }
+
+            List<Object> out = new ArrayList<>();
+            while (wire.isReadable()) {
+                for (Frame frame : receiverFrameCodec.readFrames(wire)) {
+                    receiver.decode(ctx, frame, out);
+                }
+            }
+
+            assertEquals(1, out.size());
+            assertEquals(1, receivedPayloads.size());
+            return receivedPayloads.get(0);
+        } finally {
+            wire.release();
+        }
+    }
+
+    private MessageCodec makeCodec(boolean compression) {
+        SystemProperties config = mock(SystemProperties.class);
+        when(config.rlpxMaxFrameSize()).thenReturn(MAX_FRAME_SIZE);
+        when(config.peerCompressionEnabled()).thenReturn(compression);
+        when(config.peerCompressionThreshold()).thenReturn(1024);
+
+        Channel channel = mock(Channel.class);
+        when(channel.getNodeStatistics()).thenReturn(new NodeStatistics());
+
+        Eth62MessageFactory ethMessageFactory = mock(Eth62MessageFactory.class);
+        when(ethMessageFactory.create(anyByte(), any())).thenAnswer(invocation -> {
+            receivedPayloads.add(invocation.getArgument(1));
+            return mock(Message.class);
+        });
+
+        MessageCodec codec = new MessageCodec(mock(EthereumListener.class), config);
+        codec.setChannel(channel);
+        codec.setEthVersion(EthVersion.V62);
+        codec.setEthMessageFactory(ethMessageFactory);
+        codec.initMessageCodes(new ArrayList<>(Arrays.asList(
+                new Capability(Capability.RSK, EthVersion.V62.getCode()),
+                new Capability(Capability.COMPRESSION, Capability.COMPRESSION_VERSION)
+        )));
+        return codec;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.net.rlpx;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageCompressorTest {
+
+    private final WireCompressionStats stats = new WireCompressionStats();
+    private final MessageCompressor compressor = new MessageCompressor(100, 1_000_000, stats);
+
+    @AfterEach
+    void tearDown() {
+        compressor.close();
+    }
+
+    @Test
+    void compressesMessagesOverThreshold() throws DataFormatException {
+        byte[] payload = new byte[10_000];
+        Arrays.fill(payload, (byte) 7);
+
+        byte[] wire = ByteBufUtil.getBytes(compressor.compress(payload));
+
+        assertEquals(MessageCompressor.DEFLATED, wire[0]);
+        assertTrue(wire.length < payload.length);
+        assertArrayEquals(payload, compressor.decompress(wire));
+        assertEquals(1, stats.getMessagesCompressed());
+        assertEquals(1, stats.getMessagesDecompressed());
+        assertEquals(payload.length, stats.getUncompressedBytesOut());
+        assertEquals(wire.length, stats.getCompressedBytesOut());
+        assertTrue(stats.getOutboundCompressionRatio() < 1.0);
+    }
+
+    @Test
+    void sendsRawMessagesUnderThreshold() throws DataFormatException {
+        byte[] payload = new byte[] { 1, 2, 3 };
+
+        ByteBuf buf = compressor.compress(payload);
+        byte[] wire = ByteBufUtil.getBytes(buf);
+
+        assertArrayEquals(new byte[] { MessageCompressor.RAW, 1, 2, 3 }, wire);
+        assertArrayEquals(payload, compressor.decompress(wire));
+        assertEquals(0, stats.getMessagesCompressed());
+    }
+
+    @Test
+    void sendsRawIncompressibleMessages() throws DataFormatException {
+        byte[] payload = new byte[1_000];
+        new Random(42).nextBytes(payload);
+
+        byte[] wire = ByteBufUtil.getBytes(compressor.compress(payload));
+
+        assertEquals(MessageCompressor.RAW, wire[0]);
+        assertEquals(payload.length + 1, wire.length);
+        assertArrayEquals(payload, compressor.decompress(wire));
+    }
+
+    @Test
+    void rejectsMessagesDeclaringTooBigSize() {
+        byte[] wire = new byte[] { MessageCompressor.DEFLATED, 0x7f, 0, 0, 0, 1, 2, 3 };
+
+        assertThrows(DataFormatException.class, () -> compressor.decompress(wire));
+    }
+
+    @Test
+    void rejectsMessagesNotMatchingDeclaredSize() {
+        byte[] payload = new byte[10_000];
+        Arrays.fill(payload, (byte) 7);
+        byte[] wire = ByteBufUtil.getBytes(compressor.compress(payload));
+        // declare one more byte than the actual content
+        wire[4]++;
+
+        assertThrows(DataFormatException.class, () -> compressor.decompress(wire));
+    }
+
+    @Test
+    void rejectsUnknownFlag() {
+        assertThrows(DataFormatException.class, () -> compressor.decompress(new byte[] { 9, 1, 2 }));
+        assertThrows(DataFormatException.class, () -> compressor.decompress(new byte[0]));
+    }
+}
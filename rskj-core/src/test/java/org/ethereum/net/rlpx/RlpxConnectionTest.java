@@ -20,6 +20,8 @@
 package org.ethereum.net.rlpx;
 
 import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.ethereum.crypto.ECKey;
 import org.ethereum.net.client.Capability;
 import org.junit.jupiter.api.BeforeEach;
@@ -82,11 +84,55 @@ class RlpxConnectionTest {
         FrameCodec.Frame frame1 = rCodec.readFrames(new DataInputStream(to)).get(0);
         byte[] payload1 = new byte[frame1.size];
         assertEquals(frame.size, frame1.size);
-        frame1.payload.read(payload1);
+        frame1.payload.readBytes(payload1);
         assertArrayEquals(payload, payload1);
         assertEquals(frame.type, frame1.type);
     }
 
+    @Test
+    void testFrameOverByteBuf() throws Exception {
+        byte[] payload = new byte[5000];
+        new SecureRandom().nextBytes(payload);
+        ByteBuf wire = Unpooled.buffer();
+        iCodec.writeFrame(new FrameCodec.Frame(7, payload), wire);
+
+        // only part of the frame arrived, nothing can be decoded yet
+        ByteBuf partial = wire.readRetainedSlice(100);
+        assertNull(rCodec.readFrames(partial));
+
+        ByteBuf rest = Unpooled.wrappedBuffer(partial, wire);
+        FrameCodec.Frame frame = rCodec.readFrames(rest).get(0);
+        assertEquals(7, frame.getType());
+        assertEquals(payload.length, frame.getSize());
+        assertArrayEquals(payload, frame.getPayloadBytes());
+        assertEquals(0, rest.readableBytes());
+
+        frame.release();
+        assertEquals(0, frame.getPayload().refCnt());
+    }
+
+    @Test
+    void testFramesWrittenFromSlices() throws Exception {
+        byte[] payload = new byte[1000];
+        new SecureRandom().nextBytes(payload);
+        ByteBuf source = Unpooled.wrappedBuffer(payload);
+        ByteBuf wire = Unpooled.buffer();
+        iCodec.writeFrame(new FrameCodec.Frame(1, source.retainedSlice(0, 400)), wire);
+        iCodec.writeFrame(new FrameCodec.Frame(1, source.retainedSlice(400, 600)), wire);
+
+        FrameCodec.Frame first = rCodec.readFrames(wire).get(0);
+        FrameCodec.Frame second = rCodec.readFrames(wire).get(0);
+        byte[] received = new byte[payload.length];
+        first.getPayload().readBytes(received, 0, 400);
+        second.getPayload().readBytes(received, 400, 600);
+        assertArrayEquals(payload, received);
+
+        first.release();
+        second.release();
+        assertEquals(1, source.refCnt());
+        assertEquals(1, wire.refCnt());
+    }
+
     @Test
     void testMessageEncoding() throws IOException {
         byte[] wire = iMessage.encode();
@@ -13,6 +13,7 @@ import org.ethereum.net.NodeManager;
 import org.ethereum.net.client.ConfigCapabilities;
 import org.ethereum.net.eth.message.Eth62MessageFactory;
 import org.ethereum.net.message.StaticMessages;
+import org.ethereum.net.rlpx.WireCompressionStats;
 import org.junit.jupiter.api.Test;
 
 import java.net.InetSocketAddress;
@@ -41,7 +42,7 @@ class EthereumChannelInitializerTest {
         EthereumChannelInitializer channelInitializer = new EthereumChannelInitializer("", mock(RskSystemProperties.class),
                 channelManager, mock(CompositeEthereumListener.class), mock(ConfigCapabilities.class),
                 mock(NodeManager.class), mock(RskWireProtocol.Factory.class), mock(Eth62MessageFactory.class),
-                mock(StaticMessages.class), peerScoringManager);
+                mock(StaticMessages.class), peerScoringManager, new WireCompressionStats());
 
         channelInitializer.initChannel(channel);
 
@@ -67,7 +68,7 @@ class EthereumChannelInitializerTest {
         EthereumChannelInitializer channelInitializer = new EthereumChannelInitializer("", mock(RskSystemProperties.class),
                 channelManager, mock(CompositeEthereumListener.class), mock(ConfigCapabilities.class),
                 mock(NodeManager.class), mock(RskWireProtocol.Factory.class), mock(Eth62MessageFactory.class),
-                mock(StaticMessages.class), peerScoringManager);
+                mock(StaticMessages.class), peerScoringManager, new WireCompressionStats());
 
         channelInitializer.initChannel(channel);
 
@@ -21,6 +21,7 @@ package org.ethereum.rpc;
 import co.rsk.blockchain.utils.BlockGenerator;
 import co.rsk.core.Coin;
 import co.rsk.core.RskAddress;
+import co.rsk.crypto.Keccak256;
 import co.rsk.db.RepositoryLocator;
 import co.rsk.logfilter.BlocksBloomStore;
 import co.rsk.test.builders.AccountBuilder;
@@ -29,22 +30,32 @@ import co.rsk.test.builders.TransactionBuilder;
 import co.rsk.util.HexUtils;
 import org.ethereum.TestUtils;
 import org.ethereum.core.*;
+import org.ethereum.datasource.HashMapDB;
 import org.ethereum.db.BlockStore;
+import org.ethereum.db.TransactionInfo;
 import org.ethereum.rpc.exception.RskJsonRpcRequestException;
 import org.ethereum.util.RskTestFactory;
+import org.ethereum.vm.DataWord;
+import org.ethereum.vm.LogInfo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.math.BigInteger;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Created by ajlopez on 17/01/2018.
@@ -257,6 +268,80 @@ LogFilterTest {
         assertThrows(RskJsonRpcRequestException.class, () -> filter.add(thirdEvent));
     }
 
+    @Test
+    void scanWideRangesInParallel() {
+        Blockchain blockchain = mockBlockchain(1200);
+        BlocksBloomStore blocksBloomStore = new BlocksBloomStore(64, 0, new HashMapDB());
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            FilterRequest filterRequest = new FilterRequest();
+            filterRequest.setFromBlock("0x1");
+            filterRequest.setToBlock(HexUtils.toQuantityJsonHex(1199));
+
+            LogFilter parallelFilter = LogFilter.fromFilterRequest(filterRequest, blockchain, blocksBloomStore, null, executor, 4, 0L, 0L);
+            LogFilter sequentialFilter = LogFilter.fromFilterRequest(filterRequest, blockchain, blocksBloomStore, 0L, 0L);
+
+            Object[] events = parallelFilter.getEvents();
+            assertEquals(1199, events.length);
+            for (int i = 0; i < events.length; i++) {
+                assertEquals(HexUtils.toQuantityJsonHex(i + 1), ((LogFilterElement) events[i]).blockNumber);
+            }
+            assertEquals(Arrays.toString(sequentialFilter.getEvents()), Arrays.toString(events));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void stopParallelScanWhenLimitIsReached() {
+        Blockchain blockchain = mockBlockchain(1200);
+        BlocksBloomStore blocksBloomStore = new BlocksBloomStore(64, 0, new HashMapDB());
+        Executor executor = Executors.newSingleThreadExecutor();
+
+        FilterRequest filterRequest = new FilterRequest();
+        filterRequest.setFromBlock("0x1");
+        filterRequest.setToBlock(HexUtils.toQuantityJsonHex(1199));
+
+        RskJsonRpcRequestException ex = assertThrows(RskJsonRpcRequestException.class, () ->
+                LogFilter.fromFilterRequest(filterRequest, blockchain, blocksBloomStore, null, executor, 2, 0L, 100L));
+        assertEquals(-32012, ex.getCode());
+
+        ((ExecutorService) executor).shutdown();
+    }
+
+    private static Blockchain mockBlockchain(int size) {
+        Blockchain blockchain = mock(Blockchain.class);
+        byte[] fullBloom = new byte[Bloom.BLOOM_BYTES];
+        Arrays.fill(fullBloom, (byte) 0xff);
+
+        for (int number = 0; number < size; number++) {
+            Keccak256 hash = new Keccak256(DataWord.valueOf(number).getData());
+            Transaction tx = mock(Transaction.class);
+            when(tx.getHash()).thenReturn(hash);
+
+            Block block = mock(Block.class);
+            when(block.getNumber()).thenReturn((long) number);
+            when(block.getHash()).thenReturn(hash);
+            when(block.getParentHash()).thenReturn(new Keccak256(DataWord.valueOf(number - 1).getData()));
+            when(block.getLogBloom()).thenReturn(fullBloom);
+            when(block.getTransactionsList()).thenReturn(Collections.singletonList(tx));
+
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransaction(tx);
+            receipt.setLogInfoList(Collections.singletonList(new LogInfo(new byte[20], Collections.emptyList(), new byte[0])));
+
+            when(blockchain.getBlockByNumber(number)).thenReturn(block);
+            when(blockchain.getBlockByHash(hash.getBytes())).thenReturn(block);
+            when(blockchain.getTransactionInfoByBlock(tx, hash.getBytes())).thenReturn(new TransactionInfo(receipt, hash.getBytes(), 0));
+            if (number == size - 1) {
+                when(blockchain.getBestBlock()).thenReturn(block);
+            }
+        }
+
+        return blockchain;
+    }
+
     private void createBlocksTo(int blockNumber, BlockBuilder blockBuilder, Blockchain blockchain, Account acc1) {
 
         Block parent = blockchain.getBlockByNumber(0);
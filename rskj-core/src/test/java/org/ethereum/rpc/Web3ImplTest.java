@@ -37,6 +37,7 @@ import co.rsk.mine.MinerClient;
 import co.rsk.mine.MinerServer;
 import co.rsk.net.BlockProcessor;
 import co.rsk.net.SyncProcessor;
+import co.rsk.net.TransactionFetcher;
 import co.rsk.net.TransactionGateway;
 import co.rsk.net.handler.quota.TxQuotaChecker;
 import co.rsk.net.simples.SimpleBlockProcessor;
@@ -2943,7 +2944,7 @@ class Web3ImplTest {
         );
 
         Web3InformationRetriever retriever = new Web3InformationRetriever(transactionPool, blockchain, repositoryLocator, executionBlockRetriever);
-        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool);
+        TransactionGateway transactionGateway = new TransactionGateway(new SimpleChannelManager(), transactionPool, mock(TransactionFetcher.class));
 
         BridgeSupportFactory bridgeSupportFactory = new BridgeSupportFactory(
                 null, config.getNetworkConstants().getBridgeConstants(), config.getActivationConfig(), signatureCache);
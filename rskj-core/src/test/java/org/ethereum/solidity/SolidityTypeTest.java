@@ -177,6 +177,27 @@ class SolidityTypeTest {
         Assertions.assertEquals(0, value.intValue());
     }
 
+    @Test
+    void TestIntTypeEncodesPrimitivesLikeBigIntegers() {
+        SolidityType intType = SolidityType.getType(SolidityType.INT256);
+        long[] values = {0, 1, -1, 127, 128, -128, -129, 255, 256, 65535, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, 0x0102030405060708L, -0x0102030405060708L};
+
+        for (long value : values) {
+            byte[] expected = SolidityType.IntType.encodeInt(BigInteger.valueOf(value));
+            Assertions.assertArrayEquals(expected, SolidityType.IntType.encodeLong(value));
+            Assertions.assertArrayEquals(expected, intType.encode(value));
+            if (value == (int) value) {
+                Assertions.assertArrayEquals(expected, SolidityType.IntType.encodeInt((int) value));
+                Assertions.assertArrayEquals(expected, intType.encode((int) value));
+            }
+        }
+
+        SolidityType boolType = SolidityType.getType(SolidityType.BOOL);
+        Assertions.assertArrayEquals(SolidityType.IntType.encodeInt(BigInteger.ONE), boolType.encode(Boolean.TRUE));
+        Assertions.assertArrayEquals(SolidityType.IntType.encodeInt(BigInteger.ZERO), boolType.encode(Boolean.FALSE));
+    }
+
     @Test
     void TestSafeAddition() {
         // valid additions
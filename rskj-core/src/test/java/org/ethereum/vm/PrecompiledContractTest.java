@@ -32,6 +32,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 import static org.ethereum.util.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.junit.jupiter.api.Assertions.*;
@@ -237,6 +238,40 @@ class PrecompiledContractTest {
         assertArrayEquals(EMPTY_BYTE_ARRAY, contract.execute(null));
     }
 
+    @Test
+    void modExpMatchesBigIntegerForTypicalWidths() throws VMException {
+        DataWord addr = DataWord.valueFromHex("0000000000000000000000000000000000000000000000000000000000000005");
+        PrecompiledContract contract = precompiledContracts.getContractForAddress(null, addr);
+        Random random = new Random(5);
+
+        for (int modLen : new int[] {32, 128, 256, 512}) {
+            for (int i = 0; i < 10; i++) {
+                byte[] base = randomBytes(random, modLen);
+                byte[] exp = i % 2 == 0 ? new byte[] {0x01, 0x00, 0x01} : randomBytes(random, 32);
+                byte[] mod = randomBytes(random, modLen);
+                // leading zero bytes in the modulus still take modLen bytes in the output
+                mod[0] = i == 9 ? 0 : mod[0];
+
+                byte[] data = ByteUtil.merge(
+                        DataWord.valueOf(base.length).getData(),
+                        DataWord.valueOf(exp.length).getData(),
+                        DataWord.valueOf(mod.length).getData(),
+                        base, exp, mod
+                );
+
+                byte[] expected = ByteUtil.bigIntegerToBytes(
+                        BIUtil.toBI(base).modPow(BIUtil.toBI(exp), BIUtil.toBI(mod)), modLen);
+                assertArrayEquals(expected, contract.execute(data));
+            }
+        }
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
     /**
      * Test Vectors for BLAKE2F are described at EIP-152 (https://github.com/ethereum/EIPs/blob/master/EIPS/eip-152.md)
      */
@@ -0,0 +1,147 @@
+/*
+ * This file is part of RskJ
+ * Copyright (C) 2026 RSK Labs Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ethereum.vm;
+
+import co.rsk.core.RskAddress;
+import org.ethereum.vm.PrecompiledContracts.PrecompiledContract;
+import org.ethereum.vm.exception.VMException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecompiledResultCacheTest {
+
+    private static final RskAddress ADDRESS = PrecompiledContracts.ECRECOVER_ADDR;
+    private static final RskAddress OTHER_ADDRESS = PrecompiledContracts.BLAKE2F_ADDR;
+
+    @Test
+    void executesSameInputOnlyOnce() throws VMException {
+        PrecompiledResultCache cache = new PrecompiledResultCache(10);
+        CountingContract counting = new CountingContract();
+        PrecompiledContract contract = cache.memoize(ADDRESS, counting);
+
+        assertArrayEquals(new byte[]{1, 2, 3, 42}, contract.execute(new byte[]{1, 2, 3}));
+        assertArrayEquals(new byte[]{1, 2, 3, 42}, contract.execute(new byte[]{1, 2, 3}));
+        assertArrayEquals(new byte[]{1, 2, 4, 42}, contract.execute(new byte[]{1, 2, 4}));
+
+        assertEquals(2, counting.executions.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getEntries());
+    }
+
+    @Test
+    void gasIsStillChargedFromTheContract() {
+        PrecompiledResultCache cache = new PrecompiledResultCache(10);
+        PrecompiledContract contract = cache.memoize(ADDRESS, new CountingContract());
+
+        assertEquals(ADDRESS, contract.contractAddress);
+        assertEquals(103, contract.getGasForData(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void sameInputOfDifferentContractsIsExecutedSeparately() throws VMException {
+        PrecompiledResultCache cache = new PrecompiledResultCache(10);
+        CountingContract counting = new CountingContract();
+
+        cache.memoize(ADDRESS, counting).execute(new byte[]{1});
+        cache.memoize(OTHER_ADDRESS, counting).execute(new byte[]{1});
+
+        assertEquals(2, counting.executions.get());
+        assertEquals(2, cache.getEntries());
+    }
+
+    @Test
+    void returnedResultsDoNotAliasCachedOnes() throws VMException {
+        PrecompiledResultCache cache = new PrecompiledResultCache(10);
+        PrecompiledContract contract = cache.memoize(ADDRESS, new CountingContract());
+
+        contract.execute(new byte[]{1})[0] = 7;
+        contract.execute(new byte[]{1})[0] = 7;
+
+        assertArrayEquals(new byte[]{1, 42}, contract.execute(new byte[]{1}));
+    }
+
+    @Test
+    void failedExecutionsAreNotCached() {
+        PrecompiledResultCache cache = new PrecompiledResultCache(10);
+        CountingContract counting = new CountingContract();
+        PrecompiledContract contract = cache.memoize(ADDRESS, counting);
+
+        assertThrows(VMException.class, () -> contract.execute(new byte[0]));
+        assertThrows(VMException.class, () -> contract.execute(new byte[0]));
+
+        assertEquals(2, counting.executions.get());
+        assertEquals(0, cache.getEntries());
+    }
+
+    @Test
+    void disabledCacheReturnsContractAsIs() {
+        CountingContract counting = new CountingContract();
+
+        assertSame(counting, PrecompiledResultCache.DISABLED.memoize(ADDRESS, counting));
+        assertFalse(PrecompiledResultCache.DISABLED.isEnabled());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() throws VMException {
+        PrecompiledResultCache cache = new PrecompiledResultCache(2);
+        CountingContract counting = new CountingContract();
+        PrecompiledContract contract = cache.memoize(ADDRESS, counting);
+
+        contract.execute(new byte[]{1});
+        contract.execute(new byte[]{2});
+        contract.execute(new byte[]{1});
+        contract.execute(new byte[]{3});
+        contract.execute(new byte[]{1});
+        contract.execute(new byte[]{2});
+
+        assertEquals(4, counting.executions.get());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(2, cache.getEntries());
+    }
+
+    @Test
+    void negativeSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new PrecompiledResultCache(-1));
+    }
+
+    private static class CountingContract extends PrecompiledContract {
+        private final AtomicInteger executions = new AtomicInteger();
+
+        @Override
+        public long getGasForData(byte[] data) {
+            return 100L + data.length;
+        }
+
+        @Override
+        public byte[] execute(byte[] data) throws VMException {
+            executions.incrementAndGet();
+            if (data.length == 0) {
+                throw new VMException("empty input");
+            }
+
+            byte[] result = new byte[data.length + 1];
+            System.arraycopy(data, 0, result, 0, data.length);
+            result[data.length] = 42;
+            return result;
+        }
+    }
+}